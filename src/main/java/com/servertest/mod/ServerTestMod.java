@@ -1,18 +1,39 @@
 package com.servertest.mod;
 
+import com.servertest.mod.command.ServerTestCommands;
+import com.servertest.mod.control.ControlCommands;
+import com.servertest.mod.control.ControlSocketServer;
+import com.servertest.mod.core.BackgroundExecutor;
 import com.servertest.mod.core.EnvironmentDetector;
 import com.servertest.mod.core.ServerMonitor;
 import com.servertest.mod.core.InfoCollector;
 import com.servertest.mod.core.ShutdownManager;
 import com.servertest.mod.core.ErrorHandler;
+import com.servertest.mod.core.JvmPhaseSampler;
+import com.servertest.mod.core.OverheadBudget;
+import com.servertest.mod.core.ProductionMonitor;
+import com.servertest.mod.core.ReportWriter;
+import com.servertest.mod.core.RegistrationTimer;
+import com.servertest.mod.core.RegistryFootprintCollector;
+import com.servertest.mod.core.ServerTestConfig;
+import com.servertest.mod.metrics.EntityCensus;
+import com.servertest.mod.metrics.MetricsRegistry;
+import com.servertest.mod.metrics.MetricsHttpServer;
+import com.servertest.mod.metrics.ProfilingSession;
+import com.servertest.mod.metrics.SharedMetricsFile;
+import com.servertest.mod.metrics.TickMetrics;
+import com.servertest.mod.metrics.TickSampleStore;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.event.lifecycle.FMLCommonSetupEvent;
+import net.minecraftforge.fml.event.lifecycle.InterModProcessEvent;
 import net.minecraftforge.eventbus.api.IEventBus;
 import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.nio.file.Paths;
+
 /**
  * Main mod class for Server Test Mod
  * Coordinates all components for automated server testing in CI environments
@@ -22,10 +43,19 @@ public class ServerTestMod {
     public static final String MODID = "servertest";
     public static final Logger LOGGER = LogManager.getLogger();
     
+    private static ServerTestConfig config;
+    private static JvmPhaseSampler jvmPhaseSampler;
+    private static RegistrationTimer registrationTimer;
     private static EnvironmentDetector environmentDetector;
     private static ServerMonitor serverMonitor;
     private static InfoCollector infoCollector;
     private static ShutdownManager shutdownManager;
+    private static MetricsRegistry metricsRegistry;
+    private static TickMetrics tickMetrics;
+    private static ProductionMonitor productionMonitor;
+    private static EntityCensus entityCensus;
+    private static ProfilingSession profilingSession;
+    private static boolean testSequenceActive;
     
     public ServerTestMod() {
         try {
@@ -35,8 +65,15 @@ public class ServerTestMod {
             // Register the setup method for modloading
             IEventBus modEventBus = FMLJavaModLoadingContext.get().getModEventBus();
             modEventBus.addListener(this::setup);
+            modEventBus.addListener(this::processInterModComms);
+            
+            // Time startup registration so it can be attributed to mods later
+            registrationTimer = new RegistrationTimer();
+            modEventBus.register(registrationTimer);
             
             LOGGER.info("[SERVER-TEST] Server Test Mod initializing...");
+            jvmPhaseSampler = new JvmPhaseSampler();
+            jvmPhaseSampler.recordPhase("modConstruction");
         } catch (Exception e) {
             ErrorHandler.handleCriticalError(
                 ErrorHandler.ErrorType.GENERAL,
@@ -49,28 +86,80 @@ public class ServerTestMod {
     private void setup(final FMLCommonSetupEvent event) {
         ErrorHandler.executeCriticalOperation(() -> {
             // Initialize core components
+            registrationTimer.finish();
+            config = new ServerTestConfig();
+            metricsRegistry = new MetricsRegistry();
+            
             environmentDetector = new EnvironmentDetector();
             ErrorHandler.validateNotNull(environmentDetector, "EnvironmentDetector", ErrorHandler.ErrorType.GENERAL);
             
-            infoCollector = new InfoCollector();
+            // Only the CI sequence collects off-thread; production mode runs its own reporting thread
+            BackgroundExecutor backgroundExecutor = environmentDetector.isInCIEnvironment()
+                && !environmentDetector.isProductionMode()
+                ? BackgroundExecutor.fromConfig(config, "ServerTest-Worker") : BackgroundExecutor.direct();
+            
+            infoCollector = new InfoCollector(new RegistryFootprintCollector(registrationTimer), metricsRegistry,
+                backgroundExecutor);
             ErrorHandler.validateNotNull(infoCollector, "InfoCollector", ErrorHandler.ErrorType.GENERAL);
             
             shutdownManager = new ShutdownManager();
             ErrorHandler.validateNotNull(shutdownManager, "ShutdownManager", ErrorHandler.ErrorType.GENERAL);
             
-            serverMonitor = new ServerMonitor(environmentDetector, infoCollector, shutdownManager);
+            serverMonitor = new ServerMonitor(environmentDetector, infoCollector, shutdownManager, config, jvmPhaseSampler,
+                backgroundExecutor);
             ErrorHandler.validateNotNull(serverMonitor, "ServerMonitor", ErrorHandler.ErrorType.GENERAL);
             
-            // Only register event handlers if we're in a CI environment
-            if (environmentDetector.isInCIEnvironment()) {
+            jvmPhaseSampler.recordPhase("commonSetup");
+            
+            // Production mode takes precedence: it must never run the CI sequence that shuts the server down
+            if (environmentDetector.isProductionMode()) {
+                LOGGER.info("[SERVER-TEST] Production mode enabled, monitoring continuously");
+                ErrorHandler.setProductionMode(true);
+                registerProductionMonitor();
+            } else if (environmentDetector.isInCIEnvironment()) {
                 LOGGER.info("[SERVER-TEST] CI environment detected, registering event handlers");
                 registerEventHandlers();
+                serverMonitor.getReportWriter().addSectionProvider("metrics", metricsRegistry::snapshot);
+                testSequenceActive = true;
             } else {
                 LOGGER.info("[SERVER-TEST] Not in CI environment, mod will remain inactive");
             }
+            
+            // The metrics endpoint is independent of the CI test sequence
+            int metricsPort = config.getInt("metrics.port", 0);
+            if (metricsPort > 0) {
+                registerMetricsEndpoint(metricsPort);
+            }
+            String metricsFile = config.getString("metrics.file", null);
+            if (metricsFile != null) {
+                registerSharedMetricsFile(metricsFile);
+            }
+            String samplesFile = config.getString("samples.file", null);
+            if (samplesFile != null) {
+                registerTickSampleStore(samplesFile);
+            }
+            String controlSocket = config.getString("control.socket", null);
+            if (controlSocket != null) {
+                registerControlSocket(controlSocket);
+            }
+            // Operator commands are offered whenever the mod is active, unless explicitly disabled
+            if (config.getBoolean("commands.enabled", productionMonitor != null || testSequenceActive)) {
+                registerCommands();
+            }
         }, ErrorHandler.ErrorType.GENERAL, "Failed to setup Server Test Mod components");
     }
     
+    /**
+     * Collect the benchmarks other mods registered; they only run as part of the CI test sequence
+     */
+    private void processInterModComms(final InterModProcessEvent event) {
+        // One message at a time, so an addon whose supplier throws does not drop the others
+        event.getIMCStream().forEach(message -> ErrorHandler.executeWithErrorHandling(() -> {
+            serverMonitor.getBenchmarkRegistry()
+                .register(message.senderModId(), message.method(), message.messageSupplier());
+        }, ErrorHandler.ErrorType.GENERAL, "Failed to register benchmark from " + message.senderModId()));
+    }
+    
     /**
      * Register event handlers for server lifecycle monitoring
      */
@@ -81,6 +170,143 @@ public class ServerTestMod {
         }, ErrorHandler.ErrorType.GENERAL, "Failed to register event handlers");
     }
     
+    /**
+     * Register the production monitor and the incremental metrics it reads from
+     */
+    private void registerProductionMonitor() {
+        ErrorHandler.executeWithErrorHandling(() -> {
+            long budgetMicros = config.getLong("production.budget.micros", 100L);
+            OverheadBudget overheadBudget = new OverheadBudget(budgetMicros * 1000L);
+            tickMetrics = new TickMetrics(metricsRegistry, overheadBudget);
+            productionMonitor = new ProductionMonitor(config, overheadBudget, tickMetrics);
+            // The production collector processes on the production worker, which only exists while the server runs
+            InfoCollector productionInfo = new InfoCollector(new RegistryFootprintCollector(registrationTimer),
+                metricsRegistry, productionMonitor::getBackgroundExecutor);
+            productionMonitor.addInfoCollection(productionInfo,
+                Math.max(1, config.getInt("production.info.interval.seconds", 600)) * 20);
+            productionMonitor.addEntityCensus(getOrCreateEntityCensus(),
+                Math.max(1, config.getInt("production.census.interval.seconds", 60)) * 20);
+            MinecraftForge.EVENT_BUS.register(tickMetrics);
+            MinecraftForge.EVENT_BUS.register(productionMonitor);
+            LOGGER.debug("[SERVER-TEST] Production monitor registered with a {}us budget", budgetMicros);
+        }, ErrorHandler.ErrorType.GENERAL, "Failed to register production monitor");
+    }
+    
+    /**
+     * Register incremental metrics and the loopback OpenMetrics endpoint
+     */
+    private void registerMetricsEndpoint(int port) {
+        ErrorHandler.executeWithErrorHandling(() -> {
+            MinecraftForge.EVENT_BUS.register(new MetricsHttpServer(port, getOrCreateTickMetrics()));
+            LOGGER.info("[SERVER-TEST] Metrics endpoint enabled on port {}", port);
+        }, ErrorHandler.ErrorType.GENERAL, "Failed to register metrics endpoint");
+    }
+    
+    /**
+     * Register the memory-mapped metrics file for sidecar readers
+     */
+    private void registerSharedMetricsFile(String path) {
+        ErrorHandler.executeWithErrorHandling(() -> {
+            MinecraftForge.EVENT_BUS.register(new SharedMetricsFile(Paths.get(path), getOrCreateTickMetrics(),
+                productionMonitor != null ? productionMonitor.getOverheadBudget() : null));
+            LOGGER.info("[SERVER-TEST] Shared metrics file enabled at {}", path);
+        }, ErrorHandler.ErrorType.GENERAL, "Failed to register shared metrics file");
+    }
+    
+    /**
+     * Register the append-only tick sample file and summarize its rollups in the report
+     */
+    private void registerTickSampleStore(String path) {
+        ErrorHandler.executeWithErrorHandling(() -> {
+            TickSampleStore store = new TickSampleStore(Paths.get(path), getOrCreateTickMetrics());
+            MinecraftForge.EVENT_BUS.register(store);
+            ReportWriter reportWriter = getActiveReportWriter();
+            if (reportWriter != null) {
+                reportWriter.addSectionProvider("tickSamples", store::summarize);
+            }
+            LOGGER.info("[SERVER-TEST] Tick samples enabled at {}", path);
+        }, ErrorHandler.ErrorType.GENERAL, "Failed to register tick sample store");
+    }
+    
+    /**
+     * Register the Unix domain socket used by external orchestrators
+     */
+    private void registerControlSocket(String path) {
+        ErrorHandler.executeWithErrorHandling(() -> {
+            // Scenarios and shutdown belong to the CI test sequence and are never offered in production
+            ServerMonitor monitor = testSequenceActive ? serverMonitor : null;
+            ControlCommands commands = new ControlCommands(getOrCreateTickMetrics(), getOrCreateProfilingSession(),
+                monitor, getActiveReportWriter(), ServerTestMod::getActiveReportExecutor);
+            MinecraftForge.EVENT_BUS.register(new ControlSocketServer(Paths.get(path), commands));
+            LOGGER.info("[SERVER-TEST] Control socket enabled at {}", path);
+        }, ErrorHandler.ErrorType.GENERAL, "Failed to register control socket");
+    }
+    
+    /**
+     * Register the /servertest command tree and the entity census it reads from
+     */
+    private void registerCommands() {
+        ErrorHandler.executeWithErrorHandling(() -> {
+            MinecraftForge.EVENT_BUS.register(new ServerTestCommands(getOrCreateTickMetrics(),
+                getOrCreateProfilingSession(), getOrCreateEntityCensus(), getActiveReportWriter()));
+            LOGGER.debug("[SERVER-TEST] /servertest commands registered");
+        }, ErrorHandler.ErrorType.GENERAL, "Failed to register commands");
+    }
+    
+    /**
+     * Get the report of whichever mode is active
+     * @return report writer, or null when the mod is inactive
+     */
+    private static ReportWriter getActiveReportWriter() {
+        if (testSequenceActive) {
+            return serverMonitor.getReportWriter();
+        }
+        return productionMonitor != null ? productionMonitor.getReportWriter() : null;
+    }
+    
+    /**
+     * Get the worker that writes the report of whichever mode is active
+     * @return worker, or null when the mod is inactive or production monitoring has not started
+     */
+    private static BackgroundExecutor getActiveReportExecutor() {
+        if (testSequenceActive) {
+            return serverMonitor.getBackgroundExecutor();
+        }
+        return productionMonitor != null ? productionMonitor.getBackgroundExecutor() : null;
+    }
+    
+    /**
+     * Get the profiling window shared by the control interfaces
+     */
+    private static ProfilingSession getOrCreateProfilingSession() {
+        if (profilingSession == null) {
+            profilingSession = new ProfilingSession(getOrCreateTickMetrics());
+        }
+        return profilingSession;
+    }
+    
+    /**
+     * Get the entity census shared by the commands and the production monitor, registering it on first use
+     */
+    private static EntityCensus getOrCreateEntityCensus() {
+        if (entityCensus == null) {
+            entityCensus = new EntityCensus();
+            MinecraftForge.EVENT_BUS.register(entityCensus);
+        }
+        return entityCensus;
+    }
+    
+    /**
+     * Get the incremental tick metrics, registering them on first use
+     */
+    private static TickMetrics getOrCreateTickMetrics() {
+        if (tickMetrics == null) {
+            tickMetrics = new TickMetrics(metricsRegistry, null);
+            MinecraftForge.EVENT_BUS.register(tickMetrics);
+        }
+        return tickMetrics;
+    }
+    
     /**
      * Global uncaught exception handler
      */
@@ -93,6 +319,10 @@ public class ServerTestMod {
     }
     
     // Getters for components (useful for testing)
+    public static ServerTestConfig getConfig() {
+        return config;
+    }
+    
     public static EnvironmentDetector getEnvironmentDetector() {
         return environmentDetector;
     }
@@ -108,4 +338,16 @@ public class ServerTestMod {
     public static ShutdownManager getShutdownManager() {
         return shutdownManager;
     }
+    
+    public static MetricsRegistry getMetricsRegistry() {
+        return metricsRegistry;
+    }
+    
+    public static TickMetrics getTickMetrics() {
+        return tickMetrics;
+    }
+    
+    public static ProductionMonitor getProductionMonitor() {
+        return productionMonitor;
+    }
 }
\ No newline at end of file
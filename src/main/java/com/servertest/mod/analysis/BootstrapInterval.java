@@ -0,0 +1,110 @@
+package com.servertest.mod.analysis;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Percentile bootstrap confidence interval for the relative change of a mean
+ * Both samples are resampled independently, so the interval reflects the noise of the
+ * baseline as well as of the candidate.
+ */
+public class BootstrapInterval {
+    
+    private final double estimate;
+    private final double lower;
+    private final double upper;
+    private final double confidence;
+    
+    private BootstrapInterval(double estimate, double lower, double upper, double confidence) {
+        this.estimate = estimate;
+        this.lower = lower;
+        this.upper = upper;
+        this.confidence = confidence;
+    }
+    
+    /**
+     * Estimate mean(candidate) / mean(baseline) - 1 with a confidence interval
+     * @param baseline The baseline samples
+     * @param candidate The candidate samples
+     * @param resamples Number of bootstrap resamples
+     * @param confidence Confidence level, e.g. 0.95
+     * @param seed Random seed, fixed so the same samples always give the same interval
+     * @return interval of the relative change; NaN bounds if either sample is empty
+     */
+    public static BootstrapInterval relativeMeanChange(double[] baseline, double[] candidate, int resamples,
+                                                       double confidence, long seed) {
+        if (baseline.length == 0 || candidate.length == 0) {
+            return new BootstrapInterval(Double.NaN, Double.NaN, Double.NaN, confidence);
+        }
+        
+        Random random = new Random(seed);
+        double[] changes = new double[Math.max(1, resamples)];
+        for (int r = 0; r < changes.length; r++) {
+            changes[r] = resampledMean(candidate, random) / resampledMean(baseline, random) - 1.0;
+        }
+        Arrays.sort(changes);
+        
+        double tail = (1.0 - confidence) / 2.0;
+        return new BootstrapInterval(
+            mean(candidate) / mean(baseline) - 1.0,
+            percentile(changes, tail),
+            percentile(changes, 1.0 - tail),
+            confidence
+        );
+    }
+    
+    private static double resampledMean(double[] values, Random random) {
+        double sum = 0.0;
+        for (int i = 0; i < values.length; i++) {
+            sum += values[random.nextInt(values.length)];
+        }
+        return sum / values.length;
+    }
+    
+    private static double mean(double[] values) {
+        double sum = 0.0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+    
+    private static double percentile(double[] sorted, double q) {
+        int index = (int) Math.floor(q * (sorted.length - 1));
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+    
+    /**
+     * Get the relative change of the sample means (0.05 means 5% larger)
+     */
+    public double getEstimate() {
+        return estimate;
+    }
+    
+    /**
+     * Get the lower bound of the interval
+     */
+    public double getLower() {
+        return lower;
+    }
+    
+    /**
+     * Get the upper bound of the interval
+     */
+    public double getUpper() {
+        return upper;
+    }
+    
+    /**
+     * Get the confidence level of the interval
+     */
+    public double getConfidence() {
+        return confidence;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("BootstrapInterval{estimate=%+.2f%%, %.0f%% CI=[%+.2f%%, %+.2f%%]}",
+            estimate * 100.0, confidence * 100.0, lower * 100.0, upper * 100.0);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.servertest.mod.analysis;
+
+/**
+ * Helpers for bucketed histograms with fixed upper bounds
+ */
+public final class Histograms {
+    
+    private Histograms() {
+    }
+    
+    /**
+     * Estimate a quantile from bucket counts by interpolating linearly inside the bucket it falls in
+     * @param counts Observations per bucket (not cumulative), with one extra overflow bucket at the end
+     * @param upperBounds Bucket upper bounds in ascending order, without the overflow bucket
+     * @param quantile Quantile between 0.0 and 1.0
+     * @return estimated value; the last upper bound if the quantile falls in the overflow bucket, NaN if empty
+     */
+    public static double quantile(long[] counts, double[] upperBounds, double quantile) {
+        if (counts.length != upperBounds.length + 1) {
+            throw new IllegalArgumentException("Expected " + (upperBounds.length + 1) + " buckets, got " + counts.length);
+        }
+        
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return Double.NaN;
+        }
+        
+        double rank = Math.max(0.0, Math.min(1.0, quantile)) * total;
+        long cumulative = 0;
+        for (int i = 0; i < upperBounds.length; i++) {
+            if (counts[i] > 0 && cumulative + counts[i] >= rank) {
+                double lower = i == 0 ? 0.0 : upperBounds[i - 1];
+                double fraction = (rank - cumulative) / counts[i];
+                return lower + (upperBounds[i] - lower) * fraction;
+            }
+            cumulative += counts[i];
+        }
+        return upperBounds[upperBounds.length - 1];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,159 @@
+package com.servertest.mod.analysis;
+
+import java.util.Arrays;
+
+/**
+ * One-sided Mann-Whitney U test of whether a candidate sample tends to be larger than a baseline
+ * Rank based, so a single outlier window on a noisy runner cannot decide the outcome. Small
+ * samples without ties use the exact distribution of U, larger ones the normal approximation
+ * with tie and continuity correction.
+ */
+public class MannWhitneyU {
+    
+    /** Largest combined sample size for which the exact distribution is computed */
+    static final int EXACT_LIMIT = 40;
+    
+    private final double u;
+    private final double pValue;
+    private final boolean exact;
+    
+    private MannWhitneyU(double u, double pValue, boolean exact) {
+        this.u = u;
+        this.pValue = pValue;
+        this.exact = exact;
+    }
+    
+    /**
+     * Test whether the candidate values tend to be larger than the baseline values
+     * @param baseline The baseline samples
+     * @param candidate The candidate samples
+     * @return test result; the p-value is 1.0 if either sample is empty
+     */
+    public static MannWhitneyU test(double[] baseline, double[] candidate) {
+        int n1 = baseline.length;
+        int n2 = candidate.length;
+        if (n1 == 0 || n2 == 0) {
+            return new MannWhitneyU(0.0, 1.0, false);
+        }
+        
+        // Rank the pooled samples, giving tied values their mean rank
+        int n = n1 + n2;
+        double[][] pooled = new double[n][];
+        for (int i = 0; i < n1; i++) {
+            pooled[i] = new double[] {baseline[i], 0};
+        }
+        for (int i = 0; i < n2; i++) {
+            pooled[n1 + i] = new double[] {candidate[i], 1};
+        }
+        Arrays.sort(pooled, (a, b) -> Double.compare(a[0], b[0]));
+        
+        double candidateRankSum = 0.0;
+        double tieTerm = 0.0;
+        for (int i = 0; i < n; ) {
+            int j = i;
+            while (j + 1 < n && pooled[j + 1][0] == pooled[i][0]) {
+                j++;
+            }
+            double rank = (i + j) / 2.0 + 1.0;
+            for (int k = i; k <= j; k++) {
+                if (pooled[k][1] == 1) {
+                    candidateRankSum += rank;
+                }
+            }
+            int ties = j - i + 1;
+            tieTerm += (double) ties * ties * ties - ties;
+            i = j + 1;
+        }
+        
+        double u = candidateRankSum - n2 * (n2 + 1) / 2.0;
+        if (tieTerm == 0.0 && n <= EXACT_LIMIT) {
+            return new MannWhitneyU(u, exactUpperTail(n1, n2, (int) Math.round(u)), true);
+        }
+        
+        double mean = n1 * (double) n2 / 2.0;
+        double variance = n1 * (double) n2 / 12.0 * ((n + 1) - tieTerm / ((double) n * (n - 1)));
+        if (variance <= 0.0) {
+            // Every value is the same, nothing to distinguish
+            return new MannWhitneyU(u, 1.0, false);
+        }
+        double z = (u - mean - 0.5) / Math.sqrt(variance);
+        return new MannWhitneyU(u, 1.0 - normalCdf(z), false);
+    }
+    
+    /**
+     * P(U >= u) under the null hypothesis, counting the rank arrangements that produce each U
+     */
+    private static double exactUpperTail(int n1, int n2, int u) {
+        int max = n1 * n2;
+        // counts[i][j] is the distribution of U for i baseline and j candidate values
+        double[][][] counts = new double[n1 + 1][n2 + 1][];
+        for (int i = 0; i <= n1; i++) {
+            for (int j = 0; j <= n2; j++) {
+                double[] dist = new double[i * j + 1];
+                if (i == 0 || j == 0) {
+                    dist[0] = 1.0;
+                } else {
+                    // The largest value is either a candidate (adding i to U) or a baseline value
+                    double[] candidateLast = counts[i][j - 1];
+                    double[] baselineLast = counts[i - 1][j];
+                    for (int k = 0; k < dist.length; k++) {
+                        double count = k < baselineLast.length ? baselineLast[k] : 0.0;
+                        if (k >= i && k - i < candidateLast.length) {
+                            count += candidateLast[k - i];
+                        }
+                        dist[k] = count;
+                    }
+                }
+                counts[i][j] = dist;
+            }
+        }
+        
+        double[] dist = counts[n1][n2];
+        double total = 0.0;
+        double tail = 0.0;
+        for (int k = 0; k <= max; k++) {
+            total += dist[k];
+            if (k >= u) {
+                tail += dist[k];
+            }
+        }
+        return tail / total;
+    }
+    
+    /**
+     * Standard normal cumulative distribution (Abramowitz and Stegun 7.1.26, error below 1.5e-7)
+     */
+    static double normalCdf(double z) {
+        double x = Math.abs(z) / Math.sqrt(2.0);
+        double t = 1.0 / (1.0 + 0.3275911 * x);
+        double erf = 1.0 - t * (0.254829592 + t * (-0.284496736 + t * (1.421413741
+            + t * (-1.453152027 + t * 1.061405429)))) * Math.exp(-x * x);
+        return z >= 0 ? 0.5 * (1.0 + erf) : 0.5 * (1.0 - erf);
+    }
+    
+    /**
+     * Get the U statistic of the candidate sample
+     */
+    public double getU() {
+        return u;
+    }
+    
+    /**
+     * Get the one-sided p-value for the candidate being larger
+     */
+    public double getPValue() {
+        return pValue;
+    }
+    
+    /**
+     * Check if the p-value comes from the exact distribution rather than the normal approximation
+     */
+    public boolean isExact() {
+        return exact;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("MannWhitneyU{u=%.1f, p=%.4f, exact=%s}", u, pValue, exact);
+    }
+}
\ No newline at end of file
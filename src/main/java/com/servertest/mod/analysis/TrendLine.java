@@ -0,0 +1,134 @@
+package com.servertest.mod.analysis;
+
+/**
+ * Least-squares trend line fitted over a series of samples
+ */
+public class TrendLine {
+    private final double slope;
+    private final double intercept;
+    private final double rSquared;
+    private final int sampleCount;
+    
+    private TrendLine(double slope, double intercept, double rSquared, int sampleCount) {
+        this.slope = slope;
+        this.intercept = intercept;
+        this.rSquared = rSquared;
+        this.sampleCount = sampleCount;
+    }
+    
+    /**
+     * Fit a trend line over samples taken at x = 0, 1, 2, ...
+     * @param y The samples
+     * @return fitted trend line
+     */
+    public static TrendLine fit(double[] y) {
+        double[] x = new double[y.length];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = i;
+        }
+        return fit(x, y);
+    }
+    
+    /**
+     * Fit a trend line over (x, y) pairs
+     * @param x The sample positions
+     * @param y The sample values
+     * @return fitted trend line; slope is 0 when fewer than two samples are given
+     */
+    public static TrendLine fit(double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("x and y must have the same length");
+        }
+        
+        int n = y.length;
+        if (n == 0) {
+            return new TrendLine(0.0, 0.0, 0.0, 0);
+        }
+        if (n == 1) {
+            return new TrendLine(0.0, y[0], 0.0, 1);
+        }
+        
+        double meanX = 0.0;
+        double meanY = 0.0;
+        for (int i = 0; i < n; i++) {
+            meanX += x[i];
+            meanY += y[i];
+        }
+        meanX /= n;
+        meanY /= n;
+        
+        double sxx = 0.0;
+        double sxy = 0.0;
+        double syy = 0.0;
+        for (int i = 0; i < n; i++) {
+            double dx = x[i] - meanX;
+            double dy = y[i] - meanY;
+            sxx += dx * dx;
+            sxy += dx * dy;
+            syy += dy * dy;
+        }
+        
+        if (sxx == 0.0) {
+            return new TrendLine(0.0, meanY, 0.0, n);
+        }
+        
+        double slope = sxy / sxx;
+        double intercept = meanY - slope * meanX;
+        double rSquared = syy == 0.0 ? 1.0 : (sxy * sxy) / (sxx * syy);
+        return new TrendLine(slope, intercept, rSquared, n);
+    }
+    
+    /**
+     * Fraction of consecutive steps that do not decrease
+     * 1.0 means the series never goes down
+     * @param y The samples
+     * @return ratio between 0.0 and 1.0, or 0.0 for fewer than two samples
+     */
+    public static double monotonicRatio(double[] y) {
+        if (y.length < 2) {
+            return 0.0;
+        }
+        
+        int rising = 0;
+        for (int i = 1; i < y.length; i++) {
+            if (y[i] >= y[i - 1]) {
+                rising++;
+            }
+        }
+        return (double) rising / (y.length - 1);
+    }
+    
+    /**
+     * Get the slope (change in y per unit of x)
+     */
+    public double getSlope() {
+        return slope;
+    }
+    
+    /**
+     * Get the y value of the line at x = 0
+     */
+    public double getIntercept() {
+        return intercept;
+    }
+    
+    /**
+     * Get the coefficient of determination of the fit
+     */
+    public double getRSquared() {
+        return rSquared;
+    }
+    
+    /**
+     * Get the number of samples the line was fitted over
+     */
+    public int getSampleCount() {
+        return sampleCount;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("TrendLine{slope=%.4f, intercept=%.4f, r2=%.3f, n=%d}",
+            slope, intercept, rSquared, sampleCount);
+    }
+}
\ No newline at end of file
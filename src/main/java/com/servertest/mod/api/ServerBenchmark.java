@@ -0,0 +1,42 @@
+package com.servertest.mod.api;
+
+import net.minecraft.server.MinecraftServer;
+
+/**
+ * A benchmark or load generator contributed by another mod through InterModComms
+ * All methods are called on the server thread, once the test sequence reaches the registered benchmarks.
+ * A benchmark is timed by the duration of run(); a load generator builds its load in setUp and is
+ * timed by the server tick time while that load is in the world.
+ */
+public interface ServerBenchmark {
+    /**
+     * Get the name of this benchmark, unique within the registering mod
+     * @return name; reported as modid:name
+     */
+    String getName();
+    
+    /**
+     * Prepare the world before warm-up, e.g. place machines or spawn entities
+     * @param server The MinecraftServer instance
+     * @throws Exception if the benchmark cannot be set up
+     */
+    default void setUp(MinecraftServer server) throws Exception {
+    }
+    
+    /**
+     * Perform one iteration of the measured operation; called once per tick
+     * Not called for load generators.
+     * @param server The MinecraftServer instance
+     * @throws Exception if the operation failed
+     */
+    default void run(MinecraftServer server) throws Exception {
+    }
+    
+    /**
+     * Remove whatever setUp added so later benchmarks start from the same world
+     * @param server The MinecraftServer instance
+     * @throws Exception if cleaning up failed
+     */
+    default void tearDown(MinecraftServer server) throws Exception {
+    }
+}
\ No newline at end of file
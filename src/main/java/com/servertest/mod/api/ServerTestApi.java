@@ -0,0 +1,21 @@
+package com.servertest.mod.api;
+
+/**
+ * InterModComms methods understood by servertest
+ * Send them during InterModEnqueueEvent with a supplier of a ServerBenchmark, e.g.
+ * {@code InterModComms.sendTo(ServerTestApi.MOD_ID, ServerTestApi.REGISTER_BENCHMARK, PipeBenchmark::new)}.
+ * The supplier is called once while mod loading processes the messages.
+ */
+public final class ServerTestApi {
+    /** Mod id to send messages to */
+    public static final String MOD_ID = "servertest";
+    
+    /** Register a ServerBenchmark timed by its run() method */
+    public static final String REGISTER_BENCHMARK = "registerBenchmark";
+    
+    /** Register a ServerBenchmark whose setUp loads the world, timed by server MSPT */
+    public static final String REGISTER_LOAD_GENERATOR = "registerLoadGenerator";
+    
+    private ServerTestApi() {
+    }
+}
\ No newline at end of file
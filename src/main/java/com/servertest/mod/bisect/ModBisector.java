@@ -0,0 +1,378 @@
+package com.servertest.mod.bisect;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.servertest.mod.history.ResultHistory;
+import com.servertest.mod.launch.ServerLauncher;
+import com.servertest.mod.model.BisectionReport;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Narrows a startup time or MSPT regression down to the mod that causes it
+ * The baseline comes from earlier reports or the result history; one run with every mod sets
+ * the threshold halfway between it and the regressed value. Each round splits the remaining
+ * suspects into as many groups as there are parallel slots and runs the full mod set without one
+ * group (and without the mods that depend on it). A run that drops back under the threshold
+ * means the removed mods hold the cause; mods whose removal changed nothing are cleared. Runs that
+ * crash or time out, as subsets missing a soft dependency often do, are run once more and then
+ * reported as inconclusive instead of being blamed. Run through the bisectMods Gradle task.
+ */
+public class ModBisector {
+    
+    private final List<ModJar> jars;
+    private final Set<String> keepModIds;
+    private final TrialRunner runner;
+    private final int parallel;
+    private final String metric;
+    private final double baseline;
+    private final Map<String, ModJar> byModId = new HashMap<>();
+    private int trials;
+    
+    /**
+     * @param baseline Value of the metric before the regression, e.g. from readBaseline()
+     */
+    public ModBisector(List<ModJar> jars, Set<String> keepModIds, TrialRunner runner, int parallel, String metric,
+                       double baseline) {
+        this.jars = jars;
+        this.keepModIds = keepModIds;
+        this.runner = runner;
+        this.parallel = Math.max(1, parallel);
+        this.metric = metric;
+        this.baseline = baseline;
+        for (ModJar jar : jars) {
+            for (String modId : jar.getModIds()) {
+                byModId.put(modId, jar);
+            }
+        }
+    }
+    
+    /**
+     * Entry point for the bisectMods Gradle task
+     * @param args Server directory, metric ("startup" or "mspt"), parallel slots, comma-separated mod ids to
+     *             always keep, baseline (see readBaseline), trial timeout in seconds, then the server start command
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 7 || args[4].isBlank()) {
+            System.err.println("Usage: ModBisector <serverDir> <startup|mspt> <parallel> <keepModIds> <baseline> <timeoutSeconds> <command...>");
+            System.exit(2);
+        }
+        Path serverDir = Paths.get(args[0]).toAbsolutePath();
+        String metric = args[1].toLowerCase(Locale.ROOT);
+        int parallel = Integer.parseInt(args[2]);
+        Set<String> keep = new LinkedHashSet<>(Arrays.asList(args[3].split(",")));
+        keep.remove("");
+        keep.add("servertest");
+        double baseline = readBaseline(args[4], metric);
+        if (Double.isNaN(baseline)) {
+            System.err.println("No " + metric + " value found in baseline " + args[4]);
+            System.exit(2);
+        }
+        long timeoutSeconds = Long.parseLong(args[5]);
+        List<String> command = Arrays.asList(args).subList(6, args.length);
+        
+        List<ModJar> jars = new ArrayList<>();
+        try (Stream<Path> files = Files.list(serverDir.resolve("mods"))) {
+            for (Path file : files.filter(f -> f.toString().endsWith(".jar")).sorted().collect(Collectors.toList())) {
+                jars.add(ModJar.read(file));
+            }
+        }
+        System.out.printf(Locale.ROOT, "Bisecting %d jars in %s on %s (baseline %.2f) with %d parallel slot(s)%n",
+            jars.size(), serverDir.resolve("mods"), metric, baseline, parallel);
+        
+        // Pin each slot to its own CPUs so parallel trials do not slow each other down
+        int cpusPerSlot = parallel > 1 ? Runtime.getRuntime().availableProcessors() / parallel : 0;
+        ServerLauncher launcher = new ServerLauncher(serverDir, serverDir.resolve("bisect"), command, timeoutSeconds,
+            cpusPerSlot, false);
+        BisectionReport report = new ModBisector(jars, keep, new ServerTrialRunner(launcher, metric), parallel, metric,
+            baseline)
+            .bisect();
+        System.out.println(describe(report));
+    }
+    
+    /**
+     * Read the value of the metric before the regression
+     * @param source Comma-separated reports of earlier runs, as for compare.baseline, whose values are
+     *               averaged; or a result history directory, whose last runs' result.tickTime is averaged
+     *               (the history has no startup time, so it only serves "mspt")
+     * @param metric "startup" or "mspt"
+     * @return baseline value, NaN if the source does not contain the metric
+     * @throws IOException if a report or the history cannot be read
+     */
+    static double readBaseline(String source, String metric) throws IOException {
+        List<Double> values = new ArrayList<>();
+        Path first = Paths.get(source.split(",")[0].trim());
+        if (Files.isDirectory(first)) {
+            if (!metric.equals("mspt")) {
+                throw new IllegalArgumentException("The result history records no " + metric + " value, pass baseline reports");
+            }
+            for (double value : new ResultHistory(first).readMetric("result.tickTime", 5)) {
+                values.add(value);
+            }
+        } else {
+            for (String path : source.split(",")) {
+                if (!path.isBlank()) {
+                    JsonObject report = JsonParser.parseString(
+                        Files.readString(Paths.get(path.trim()), StandardCharsets.UTF_8)).getAsJsonObject();
+                    values.add(ServerTrialRunner.readMetric(report, metric));
+                }
+            }
+        }
+        return values.stream().filter(value -> !Double.isNaN(value)).mapToDouble(Double::doubleValue).average()
+            .orElse(Double.NaN);
+    }
+    
+    /**
+     * Run the bisection
+     * @return the suspects; empty if the full mod set does not regress against the baseline
+     * @throws Exception if a trial could not be run
+     */
+    public BisectionReport bisect() throws Exception {
+        long start = System.currentTimeMillis();
+        Set<ModJar> kept = new LinkedHashSet<>();
+        for (ModJar jar : jars) {
+            if (jar.isLibrary() || jar.getModIds().stream().anyMatch(keepModIds::contains)) {
+                kept.add(jar);
+            }
+        }
+        kept = closure(kept);
+        Set<ModJar> suspects = new LinkedHashSet<>(jars);
+        suspects.removeAll(kept);
+        List<String> inconclusive = new ArrayList<>();
+        
+        double bad = runBatch(List.of(new LinkedHashSet<>(jars)))[0];
+        log("Reference run: all mods %.2f, baseline %.2f", bad, baseline);
+        if (Double.isNaN(bad) || bad <= baseline) {
+            return report(bad, Double.NaN, List.of(), false, inconclusive, start);
+        }
+        double threshold = baseline + (bad - baseline) / 2.0;
+        
+        while (suspects.size() > 1) {
+            List<Set<ModJar>> groups = split(suspects, Math.max(2, parallel));
+            List<Set<ModJar>> removed = new ArrayList<>();
+            List<Set<ModJar>> trialSets = new ArrayList<>();
+            for (Set<ModJar> group : groups) {
+                // Mods that need a removed mod cannot start without it, so they leave the trial too
+                Set<ModJar> removal = dependents(group);
+                Set<ModJar> trial = new LinkedHashSet<>(jars);
+                trial.removeAll(removal);
+                removed.add(removal);
+                trialSets.add(trial);
+            }
+            double[] values = runRetryingFailures(trialSets);
+            
+            Set<ModJar> cleared = new LinkedHashSet<>();
+            List<Set<ModJar>> fixing = new ArrayList<>();
+            for (int i = 0; i < groups.size(); i++) {
+                String outcome;
+                if (Double.isNaN(values[i])) {
+                    outcome = " (inconclusive)";
+                    inconclusive.add(names(removed.get(i)));
+                } else if (values[i] <= threshold) {
+                    outcome = " (back under threshold)";
+                    fixing.add(removed.get(i));
+                } else {
+                    outcome = "";
+                    cleared.addAll(removed.get(i));
+                }
+                log("  without %s: %.2f%s", names(removed.get(i)), values[i], outcome);
+            }
+            
+            Set<ModJar> next = null;
+            for (Set<ModJar> removal : fixing) {
+                Set<ModJar> candidate = new LinkedHashSet<>(removal);
+                candidate.retainAll(suspects);
+                candidate.removeAll(cleared);
+                if (!candidate.isEmpty() && (next == null || candidate.size() < next.size())) {
+                    next = candidate;
+                }
+            }
+            
+            if (next == null || next.size() >= suspects.size()) {
+                // Removing no single group undoes it, so several mods add up to the regression,
+                // or crashed trials and dependencies leave nothing to split off
+                log("Regression needs several of %s", names(suspects));
+                return report(bad, threshold, namesOf(suspects), false, inconclusive, start);
+            }
+            suspects = next;
+            log("%d suspect jar(s) left", suspects.size());
+        }
+        return report(bad, threshold, namesOf(suspects), suspects.size() == 1, inconclusive, start);
+    }
+    
+    /**
+     * Add the jars providing the mandatory dependencies, recursively
+     */
+    Set<ModJar> closure(Collection<ModJar> start) {
+        Set<ModJar> result = new LinkedHashSet<>(start);
+        Deque<ModJar> queue = new ArrayDeque<>(start);
+        while (!queue.isEmpty()) {
+            for (String dependency : queue.poll().getDependencies()) {
+                ModJar provider = byModId.get(dependency);
+                // Missing dependencies are the server's problem, it reports them itself
+                if (provider != null && result.add(provider)) {
+                    queue.add(provider);
+                }
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Add the jars that depend on the given jars, recursively
+     */
+    Set<ModJar> dependents(Collection<ModJar> start) {
+        Set<ModJar> result = new LinkedHashSet<>(start);
+        boolean added = true;
+        while (added) {
+            added = false;
+            for (ModJar jar : jars) {
+                if (!result.contains(jar) && jar.getDependencies().stream()
+                    .map(byModId::get).anyMatch(result::contains)) {
+                    result.add(jar);
+                    added = true;
+                }
+            }
+        }
+        return result;
+    }
+    
+    private static List<Set<ModJar>> split(Set<ModJar> suspects, int count) {
+        List<ModJar> ordered = new ArrayList<>(suspects);
+        int groupCount = Math.min(count, ordered.size());
+        List<Set<ModJar>> groups = new ArrayList<>();
+        for (int i = 0; i < groupCount; i++) {
+            int from = ordered.size() * i / groupCount;
+            int to = ordered.size() * (i + 1) / groupCount;
+            groups.add(new LinkedHashSet<>(ordered.subList(from, to)));
+        }
+        return groups;
+    }
+    
+    /**
+     * Run trials, then run the ones that produced no value once more
+     * A crash or timeout is often a one-off on a loaded machine; only a repeated failure is kept.
+     */
+    private double[] runRetryingFailures(List<Set<ModJar>> sets) throws Exception {
+        double[] values = runBatch(sets);
+        List<Integer> failed = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            if (Double.isNaN(values[i])) {
+                failed.add(i);
+            }
+        }
+        if (!failed.isEmpty()) {
+            log("  re-running %d trial(s) that produced no value", failed.size());
+            double[] retried = runBatch(failed.stream().map(sets::get).collect(Collectors.toList()));
+            for (int i = 0; i < retried.length; i++) {
+                values[failed.get(i)] = retried[i];
+            }
+        }
+        return values;
+    }
+    
+    /**
+     * Run trials on the parallel slots, each slot used by one trial at a time
+     */
+    private double[] runBatch(List<Set<ModJar>> sets) throws Exception {
+        trials += sets.size();
+        int threads = Math.min(parallel, sets.size());
+        BlockingQueue<Integer> slots = new ArrayBlockingQueue<>(threads);
+        for (int slot = 0; slot < threads; slot++) {
+            slots.add(slot);
+        }
+        
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "ServerTest-Bisect");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Double>> futures = new ArrayList<>();
+            for (Set<ModJar> set : sets) {
+                List<ModJar> mods = new ArrayList<>(set);
+                futures.add(executor.submit(() -> {
+                    int slot = slots.take();
+                    try {
+                        return runner.run(mods, slot);
+                    } finally {
+                        slots.add(slot);
+                    }
+                }));
+            }
+            
+            double[] values = new double[sets.size()];
+            for (int i = 0; i < values.length; i++) {
+                try {
+                    values[i] = futures.get(i).get();
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                }
+            }
+            return values;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    private BisectionReport report(double bad, double threshold, List<String> suspects, boolean isolated,
+                                   List<String> inconclusive, long start) {
+        return new BisectionReport(metric, baseline, bad, threshold, suspects, isolated, inconclusive, trials,
+            System.currentTimeMillis() - start);
+    }
+    
+    /**
+     * Describe the outcome for the console
+     * @param report Bisection result
+     * @return one line naming the offending mod, or explaining why none was found
+     */
+    static String describe(BisectionReport report) {
+        if (report.getSuspects().isEmpty()) {
+            return String.format(Locale.ROOT, "No %s regression reproduced (baseline %.2f, all mods %.2f)",
+                report.getMetric(), report.getBaselineValue(), report.getBadValue());
+        }
+        if (report.isIsolated()) {
+            return String.format(Locale.ROOT, "Offending mod: %s (%s threshold %.2f, %d runs)",
+                report.getSuspects().get(0), report.getMetric(), report.getThreshold(), report.getTrials());
+        }
+        String inconclusive = report.getInconclusive().isEmpty() ? ""
+            : "; trials without " + String.join(" / ", report.getInconclusive()) + " crashed or timed out";
+        return String.format(Locale.ROOT, "Regression needs several mods together: %s (%d runs%s)",
+            String.join(", ", report.getSuspects()), report.getTrials(), inconclusive);
+    }
+    
+    private static List<String> namesOf(Collection<ModJar> jars) {
+        return jars.stream().map(ModJar::getName).collect(Collectors.toList());
+    }
+    
+    private static String names(Collection<ModJar> jars) {
+        return jars.size() <= 5 ? String.join(", ", namesOf(jars)) : jars.size() + " jars";
+    }
+    
+    private static void log(String format, Object... args) {
+        System.out.println(String.format(Locale.ROOT, format, args));
+    }
+}
\ No newline at end of file
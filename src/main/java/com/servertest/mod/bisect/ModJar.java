@@ -0,0 +1,195 @@
+package com.servertest.mod.bisect;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * A jar in the mods folder with the mod ids it provides and the mods it requires
+ * Read from META-INF/mods.toml with a small line parser that understands the subset of TOML
+ * mods.toml files use; a jar without one is a plain library and is never bisected.
+ */
+public class ModJar {
+    
+    static final String MODS_TOML = "META-INF/mods.toml";
+    
+    /** Provided by the server itself rather than by a jar in the mods folder */
+    private static final Set<String> PLATFORM_MODS = Set.of("minecraft", "forge");
+    
+    private static final Pattern TABLE = Pattern.compile("^\\[\\[\\s*([^\\]]+?)\\s*\\]\\]");
+    private static final Pattern ENTRY = Pattern.compile("^([A-Za-z0-9_]+)\\s*=\\s*(.*)$");
+    
+    private final Path path;
+    private final List<String> modIds;
+    private final Set<String> dependencies;
+    
+    public ModJar(Path path, List<String> modIds, Set<String> dependencies) {
+        this.path = path;
+        this.modIds = modIds;
+        this.dependencies = dependencies;
+    }
+    
+    /**
+     * Read the mod metadata of a jar
+     * @param path The jar file
+     * @return metadata; no mod ids if the jar has no mods.toml
+     * @throws IOException if the jar cannot be opened
+     */
+    public static ModJar read(Path path) throws IOException {
+        try (ZipFile zip = new ZipFile(path.toFile())) {
+            ZipEntry entry = zip.getEntry(MODS_TOML);
+            if (entry == null) {
+                return new ModJar(path, Collections.emptyList(), Collections.emptySet());
+            }
+            try (InputStream in = zip.getInputStream(entry)) {
+                return parse(path, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+    }
+    
+    /**
+     * Parse a mods.toml file
+     * @param path The jar the file came from
+     * @param toml File contents
+     * @return metadata with mandatory, server-side dependencies on other mods
+     */
+    static ModJar parse(Path path, String toml) {
+        List<String> modIds = new ArrayList<>();
+        Set<String> dependencies = new LinkedHashSet<>();
+        
+        String table = "";
+        String multiLineQuote = null;
+        String depModId = null;
+        boolean depMandatory = false;
+        String depSide = "BOTH";
+        for (String rawLine : toml.split("\\r?\\n")) {
+            String line = rawLine.trim();
+            if (multiLineQuote != null) {
+                if (line.contains(multiLineQuote)) {
+                    multiLineQuote = null;
+                }
+                continue;
+            }
+            
+            Matcher tableMatch = TABLE.matcher(line);
+            if (tableMatch.find()) {
+                addDependency(dependencies, table, depModId, depMandatory, depSide);
+                table = tableMatch.group(1).replace("\"", "");
+                depModId = null;
+                depMandatory = false;
+                depSide = "BOTH";
+                continue;
+            }
+            
+            Matcher entryMatch = ENTRY.matcher(line);
+            if (!entryMatch.matches()) {
+                continue;
+            }
+            String key = entryMatch.group(1);
+            String value = entryMatch.group(2);
+            if (value.startsWith("'''") || value.startsWith("\"\"\"")) {
+                String quote = value.substring(0, 3);
+                if (value.indexOf(quote, 3) < 0) {
+                    multiLineQuote = quote;
+                }
+                continue;
+            }
+            value = unquote(value);
+            
+            if (table.equals("mods") && key.equals("modId")) {
+                modIds.add(value);
+            } else if (table.startsWith("dependencies.")) {
+                switch (key) {
+                    case "modId":
+                        depModId = value;
+                        break;
+                    case "mandatory":
+                        depMandatory = Boolean.parseBoolean(value);
+                        break;
+                    case "type":
+                        // Forge 1.20.2+ replaced mandatory with type
+                        depMandatory = value.equalsIgnoreCase("required");
+                        break;
+                    case "side":
+                        depSide = value.toUpperCase(Locale.ROOT);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        addDependency(dependencies, table, depModId, depMandatory, depSide);
+        dependencies.removeAll(modIds);
+        return new ModJar(path, modIds, dependencies);
+    }
+    
+    private static void addDependency(Set<String> dependencies, String table, String modId, boolean mandatory,
+                                      String side) {
+        if (table.startsWith("dependencies.") && modId != null && mandatory && !side.equals("CLIENT")
+            && !PLATFORM_MODS.contains(modId)) {
+            dependencies.add(modId);
+        }
+    }
+    
+    private static String unquote(String value) {
+        if (value.startsWith("\"") || value.startsWith("'")) {
+            int end = value.indexOf(value.charAt(0), 1);
+            return end > 0 ? value.substring(1, end) : value.substring(1);
+        }
+        // Bare value: strip a trailing comment
+        int comment = value.indexOf('#');
+        return (comment >= 0 ? value.substring(0, comment) : value).trim();
+    }
+    
+    /**
+     * Get the jar file
+     */
+    public Path getPath() {
+        return path;
+    }
+    
+    /**
+     * Get the mod ids declared in the jar
+     * @return mod ids, empty for a plain library
+     */
+    public List<String> getModIds() {
+        return modIds;
+    }
+    
+    /**
+     * Get the mandatory server-side dependencies on mods other than Minecraft and Forge
+     */
+    public Set<String> getDependencies() {
+        return dependencies;
+    }
+    
+    /**
+     * Check if the jar declares no mods
+     */
+    public boolean isLibrary() {
+        return modIds.isEmpty();
+    }
+    
+    /**
+     * Get a short name for reports: the mod ids, or the file name of a library
+     */
+    public String getName() {
+        return modIds.isEmpty() ? String.valueOf(path.getFileName()) : String.join("+", modIds);
+    }
+    
+    @Override
+    public String toString() {
+        return getName() + " (" + path.getFileName() + ")";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.servertest.mod.bisect;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.servertest.mod.launch.ServerLauncher;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Runs a trial as a real server process through a ServerLauncher
+ * The bisection varies only the mods folder, so the world is generated fresh for every trial
+ * rather than copied: a world saved with the full mod set would load with missing registry entries.
+ */
+public class ServerTrialRunner implements TrialRunner {
+    
+    private final ServerLauncher launcher;
+    private final String metric;
+    
+    public ServerTrialRunner(ServerLauncher launcher, String metric) {
+        this.launcher = launcher;
+        this.metric = metric;
+    }
+    
+    @Override
+    public double run(List<ModJar> mods, int slot) throws IOException, InterruptedException {
+        List<Path> jars = mods.stream().map(ModJar::getPath).collect(Collectors.toList());
+        ServerLauncher.Result result = launcher.launch(slot, jars, Collections.emptyMap(), Collections.emptyMap());
+        return result.getReport() == null ? Double.NaN : readMetric(result.getReport(), metric);
+    }
+    
+    /**
+     * Read the bisected metric from a report
+     * @param report Report sections as written by ReportWriter
+     * @param metric "startup" for the JVM uptime when the server finished starting, "mspt" for the mean
+     *               repeated-measurement window, or the average tick time if no windows were measured
+     * @return metric value, NaN if the report does not contain it
+     */
+    public static double readMetric(JsonObject report, String metric) {
+        if (metric.equals("startup")) {
+            JsonElement phases = report.get("jvmPhases");
+            if (phases != null && phases.isJsonArray()) {
+                for (JsonElement phase : phases.getAsJsonArray()) {
+                    JsonObject sample = phase.getAsJsonObject();
+                    if ("serverStartup".equals(sample.get("phase").getAsString())) {
+                        return sample.get("uptimeMillis").getAsDouble();
+                    }
+                }
+            }
+            return Double.NaN;
+        }
+        
+        JsonElement comparison = report.get("comparison");
+        if (comparison != null && comparison.isJsonObject()) {
+            JsonArray windows = comparison.getAsJsonObject().getAsJsonArray("windowMsptMillis");
+            if (windows != null && windows.size() > 0) {
+                double sum = 0.0;
+                for (JsonElement window : windows) {
+                    sum += window.getAsDouble();
+                }
+                return sum / windows.size();
+            }
+        }
+        JsonElement result = report.get("result");
+        if (result != null && result.isJsonObject() && result.getAsJsonObject().has("tickTime")) {
+            return result.getAsJsonObject().get("tickTime").getAsDouble();
+        }
+        return Double.NaN;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.servertest.mod.bisect;
+
+import java.util.List;
+
+/**
+ * Runs the server once with a set of mods and measures the bisected metric
+ */
+public interface TrialRunner {
+    /**
+     * Run one trial
+     * @param mods The jars to install, dependencies already included
+     * @param slot Index of the parallel slot running the trial; trials in different slots run concurrently
+     * @return the measured metric, or NaN if the server failed to produce a report
+     * @throws Exception if the trial could not be run at all
+     */
+    double run(List<ModJar> mods, int slot) throws Exception;
+}
\ No newline at end of file
@@ -0,0 +1,180 @@
+package com.servertest.mod.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.servertest.mod.core.ReportWriter;
+import com.servertest.mod.metrics.EntityCensus;
+import com.servertest.mod.metrics.ProfilingSession;
+import com.servertest.mod.metrics.TickMetrics;
+import com.servertest.mod.model.ProfileReport;
+import com.servertest.mod.model.TickSnapshot;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+import net.minecraftforge.event.RegisterCommandsEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Registers the /servertest command tree for operators
+ * Every subcommand only reads the incremental collectors, so running one costs about as
+ * much as formatting its output, no matter how large the world is.
+ *
+ * <pre>
+ * /servertest tps                             tick rate and MSPT percentiles
+ * /servertest top mods|entities|chunks [n]    largest entity counts
+ * /servertest profile start [label]           start a profiling window
+ * /servertest profile stop                    stop it and show its statistics
+ * /servertest report                          write the current metrics to the report file
+ * </pre>
+ */
+public class ServerTestCommands {
+    
+    private static final int PERMISSION_LEVEL = 2;
+    private static final int DEFAULT_TOP = 10;
+    private static final int MAX_TOP = 50;
+    
+    private final TickMetrics tickMetrics;
+    private final ProfilingSession profilingSession;
+    private final EntityCensus entityCensus;
+    private final ReportWriter reportWriter;
+    
+    /**
+     * Create a new ServerTestCommands
+     * @param tickMetrics Incremental tick metrics
+     * @param profilingSession Profiling window shared with the control socket
+     * @param entityCensus Incremental entity counts
+     * @param reportWriter Report that receives profiles and snapshots, or null
+     */
+    public ServerTestCommands(TickMetrics tickMetrics, ProfilingSession profilingSession,
+                              EntityCensus entityCensus, ReportWriter reportWriter) {
+        this.tickMetrics = tickMetrics;
+        this.profilingSession = profilingSession;
+        this.entityCensus = entityCensus;
+        this.reportWriter = reportWriter;
+    }
+    
+    @SubscribeEvent
+    public void onRegisterCommands(RegisterCommandsEvent event) {
+        register(event.getDispatcher());
+    }
+    
+    /**
+     * Register the command tree
+     * @param dispatcher The server command dispatcher
+     */
+    public void register(CommandDispatcher<CommandSourceStack> dispatcher) {
+        LiteralArgumentBuilder<CommandSourceStack> root = Commands.literal("servertest")
+            .requires(source -> source.hasPermission(PERMISSION_LEVEL));
+        
+        root.then(Commands.literal("tps").executes(this::tps));
+        root.then(Commands.literal("top")
+            .then(topCommand("mods", entityCensus::topMods))
+            .then(topCommand("entities", entityCensus::topTypes))
+            .then(topCommand("chunks", entityCensus::topChunks)));
+        root.then(Commands.literal("profile")
+            .then(Commands.literal("start")
+                .executes(context -> profileStart(context, null))
+                .then(Commands.argument("label", StringArgumentType.word())
+                    .executes(context -> profileStart(context, StringArgumentType.getString(context, "label")))))
+            .then(Commands.literal("stop").executes(this::profileStop)));
+        root.then(Commands.literal("report").executes(this::report));
+        
+        dispatcher.register(root);
+    }
+    
+    private LiteralArgumentBuilder<CommandSourceStack> topCommand(String name,
+                                                                 Function<Integer, List<Map.Entry<String, Long>>> ranking) {
+        return Commands.literal(name)
+            .executes(context -> top(context, name, ranking.apply(DEFAULT_TOP)))
+            .then(Commands.argument("count", IntegerArgumentType.integer(1, MAX_TOP))
+                .executes(context -> top(context, name,
+                    ranking.apply(IntegerArgumentType.getInteger(context, "count")))));
+    }
+    
+    private int tps(CommandContext<CommandSourceStack> context) {
+        TickSnapshot snapshot = tickMetrics.snapshot();
+        reply(context, String.format(Locale.ROOT,
+            "TPS %.2f over %d ticks | MSPT last %.1f, mean %.1f, p50 %.1f, p95 %.1f, p99 %.1f",
+            snapshot.getTps(), snapshot.getTickCount(), snapshot.getLastTickMillis(), snapshot.getMeanTickMillis(),
+            snapshot.getP50TickMillis(), snapshot.getP95TickMillis(), snapshot.getP99TickMillis()));
+        for (TickSnapshot.DimensionSnapshot dimension : snapshot.getDimensions()) {
+            reply(context, String.format(Locale.ROOT, "  %s: %.1f ms, %d entities, %d chunks",
+                dimension.getDimension(), dimension.getLastTickMillis(), dimension.getEntities(),
+                dimension.getLoadedChunks()));
+        }
+        
+        ProfileReport running = profilingSession.peek();
+        if (running != null) {
+            reply(context, "Profiling window running: " + describe(running));
+        }
+        return snapshot.getDimensions().size() + 1;
+    }
+    
+    private int top(CommandContext<CommandSourceStack> context, String name, List<Map.Entry<String, Long>> entries) {
+        if (entries.isEmpty()) {
+            reply(context, "No entities counted yet");
+            return 0;
+        }
+        
+        reply(context, "Top " + entries.size() + " " + name + " by entity count:");
+        for (int i = 0; i < entries.size(); i++) {
+            Map.Entry<String, Long> entry = entries.get(i);
+            reply(context, String.format(Locale.ROOT, "  %d. %s: %d", i + 1, entry.getKey(), entry.getValue()));
+        }
+        return entries.size();
+    }
+    
+    private int profileStart(CommandContext<CommandSourceStack> context, String label) {
+        if (!profilingSession.start(label)) {
+            context.getSource().sendFailure(Component.literal("Profiling is already running"));
+            return 0;
+        }
+        reply(context, "Profiling started");
+        return 1;
+    }
+    
+    private int profileStop(CommandContext<CommandSourceStack> context) {
+        ProfileReport report = profilingSession.stop();
+        if (report == null) {
+            context.getSource().sendFailure(Component.literal("Profiling is not running"));
+            return 0;
+        }
+        if (reportWriter != null) {
+            reportWriter.addSection("profile:" + report.getLabel(), report);
+        }
+        reply(context, "Profiling stopped: " + describe(report));
+        return 1;
+    }
+    
+    private int report(CommandContext<CommandSourceStack> context) {
+        if (reportWriter == null || !reportWriter.isEnabled()) {
+            context.getSource().sendFailure(Component.literal("No report file is configured (set servertest.report.path)"));
+            return 0;
+        }
+        reportWriter.addSection("snapshot", tickMetrics.snapshot());
+        reportWriter.write();
+        reply(context, "Report written");
+        return 1;
+    }
+    
+    private static String describe(ProfileReport report) {
+        return String.format(Locale.ROOT,
+            "%s, %d ticks in %d ms, TPS %.2f, MSPT mean %.1f, p95 %.1f, p99 %.1f, %d GCs (%d ms)",
+            report.getLabel(), report.getTicks(), report.getDurationMillis(), report.getTps(),
+            report.getMeanTickMillis(), report.getP95TickMillis(), report.getP99TickMillis(),
+            report.getGcCount(), report.getGcMillis())
+            + (report.getCpuContention().isNoisy() ? " [noisy: " + report.getCpuContention() + "]" : "");
+    }
+    
+    private static void reply(CommandContext<CommandSourceStack> context, String message) {
+        context.getSource().sendSuccess(() -> Component.literal(message), false);
+    }
+}
\ No newline at end of file
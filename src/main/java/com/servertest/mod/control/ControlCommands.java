@@ -0,0 +1,167 @@
+package com.servertest.mod.control;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.servertest.mod.core.BackgroundExecutor;
+import com.servertest.mod.core.ReportWriter;
+import com.servertest.mod.core.ServerMonitor;
+import com.servertest.mod.metrics.ProfilingSession;
+import com.servertest.mod.metrics.TickMetrics;
+import com.servertest.mod.model.ProfileReport;
+import com.servertest.mod.model.TickSnapshot;
+import net.minecraft.server.MinecraftServer;
+import net.minecraftforge.server.ServerLifecycleHooks;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Executes the line protocol of the control socket
+ * Every request is one line and gets exactly one response line starting with "OK" or "ERR".
+ * Work that touches the world is handed to the server thread; everything else only reads
+ * incremental metrics and runs on the calling thread.
+ *
+ * <pre>
+ * PING                   OK PONG
+ * PROFILE START [label]  start a profiling window
+ * PROFILE STOP           stop it, answer with the window's statistics as JSON
+ * SCENARIO &lt;name&gt;        queue a test scenario (info, leak, measure, reload, soak, warmup)
+ * SNAPSHOT               answer with current metrics as JSON and queue a report file write
+ * SHUTDOWN               write the report and run the shutdown sequence
+ * </pre>
+ */
+public class ControlCommands {
+    
+    private final TickMetrics tickMetrics;
+    private final ProfilingSession profilingSession;
+    private final ServerMonitor serverMonitor;
+    private final ReportWriter reportWriter;
+    private final Supplier<BackgroundExecutor> reportExecutor;
+    private final Supplier<MinecraftServer> serverSupplier;
+    private final Gson gson = new GsonBuilder().serializeSpecialFloatingPointValues().create();
+    
+    /**
+     * Create a new ControlCommands
+     * @param tickMetrics Incremental tick metrics
+     * @param profilingSession Profiling window driven by PROFILE
+     * @param serverMonitor Test sequence for SCENARIO and SHUTDOWN, or null when they are not allowed
+     * @param reportWriter Report that receives profiles and snapshots, or null
+     * @param reportExecutor Worker that owns the report's file writes; supplies null while there is none
+     */
+    public ControlCommands(TickMetrics tickMetrics, ProfilingSession profilingSession,
+                           ServerMonitor serverMonitor, ReportWriter reportWriter,
+                           Supplier<BackgroundExecutor> reportExecutor) {
+        this(tickMetrics, profilingSession, serverMonitor, reportWriter, reportExecutor,
+            ServerLifecycleHooks::getCurrentServer);
+    }
+    
+    ControlCommands(TickMetrics tickMetrics, ProfilingSession profilingSession, ServerMonitor serverMonitor,
+                    ReportWriter reportWriter, Supplier<BackgroundExecutor> reportExecutor,
+                    Supplier<MinecraftServer> serverSupplier) {
+        this.tickMetrics = tickMetrics;
+        this.profilingSession = profilingSession;
+        this.serverMonitor = serverMonitor;
+        this.reportWriter = reportWriter;
+        this.reportExecutor = reportExecutor;
+        this.serverSupplier = serverSupplier;
+    }
+    
+    /**
+     * Execute one request line
+     * @param line The request
+     * @return single response line without line terminator
+     */
+    public String handle(String line) {
+        String[] parts = line.trim().split("\\s+");
+        String command = parts[0].toUpperCase(Locale.ROOT);
+        String argument = parts.length > 1 ? parts[1] : null;
+        
+        try {
+            switch (command) {
+                case "PING":
+                    return "OK PONG";
+                case "PROFILE":
+                    return profile(argument, parts.length > 2 ? parts[2] : null);
+                case "SCENARIO":
+                    return scenario(argument);
+                case "SNAPSHOT":
+                    return snapshot();
+                case "SHUTDOWN":
+                    return shutdown();
+                case "":
+                    return "ERR empty request";
+                default:
+                    return "ERR unknown command " + parts[0];
+            }
+        } catch (RuntimeException e) {
+            return "ERR " + e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+    }
+    
+    private String profile(String action, String label) {
+        if ("START".equalsIgnoreCase(action)) {
+            return profilingSession.start(label) ? "OK profiling started" : "ERR profiling already running";
+        }
+        if ("STOP".equalsIgnoreCase(action)) {
+            ProfileReport report = profilingSession.stop();
+            if (report == null) {
+                return "ERR profiling not running";
+            }
+            if (reportWriter != null) {
+                reportWriter.addSection("profile:" + report.getLabel(), report);
+            }
+            return "OK " + gson.toJson(report);
+        }
+        return "ERR usage: PROFILE START [label] | PROFILE STOP";
+    }
+    
+    private String scenario(String name) {
+        if (name == null) {
+            return "ERR usage: SCENARIO <" + String.join("|", ServerMonitor.SCENARIOS) + ">";
+        }
+        if (serverMonitor == null) {
+            return "ERR scenarios are only available while the test sequence is active";
+        }
+        if (!ServerMonitor.SCENARIOS.contains(name.toLowerCase(Locale.ROOT))) {
+            return "ERR unknown scenario " + name;
+        }
+        MinecraftServer server = serverSupplier.get();
+        if (server == null) {
+            return "ERR server not running";
+        }
+        
+        server.execute(() -> serverMonitor.startScenario(name));
+        return "OK scenario " + name + " queued";
+    }
+    
+    private String snapshot() {
+        TickSnapshot snapshot = tickMetrics.snapshot();
+        if (reportWriter != null) {
+            // Queued behind the worker's own report writes instead of racing them from the socket thread
+            Runnable write = () -> {
+                reportWriter.addSection("snapshot", snapshot);
+                reportWriter.write();
+            };
+            BackgroundExecutor executor = reportExecutor.get();
+            if (executor != null) {
+                executor.submit("snapshot", write);
+            } else {
+                write.run();
+            }
+        }
+        return "OK " + gson.toJson(snapshot);
+    }
+    
+    private String shutdown() {
+        if (serverMonitor == null) {
+            return "ERR shutdown is not available in this mode";
+        }
+        MinecraftServer server = serverSupplier.get();
+        if (server == null) {
+            return "ERR server not running";
+        }
+        
+        server.execute(() -> serverMonitor.requestShutdown(server));
+        return "OK shutting down";
+    }
+}
\ No newline at end of file
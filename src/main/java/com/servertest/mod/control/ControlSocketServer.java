@@ -0,0 +1,144 @@
+package com.servertest.mod.control;
+
+import com.servertest.mod.ServerTestMod;
+import com.servertest.mod.core.ErrorHandler;
+import net.minecraftforge.event.server.ServerStartedEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unix domain socket for external orchestration
+ * Accepts connections on a daemon thread and serves each client on its own daemon thread.
+ * The socket file is restricted to the owner since it can shut the server down.
+ */
+public class ControlSocketServer {
+    
+    private final Path socketPath;
+    private final ControlCommands commands;
+    private final AtomicInteger connectionIds = new AtomicInteger();
+    private ServerSocketChannel channel;
+    
+    public ControlSocketServer(Path socketPath, ControlCommands commands) {
+        this.socketPath = socketPath;
+        this.commands = commands;
+    }
+    
+    @SubscribeEvent
+    public void onServerStarted(ServerStartedEvent event) {
+        start();
+    }
+    
+    // Stay open until the server has stopped so a SHUTDOWN request still gets its answer
+    @SubscribeEvent
+    public void onServerStopped(ServerStoppedEvent event) {
+        stop();
+    }
+    
+    /**
+     * Bind the socket and start accepting connections
+     */
+    public synchronized void start() {
+        if (channel != null) {
+            return;
+        }
+        
+        try {
+            // A socket file left behind by a crashed server would make bind fail
+            Files.deleteIfExists(socketPath);
+            ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            server.bind(UnixDomainSocketAddress.of(socketPath));
+            restrictToOwner();
+            channel = server;
+            
+            Thread acceptThread = new Thread(() -> acceptLoop(server), "ServerTest-Control");
+            acceptThread.setDaemon(true);
+            acceptThread.start();
+            ServerTestMod.LOGGER.info("[SERVER-TEST] Control socket listening on {}", socketPath.toAbsolutePath());
+        } catch (IOException | UnsupportedOperationException e) {
+            ErrorHandler.handleNonCriticalError(
+                ErrorHandler.ErrorType.ENVIRONMENT,
+                "Failed to open control socket " + socketPath,
+                e
+            );
+        }
+    }
+    
+    /**
+     * Close the socket and remove the socket file
+     */
+    public synchronized void stop() {
+        if (channel == null) {
+            return;
+        }
+        
+        try {
+            channel.close();
+            Files.deleteIfExists(socketPath);
+        } catch (IOException e) {
+            ServerTestMod.LOGGER.debug("[SERVER-TEST] Failed to clean up control socket: {}", e.getMessage());
+        }
+        channel = null;
+    }
+    
+    private void restrictToOwner() {
+        try {
+            Files.setPosixFilePermissions(socketPath, PosixFilePermissions.fromString("rw-------"));
+        } catch (IOException | UnsupportedOperationException e) {
+            ServerTestMod.LOGGER.warn("[SERVER-TEST] Could not restrict control socket permissions: {}", e.getMessage());
+        }
+    }
+    
+    private void acceptLoop(ServerSocketChannel server) {
+        while (server.isOpen()) {
+            try {
+                SocketChannel client = server.accept();
+                Thread clientThread = new Thread(() -> serve(client),
+                    "ServerTest-Control-" + connectionIds.incrementAndGet());
+                clientThread.setDaemon(true);
+                clientThread.start();
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                ErrorHandler.handleNonCriticalError(
+                    ErrorHandler.ErrorType.GENERAL,
+                    "Control socket stopped accepting connections",
+                    e
+                );
+                return;
+            }
+        }
+    }
+    
+    private void serve(SocketChannel client) {
+        try (SocketChannel connection = client;
+             BufferedReader reader = new BufferedReader(Channels.newReader(connection, StandardCharsets.UTF_8));
+             Writer writer = Channels.newWriter(connection, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                writer.write(commands.handle(line));
+                writer.write('\n');
+                writer.flush();
+            }
+        } catch (IOException e) {
+            ServerTestMod.LOGGER.debug("[SERVER-TEST] Control connection closed: {}", e.getMessage());
+        }
+    }
+}
\ No newline at end of file
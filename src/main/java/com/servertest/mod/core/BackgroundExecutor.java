@@ -0,0 +1,174 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.ServerTestMod;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One worker thread with a bounded queue for work that must stay off the server thread
+ * The server thread only captures immutable snapshots and hands them over; formatting, attribution,
+ * serialization and file IO run here. Jobs run one at a time in submission order, so a job can rely
+ * on everything submitted before it, e.g. the report is written after the results it contains.
+ */
+public class BackgroundExecutor {
+    
+    private final BlockingQueue<Runnable> queue;
+    private final Thread worker;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong waits = new AtomicLong();
+    
+    /**
+     * Start a worker thread
+     * @param threadName Name of the worker thread
+     * @param capacity Jobs that may wait in the queue
+     */
+    public BackgroundExecutor(String threadName, int capacity) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.worker = new Thread(this::runJobs, threadName);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+    
+    private BackgroundExecutor() {
+        this.queue = null;
+        this.worker = null;
+    }
+    
+    /**
+     * Create the worker with the queue capacity from background.queue.capacity
+     */
+    public static BackgroundExecutor fromConfig(ServerTestConfig config, String threadName) {
+        return new BackgroundExecutor(threadName, config.getInt("background.queue.capacity", 64));
+    }
+    
+    /**
+     * An executor that runs every job on the calling thread, as if it had been called directly
+     * Jobs propagate their exceptions to the caller.
+     */
+    public static BackgroundExecutor direct() {
+        return new BackgroundExecutor();
+    }
+    
+    /**
+     * Run a job that later jobs depend on
+     * When the queue is full the caller waits for space rather than dropping the job or running it
+     * out of order; a full queue means the worker is behind, and waiting is the bounded cost. If the
+     * caller is interrupted while waiting, the job is dropped and reported instead of being run on
+     * the caller's thread.
+     * @param name Job name, used in error messages
+     * @param job The work to run
+     * @return completes when the job has run, exceptionally if it threw or was dropped
+     */
+    public CompletableFuture<Void> submit(String name, Runnable job) {
+        if (worker == null) {
+            job.run();
+            return CompletableFuture.completedFuture(null);
+        }
+        
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        Runnable wrapped = wrap(name, job, future);
+        if (queue.offer(wrapped)) {
+            return future;
+        }
+        waits.incrementAndGet();
+        ServerTestMod.LOGGER.warn("[SERVER-TEST] Background queue full, waiting to submit {}", name);
+        try {
+            queue.put(wrapped);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dropped.incrementAndGet();
+            ErrorHandler.handleNonCriticalError(
+                ErrorHandler.ErrorType.INFO_COLLECTION,
+                "Interrupted while waiting for queue space, dropped background job " + name,
+                e
+            );
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+    
+    /**
+     * Run a job that may be skipped, e.g. a periodic refresh the next one supersedes
+     * @param name Job name, used in error messages
+     * @param job The work to run
+     * @return false if the queue was full and the job was dropped
+     */
+    public boolean offer(String name, Runnable job) {
+        if (worker == null) {
+            job.run();
+            return true;
+        }
+        if (queue.offer(wrap(name, job, new CompletableFuture<>()))) {
+            return true;
+        }
+        dropped.incrementAndGet();
+        ServerTestMod.LOGGER.debug("[SERVER-TEST] Background queue full, dropped {}", name);
+        return false;
+    }
+    
+    /**
+     * Wait for the queued jobs to finish, then stop the worker
+     * @param timeoutMillis Longest time to wait for the queue to drain
+     * @return true if every queued job ran
+     */
+    public boolean shutdown(long timeoutMillis) {
+        if (worker == null) {
+            return true;
+        }
+        boolean drained;
+        try {
+            submit("shutdown", () -> { }).get(timeoutMillis, TimeUnit.MILLISECONDS);
+            drained = true;
+        } catch (Exception e) {
+            drained = false;
+        }
+        worker.interrupt();
+        return drained;
+    }
+    
+    /**
+     * Get the number of jobs dropped by offer() because the queue was full, or by an interrupted submit()
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+    
+    /**
+     * Get the number of times submit() had to wait for queue space
+     */
+    public long getWaits() {
+        return waits.get();
+    }
+    
+    private static Runnable wrap(String name, Runnable job, CompletableFuture<Void> future) {
+        return () -> {
+            try {
+                job.run();
+                future.complete(null);
+            } catch (Throwable e) {
+                // Nobody on the worker thread can handle it, so report it here and keep the worker
+                // alive for the jobs behind it, errors included
+                ErrorHandler.handleNonCriticalError(
+                    ErrorHandler.ErrorType.INFO_COLLECTION,
+                    "Background job " + name + " failed",
+                    e
+                );
+                future.completeExceptionally(e);
+            }
+        };
+    }
+    
+    private void runJobs() {
+        try {
+            while (true) {
+                queue.take().run();
+            }
+        } catch (InterruptedException e) {
+            // Stopped by shutdown()
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.ServerTestMod;
+import com.servertest.mod.api.ServerBenchmark;
+import com.servertest.mod.api.ServerTestApi;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Collects the benchmarks and load generators other mods register through InterModComms
+ */
+public class BenchmarkRegistry {
+    
+    /**
+     * A benchmark and the mod that registered it
+     */
+    public static class Registration {
+        private final String id;
+        private final boolean loadGenerator;
+        private final ServerBenchmark benchmark;
+        
+        public Registration(String id, boolean loadGenerator, ServerBenchmark benchmark) {
+            this.id = id;
+            this.loadGenerator = loadGenerator;
+            this.benchmark = benchmark;
+        }
+        
+        /**
+         * Get the id used in logs and report sections, modid:name
+         */
+        public String getId() {
+            return id;
+        }
+        
+        /**
+         * Check if the benchmark is timed by server MSPT rather than by its run() method
+         */
+        public boolean isLoadGenerator() {
+            return loadGenerator;
+        }
+        
+        public ServerBenchmark getBenchmark() {
+            return benchmark;
+        }
+    }
+    
+    private final List<Registration> registrations = new ArrayList<>();
+    
+    /**
+     * Register the payload of one InterModComms message
+     * Messages with an unknown method or payload are reported and ignored, so one broken addon
+     * does not stop the others from being measured.
+     * @param senderModId Mod that sent the message
+     * @param method One of the ServerTestApi methods
+     * @param supplier Message supplier, expected to supply a ServerBenchmark
+     * @return true if the benchmark was registered
+     */
+    public boolean register(String senderModId, String method, Supplier<?> supplier) {
+        boolean loadGenerator = ServerTestApi.REGISTER_LOAD_GENERATOR.equals(method);
+        if (!loadGenerator && !ServerTestApi.REGISTER_BENCHMARK.equals(method)) {
+            ErrorHandler.handleNonCriticalError(
+                ErrorHandler.ErrorType.GENERAL,
+                "Unknown InterModComms method " + method + " from " + senderModId,
+                null
+            );
+            return false;
+        }
+        
+        Object payload = supplier.get();
+        if (!(payload instanceof ServerBenchmark)) {
+            ErrorHandler.handleNonCriticalError(
+                ErrorHandler.ErrorType.GENERAL,
+                senderModId + " sent " + method + " without a ServerBenchmark: " + payload,
+                null
+            );
+            return false;
+        }
+        
+        ServerBenchmark benchmark = (ServerBenchmark) payload;
+        String id = senderModId + ":" + benchmark.getName();
+        if (registrations.stream().anyMatch(registration -> registration.getId().equals(id))) {
+            ErrorHandler.handleNonCriticalError(
+                ErrorHandler.ErrorType.GENERAL,
+                "Benchmark " + id + " is already registered",
+                null
+            );
+            return false;
+        }
+        
+        registrations.add(new Registration(id, loadGenerator, benchmark));
+        ServerTestMod.LOGGER.info("[SERVER-TEST] Registered {} {}", loadGenerator ? "load generator" : "benchmark", id);
+        return true;
+    }
+    
+    /**
+     * Get the registered benchmarks in registration order
+     */
+    public List<Registration> getRegistrations() {
+        return Collections.unmodifiableList(registrations);
+    }
+    
+    public boolean isEmpty() {
+        return registrations.isEmpty();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,125 @@
+package com.servertest.mod.core;
+
+import net.minecraftforge.fml.ModList;
+import net.minecraftforge.forgespi.language.IModFileInfo;
+import net.minecraftforge.forgespi.language.ModFileScanData;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Attributes loaded classes to mods by package ownership
+ * The list of loaded classes comes from the VM.class_hierarchy diagnostic command, and each
+ * package is mapped to the mod whose jar declares classes in it.
+ */
+public class ClassAttribution {
+    
+    private static final String DIAGNOSTIC_COMMAND_MBEAN = "com.sun.management:type=DiagnosticCommand";
+    static final String UNATTRIBUTED = "other";
+    
+    private Map<String, String> packageOwners;
+    
+    /**
+     * Count the currently loaded classes per mod
+     * @return class count per mod ID; classes outside any mod (JDK, libraries) are counted as "other"
+     */
+    public Map<String, Integer> countLoadedClassesByMod() {
+        try {
+            if (packageOwners == null) {
+                packageOwners = buildPackageOwners();
+            }
+            
+            String hierarchy = (String) ManagementFactory.getPlatformMBeanServer().invoke(
+                new ObjectName(DIAGNOSTIC_COMMAND_MBEAN),
+                "vmClassHierarchy",
+                new Object[] {new String[0]},
+                new String[] {String[].class.getName()}
+            );
+            return countByOwner(parseClassNames(hierarchy), packageOwners);
+        } catch (Exception e) {
+            ErrorHandler.handleNonCriticalError(
+                ErrorHandler.ErrorType.INFO_COLLECTION,
+                "Failed to attribute loaded classes to mods",
+                e
+            );
+            return null;
+        }
+    }
+    
+    private static Map<String, String> buildPackageOwners() {
+        Map<String, String> owners = new HashMap<>();
+        for (IModFileInfo fileInfo : ModList.get().getModFiles()) {
+            if (fileInfo.getMods().isEmpty()) {
+                continue;
+            }
+            
+            String modId = fileInfo.getMods().get(0).getModId();
+            for (ModFileScanData.ClassData classData : fileInfo.getFile().getScanResult().getClasses()) {
+                owners.putIfAbsent(packageOf(classData.clazz().getClassName()), modId);
+            }
+        }
+        return owners;
+    }
+    
+    /**
+     * Extract class names from VM.class_hierarchy output
+     * Lines look like "|  |--com.example.Foo/app" with the defining loader after the slash
+     */
+    static List<String> parseClassNames(String hierarchy) {
+        List<String> names = new ArrayList<>();
+        if (hierarchy == null) {
+            return names;
+        }
+        
+        for (String line : hierarchy.split("\\R")) {
+            int start = 0;
+            while (start < line.length() && (line.charAt(start) == '|' || line.charAt(start) == ' ' || line.charAt(start) == '-')) {
+                start++;
+            }
+            
+            int end = line.indexOf('/', start);
+            if (end < 0) {
+                end = line.indexOf(' ', start);
+            }
+            if (end < 0) {
+                end = line.length();
+            }
+            
+            if (end > start) {
+                names.add(line.substring(start, end));
+            }
+        }
+        return names;
+    }
+    
+    /**
+     * Count class names per owning mod, falling back to well-known prefixes for game classes
+     */
+    static Map<String, Integer> countByOwner(List<String> classNames, Map<String, String> packageOwners) {
+        Map<String, Integer> counts = new TreeMap<>();
+        for (String className : classNames) {
+            String owner = packageOwners.get(packageOf(className));
+            if (owner == null) {
+                if (className.startsWith("net.minecraft.") || className.startsWith("com.mojang.")) {
+                    owner = "minecraft";
+                } else if (className.startsWith("net.minecraftforge.")) {
+                    owner = "forge";
+                } else {
+                    owner = UNATTRIBUTED;
+                }
+            }
+            counts.merge(owner, 1, Integer::sum);
+        }
+        return counts;
+    }
+    
+    private static String packageOf(String className) {
+        int lastDot = className.lastIndexOf('.');
+        return lastDot > 0 ? className.substring(0, lastDot) : "";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,197 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.model.CpuContention;
+
+/**
+ * Reads cgroup CPU throttling and hypervisor steal time around a measurement window
+ * Supports the cgroup v2 unified hierarchy (throttled_usec) and cgroup v1 (throttled_time in
+ * nanoseconds). Steal time comes from the aggregate cpu line of /proc/stat. Sources that do not
+ * exist, e.g. outside Linux or without a CPU quota, are reported as unavailable and never make
+ * a window noisy.
+ */
+public class CpuContentionProbe {
+    
+    static final String[] CPU_STAT_PATHS = {
+        "/sys/fs/cgroup/cpu.stat",
+        "/sys/fs/cgroup/cpu/cpu.stat",
+        "/sys/fs/cgroup/cpu,cpuacct/cpu.stat"
+    };
+    static final String PROC_STAT_PATH = "/proc/stat";
+    
+    /** Index of the steal column on the cpu line of /proc/stat, counting the "cpu" label */
+    private static final int STEAL_COLUMN = 8;
+    
+    private final EnvironmentProvider environmentProvider;
+    private final double maxThrottledFraction;
+    private final double maxStealFraction;
+    
+    public CpuContentionProbe(EnvironmentProvider environmentProvider, double maxThrottledFraction,
+                              double maxStealFraction) {
+        this.environmentProvider = environmentProvider;
+        this.maxThrottledFraction = maxThrottledFraction;
+        this.maxStealFraction = maxStealFraction;
+    }
+    
+    /**
+     * Create a probe with the noise limits from configuration that reads through the
+     * configuration's environment provider
+     * @param config Configuration providing "noise.throttle.max" and "noise.steal.max"
+     * @return probe
+     */
+    public static CpuContentionProbe fromConfig(ServerTestConfig config) {
+        return fromConfig(config, config.getEnvironmentProvider());
+    }
+    
+    /**
+     * Create a probe with the noise limits from configuration
+     * @param config Configuration providing "noise.throttle.max" and "noise.steal.max"
+     * @param environmentProvider Provider the cgroup and /proc files are read through
+     * @return probe
+     */
+    public static CpuContentionProbe fromConfig(ServerTestConfig config, EnvironmentProvider environmentProvider) {
+        return new CpuContentionProbe(
+            environmentProvider,
+            config.getDouble("noise.throttle.max", 0.05),
+            config.getDouble("noise.steal.max", 0.05)
+        );
+    }
+    
+    /**
+     * Read the current counters
+     * @return sample to pass to measure()
+     */
+    public Sample sample() {
+        Sample sample = new Sample(System.nanoTime());
+        readCpuStat(sample);
+        readProcStat(sample);
+        return sample;
+    }
+    
+    private void readCpuStat(Sample sample) {
+        for (String path : CPU_STAT_PATHS) {
+            String content = environmentProvider.readFile(path);
+            if (content == null) {
+                continue;
+            }
+            
+            long periods = -1;
+            long throttled = -1;
+            long throttledNanos = -1;
+            for (String line : content.split("\n")) {
+                String[] fields = line.trim().split("\\s+");
+                if (fields.length != 2) {
+                    continue;
+                }
+                try {
+                    long value = Long.parseLong(fields[1]);
+                    switch (fields[0]) {
+                        case "nr_periods":
+                            periods = value;
+                            break;
+                        case "nr_throttled":
+                            throttled = value;
+                            break;
+                        case "throttled_usec":
+                            throttledNanos = value * 1000L;
+                            break;
+                        case "throttled_time":
+                            throttledNanos = value;
+                            break;
+                        default:
+                            break;
+                    }
+                } catch (NumberFormatException e) {
+                    // Not a counter line
+                }
+            }
+            
+            // cgroup v2 only reports throttling once the cpu controller is enabled for the group
+            if (periods >= 0 && throttled >= 0 && throttledNanos >= 0) {
+                sample.periods = periods;
+                sample.throttled = throttled;
+                sample.throttledNanos = throttledNanos;
+                return;
+            }
+        }
+    }
+    
+    private void readProcStat(Sample sample) {
+        String content = environmentProvider.readFile(PROC_STAT_PATH);
+        if (content == null) {
+            return;
+        }
+        
+        for (String line : content.split("\n")) {
+            if (!line.startsWith("cpu ")) {
+                continue;
+            }
+            String[] fields = line.trim().split("\\s+");
+            if (fields.length <= STEAL_COLUMN) {
+                return;
+            }
+            try {
+                long total = 0;
+                // user..steal; guest time is already included in user
+                for (int i = 1; i <= STEAL_COLUMN; i++) {
+                    total += Long.parseLong(fields[i]);
+                }
+                sample.stealTicks = Long.parseLong(fields[STEAL_COLUMN]);
+                sample.totalTicks = total;
+            } catch (NumberFormatException e) {
+                // Leave steal unavailable
+            }
+            return;
+        }
+    }
+    
+    /**
+     * Compute the contention between two samples
+     * @param start Sample taken when the window started
+     * @param end Sample taken when the window ended
+     * @return contention during the window
+     */
+    public CpuContention measure(Sample start, Sample end) {
+        long wallNanos = Math.max(1L, end.wallNanos - start.wallNanos);
+        
+        boolean cgroupAvailable = start.periods >= 0 && end.periods >= start.periods;
+        long periods = cgroupAvailable ? end.periods - start.periods : 0;
+        long throttled = cgroupAvailable ? Math.max(0, end.throttled - start.throttled) : 0;
+        long throttledNanos = cgroupAvailable ? Math.max(0, end.throttledNanos - start.throttledNanos) : 0;
+        // Throttled time is summed over all CPUs of the group, so it can exceed the wall time
+        double throttledFraction = throttledNanos / (double) wallNanos;
+        
+        boolean stealAvailable = start.totalTicks >= 0 && end.totalTicks > start.totalTicks;
+        double stealFraction = stealAvailable
+            ? Math.max(0, end.stealTicks - start.stealTicks) / (double) (end.totalTicks - start.totalTicks)
+            : 0.0;
+        
+        boolean noisy = throttledFraction > maxThrottledFraction || stealFraction > maxStealFraction;
+        return new CpuContention(
+            wallNanos / 1_000_000L,
+            periods,
+            throttled,
+            throttledNanos / 1_000_000.0,
+            throttledFraction,
+            stealFraction,
+            cgroupAvailable,
+            stealAvailable,
+            noisy
+        );
+    }
+    
+    /**
+     * Counter values at one point in time; -1 marks a source that could not be read
+     */
+    public static class Sample {
+        private final long wallNanos;
+        private long periods = -1;
+        private long throttled = -1;
+        private long throttledNanos = -1;
+        private long stealTicks = -1;
+        private long totalTicks = -1;
+        
+        private Sample(long wallNanos) {
+            this.wallNanos = wallNanos;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.servertest.mod.core;
+
+import com.google.gson.JsonParser;
+import com.servertest.mod.model.NamespaceDataStats;
+import net.minecraft.advancements.Advancement;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.packs.resources.Resource;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.level.storage.loot.LootDataType;
+
+import java.io.Reader;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Breaks datapack content down by namespace: what each namespace contributes and how long
+ * its data files take to read and parse
+ * The parse time is a proxy measured after the reloads, in a separate pass over the files; it
+ * does not include the time the reload listeners spend decoding the parsed JSON
+ */
+public class DataNamespaceProfiler {
+    
+    static final String[] DATA_DIRECTORIES = {"recipes", "tags", "loot_tables", "advancements"};
+    
+    private DataNamespaceProfiler() {
+    }
+    
+    /**
+     * Count the loaded recipes, tags, loot tables and advancements per namespace
+     * Must be called on the server thread
+     * @param server The MinecraftServer instance
+     * @return stats keyed by namespace
+     */
+    public static Map<String, NamespaceDataStats> countContent(MinecraftServer server) {
+        Map<String, NamespaceDataStats> stats = new TreeMap<>();
+        
+        for (Recipe<?> recipe : server.getRecipeManager().getRecipes()) {
+            statsFor(stats, recipe.getId()).addRecipe();
+        }
+        
+        server.registryAccess().registries().forEach(entry ->
+            entry.value().getTagNames().forEach(tag -> statsFor(stats, tag.location()).addTag()));
+        
+        for (ResourceLocation lootTable : server.getLootData().getKeys(LootDataType.TABLE)) {
+            statsFor(stats, lootTable).addLootTable();
+        }
+        
+        for (Advancement advancement : server.getAdvancements().getAllAdvancements()) {
+            statsFor(stats, advancement.getId()).addAdvancement();
+        }
+        
+        return stats;
+    }
+    
+    /**
+     * Time reading and parsing every data file, attributing the time to the file's namespace
+     * Only JSON parsing is timed, so the result ranks namespaces by data volume rather than
+     * reproducing the reload listeners' cost
+     * Intended for a background thread; it does not touch server state
+     * @param resourceManager The server resource manager
+     * @param stats Stats to add the timings to, keyed by namespace
+     */
+    public static void timeFileParses(ResourceManager resourceManager, Map<String, NamespaceDataStats> stats) {
+        for (String directory : DATA_DIRECTORIES) {
+            Map<ResourceLocation, Resource> resources =
+                resourceManager.listResources(directory, location -> location.getPath().endsWith(".json"));
+            
+            for (Map.Entry<ResourceLocation, Resource> entry : resources.entrySet()) {
+                long start = System.nanoTime();
+                try (Reader reader = entry.getValue().openAsReader()) {
+                    JsonParser.parseReader(reader);
+                } catch (Exception e) {
+                    // Broken files still cost load time; the server reports the parse error itself
+                }
+                synchronized (stats) {
+                    statsFor(stats, entry.getKey()).addFileParse(System.nanoTime() - start);
+                }
+            }
+        }
+    }
+    
+    private static NamespaceDataStats statsFor(Map<String, NamespaceDataStats> stats, ResourceLocation location) {
+        return stats.computeIfAbsent(location.getNamespace(), NamespaceDataStats::new);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.model.DeterministicReport;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerChunkCache;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.GameRules;
+import net.minecraft.world.level.levelgen.Heightmap;
+
+/**
+ * Pins the world state that makes tick time differ between runs of the same commit
+ * The clock, weather and natural mob spawning are stopped, random ticks run at a fixed speed,
+ * the spawn point is moved to a fixed position and the level random sources start from a fixed
+ * seed. The world seed itself comes from server.properties; it can only be verified here.
+ * Moving the spawn point tickets a new spawn area, so nothing should be measured before
+ * isSpawnAreaLoaded() reports that its chunks have been generated.
+ */
+public class DeterministicMode {
+    
+    /** Clear weather lasts this long even if a mod turns the weather cycle back on */
+    private static final int CLEAR_WEATHER_TICKS = 1_000_000;
+    /** Radius in chunks of the area the spawn ticket keeps fully loaded (23x23 chunks) */
+    static final int SPAWN_CHUNK_RADIUS = 11;
+    
+    private final Long expectedSeed;
+    private final long randomSeed;
+    private final int spawnX;
+    private final int spawnZ;
+    private final long dayTime;
+    private final int randomTickSpeed;
+    
+    public DeterministicMode(ServerTestConfig config) {
+        this.expectedSeed = config.isSet("deterministic.seed") ? config.getLong("deterministic.seed", 0L) : null;
+        this.randomSeed = config.getLong("deterministic.random.seed", 0L);
+        this.spawnX = config.getInt("deterministic.spawn.x", 0);
+        this.spawnZ = config.getInt("deterministic.spawn.z", 0);
+        this.dayTime = config.getLong("deterministic.time", 6000L);
+        this.randomTickSpeed = Math.max(0, config.getInt("deterministic.random.tick.speed", 3));
+    }
+    
+    /**
+     * Pin the world state; must be called on the server thread before the first test task
+     * @param server The MinecraftServer instance
+     * @return what was applied
+     * @throws IllegalStateException if the world was not generated from the expected seed
+     */
+    public DeterministicReport apply(MinecraftServer server) {
+        ServerLevel overworld = server.overworld();
+        long worldSeed = overworld.getSeed();
+        if (expectedSeed != null && worldSeed != expectedSeed) {
+            throw new IllegalStateException("World seed is " + worldSeed + " but deterministic.seed is " + expectedSeed
+                + "; set level-seed in server.properties and start from a fresh world");
+        }
+        
+        GameRules rules = overworld.getGameRules();
+        rules.getRule(GameRules.RULE_DAYLIGHT).set(false, server);
+        rules.getRule(GameRules.RULE_WEATHER_CYCLE).set(false, server);
+        rules.getRule(GameRules.RULE_DOMOBSPAWNING).set(false, server);
+        rules.getRule(GameRules.RULE_RANDOMTICKING).set(randomTickSpeed, server);
+        
+        overworld.setDayTime(dayTime);
+        overworld.setWeatherParameters(CLEAR_WEATHER_TICKS, 0, false, false);
+        int spawnY = overworld.getHeight(Heightmap.Types.MOTION_BLOCKING_NO_LEAVES, spawnX, spawnZ);
+        overworld.setDefaultSpawnPos(new BlockPos(spawnX, spawnY, spawnZ), 0.0F);
+        
+        // Each dimension gets its own seed so they do not draw the same sequence
+        long levelSeed = randomSeed;
+        for (ServerLevel level : server.getAllLevels()) {
+            level.getRandom().setSeed(levelSeed++);
+        }
+        
+        return new DeterministicReport(worldSeed, randomSeed, spawnX, spawnY, spawnZ, dayTime, randomTickSpeed);
+    }
+    
+    /**
+     * Check whether every chunk of the spawn area around the pinned spawn point is fully loaded
+     * @param server The MinecraftServer instance
+     * @return false while the area is still being generated or loaded
+     */
+    public boolean isSpawnAreaLoaded(MinecraftServer server) {
+        ServerChunkCache chunks = server.overworld().getChunkSource();
+        int centerX = spawnX >> 4;
+        int centerZ = spawnZ >> 4;
+        for (int x = centerX - SPAWN_CHUNK_RADIUS; x <= centerX + SPAWN_CHUNK_RADIUS; x++) {
+            for (int z = centerZ - SPAWN_CHUNK_RADIUS; z <= centerZ + SPAWN_CHUNK_RADIUS; z++) {
+                if (!chunks.hasChunk(x, z)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.ServerTestMod;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.level.levelgen.Heightmap;
+
+import java.util.Random;
+
+/**
+ * Spawns a number of entities around the world spawn to put entity load on the server
+ * Entities are spread over a square around the spawn, which stays loaded and entity ticking
+ * without players, and spawned a batch per tick. Mobs are made persistent so the load stays
+ * for the rest of the run.
+ */
+public class EntitySpawner implements TickTask {
+    
+    private final String entityId;
+    private final int count;
+    private final int radius;
+    private final int perTick;
+    private final Integer centerX;
+    private final Integer centerZ;
+    private final Random random;
+    private final boolean seedEntities;
+    
+    private EntityType<?> type;
+    private int spawned;
+    
+    public EntitySpawner(ServerTestConfig config) {
+        this.entityId = config.getString("spawn.entity", "minecraft:cow");
+        this.count = Math.max(0, config.getInt("spawn.count", 100));
+        this.radius = Math.max(0, config.getInt("spawn.radius", 32));
+        this.perTick = Math.max(1, config.getInt("spawn.per.tick", 20));
+        this.centerX = config.isSet("spawn.x") ? config.getInt("spawn.x", 0) : null;
+        this.centerZ = config.isSet("spawn.z") ? config.getInt("spawn.z", 0) : null;
+        // Same positions on every run, so runs stay comparable
+        this.random = new Random(config.getLong("spawn.seed", 0L));
+        this.seedEntities = config.getBoolean("deterministic.enabled", false);
+    }
+    
+    @Override
+    public String getName() {
+        return "spawn";
+    }
+    
+    @Override
+    public boolean tick(MinecraftServer server) {
+        if (type == null) {
+            type = EntityType.byString(entityId)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown entity type: " + entityId));
+        }
+        
+        ServerLevel level = server.overworld();
+        BlockPos spawn = level.getSharedSpawnPos();
+        int x0 = centerX != null ? centerX : spawn.getX();
+        int z0 = centerZ != null ? centerZ : spawn.getZ();
+        int batch = Math.min(perTick, count - spawned);
+        for (int i = 0; i < batch; i++) {
+            Entity entity = type.create(level);
+            if (entity == null) {
+                throw new IllegalArgumentException("Entity type " + entityId + " cannot be spawned");
+            }
+            double x = x0 + random.nextInt(2 * radius + 1) - radius + 0.5;
+            double z = z0 + random.nextInt(2 * radius + 1) - radius + 0.5;
+            int y = level.getHeight(Heightmap.Types.MOTION_BLOCKING_NO_LEAVES, (int) Math.floor(x), (int) Math.floor(z));
+            entity.moveTo(x, y, z, random.nextFloat() * 360.0F, 0.0F);
+            if (seedEntities) {
+                // Entities seed their own random source from the clock, which would make their AI differ per run
+                entity.getRandom().setSeed(random.nextLong());
+            }
+            if (entity instanceof Mob) {
+                ((Mob) entity).setPersistenceRequired();
+            }
+            level.addFreshEntity(entity);
+        }
+        spawned += batch;
+        
+        if (spawned >= count) {
+            ServerTestMod.LOGGER.info("[SERVER-TEST] Spawned {} x {} within {} blocks of {}, {}", count, entityId,
+                radius, x0, z0);
+            return true;
+        }
+        return false;
+    }
+}
\ No newline at end of file
@@ -1,12 +1,23 @@
 package com.servertest.mod.core;
 
 import com.servertest.mod.ServerTestMod;
+import com.servertest.mod.model.EnvironmentFingerprint;
+import net.minecraftforge.fml.ModList;
+import net.minecraftforge.forgespi.language.IModInfo;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Detects whether the mod is running in a CI environment (GitHub Actions)
+ * or has been switched to production monitoring mode
  */
 public class EnvironmentDetector {
     
+    /** cgroup v1 reports "no limit" as a huge page-aligned number rather than a marker */
+    private static final long UNLIMITED_MEMORY = 1L << 60;
+    private static final long GIB = 1024L * 1024L * 1024L;
+    
     private final EnvironmentProvider environmentProvider;
     
     /**
@@ -53,11 +64,29 @@ public class EnvironmentDetector {
         return false;
     }
     
+    /**
+     * Check if production monitoring mode is enabled
+     * Enabled with -Dservertest.mode=production or SERVERTEST_MODE=production. In this mode
+     * the mod monitors continuously and never shuts the server down, even inside CI.
+     * @return true if production mode is enabled
+     */
+    public boolean isProductionMode() {
+        String mode = environmentProvider.getProperty("servertest.mode");
+        if (mode == null || mode.isEmpty()) {
+            mode = environmentProvider.getenv("SERVERTEST_MODE");
+        }
+        return "production".equalsIgnoreCase(mode);
+    }
+    
     /**
      * Get information about the detected environment
      * @return String describing the environment
      */
     public String getEnvironmentInfo() {
+        if (isProductionMode()) {
+            return "Production environment (continuous monitoring)";
+        }
+        
         if (isInCIEnvironment()) {
             StringBuilder info = new StringBuilder("CI Environment detected: ");
             
@@ -74,4 +103,160 @@ public class EnvironmentDetector {
         
         return "Development environment";
     }
+    
+    /**
+     * Capture the hardware, container, JVM and game versions of this run
+     * @return fingerprint to embed in the report
+     */
+    public EnvironmentFingerprint getFingerprint() {
+        String osName = String.valueOf(environmentProvider.getProperty("os.name"));
+        String osArch = String.valueOf(environmentProvider.getProperty("os.arch"));
+        String cpuModel = readCpuModel();
+        int processors = environmentProvider.availableProcessors();
+        double cpuLimit = readContainerCpuLimit();
+        long totalMemory = readTotalMemory();
+        long memoryLimit = readContainerMemoryLimit();
+        String jvmVendor = String.valueOf(environmentProvider.getProperty("java.vm.vendor"));
+        String jvmVersion = String.valueOf(environmentProvider.getProperty("java.runtime.version"));
+        List<String> collectors = environmentProvider.getGarbageCollectors();
+        long maxHeap = environmentProvider.maxHeapBytes();
+        List<String> heapFlags = new ArrayList<>();
+        for (String argument : environmentProvider.getJvmArguments()) {
+            if (argument.startsWith("-XX:") || argument.startsWith("-Xms") || argument.startsWith("-Xmx")
+                || argument.startsWith("-Xmn") || argument.startsWith("-Xss")) {
+                heapFlags.add(argument);
+            }
+        }
+        String minecraftVersion = modVersion("minecraft");
+        String forgeVersion = modVersion("forge");
+        
+        // Memory counts in whole GiB so a few MB of kernel reservation does not split a runner type
+        long effectiveMemory = memoryLimit > 0 && (totalMemory < 0 || memoryLimit < totalMemory)
+            ? memoryLimit : totalMemory;
+        String hardwareClass = EnvironmentFingerprint.shortHash(String.join("\n",
+            osArch,
+            cpuModel,
+            String.valueOf(processors),
+            String.valueOf(effectiveMemory > 0 ? Math.round(effectiveMemory / (double) GIB) : -1)
+        ));
+        String fingerprint = EnvironmentFingerprint.shortHash(String.join("\n",
+            hardwareClass,
+            osName,
+            String.valueOf(cpuLimit),
+            String.valueOf(totalMemory),
+            String.valueOf(memoryLimit),
+            jvmVendor,
+            jvmVersion,
+            String.join(",", collectors),
+            String.valueOf(maxHeap),
+            String.join(" ", heapFlags),
+            minecraftVersion,
+            forgeVersion
+        ));
+        
+        return new EnvironmentFingerprint(getEnvironmentInfo(), osName, osArch, cpuModel, processors, cpuLimit,
+            totalMemory, memoryLimit, jvmVendor, jvmVersion, collectors, maxHeap, heapFlags, minecraftVersion,
+            forgeVersion, hardwareClass, fingerprint);
+    }
+    
+    private String readCpuModel() {
+        String cpuInfo = environmentProvider.readFile("/proc/cpuinfo");
+        if (cpuInfo != null) {
+            // x86 reports "model name", most ARM kernels only "Hardware" or the implementer/part ids
+            String[] keys = {"model name", "Hardware", "CPU part"};
+            for (String key : keys) {
+                for (String line : cpuInfo.split("\n")) {
+                    int colon = line.indexOf(':');
+                    if (colon > 0 && line.substring(0, colon).trim().equals(key)) {
+                        return line.substring(colon + 1).trim();
+                    }
+                }
+            }
+        }
+        String identifier = environmentProvider.getenv("PROCESSOR_IDENTIFIER");
+        return identifier != null ? identifier.trim() : "unknown";
+    }
+    
+    private long readTotalMemory() {
+        String memInfo = environmentProvider.readFile("/proc/meminfo");
+        if (memInfo == null) {
+            return -1L;
+        }
+        for (String line : memInfo.split("\n")) {
+            if (line.startsWith("MemTotal:")) {
+                String[] fields = line.substring("MemTotal:".length()).trim().split("\\s+");
+                try {
+                    return Long.parseLong(fields[0]) * 1024L;
+                } catch (NumberFormatException e) {
+                    return -1L;
+                }
+            }
+        }
+        return -1L;
+    }
+    
+    private double readContainerCpuLimit() {
+        // cgroup v2: "<quota> <period>" or "max <period>"
+        String cpuMax = environmentProvider.readFile("/sys/fs/cgroup/cpu.max");
+        if (cpuMax != null) {
+            String[] fields = cpuMax.trim().split("\\s+");
+            if (fields.length == 2 && !"max".equals(fields[0])) {
+                return ratio(fields[0], fields[1]);
+            }
+            return -1.0;
+        }
+        
+        for (String directory : new String[] {"/sys/fs/cgroup/cpu/", "/sys/fs/cgroup/cpu,cpuacct/"}) {
+            String quota = environmentProvider.readFile(directory + "cpu.cfs_quota_us");
+            String period = environmentProvider.readFile(directory + "cpu.cfs_period_us");
+            if (quota != null && period != null) {
+                return quota.trim().startsWith("-") ? -1.0 : ratio(quota.trim(), period.trim());
+            }
+        }
+        return -1.0;
+    }
+    
+    private long readContainerMemoryLimit() {
+        String[] paths = {"/sys/fs/cgroup/memory.max", "/sys/fs/cgroup/memory/memory.limit_in_bytes"};
+        for (String path : paths) {
+            String limit = environmentProvider.readFile(path);
+            if (limit == null) {
+                continue;
+            }
+            try {
+                long bytes = Long.parseLong(limit.trim());
+                return bytes < UNLIMITED_MEMORY ? bytes : -1L;
+            } catch (NumberFormatException e) {
+                // "max" means no limit
+                return -1L;
+            }
+        }
+        return -1L;
+    }
+    
+    private static double ratio(String quota, String period) {
+        try {
+            double periodValue = Double.parseDouble(period);
+            return periodValue > 0 ? Double.parseDouble(quota) / periodValue : -1.0;
+        } catch (NumberFormatException e) {
+            return -1.0;
+        }
+    }
+    
+    /**
+     * Look up the version of a loaded mod
+     * @return version, or "unknown" outside a running Forge environment
+     */
+    private static String modVersion(String modId) {
+        try {
+            for (IModInfo modInfo : ModList.get().getMods()) {
+                if (modId.equals(modInfo.getModId())) {
+                    return modInfo.getVersion().toString();
+                }
+            }
+        } catch (RuntimeException | LinkageError e) {
+            ServerTestMod.LOGGER.debug("[SERVER-TEST] Mod list not available for {}: {}", modId, e.toString());
+        }
+        return "unknown";
+    }
 }
\ No newline at end of file
@@ -1,5 +1,14 @@
 package com.servertest.mod.core;
 
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Interface for accessing environment variables and system properties
  * Allows for testing by providing a mockable interface
@@ -19,6 +28,51 @@ public interface EnvironmentProvider {
      */
     String getProperty(String name);
     
+    /**
+     * Read a small system file such as /proc/stat
+     * @param path Absolute path of the file
+     * @return The file contents, or null if the file cannot be read
+     */
+    default String readFile(String path) {
+        try {
+            return Files.readString(Paths.get(path), StandardCharsets.UTF_8);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Get the number of processors available to the JVM
+     */
+    default int availableProcessors() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+    
+    /**
+     * Get the maximum heap size
+     */
+    default long maxHeapBytes() {
+        return Runtime.getRuntime().maxMemory();
+    }
+    
+    /**
+     * Get the arguments the JVM was started with, excluding the main class arguments
+     */
+    default List<String> getJvmArguments() {
+        return ManagementFactory.getRuntimeMXBean().getInputArguments();
+    }
+    
+    /**
+     * Get the names of the active garbage collectors
+     */
+    default List<String> getGarbageCollectors() {
+        List<String> names = new ArrayList<>();
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            names.add(gc.getName());
+        }
+        return names;
+    }
+    
     /**
      * Default implementation that uses System.getenv() and System.getProperty()
      */
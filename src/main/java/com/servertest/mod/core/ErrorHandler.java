@@ -15,8 +15,10 @@ public class ErrorHandler {
     public static final int SERVER_STARTUP_ERROR = 3;
     public static final int INFO_COLLECTION_ERROR = 4;
     public static final int SHUTDOWN_ERROR = 5;
+    public static final int PERFORMANCE_REGRESSION_ERROR = 6;
     
     private static SystemExitHandler exitHandler = new SystemExitHandler.DefaultSystemExitHandler();
+    private static volatile boolean productionMode = false;
     
     /**
      * Set the system exit handler (mainly for testing)
@@ -33,6 +35,15 @@ public class ErrorHandler {
         exitHandler = new SystemExitHandler.DefaultSystemExitHandler();
     }
     
+    /**
+     * Enable or disable production mode
+     * In production mode critical errors are logged but never terminate the server
+     * @param enabled true to suppress exits
+     */
+    public static void setProductionMode(boolean enabled) {
+        productionMode = enabled;
+    }
+    
     /**
      * Handle a critical error that should terminate the application
      * @param errorType The type of error (used for exit code)
@@ -48,6 +59,12 @@ public class ErrorHandler {
             ServerTestMod.LOGGER.error(formattedMessage);
         }
         
+        if (productionMode) {
+            // A monitoring failure must never take a live server down
+            ServerTestMod.LOGGER.error("[SERVER-TEST] Production mode, not exiting");
+            return;
+        }
+        
         // Exit with appropriate status code
         exitHandler.exit(errorType.getExitCode());
     }
@@ -138,7 +155,8 @@ public class ErrorHandler {
         ENVIRONMENT(ENVIRONMENT_ERROR),
         SERVER_STARTUP(SERVER_STARTUP_ERROR),
         INFO_COLLECTION(INFO_COLLECTION_ERROR),
-        SHUTDOWN(SHUTDOWN_ERROR);
+        SHUTDOWN(SHUTDOWN_ERROR),
+        PERFORMANCE_REGRESSION(PERFORMANCE_REGRESSION_ERROR);
         
         private final int exitCode;
         
@@ -0,0 +1,125 @@
+package com.servertest.mod.core;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-test performance budgets for GameTests, read from a JSON file
+ * Keys are test names as GameTest reports them (e.g. servertest.pipetests.throughput); the key "*"
+ * applies to every test, and a test's own entry overrides it limit by limit.
+ */
+public class GameTestBudgets {
+    
+    /** Limits a test can be checked against */
+    public static final Set<String> LIMITS = Set.of("maxTicks", "maxWallMillis", "maxMeanMspt", "maxMsptImpact");
+    
+    private static final String DEFAULT_KEY = "*";
+    
+    private final Map<String, Map<String, Double>> budgets;
+    
+    public GameTestBudgets(Map<String, Map<String, Double>> budgets) {
+        this.budgets = budgets;
+    }
+    
+    /**
+     * Budgets that let every test pass
+     */
+    public static GameTestBudgets none() {
+        return new GameTestBudgets(Collections.emptyMap());
+    }
+    
+    /**
+     * Read a budgets file
+     * @throws IllegalArgumentException if the file does not describe valid budgets
+     */
+    public static GameTestBudgets load(Path path) throws IOException {
+        return parse(Files.readString(path, StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Parse budgets
+     * @param json Object mapping test names, or "*", to objects of LIMITS
+     * @throws IllegalArgumentException if the text does not describe valid budgets
+     */
+    public static GameTestBudgets parse(String json) {
+        JsonObject root;
+        try {
+            root = JsonParser.parseString(json).getAsJsonObject();
+        } catch (JsonParseException | IllegalStateException e) {
+            throw new IllegalArgumentException("GameTest budgets are not a JSON object: " + e.getMessage(), e);
+        }
+        
+        Map<String, Map<String, Double>> budgets = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonElement> test : root.entrySet()) {
+            Map<String, Double> limits = new LinkedHashMap<>();
+            for (Map.Entry<String, JsonElement> limit : test.getValue().getAsJsonObject().entrySet()) {
+                if (!LIMITS.contains(limit.getKey())) {
+                    throw new IllegalArgumentException("Budget of " + test.getKey() + " has unknown limit '"
+                        + limit.getKey() + "', expected one of " + LIMITS);
+                }
+                limits.put(limit.getKey(), limit.getValue().getAsDouble());
+            }
+            budgets.put(test.getKey().toLowerCase(Locale.ROOT), Collections.unmodifiableMap(limits));
+        }
+        return new GameTestBudgets(budgets);
+    }
+    
+    /**
+     * Get the limits that apply to a test
+     * @param testName Name of the test
+     * @return the default limits overridden by the test's own, empty if neither exists
+     */
+    public Map<String, Double> forTest(String testName) {
+        Map<String, Double> limits = new LinkedHashMap<>(budgets.getOrDefault(DEFAULT_KEY, Collections.emptyMap()));
+        limits.putAll(budgets.getOrDefault(testName.toLowerCase(Locale.ROOT), Collections.emptyMap()));
+        return limits;
+    }
+    
+    /**
+     * Check measured test costs against limits
+     * @return one message per exceeded limit
+     */
+    static List<String> check(Map<String, Double> limits, long ticks, long wallMillis, double meanMsptMillis,
+                              double msptImpactMillis) {
+        List<String> failures = new ArrayList<>();
+        for (Map.Entry<String, Double> limit : limits.entrySet()) {
+            double value;
+            switch (limit.getKey()) {
+                case "maxTicks":
+                    value = ticks;
+                    break;
+                case "maxWallMillis":
+                    value = wallMillis;
+                    break;
+                case "maxMeanMspt":
+                    value = meanMsptMillis;
+                    break;
+                case "maxMsptImpact":
+                default:
+                    value = msptImpactMillis;
+                    break;
+            }
+            
+            if (Double.isNaN(value)) {
+                failures.add(limit.getKey() + ": not measured");
+            } else if (value > limit.getValue()) {
+                failures.add(String.format(Locale.ROOT, "%s: %.2f > %.2f", limit.getKey(), value, limit.getValue()));
+            }
+        }
+        return failures;
+    }
+}
\ No newline at end of file
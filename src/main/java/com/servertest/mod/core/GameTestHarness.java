@@ -0,0 +1,242 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.ServerTestMod;
+import com.servertest.mod.model.GameTestReport;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTestBatch;
+import net.minecraft.gametest.framework.GameTestInfo;
+import net.minecraft.gametest.framework.GameTestListener;
+import net.minecraft.gametest.framework.GameTestRegistry;
+import net.minecraft.gametest.framework.GameTestRunner;
+import net.minecraft.gametest.framework.GameTestTicker;
+import net.minecraft.gametest.framework.TestFunction;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Rotation;
+import net.minecraft.world.level.levelgen.Heightmap;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the registered GameTests and records what each one costs the server
+ * Tests run in vanilla batches, side by side within a batch, after an idle baseline of the tick
+ * time. Every test gets its tick count, wall time and the tick time while its structure was in the
+ * world, which are checked against the budgets of gametest.budgets. A test over budget fails the
+ * run with exit code 6; a required test whose assertions fail fails it as a general error.
+ */
+public class GameTestHarness implements TickTask {
+    
+    /** Blocks around the origin cleared of test structures once the tests are done */
+    private static final int CLEAR_RADIUS = 200;
+    
+    private final ReportWriter reportWriter;
+    private final Pattern filter;
+    private final boolean parallel;
+    private final int testsPerRow;
+    private final int baselineTicks;
+    private final String budgetsPath;
+    private final Integer originX;
+    private final Integer originZ;
+    
+    /** Server tick time while each running test's structure is in the world */
+    private final Map<GameTestInfo, long[]> running = new IdentityHashMap<>();
+    private final Set<GameTestInfo> recorded = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<GameTestReport.TestEntry> results = new ArrayList<>();
+    private GameTestBudgets budgets;
+    private Collection<GameTestInfo> tests;
+    private ServerLevel level;
+    private BlockPos origin;
+    private long baselineNanos;
+    private int baselineSampled;
+    private double baselineMspt = Double.NaN;
+    
+    public GameTestHarness(ServerTestConfig config, ReportWriter reportWriter) {
+        this.reportWriter = reportWriter;
+        String filter = config.getString("gametest.filter", null);
+        this.filter = filter != null ? Pattern.compile(filter) : null;
+        this.parallel = config.getBoolean("gametest.parallel", true);
+        this.testsPerRow = Math.max(1, config.getInt("gametest.tests.per.row", 8));
+        this.baselineTicks = Math.max(0, config.getInt("gametest.baseline.ticks", 100));
+        this.budgetsPath = config.getString("gametest.budgets", null);
+        this.originX = config.isSet("gametest.x") ? config.getInt("gametest.x", 0) : null;
+        this.originZ = config.isSet("gametest.z") ? config.getInt("gametest.z", 0) : null;
+    }
+    
+    @Override
+    public String getName() {
+        return "gametest";
+    }
+    
+    @Override
+    public boolean tick(MinecraftServer server) throws Exception {
+        long tickNanos = RepeatedMeasurement.lastTickNanos(server);
+        if (budgets == null) {
+            budgets = budgetsPath != null ? GameTestBudgets.load(Paths.get(budgetsPath)) : GameTestBudgets.none();
+            return false;
+        }
+        
+        if (tests == null) {
+            // The idle tick time the per-test impact is measured against
+            if (baselineSampled < baselineTicks) {
+                baselineNanos += tickNanos;
+                baselineSampled++;
+                return false;
+            }
+            baselineMspt = baselineSampled > 0 ? baselineNanos / 1_000_000.0 / baselineSampled : Double.NaN;
+            return !start(server);
+        }
+        
+        for (long[] sample : running.values()) {
+            sample[0] += tickNanos;
+            sample[1]++;
+        }
+        // Outside a development environment the server does not tick GameTests itself
+        if (!SharedConstants.IS_RUNNING_IN_IDE) {
+            GameTestTicker.SINGLETON.tick();
+        }
+        
+        if (!tests.stream().allMatch(GameTestInfo::isDone)) {
+            return false;
+        }
+        for (GameTestInfo test : tests) {
+            // A test that failed before its structure loaded may not have notified its listeners
+            if (!recorded.contains(test)) {
+                record(test);
+            }
+        }
+        finish();
+        return true;
+    }
+    
+    /**
+     * Place the first batch and start the tests
+     * @return false if no registered test matched the filter
+     */
+    private boolean start(MinecraftServer server) {
+        List<TestFunction> functions = GameTestRegistry.getAllTestFunctions().stream()
+            .filter(function -> filter == null || filter.matcher(function.getTestName()).find())
+            .collect(Collectors.toList());
+        if (functions.isEmpty()) {
+            ErrorHandler.handleNonCriticalError(
+                ErrorHandler.ErrorType.GENERAL,
+                "No GameTests registered" + (filter != null ? " matching " + filter.pattern() : "")
+                    + "; check forge.enabledGameTestNamespaces",
+                null
+            );
+            tests = List.of();
+            return false;
+        }
+        
+        List<GameTestBatch> batches = new ArrayList<>();
+        if (parallel) {
+            batches.addAll(GameTestRunner.groupTestsIntoBatches(functions));
+        } else {
+            // One test per batch, so each test's tick time is its own
+            for (TestFunction function : functions) {
+                batches.addAll(GameTestRunner.groupTestsIntoBatches(List.of(function)));
+            }
+        }
+        
+        level = server.overworld();
+        BlockPos spawn = level.getSharedSpawnPos();
+        int x = originX != null ? originX : spawn.getX();
+        int z = originZ != null ? originZ : spawn.getZ();
+        origin = new BlockPos(x, level.getHeight(Heightmap.Types.WORLD_SURFACE, x, z), z);
+        ServerTestMod.LOGGER.info("[SERVER-TEST] Running {} GameTest(s) in {} batch(es) at {}, {}, baseline MSPT {}ms",
+            functions.size(), batches.size(), x, z, String.format("%.3f", baselineMspt));
+        
+        tests = GameTestRunner.runTestBatches(batches, origin, Rotation.NONE, level, GameTestTicker.SINGLETON,
+            testsPerRow);
+        // The first batch's structures are placed before the listeners below are attached
+        Collection<TestFunction> firstBatch = batches.get(0).getTestFunctions();
+        for (GameTestInfo test : tests) {
+            if (firstBatch.contains(test.getTestFunction())) {
+                running.put(test, new long[2]);
+            }
+            test.addListener(new GameTestListener() {
+                @Override
+                public void testStructureLoaded(GameTestInfo info) {
+                    running.putIfAbsent(info, new long[2]);
+                }
+                
+                @Override
+                public void testPassed(GameTestInfo info) {
+                    record(info);
+                }
+                
+                @Override
+                public void testFailed(GameTestInfo info) {
+                    record(info);
+                }
+            });
+        }
+        return true;
+    }
+    
+    private void record(GameTestInfo info) {
+        if (!recorded.add(info)) {
+            return;
+        }
+        long[] sample = running.remove(info);
+        double mean = sample != null && sample[1] > 0 ? sample[0] / 1_000_000.0 / sample[1] : Double.NaN;
+        double impact = mean - baselineMspt;
+        Map<String, Double> budget = budgets.forTest(info.getTestName());
+        List<String> failures = GameTestBudgets.check(budget, info.getTick(), info.getRunTime(), mean, impact);
+        String error = info.getError() != null ? String.valueOf(info.getError().getMessage()) : null;
+        results.add(new GameTestReport.TestEntry(info.getTestName(), info.getTestFunction().getBatchName(),
+            !info.hasFailed(), info.isRequired(), error, info.getTick(), info.getRunTime(), mean, impact, budget,
+            failures));
+        
+        ServerTestMod.LOGGER.info("[SERVER-TEST] GameTest {} {} after {} ticks ({} ms), MSPT {}ms{}",
+            info.getTestName(), info.hasFailed() ? "failed" : "passed", info.getTick(), info.getRunTime(),
+            String.format("%.3f", mean), failures.isEmpty() ? "" : ", over budget " + failures);
+    }
+    
+    private void finish() {
+        GameTestRunner.clearAllTests(level, origin, GameTestTicker.SINGLETON, CLEAR_RADIUS);
+        
+        List<String> overBudget = new ArrayList<>();
+        List<String> failedRequired = new ArrayList<>();
+        for (GameTestReport.TestEntry result : results) {
+            if (!result.getFailures().isEmpty()) {
+                overBudget.add(result.getName() + " " + String.join(", ", result.getFailures()));
+            }
+            if (!result.isPassed() && result.isRequired()) {
+                failedRequired.add(result.getName() + ": " + result.getError());
+            }
+        }
+        reportWriter.addSection("gametests", new GameTestReport(baselineMspt, new ArrayList<>(results),
+            failedRequired.size(), overBudget.size()));
+        
+        if (overBudget.isEmpty() && failedRequired.isEmpty()) {
+            ServerTestMod.LOGGER.info("[SERVER-TEST] All {} GameTest(s) passed within budget", results.size());
+            return;
+        }
+        
+        // Keep the evidence on disk before the failure exits the JVM
+        reportWriter.write();
+        if (!overBudget.isEmpty()) {
+            ErrorHandler.handleCriticalError(
+                ErrorHandler.ErrorType.PERFORMANCE_REGRESSION,
+                overBudget.size() + " GameTest(s) over budget: " + String.join("; ", overBudget),
+                null
+            );
+        } else {
+            ErrorHandler.handleCriticalError(
+                ErrorHandler.ErrorType.GENERAL,
+                failedRequired.size() + " required GameTest(s) failed: " + String.join("; ", failedRequired),
+                null
+            );
+        }
+    }
+}
\ No newline at end of file
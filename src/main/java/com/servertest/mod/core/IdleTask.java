@@ -0,0 +1,31 @@
+package com.servertest.mod.core;
+
+import net.minecraft.server.MinecraftServer;
+
+/**
+ * Lets the server run under its current load for a fixed time
+ * Used by scenarios to hold a load profile while the phase thresholds are measured.
+ */
+public class IdleTask implements TickTask {
+    
+    private final long durationNanos;
+    private long startNanos = -1;
+    
+    public IdleTask(ServerTestConfig config) {
+        this.durationNanos = (long) (Math.max(0.0, config.getDouble("idle.seconds", 60.0)) * 1_000_000_000L);
+    }
+    
+    @Override
+    public String getName() {
+        return "idle";
+    }
+    
+    @Override
+    public boolean tick(MinecraftServer server) {
+        long now = System.nanoTime();
+        if (startNanos < 0) {
+            startNanos = now;
+        }
+        return now - startNanos >= durationNanos;
+    }
+}
\ No newline at end of file
@@ -1,54 +1,178 @@
 package com.servertest.mod.core;
 
 import com.servertest.mod.ServerTestMod;
+import com.servertest.mod.metrics.MetricsRegistry;
+import com.servertest.mod.metrics.TickMetrics;
+import com.servertest.mod.model.MetricsSnapshot;
 import com.servertest.mod.model.TestResult;
 import com.servertest.mod.model.ModInfo;
+import com.servertest.mod.model.RegistryFootprint;
 import net.minecraft.server.MinecraftServer;
 import net.minecraftforge.fml.ModList;
 import net.minecraftforge.forgespi.language.IModInfo;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Collects server information (TPS, mod list) and outputs it in a formatted way
  */
 public class InfoCollector {
     
+    private static final int FOOTPRINT_LOG_LIMIT = 10;
+    
+    private final RegistryFootprintCollector registryFootprintCollector;
+    private final MetricsRegistry metricsRegistry;
+    private final MetricsRegistry.LogHistogram collectionTime;
+    private final Supplier<BackgroundExecutor> backgroundExecutor;
+    private volatile TestResult lastResult;
+    
+    /**
+     * Create a new InfoCollector without registry footprints
+     */
+    public InfoCollector() {
+        this(null);
+    }
+    
+    /**
+     * Create a new InfoCollector
+     * @param registryFootprintCollector Collector for per-mod registry footprints, or null to skip them
+     */
+    public InfoCollector(RegistryFootprintCollector registryFootprintCollector) {
+        this(registryFootprintCollector, null);
+    }
+    
+    /**
+     * Create a new InfoCollector that reads tick metrics from a metrics registry
+     * @param registryFootprintCollector Collector for per-mod registry footprints, or null to skip them
+     * @param metricsRegistry Registry with the incremental tick metrics, or null to use the server's own average
+     */
+    public InfoCollector(RegistryFootprintCollector registryFootprintCollector, MetricsRegistry metricsRegistry) {
+        this(registryFootprintCollector, metricsRegistry, BackgroundExecutor.direct());
+    }
+    
+    /**
+     * Create a new InfoCollector that processes and logs what it collects on a background executor
+     * @param registryFootprintCollector Collector for per-mod registry footprints, or null to skip them
+     * @param metricsRegistry Registry with the incremental tick metrics, or null to use the server's own average
+     * @param backgroundExecutor Executor for everything but reading the server's tick time
+     */
+    public InfoCollector(RegistryFootprintCollector registryFootprintCollector, MetricsRegistry metricsRegistry,
+                         BackgroundExecutor backgroundExecutor) {
+        this(registryFootprintCollector, metricsRegistry, () -> backgroundExecutor);
+    }
+    
+    /**
+     * Create a new InfoCollector whose background executor is only known once the server runs
+     * @param registryFootprintCollector Collector for per-mod registry footprints, or null to skip them
+     * @param metricsRegistry Registry with the incremental tick metrics, or null to use the server's own average
+     * @param backgroundExecutor Supplies the executor for everything but reading the tick time; a null
+     *                           executor runs the work on the calling thread
+     */
+    public InfoCollector(RegistryFootprintCollector registryFootprintCollector, MetricsRegistry metricsRegistry,
+                         Supplier<BackgroundExecutor> backgroundExecutor) {
+        this.registryFootprintCollector = registryFootprintCollector;
+        this.metricsRegistry = metricsRegistry;
+        this.backgroundExecutor = backgroundExecutor;
+        this.collectionTime = metricsRegistry != null
+            ? metricsRegistry.histogram("servertest_collection_duration_seconds", "Duration of collector runs", 1e-9,
+                "collector", "info")
+            : null;
+    }
+    
     /**
      * Collect all server information and output it
+     * Only the tick time and a snapshot of the tick metrics are read on the calling thread. The mod
+     * list, the registry footprint walk, building the result and logging run on the background
+     * executor, and getLastResult() is set once they are done; later jobs on the same executor see it.
+     * @throws RuntimeException if the tick time cannot be read, or processing fails on a direct executor
      */
     public void collectAndOutputServerInfo(MinecraftServer server) {
+        long start = System.nanoTime();
+        double tps;
+        long tickTime;
         try {
-            // Collect TPS information
-            double tps = calculateTPS(server);
-            long tickTime = getAverageTickTime(server);
+            tps = calculateTPS(server);
+            tickTime = getAverageTickTime(server);
             
+            // Prefer the incremental tick metrics once they have seen ticks
+            if (metricsRegistry != null) {
+                MetricsSnapshot metrics = metricsRegistry.snapshot();
+                Double ticks = metrics.getCounters().get(TickMetrics.TICKS);
+                Double tickSeconds = metrics.getCounters().get(TickMetrics.TICK_SECONDS);
+                Double measuredTps = metrics.getGauges().get(TickMetrics.TPS);
+                if (ticks != null && ticks > 0 && tickSeconds != null && measuredTps != null && !measuredTps.isNaN()) {
+                    tps = measuredTps;
+                    tickTime = (long) (tickSeconds * 1000.0 / ticks);
+                }
+            }
+        } catch (Exception e) {
+            throw fail(e);
+        }
+        
+        // The mod list is immutable and the registries are frozen once the server has started
+        double collectedTps = tps;
+        long collectedTickTime = tickTime;
+        Runnable job = () -> process(server, collectedTps, collectedTickTime, start);
+        BackgroundExecutor executor = backgroundExecutor.get();
+        if (executor != null) {
+            executor.submit("info", job);
+        } else {
+            job.run();
+        }
+    }
+    
+    private void process(MinecraftServer server, double tps, long tickTime, long start) {
+        try {
             // Collect mod information
             List<ModInfo> loadedMods = collectModInfo();
+            if (registryFootprintCollector != null) {
+                loadedMods = registryFootprintCollector.attachFootprints(server, loadedMods);
+            }
             
             // Create test result
             TestResult result = new TestResult(tps, tickTime, loadedMods, true, null);
+            lastResult = result;
             
             // Output the information
             outputTestResult(result);
             
         } catch (Exception e) {
-            ErrorHandler.handleNonCriticalError(
-                ErrorHandler.ErrorType.INFO_COLLECTION,
-                "Error collecting server information",
-                e
-            );
-            
-            // Output error result
-            TestResult errorResult = new TestResult(0.0, 0L, new ArrayList<>(), false, e.getMessage());
-            outputTestResult(errorResult);
-            
-            // Re-throw to let caller handle critical failure
-            throw new RuntimeException("Failed to collect server information", e);
+            throw fail(e);
+        } finally {
+            if (collectionTime != null) {
+                collectionTime.record(System.nanoTime() - start);
+            }
         }
     }
     
+    /**
+     * Record and output a failed collection
+     * @return exception to re-throw so the caller can handle the critical failure
+     */
+    private RuntimeException fail(Exception e) {
+        ErrorHandler.handleNonCriticalError(
+            ErrorHandler.ErrorType.INFO_COLLECTION,
+            "Error collecting server information",
+            e
+        );
+        
+        TestResult errorResult = new TestResult(0.0, 0L, new ArrayList<>(), false, e.getMessage());
+        lastResult = errorResult;
+        outputTestResult(errorResult);
+        return new RuntimeException("Failed to collect server information", e);
+    }
+    
+    /**
+     * Get the result of the most recent collection
+     * @return last test result or null if nothing has been collected yet
+     */
+    public TestResult getLastResult() {
+        return lastResult;
+    }
+    
     /**
      * Calculate current server TPS
      */
@@ -107,8 +231,39 @@ public class InfoCollector {
                     modInfo.getDisplayName(), 
                     modInfo.getVersion());
             }
+            
+            outputRegistryFootprints(result.getLoadedMods());
         } else {
             ServerTestMod.LOGGER.error("[SERVER-TEST] Test failed: {}", result.getErrorMessage());
         }
     }
+    
+    /**
+     * Output the mods with the largest block state tables
+     */
+    private void outputRegistryFootprints(List<ModInfo> mods) {
+        List<ModInfo> withFootprint = new ArrayList<>();
+        long totalStateBytes = 0;
+        for (ModInfo modInfo : mods) {
+            if (modInfo.getRegistryFootprint() != null) {
+                withFootprint.add(modInfo);
+                totalStateBytes += modInfo.getRegistryFootprint().getEstimatedBlockStateBytes();
+            }
+        }
+        if (withFootprint.isEmpty()) {
+            return;
+        }
+        
+        withFootprint.sort(Comparator.comparingInt(
+            (ModInfo modInfo) -> modInfo.getRegistryFootprint().getBlockStates()).reversed());
+        
+        ServerTestMod.LOGGER.info("[SERVER-TEST] Registry footprint (~{} MB of block state tables, top {} by block states):",
+            String.format("%.1f", totalStateBytes / (1024.0 * 1024.0)),
+            Math.min(FOOTPRINT_LOG_LIMIT, withFootprint.size()));
+        
+        for (ModInfo modInfo : withFootprint.subList(0, Math.min(FOOTPRINT_LOG_LIMIT, withFootprint.size()))) {
+            RegistryFootprint footprint = modInfo.getRegistryFootprint();
+            ServerTestMod.LOGGER.info("[SERVER-TEST] - {}: {}", modInfo.getModId(), footprint);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.ServerTestMod;
+import com.servertest.mod.model.JvmPhaseSample;
+
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Samples ClassLoadingMXBean and CompilationMXBean at the end of each lifecycle phase
+ * so the report shows how many classes each phase loaded and how much JIT time it cost
+ */
+public class JvmPhaseSampler {
+    
+    private final List<JvmPhaseSample> samples = new ArrayList<>();
+    private final ClassAttribution classAttribution = new ClassAttribution();
+    
+    /**
+     * Record the end of a phase
+     * @param phase The phase name
+     * @return the recorded sample
+     */
+    public JvmPhaseSample recordPhase(String phase) {
+        return recordPhase(phase, false);
+    }
+    
+    /**
+     * Record the end of a phase
+     * @param phase The phase name
+     * @param attributeToMods Whether to attribute loaded classes to mods; this walks the whole class hierarchy
+     * @return the recorded sample
+     */
+    public synchronized JvmPhaseSample recordPhase(String phase, boolean attributeToMods) {
+        ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+        long totalLoaded = classLoading.getTotalLoadedClassCount();
+        long compilation = compilationMillis();
+        
+        JvmPhaseSample previous = samples.isEmpty() ? null : samples.get(samples.size() - 1);
+        long loadedInPhase = previous != null ? totalLoaded - previous.getTotalLoadedClasses() : totalLoaded;
+        long compilationInPhase;
+        if (compilation < 0) {
+            compilationInPhase = -1L;
+        } else {
+            compilationInPhase = previous != null ? compilation - previous.getCompilationMillis() : compilation;
+        }
+        
+        Map<String, Integer> byMod = attributeToMods ? classAttribution.countLoadedClassesByMod() : null;
+        
+        JvmPhaseSample sample = new JvmPhaseSample(
+            phase,
+            ManagementFactory.getRuntimeMXBean().getUptime(),
+            classLoading.getLoadedClassCount(),
+            totalLoaded,
+            classLoading.getUnloadedClassCount(),
+            compilation,
+            loadedInPhase,
+            compilationInPhase,
+            byMod
+        );
+        samples.add(sample);
+        
+        ServerTestMod.LOGGER.info("[SERVER-TEST] Phase {}: {} classes loaded, {}ms JIT compilation",
+            phase, loadedInPhase, compilationInPhase);
+        return sample;
+    }
+    
+    /**
+     * Record the end of a phase and attribute the loaded classes to mods on a worker
+     * The counters are read on the calling thread. The class hierarchy walk runs on the executor and
+     * fills in the per-mod counts of the sample, so jobs submitted after this call see them; the counts
+     * may include classes loaded while the job waited in the queue.
+     * @param phase The phase name
+     * @param attributionExecutor Executor that walks the class hierarchy
+     * @return the recorded sample, without the per-mod counts
+     */
+    public JvmPhaseSample recordPhase(String phase, BackgroundExecutor attributionExecutor) {
+        JvmPhaseSample sample = recordPhase(phase, false);
+        attributionExecutor.submit("class attribution " + phase, () -> {
+            Map<String, Integer> byMod = classAttribution.countLoadedClassesByMod();
+            if (byMod != null) {
+                replace(sample, sample.withLoadedClassesByMod(byMod));
+            }
+        });
+        return sample;
+    }
+    
+    private synchronized void replace(JvmPhaseSample sample, JvmPhaseSample attributed) {
+        int index = samples.indexOf(sample);
+        if (index >= 0) {
+            samples.set(index, attributed);
+        }
+    }
+    
+    /**
+     * Get all phase samples recorded so far
+     * @return samples in the order they were recorded
+     */
+    public synchronized List<JvmPhaseSample> getSamples() {
+        return new ArrayList<>(samples);
+    }
+    
+    /**
+     * Get the accumulated JIT compilation time
+     * @return compilation time in milliseconds, or -1 if not supported by the JVM
+     */
+    public static long compilationMillis() {
+        CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+        if (compilation == null || !compilation.isCompilationTimeMonitoringSupported()) {
+            return -1L;
+        }
+        return compilation.getTotalCompilationTime();
+    }
+}
\ No newline at end of file
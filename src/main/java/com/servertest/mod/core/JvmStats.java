@@ -0,0 +1,54 @@
+package com.servertest.mod.core;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+
+/**
+ * Helpers for reading JVM memory statistics through the platform MXBeans
+ */
+public final class JvmStats {
+    
+    private JvmStats() {
+    }
+    
+    /**
+     * Request a full garbage collection
+     */
+    public static void forceGc() {
+        System.gc();
+    }
+    
+    /**
+     * Get heap usage as of the most recent collection of each heap pool
+     * Falls back to current heap usage if the collector does not report collection usage
+     * @return used heap in bytes
+     */
+    public static long postGcHeapUsed() {
+        long used = 0L;
+        boolean reported = false;
+        
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() != MemoryType.HEAP) {
+                continue;
+            }
+            
+            MemoryUsage usage = pool.getCollectionUsage();
+            if (usage != null) {
+                used += usage.getUsed();
+                reported = true;
+            }
+        }
+        
+        return reported ? used : currentHeapUsed();
+    }
+    
+    /**
+     * Get current heap usage, including garbage that has not been collected yet
+     * @return used heap in bytes
+     */
+    public static long currentHeapUsed() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
\ No newline at end of file
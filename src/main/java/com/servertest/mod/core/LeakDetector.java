@@ -0,0 +1,216 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.ServerTestMod;
+import com.servertest.mod.analysis.TrendLine;
+import com.servertest.mod.model.LeakReport;
+import com.sun.management.HotSpotDiagnosticMXBean;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerChunkCache;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.TicketType;
+import net.minecraft.world.level.ChunkPos;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Detects memory leaks by repeatedly loading and unloading chunks or reloading datapacks
+ * After every cycle a full GC is forced and post-GC heap usage is recorded. A trend line is
+ * fitted over the samples and a heap dump is written when heap growth exceeds the threshold.
+ */
+public class LeakDetector implements TickTask {
+    
+    private static final TicketType<ChunkPos> LEAK_TICKET =
+        TicketType.create("servertest_leak", Comparator.comparingLong(ChunkPos::toLong));
+    
+    private static final long BYTES_PER_MB = 1024L * 1024L;
+    
+    /**
+     * What gets loaded and unloaded in each cycle
+     */
+    public enum Mode {
+        CHUNKS,
+        DATAPACKS
+    }
+        
+    private enum Stage {
+        LOAD,
+        RELOADING,
+        HOLD,
+        SETTLE,
+        MEASURE
+    }
+        
+    private final ReportWriter reportWriter;
+    private final Mode mode;
+    private final int cycles;
+    private final int warmupCycles;
+    private final int radius;
+    private final ChunkPos center;
+    private final int holdTicks;
+    private final int settleTicks;
+    private final double thresholdBytesPerCycle;
+    private final double minMonotonicRatio;
+    private final boolean heapDumpEnabled;
+    private final String heapDumpDir;
+    
+    private final List<Long> samples = new ArrayList<>();
+    private Stage stage = Stage.LOAD;
+    private int stageTicks;
+    private CompletableFuture<Void> reloadFuture;
+    
+    public LeakDetector(ServerTestConfig config, ReportWriter reportWriter) {
+        this.reportWriter = reportWriter;
+        this.mode = Mode.valueOf(config.getString("leak.mode", "chunks").toUpperCase(Locale.ROOT));
+        this.cycles = Math.max(2, config.getInt("leak.cycles", 10));
+        this.warmupCycles = Math.max(0, Math.min(cycles - 2, config.getInt("leak.warmup.cycles", 1)));
+        this.radius = Math.max(0, config.getInt("leak.radius", 4));
+        this.center = new ChunkPos(config.getInt("leak.center.x", 625), config.getInt("leak.center.z", 625));
+        this.holdTicks = Math.max(1, config.getInt("leak.hold.ticks", 40));
+        this.settleTicks = Math.max(1, config.getInt("leak.settle.ticks", 100));
+        this.thresholdBytesPerCycle = config.getDouble("leak.threshold.mb", 1.0) * BYTES_PER_MB;
+        this.minMonotonicRatio = config.getDouble("leak.monotonic.ratio", 0.75);
+        this.heapDumpEnabled = config.getBoolean("leak.heap.dump", true);
+        this.heapDumpDir = config.getString("leak.heap.dump.dir", ".");
+    }
+    
+    @Override
+    public String getName() {
+        return "leak-detection";
+    }
+    
+    @Override
+    public boolean tick(MinecraftServer server) throws Exception {
+        stageTicks++;
+        
+        switch (stage) {
+            case LOAD:
+                if (mode == Mode.CHUNKS) {
+                    loadChunks(server.overworld());
+                    enterStage(Stage.HOLD);
+                } else {
+                    reloadFuture = server.reloadResources(server.getPackRepository().getSelectedIds());
+                    enterStage(Stage.RELOADING);
+                }
+                return false;
+                
+            case RELOADING:
+                if (reloadFuture.isDone()) {
+                    // Surface reload failures instead of measuring a half-applied reload
+                    reloadFuture.join();
+                    reloadFuture = null;
+                    enterStage(Stage.SETTLE);
+                }
+                return false;
+                
+            case HOLD:
+                if (stageTicks >= holdTicks) {
+                    unloadChunks(server.overworld());
+                    enterStage(Stage.SETTLE);
+                }
+                return false;
+                
+            case SETTLE:
+                if (stageTicks >= settleTicks) {
+                    enterStage(Stage.MEASURE);
+                }
+                return false;
+                
+            case MEASURE:
+            default:
+                recordSample();
+                if (samples.size() >= cycles) {
+                    finish();
+                    return true;
+                }
+                enterStage(Stage.LOAD);
+                return false;
+        }
+    }
+    
+    private void enterStage(Stage next) {
+        stage = next;
+        stageTicks = 0;
+    }
+    
+    private void loadChunks(ServerLevel level) {
+        ServerChunkCache chunkSource = level.getChunkSource();
+        chunkSource.addRegionTicket(LEAK_TICKET, center, radius, center);
+        
+        // Block until the whole region is loaded so every cycle measures the same amount of work
+        for (int x = center.x - radius; x <= center.x + radius; x++) {
+            for (int z = center.z - radius; z <= center.z + radius; z++) {
+                level.getChunk(x, z);
+            }
+        }
+    }
+    
+    private void unloadChunks(ServerLevel level) {
+        level.getChunkSource().removeRegionTicket(LEAK_TICKET, center, radius, center);
+    }
+    
+    private void recordSample() {
+        JvmStats.forceGc();
+        long heap = JvmStats.postGcHeapUsed();
+        samples.add(heap);
+        
+        ServerTestMod.LOGGER.info("[SERVER-TEST] Leak cycle {}/{}: post-GC heap {} MB",
+            samples.size(), cycles, String.format("%.1f", heap / (double) BYTES_PER_MB));
+    }
+    
+    private void finish() {
+        double[] measured = new double[samples.size() - warmupCycles];
+        for (int i = 0; i < measured.length; i++) {
+            measured[i] = samples.get(i + warmupCycles);
+        }
+        
+        TrendLine trend = TrendLine.fit(measured);
+        double monotonicRatio = TrendLine.monotonicRatio(measured);
+        boolean leakDetected = trend.getSlope() >= thresholdBytesPerCycle && monotonicRatio >= minMonotonicRatio;
+        
+        String heapDumpPath = null;
+        if (leakDetected) {
+            ServerTestMod.LOGGER.warn("[SERVER-TEST] Memory leak suspected: post-GC heap grows {} MB per {} cycle",
+                String.format("%.2f", trend.getSlope() / BYTES_PER_MB), mode.name().toLowerCase(Locale.ROOT));
+            if (heapDumpEnabled) {
+                heapDumpPath = dumpHeap();
+            }
+        } else {
+            ServerTestMod.LOGGER.info("[SERVER-TEST] No memory leak detected ({} MB per cycle)",
+                String.format("%.2f", trend.getSlope() / BYTES_PER_MB));
+        }
+        
+        reportWriter.addSection("leakDetection", new LeakReport(
+            mode.name().toLowerCase(Locale.ROOT),
+            samples.size(),
+            new ArrayList<>(samples),
+            trend.getSlope(),
+            trend.getRSquared(),
+            monotonicRatio,
+            leakDetected,
+            heapDumpPath
+        ));
+    }
+    
+    private String dumpHeap() {
+        File file = new File(heapDumpDir, "servertest-leak-" + System.currentTimeMillis() + ".hprof");
+        try {
+            HotSpotDiagnosticMXBean diagnostic = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            diagnostic.dumpHeap(file.getAbsolutePath(), true);
+            ServerTestMod.LOGGER.warn("[SERVER-TEST] Heap dump written to {}", file.getAbsolutePath());
+            return file.getAbsolutePath();
+        } catch (Exception e) {
+            ErrorHandler.handleNonCriticalError(
+                ErrorHandler.ErrorType.INFO_COLLECTION,
+                "Failed to write heap dump",
+                e
+            );
+            return null;
+        }
+    }
+}
\ No newline at end of file
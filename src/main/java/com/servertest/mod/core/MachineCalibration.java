@@ -0,0 +1,182 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.ServerTestMod;
+import com.servertest.mod.model.CalibrationReport;
+
+/**
+ * Short fixed microbenchmark that scores the machine a run is measured on
+ * CPU, memory bandwidth and allocation kernels are each run several times on a background
+ * thread and the best time of each is compared with the reference machine. Multiplying MSPT by
+ * the score gives the tick time the reference machine would have measured, so baselines stay
+ * comparable when the runner pool changes hardware.
+ */
+public class MachineCalibration {
+    
+    /** Best kernel times of the reference machine in nanoseconds; a score of 1.0 matches it */
+    static final double REFERENCE_CPU_NANOS = 64_000_000.0;
+    static final double REFERENCE_MEMORY_NANOS = 46_000_000.0;
+    static final double REFERENCE_ALLOCATION_NANOS = 30_000_000.0;
+    
+    private static final int CPU_ITERATIONS = 20_000_000;
+    /** 32 MB, larger than the last level cache of common runners */
+    private static final int MEMORY_LONGS = 4 * 1024 * 1024;
+    private static final int MEMORY_PASSES = 8;
+    private static final int ALLOCATIONS = 4_000_000;
+    
+    /** Keeps the kernel results alive so the JIT cannot remove the work */
+    static volatile long sink;
+    
+    private final int rounds;
+    private volatile CalibrationReport report;
+    private volatile boolean done;
+    private Thread thread;
+    
+    public MachineCalibration(int rounds) {
+        this.rounds = Math.max(1, rounds);
+    }
+    
+    /**
+     * Create a calibration with the round count from configuration
+     * @param config Configuration providing "calibration.rounds"
+     * @return calibration that has not been started yet
+     */
+    public static MachineCalibration fromConfig(ServerTestConfig config) {
+        return new MachineCalibration(config.getInt("calibration.rounds", 5));
+    }
+    
+    /**
+     * Run the calibration on a background thread; later calls do nothing
+     */
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        thread = new Thread(() -> {
+            try {
+                report = run(rounds);
+                ServerTestMod.LOGGER.info("[SERVER-TEST] Machine calibration: {}", report);
+            } catch (Throwable t) {
+                ErrorHandler.handleNonCriticalError(
+                    ErrorHandler.ErrorType.INFO_COLLECTION,
+                    "Machine calibration failed, MSPT will not be normalized",
+                    t
+                );
+            } finally {
+                done = true;
+            }
+        }, "ServerTest-Calibration");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    /**
+     * Check if the calibration was started and has not finished yet
+     * @return true while measurements would compete with the calibration for the CPU
+     */
+    public synchronized boolean isRunning() {
+        return thread != null && !done;
+    }
+    
+    /**
+     * Get the calibration result
+     * @return report, or null if it has not finished or failed
+     */
+    public CalibrationReport getReport() {
+        return report;
+    }
+    
+    /**
+     * Get the calibration score
+     * @return speed relative to the reference machine, or NaN if unavailable
+     */
+    public double getScore() {
+        CalibrationReport current = report;
+        return current != null ? current.getScore() : Double.NaN;
+    }
+    
+    /**
+     * Convert a tick time measured on this machine to the reference machine
+     * @param mspt Measured milliseconds per tick
+     * @param score Calibration score of the measuring machine
+     * @return normalized milliseconds per tick, NaN if the score is unavailable
+     */
+    public static double normalize(double mspt, double score) {
+        return score > 0.0 ? mspt * score : Double.NaN;
+    }
+    
+    /**
+     * Run every kernel the given number of times and score the best times
+     * @param rounds Number of rounds; the first ones mostly warm up the JIT
+     * @return calibration result
+     */
+    static CalibrationReport run(int rounds) {
+        long start = System.nanoTime();
+        long[] source = new long[MEMORY_LONGS];
+        long[] target = new long[MEMORY_LONGS];
+        for (int i = 0; i < source.length; i++) {
+            source[i] = i * 31L;
+        }
+        
+        long cpu = Long.MAX_VALUE;
+        long memory = Long.MAX_VALUE;
+        long allocation = Long.MAX_VALUE;
+        for (int round = 0; round < rounds; round++) {
+            cpu = Math.min(cpu, time(MachineCalibration::cpuKernel));
+            memory = Math.min(memory, time(() -> memoryKernel(source, target)));
+            allocation = Math.min(allocation, time(MachineCalibration::allocationKernel));
+        }
+        
+        double cpuScore = REFERENCE_CPU_NANOS / cpu;
+        double memoryScore = REFERENCE_MEMORY_NANOS / memory;
+        double allocationScore = REFERENCE_ALLOCATION_NANOS / allocation;
+        return new CalibrationReport(
+            cpu / 1e6,
+            memory / 1e6,
+            allocation / 1e6,
+            cpuScore,
+            memoryScore,
+            allocationScore,
+            Math.cbrt(cpuScore * memoryScore * allocationScore),
+            (System.nanoTime() - start) / 1_000_000L
+        );
+    }
+    
+    private static long time(Runnable kernel) {
+        long start = System.nanoTime();
+        kernel.run();
+        return Math.max(1L, System.nanoTime() - start);
+    }
+    
+    private static void cpuKernel() {
+        long x = 0x9E3779B97F4A7C15L;
+        double y = 1.0;
+        for (int i = 0; i < CPU_ITERATIONS; i++) {
+            x ^= x << 13;
+            x ^= x >>> 7;
+            x ^= x << 17;
+            y = y * 0.999999 + (x & 0xFF) * 1e-9;
+        }
+        sink += x + (long) y;
+    }
+    
+    private static void memoryKernel(long[] source, long[] target) {
+        for (int pass = 0; pass < MEMORY_PASSES; pass++) {
+            System.arraycopy(source, 0, target, 0, source.length);
+            source[pass] = target[target.length - 1 - pass];
+        }
+        sink += target[target.length / 2];
+    }
+    
+    private static void allocationKernel() {
+        Object[] survivors = new Object[1024];
+        long total = 0;
+        for (int i = 0; i < ALLOCATIONS; i++) {
+            long[] chunk = new long[4];
+            chunk[0] = i;
+            // Keep a small window alive so escape analysis cannot remove the allocations
+            survivors[i & 1023] = chunk;
+            total += chunk.length;
+        }
+        sink += total + survivors.length;
+    }
+}
\ No newline at end of file
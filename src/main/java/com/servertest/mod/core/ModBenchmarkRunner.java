@@ -0,0 +1,113 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.ServerTestMod;
+import com.servertest.mod.api.ServerBenchmark;
+import net.minecraft.server.MinecraftServer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the benchmarks registered by other mods through the same warm-up gate and repeated
+ * measurement as the server itself, one after another
+ * Each benchmark reports under benchmark:modid:name, which is also where its baseline is read from.
+ */
+public class ModBenchmarkRunner implements TickTask {
+    
+    static final String SECTION_PREFIX = "benchmark:";
+    
+    private enum Stage { SET_UP, WARM_UP, MEASURE }
+    
+    private final List<BenchmarkRegistry.Registration> registrations = new ArrayList<>();
+    private final ServerTestConfig measureConfig;
+    private final ReportWriter reportWriter;
+    private final MachineCalibration calibration;
+    
+    private int next;
+    private BenchmarkRegistry.Registration current;
+    private Stage stage;
+    private WarmupGate warmup;
+    private RepeatedMeasurement measurement;
+    private long lastRunNanos;
+    
+    public ModBenchmarkRunner(List<BenchmarkRegistry.Registration> registrations, ServerTestConfig config,
+                              ReportWriter reportWriter, MachineCalibration calibration) {
+        this.reportWriter = reportWriter;
+        this.calibration = calibration;
+        
+        String only = config.getString("benchmark.only", null);
+        List<String> selected = only == null ? null : Arrays.asList(only.split("\\s*,\\s*"));
+        for (BenchmarkRegistry.Registration registration : registrations) {
+            if (selected == null || selected.contains(registration.getId())) {
+                this.registrations.add(registration);
+            }
+        }
+        
+        // A single benchmark iteration is far cheaper than a server tick, so shorter windows suffice
+        Map<String, String> overrides = new HashMap<>();
+        overrides.put("measure.windows", String.valueOf(config.getInt("benchmark.windows", 5)));
+        overrides.put("measure.window.ticks", String.valueOf(config.getInt("benchmark.window.ticks", 200)));
+        overrides.put("measure.gap.ticks", String.valueOf(config.getInt("benchmark.gap.ticks", 20)));
+        this.measureConfig = config.withOverrides(overrides);
+    }
+    
+    @Override
+    public String getName() {
+        return "benchmarks";
+    }
+    
+    @Override
+    public boolean tick(MinecraftServer server) throws Exception {
+        if (current == null) {
+            if (next >= registrations.size()) {
+                return true;
+            }
+            current = registrations.get(next++);
+            stage = Stage.SET_UP;
+        }
+        
+        ServerBenchmark benchmark = current.getBenchmark();
+        switch (stage) {
+            case SET_UP:
+                ServerTestMod.LOGGER.info("[SERVER-TEST] Benchmark {} starting", current.getId());
+                benchmark.setUp(server);
+                String section = SECTION_PREFIX + current.getId();
+                warmup = new WarmupGate(measureConfig, reportWriter, section + ":warmup", calibration);
+                measurement = new RepeatedMeasurement(measureConfig, reportWriter,
+                    CpuContentionProbe.fromConfig(measureConfig), calibration, section, current.getId(),
+                    current.isLoadGenerator() ? RepeatedMeasurement::lastTickNanos : ignored -> lastRunNanos);
+                stage = Stage.WARM_UP;
+                return false;
+            case WARM_UP:
+                runOnce(server);
+                if (warmup.tick(server)) {
+                    stage = Stage.MEASURE;
+                }
+                return false;
+            default:
+                runOnce(server);
+                if (!measurement.tick(server)) {
+                    return false;
+                }
+                benchmark.tearDown(server);
+                ServerTestMod.LOGGER.info("[SERVER-TEST] Benchmark {} finished", current.getId());
+                current = null;
+                return next >= registrations.size();
+        }
+    }
+    
+    /**
+     * Run one iteration of a benchmark and keep its duration for the measurement window
+     */
+    private void runOnce(MinecraftServer server) throws Exception {
+        if (current.isLoadGenerator()) {
+            return;
+        }
+        long start = System.nanoTime();
+        current.getBenchmark().run(server);
+        lastRunNanos = System.nanoTime() - start;
+    }
+}
\ No newline at end of file
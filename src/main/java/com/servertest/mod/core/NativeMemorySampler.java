@@ -0,0 +1,186 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.ServerTestMod;
+import com.servertest.mod.model.NativeMemorySnapshot;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PoolArenaMetric;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocatorMetric;
+import io.netty.util.internal.PlatformDependent;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Samples off-heap memory usage: NIO buffer pools, the Netty allocator and,
+ * when the JVM runs with -XX:NativeMemoryTracking, the NMT summary
+ */
+public class NativeMemorySampler {
+    
+    private static final String DIAGNOSTIC_COMMAND_MBEAN = "com.sun.management:type=DiagnosticCommand";
+    private static final Pattern NMT_TOTAL = Pattern.compile("^Total: reserved=(\\d+)KB, committed=(\\d+)KB");
+    private static final Pattern NMT_CATEGORY = Pattern.compile("^-\\s+(.+?) \\(reserved=(\\d+)KB, committed=(\\d+)KB\\)");
+    
+    private final List<NativeMemorySnapshot> snapshots = new ArrayList<>();
+    private final boolean nmtEnabled;
+    
+    public NativeMemorySampler() {
+        this.nmtEnabled = isNmtEnabled(ManagementFactory.getRuntimeMXBean().getInputArguments());
+    }
+    
+    /**
+     * Take a snapshot of off-heap memory usage
+     * @param phase The test phase the snapshot belongs to
+     * @return the recorded snapshot
+     */
+    public synchronized NativeMemorySnapshot sample(String phase) {
+        NativeMemorySnapshot snapshot = new NativeMemorySnapshot(
+            phase,
+            ManagementFactory.getRuntimeMXBean().getUptime(),
+            JvmStats.currentHeapUsed(),
+            sampleBufferPools(),
+            sampleNettyAllocator(),
+            nmtEnabled ? sampleNmtSummary() : null
+        );
+        snapshots.add(snapshot);
+        
+        NativeMemorySnapshot.BufferPool direct = snapshot.getBufferPools().get("direct");
+        Long nmtTotal = snapshot.getNmtCommittedKb() != null ? snapshot.getNmtCommittedKb().get("Total") : null;
+        ServerTestMod.LOGGER.info("[SERVER-TEST] Native memory ({}): direct buffers {} MB, Netty direct {} MB, NMT committed {}",
+            phase,
+            direct != null ? toMb(direct.getUsedBytes()) : "n/a",
+            toMb(snapshot.getNettyAllocator().getOrDefault("usedDirectMemory", 0L)),
+            nmtTotal != null ? toMb(nmtTotal * 1024L) + " MB" : "n/a (NMT disabled)");
+        
+        return snapshot;
+    }
+    
+    /**
+     * Get all snapshots taken so far
+     * @return snapshots in the order they were taken
+     */
+    public synchronized List<NativeMemorySnapshot> getSnapshots() {
+        return new ArrayList<>(snapshots);
+    }
+    
+    private Map<String, NativeMemorySnapshot.BufferPool> sampleBufferPools() {
+        Map<String, NativeMemorySnapshot.BufferPool> pools = new LinkedHashMap<>();
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            pools.put(pool.getName(), new NativeMemorySnapshot.BufferPool(
+                pool.getCount(), pool.getMemoryUsed(), pool.getTotalCapacity()));
+        }
+        return pools;
+    }
+    
+    private Map<String, Long> sampleNettyAllocator() {
+        Map<String, Long> metrics = new LinkedHashMap<>();
+        try {
+            // Only tracked when Netty manages direct memory itself (no Cleaner), -1 otherwise
+            metrics.put("platformUsedDirectMemory", PlatformDependent.usedDirectMemory());
+            
+            if (ByteBufAllocator.DEFAULT instanceof PooledByteBufAllocator) {
+                PooledByteBufAllocatorMetric metric = ((PooledByteBufAllocator) ByteBufAllocator.DEFAULT).metric();
+                metrics.put("usedDirectMemory", metric.usedDirectMemory());
+                metrics.put("usedHeapMemory", metric.usedHeapMemory());
+                metrics.put("numDirectArenas", (long) metric.numDirectArenas());
+                metrics.put("numHeapArenas", (long) metric.numHeapArenas());
+                metrics.put("numThreadLocalCaches", (long) metric.numThreadLocalCaches());
+                metrics.put("chunkSize", (long) metric.chunkSize());
+                putArenaTotals(metrics, "directArena", metric.directArenas());
+                putArenaTotals(metrics, "heapArena", metric.heapArenas());
+            }
+        } catch (RuntimeException | LinkageError e) {
+            ErrorHandler.handleNonCriticalError(
+                ErrorHandler.ErrorType.INFO_COLLECTION,
+                "Failed to read Netty allocator metrics",
+                e
+            );
+        }
+        return metrics;
+    }
+    
+    private static void putArenaTotals(Map<String, Long> metrics, String prefix, List<PoolArenaMetric> arenas) {
+        long activeAllocations = 0L;
+        long activeBytes = 0L;
+        long chunkLists = 0L;
+        for (PoolArenaMetric arena : arenas) {
+            activeAllocations += arena.numActiveAllocations();
+            activeBytes += arena.numActiveBytes();
+            chunkLists += arena.numChunkLists();
+        }
+        metrics.put(prefix + "ActiveAllocations", activeAllocations);
+        metrics.put(prefix + "ActiveBytes", activeBytes);
+        metrics.put(prefix + "ChunkLists", chunkLists);
+    }
+    
+    private Map<String, Long> sampleNmtSummary() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            String output = (String) server.invoke(
+                new ObjectName(DIAGNOSTIC_COMMAND_MBEAN),
+                "vmNativeMemory",
+                new Object[] {new String[] {"summary"}},
+                new String[] {String[].class.getName()}
+            );
+            return parseNmtSummary(output);
+        } catch (Exception e) {
+            ErrorHandler.handleNonCriticalError(
+                ErrorHandler.ErrorType.INFO_COLLECTION,
+                "Failed to read Native Memory Tracking summary",
+                e
+            );
+            return null;
+        }
+    }
+    
+    /**
+     * Parse the output of "VM.native_memory summary" into committed KB per category
+     * @param output The diagnostic command output
+     * @return map of category name to committed KB, with the overall total under "Total"
+     */
+    static Map<String, Long> parseNmtSummary(String output) {
+        Map<String, Long> committed = new LinkedHashMap<>();
+        if (output == null) {
+            return committed;
+        }
+        
+        for (String line : output.split("\\R")) {
+            String trimmed = line.trim();
+            Matcher total = NMT_TOTAL.matcher(trimmed);
+            if (total.find()) {
+                committed.put("Total", Long.parseLong(total.group(2)));
+                continue;
+            }
+            
+            Matcher category = NMT_CATEGORY.matcher(trimmed);
+            if (category.find()) {
+                committed.put(category.group(1).trim(), Long.parseLong(category.group(3)));
+            }
+        }
+        return committed;
+    }
+    
+    /**
+     * Check the JVM arguments for an active -XX:NativeMemoryTracking setting
+     */
+    static boolean isNmtEnabled(List<String> jvmArguments) {
+        for (String argument : jvmArguments) {
+            if (argument.startsWith("-XX:NativeMemoryTracking=")) {
+                return !argument.endsWith("=off");
+            }
+        }
+        return false;
+    }
+    
+    private static String toMb(long bytes) {
+        return String.format("%.1f", bytes / (1024.0 * 1024.0));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,118 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.model.OverheadReport;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the server thread time spent by the mod in each tick against a fixed budget
+ * Components charge the wall time of their event handlers and collectors. The tick metrics
+ * handlers are the fixed cost of measuring at all and always run; deferrable work (collectors,
+ * the shared metrics file) checks the remaining budget before it runs. endTick() closes the
+ * current tick.
+ */
+public class OverheadBudget {
+    
+    private final long budgetNanos;
+    private final AtomicLong spentThisTick = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong ticks = new AtomicLong();
+    private final AtomicLong ticksOverBudget = new AtomicLong();
+    private final AtomicLong deferredRuns = new AtomicLong();
+    private final AtomicLong forcedRuns = new AtomicLong();
+    private volatile long maxTickNanos;
+    
+    /**
+     * Create a new OverheadBudget
+     * @param budgetNanos Allowed mod time per tick in nanoseconds
+     */
+    public OverheadBudget(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+    
+    /**
+     * Charge time spent by the mod to the current tick
+     * @param nanos Elapsed time in nanoseconds
+     */
+    public void charge(long nanos) {
+        spentThisTick.addAndGet(nanos);
+    }
+    
+    /**
+     * Get the budget left in the current tick
+     * @return remaining nanoseconds, negative if the budget is already exceeded
+     */
+    public long remainingNanos() {
+        return budgetNanos - spentThisTick.get();
+    }
+    
+    /**
+     * Record that a collector run or a metrics file update was postponed to stay within budget
+     */
+    public void recordDeferral() {
+        deferredRuns.incrementAndGet();
+    }
+    
+    /**
+     * Record that a collector ran over the budget because it had been postponed too often
+     */
+    public void recordForcedRun() {
+        forcedRuns.incrementAndGet();
+    }
+    
+    /**
+     * Close the current tick and add its overhead to the totals
+     */
+    public void endTick() {
+        long spent = spentThisTick.getAndSet(0);
+        ticks.incrementAndGet();
+        totalNanos.addAndGet(spent);
+        if (spent > maxTickNanos) {
+            maxTickNanos = spent;
+        }
+        if (spent > budgetNanos) {
+            ticksOverBudget.incrementAndGet();
+        }
+    }
+    
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+    
+    public long getTotalNanos() {
+        return totalNanos.get();
+    }
+    
+    public long getTicks() {
+        return ticks.get();
+    }
+    
+    public long getTicksOverBudget() {
+        return ticksOverBudget.get();
+    }
+    
+    public long getDeferredRuns() {
+        return deferredRuns.get();
+    }
+    
+    public long getForcedRuns() {
+        return forcedRuns.get();
+    }
+    
+    /**
+     * Take a snapshot of the overhead totals
+     */
+    public OverheadReport snapshot() {
+        long tickCount = ticks.get();
+        double mean = tickCount > 0 ? totalNanos.get() / (double) tickCount : 0.0;
+        return new OverheadReport(
+            budgetNanos / 1000.0,
+            tickCount,
+            mean / 1000.0,
+            maxTickNanos / 1000.0,
+            ticksOverBudget.get(),
+            deferredRuns.get(),
+            forcedRuns.get()
+        );
+    }
+}
\ No newline at end of file
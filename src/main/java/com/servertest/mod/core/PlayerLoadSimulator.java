@@ -0,0 +1,65 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.ServerTestMod;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.TicketType;
+import net.minecraft.world.level.ChunkPos;
+
+import java.util.Comparator;
+
+/**
+ * Simulates the chunk load of players spread around the world spawn
+ * Every simulated player holds a region ticket with the radius of the view distance, so its
+ * chunks are generated, loaded and ticked like those around a real player. No connections are
+ * opened: packets, player movement and player-driven mob spawning are not simulated. The tickets
+ * are kept until the server stops.
+ */
+public class PlayerLoadSimulator implements TickTask {
+    
+    private static final TicketType<ChunkPos> PLAYER_TICKET =
+        TicketType.create("servertest_players", Comparator.comparingLong(ChunkPos::toLong));
+    
+    private final int count;
+    private final int spread;
+    private final int viewDistance;
+    private final int settleTicks;
+    
+    private int ticks;
+    
+    public PlayerLoadSimulator(ServerTestConfig config) {
+        this.count = Math.max(0, config.getInt("players.count", 10));
+        this.spread = Math.max(0, config.getInt("players.spread", 512));
+        this.viewDistance = Math.max(2, config.getInt("players.view.distance", 10));
+        this.settleTicks = Math.max(1, config.getInt("players.settle.ticks", 200));
+    }
+    
+    @Override
+    public String getName() {
+        return "players";
+    }
+    
+    @Override
+    public boolean tick(MinecraftServer server) {
+        if (ticks++ == 0) {
+            placePlayers(server.overworld());
+            return false;
+        }
+        // Chunks load in the background, give them time before the next phase measures
+        return ticks > settleTicks;
+    }
+    
+    private void placePlayers(ServerLevel level) {
+        BlockPos spawn = level.getSharedSpawnPos();
+        for (int i = 0; i < count; i++) {
+            double angle = 2.0 * Math.PI * i / count;
+            int x = spawn.getX() + (int) Math.round(Math.cos(angle) * spread);
+            int z = spawn.getZ() + (int) Math.round(Math.sin(angle) * spread);
+            ChunkPos chunk = new ChunkPos(x >> 4, z >> 4);
+            level.getChunkSource().addRegionTicket(PLAYER_TICKET, chunk, viewDistance, chunk);
+        }
+        ServerTestMod.LOGGER.info("[SERVER-TEST] Simulating {} player(s) {} blocks from spawn, view distance {}",
+            count, spread, viewDistance);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,325 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.ServerTestMod;
+import com.servertest.mod.metrics.EntityCensus;
+import com.servertest.mod.metrics.MetricsRegistry;
+import com.servertest.mod.metrics.TickMetrics;
+import com.servertest.mod.model.EntityCensusReport;
+import com.servertest.mod.model.OverheadReport;
+import com.servertest.mod.model.ProductionStatus;
+import net.minecraft.server.MinecraftServer;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStartedEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the collectors continuously on a live server without ever shutting it down
+ * Collectors are TickTasks that are rescheduled after each completed pass: the status line,
+ * information and registry footprint collection, and the entity census. They only run while the
+ * per-tick overhead budget has room for their estimated cost, so a busy tick postpones them
+ * instead of adding to the lag. A collector whose estimate never fits would starve, so after
+ * production.max.deferrals postponements in a row it runs anyway and is counted as a forced run.
+ */
+public class ProductionMonitor {
+    
+    private static final int CENSUS_LIMIT = 10;
+    
+    private final OverheadBudget overheadBudget;
+    private final TickMetrics tickMetrics;
+    private final ReportWriter reportWriter;
+    private final List<ScheduledCollector> collectors = new ArrayList<>();
+    private final int queueCapacity;
+    private final int maxConsecutiveDeferrals;
+    private volatile BackgroundExecutor backgroundExecutor;
+    private long tick;
+    private int nextCollector;
+    
+    public ProductionMonitor(ServerTestConfig config, OverheadBudget overheadBudget, TickMetrics tickMetrics) {
+        this.overheadBudget = overheadBudget;
+        this.tickMetrics = tickMetrics;
+        this.reportWriter = new ReportWriter(config);
+        this.queueCapacity = config.getInt("background.queue.capacity", 64);
+        this.maxConsecutiveDeferrals = Math.max(1, config.getInt("production.max.deferrals", 200));
+        reportWriter.addSectionProvider("metrics", tickMetrics.getRegistry()::snapshot);
+        
+        int statusIntervalTicks = Math.max(1, config.getInt("production.interval.seconds", 60)) * 20;
+        addCollector(new StatusCollector(), statusIntervalTicks);
+    }
+    
+    /**
+     * Add a collector that is run again every intervalTicks after it finishes a pass
+     * @param collector The collector
+     * @param intervalTicks Ticks between the end of one pass and the start of the next
+     */
+    public synchronized void addCollector(TickTask collector, int intervalTicks) {
+        MetricsRegistry.LogHistogram duration = tickMetrics.getRegistry().histogram(
+            "servertest_collection_duration_seconds", "Duration of collector runs", 1e-9, "collector", collector.getName());
+        collectors.add(new ScheduledCollector(collector, intervalTicks, tick + intervalTicks, duration));
+    }
+    
+    /**
+     * Collect server information and registry footprints periodically into the "result" section
+     * @param infoCollector Collector that processes on getBackgroundExecutor()
+     * @param intervalTicks Ticks between collections
+     */
+    public void addInfoCollection(InfoCollector infoCollector, int intervalTicks) {
+        addCollector(new InformationCollector(infoCollector), intervalTicks);
+    }
+    
+    /**
+     * Refresh the busiest entity types, mods and chunks periodically into the "entities" section
+     * @param entityCensus Census maintained from entity events
+     * @param intervalTicks Ticks between refreshes
+     */
+    public void addEntityCensus(EntityCensus entityCensus, int intervalTicks) {
+        addCollector(new CensusCollector(entityCensus), intervalTicks);
+    }
+    
+    /**
+     * Get the report writer for production status and overhead
+     */
+    public ReportWriter getReportWriter() {
+        return reportWriter;
+    }
+    
+    /**
+     * Get the worker that writes the production report
+     * @return worker, or null while the server is not running
+     */
+    public BackgroundExecutor getBackgroundExecutor() {
+        return backgroundExecutor;
+    }
+    
+    /**
+     * Get the overhead budget shared by all production components
+     */
+    public OverheadBudget getOverheadBudget() {
+        return overheadBudget;
+    }
+    
+    @SubscribeEvent
+    public void onServerStarted(ServerStartedEvent event) {
+        backgroundExecutor = new BackgroundExecutor("ServerTest-Production", queueCapacity);
+        ServerTestMod.LOGGER.info("[SERVER-TEST] Production monitoring started ({} collector(s), budget {}us per tick)",
+            collectors.size(), overheadBudget.getBudgetNanos() / 1000);
+    }
+    
+    /**
+     * Close the previous tick before this tick's handlers charge anything
+     * Closing it here rather than after the collectors lets every END handler, whatever its order,
+     * check and charge the budget of the tick it runs in.
+     */
+    @SubscribeEvent(priority = EventPriority.HIGHEST)
+    public void onServerTickStart(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.START && tick > 0) {
+            overheadBudget.endTick();
+        }
+    }
+    
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) {
+            return;
+        }
+        
+        tick++;
+        runDueCollectors(event.getServer());
+    }
+    
+    @SubscribeEvent
+    public void onServerStopping(ServerStoppingEvent event) {
+        // Let a queued status refresh finish first so it cannot overwrite the final report
+        if (backgroundExecutor != null) {
+            backgroundExecutor.shutdown(5000L);
+            backgroundExecutor = null;
+        }
+        
+        OverheadReport overhead = overheadBudget.snapshot();
+        ServerTestMod.LOGGER.info("[SERVER-TEST] Production monitoring overhead: {}", overhead);
+        reportWriter.addSection("overhead", overhead);
+        reportWriter.write();
+    }
+    
+    private synchronized void runDueCollectors(MinecraftServer server) {
+        for (int i = 0; i < collectors.size(); i++) {
+            ScheduledCollector collector = collectors.get(nextCollector);
+            nextCollector = (nextCollector + 1) % collectors.size();
+            if (collector.disabled || collector.nextRunTick > tick) {
+                continue;
+            }
+            
+            if (collector.estimatedNanos > overheadBudget.remainingNanos()) {
+                if (collector.consecutiveDeferrals < maxConsecutiveDeferrals) {
+                    collector.consecutiveDeferrals++;
+                    overheadBudget.recordDeferral();
+                    continue;
+                }
+                overheadBudget.recordForcedRun();
+                ServerTestMod.LOGGER.debug("[SERVER-TEST] Collector {} postponed {} ticks, running over budget",
+                    collector.task.getName(), collector.consecutiveDeferrals);
+            }
+            
+            long start = System.nanoTime();
+            try {
+                if (collector.task.tick(server)) {
+                    collector.nextRunTick = tick + collector.intervalTicks;
+                }
+            } catch (Exception e) {
+                // A broken collector must not take a live server down with it
+                collector.disabled = true;
+                ErrorHandler.handleNonCriticalError(
+                    ErrorHandler.ErrorType.INFO_COLLECTION,
+                    "Production collector " + collector.task.getName() + " failed and was disabled",
+                    e
+                );
+            }
+            long elapsed = System.nanoTime() - start;
+            overheadBudget.charge(elapsed);
+            collector.recordCost(elapsed);
+            collector.duration.record(elapsed);
+        }
+    }
+    
+    /**
+     * Periodically logs TPS and the mod's own overhead, and refreshes the report file
+     */
+    private class StatusCollector implements TickTask {
+        @Override
+        public String getName() {
+            return "status";
+        }
+        
+        @Override
+        public boolean tick(MinecraftServer server) {
+            OverheadReport overhead = overheadBudget.snapshot();
+            ProductionStatus status = new ProductionStatus(
+                ManagementFactory.getRuntimeMXBean().getUptime(),
+                tickMetrics.getTps(),
+                tickMetrics.getMeanTickNanos() / 1_000_000.0,
+                server.getPlayerCount(),
+                overhead
+            );
+            
+            if (backgroundExecutor != null) {
+                // Formatting, the report update and the file IO stay off the server thread;
+                // a refresh dropped because the worker is behind is superseded by the next one
+                backgroundExecutor.offer("status", () -> {
+                    logStatus(status);
+                    reportWriter.addSection("production", status);
+                    // Interval deltas are taken on the reporting thread; recorders are never blocked
+                    reportWriter.addSection("interval", tickMetrics.getRegistry().snapshotAndReset());
+                    reportWriter.write();
+                });
+            } else {
+                logStatus(status);
+                reportWriter.addSection("production", status);
+            }
+            return true;
+        }
+        
+        private void logStatus(ProductionStatus status) {
+            OverheadReport overhead = status.getOverhead();
+            ServerTestMod.LOGGER.info("[SERVER-TEST] TPS: {} (mean tick {}ms, {} players), mod overhead {}us/tick mean, {}us max",
+                String.format("%.1f", status.getTps()),
+                String.format("%.2f", status.getMeanTickMillis()),
+                status.getPlayerCount(),
+                String.format("%.1f", overhead.getMeanMicrosPerTick()),
+                String.format("%.1f", overhead.getMaxMicrosPerTick()));
+        }
+    }
+    
+    /**
+     * Periodically collects server information and registry footprints
+     * Only the tick time and the metrics snapshot are read on the server thread; the footprint walk
+     * and the result run on the production worker.
+     */
+    private class InformationCollector implements TickTask {
+        private final InfoCollector infoCollector;
+        
+        private InformationCollector(InfoCollector infoCollector) {
+            this.infoCollector = infoCollector;
+        }
+        
+        @Override
+        public String getName() {
+            return "information-collection";
+        }
+        
+        @Override
+        public boolean tick(MinecraftServer server) {
+            infoCollector.collectAndOutputServerInfo(server);
+            Runnable addResult = () -> reportWriter.addSection("result", infoCollector.getLastResult());
+            if (backgroundExecutor != null) {
+                // Queued behind the collector's own processing, which sets the result
+                backgroundExecutor.submit("result", addResult);
+            } else {
+                addResult.run();
+            }
+            return true;
+        }
+    }
+    
+    /**
+     * Periodically ranks the entity census into the report
+     * The census is kept up to date from entity events; sorting its counters runs on the production worker.
+     */
+    private class CensusCollector implements TickTask {
+        private final EntityCensus entityCensus;
+        
+        private CensusCollector(EntityCensus entityCensus) {
+            this.entityCensus = entityCensus;
+        }
+        
+        @Override
+        public String getName() {
+            return "entity-census";
+        }
+        
+        @Override
+        public boolean tick(MinecraftServer server) {
+            Runnable refresh = () -> reportWriter.addSection("entities", new EntityCensusReport(
+                ManagementFactory.getRuntimeMXBean().getUptime(),
+                entityCensus.topTypes(CENSUS_LIMIT),
+                entityCensus.topMods(CENSUS_LIMIT),
+                entityCensus.topChunks(CENSUS_LIMIT)
+            ));
+            if (backgroundExecutor != null) {
+                // A refresh dropped because the worker is behind is superseded by the next one
+                backgroundExecutor.offer("entities", refresh);
+            } else {
+                refresh.run();
+            }
+            return true;
+        }
+    }
+    
+    private static class ScheduledCollector {
+        private final TickTask task;
+        private final int intervalTicks;
+        private final MetricsRegistry.LogHistogram duration;
+        private long nextRunTick;
+        private long estimatedNanos;
+        private int consecutiveDeferrals;
+        private boolean disabled;
+        
+        private ScheduledCollector(TickTask task, int intervalTicks, long nextRunTick,
+                                   MetricsRegistry.LogHistogram duration) {
+            this.task = task;
+            this.intervalTicks = intervalTicks;
+            this.nextRunTick = nextRunTick;
+            this.duration = duration;
+        }
+        
+        private void recordCost(long nanos) {
+            // Exponentially weighted so one slow run does not keep the collector deferred forever
+            estimatedNanos = estimatedNanos == 0 ? nanos : (estimatedNanos * 3 + nanos) / 4;
+            consecutiveDeferrals = 0;
+        }
+    }
+}
\ No newline at end of file
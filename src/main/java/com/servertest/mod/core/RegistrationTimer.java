@@ -0,0 +1,73 @@
+package com.servertest.mod.core;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.registries.NewRegistryEvent;
+import net.minecraftforge.registries.RegisterEvent;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Measures how long startup registration takes for each registry
+ * Listens on the mod event bus. RegisterEvent is posted to each mod in turn, so this
+ * listener only sees its own turn; the time between two consecutive turns is used as
+ * the window of the earlier registry, and the last window ends at common setup.
+ */
+public class RegistrationTimer {
+    
+    private final Map<ResourceLocation, Long> windowNanos = new LinkedHashMap<>();
+    private ResourceLocation currentRegistry;
+    private long markNanos;
+    private boolean finished;
+    
+    @SubscribeEvent(priority = EventPriority.HIGHEST)
+    public synchronized void onNewRegistry(NewRegistryEvent event) {
+        markNanos = System.nanoTime();
+    }
+    
+    @SubscribeEvent(priority = EventPriority.HIGHEST)
+    public synchronized void onRegister(RegisterEvent event) {
+        closeWindow(System.nanoTime());
+        currentRegistry = event.getRegistryKey().location();
+    }
+    
+    /**
+     * Close the last registration window, called once common setup starts
+     */
+    public synchronized void finish() {
+        if (!finished) {
+            closeWindow(System.nanoTime());
+            currentRegistry = null;
+            finished = true;
+        }
+    }
+    
+    /**
+     * Get the measured registration windows
+     * @return map of registry name to wall time in nanoseconds, in registration order
+     */
+    public synchronized Map<ResourceLocation, Long> getWindowNanos() {
+        return new LinkedHashMap<>(windowNanos);
+    }
+    
+    /**
+     * Get the total measured registration time
+     * @return wall time in nanoseconds
+     */
+    public synchronized long getTotalNanos() {
+        long total = 0;
+        for (long nanos : windowNanos.values()) {
+            total += nanos;
+        }
+        return total;
+    }
+    
+    private void closeWindow(long now) {
+        if (currentRegistry != null) {
+            windowNanos.merge(currentRegistry, now - markNanos, Long::sum);
+        }
+        markNanos = now;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,194 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.model.ModInfo;
+import com.servertest.mod.model.RegistryFootprint;
+import net.minecraft.core.Registry;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.block.state.StateDefinition;
+import net.minecraft.world.level.block.state.properties.Property;
+import net.minecraftforge.registries.ForgeRegistries;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Counts registry entries per mod namespace and estimates what they cost
+ * Block state memory is estimated from the state count and property layout of every block.
+ * Startup registration time is split between mods by their share of each registry's entries.
+ */
+public class RegistryFootprintCollector {
+    
+    /** Approximate size of a BlockState object together with its cache and shape fields */
+    static final long STATE_BASE_BYTES = 200L;
+    /** Approximate size of one entry in a state's property value map */
+    static final long PROPERTY_ENTRY_BYTES = 32L;
+    /** Size of one reference in a state's neighbour table */
+    static final long REFERENCE_BYTES = 8L;
+    
+    private final RegistrationTimer registrationTimer;
+    
+    /**
+     * Create a new RegistryFootprintCollector
+     * @param registrationTimer Timer that measured startup registration, or null to skip time attribution
+     */
+    public RegistryFootprintCollector(RegistrationTimer registrationTimer) {
+        this.registrationTimer = registrationTimer;
+    }
+    
+    /**
+     * Attach registry footprints to a collected mod list
+     * @param server The MinecraftServer instance
+     * @param mods Mods without footprints
+     * @return new mod list with footprints, or the given list if collection failed
+     */
+    public List<ModInfo> attachFootprints(MinecraftServer server, List<ModInfo> mods) {
+        try {
+            Map<String, RegistryFootprint> footprints = collect(server);
+            List<ModInfo> result = new ArrayList<>(mods.size());
+            for (ModInfo mod : mods) {
+                result.add(new ModInfo(mod.getModId(), mod.getVersion(), mod.getDisplayName(),
+                    footprints.get(mod.getModId())));
+            }
+            return result;
+        } catch (Exception e) {
+            ErrorHandler.handleNonCriticalError(
+                ErrorHandler.ErrorType.INFO_COLLECTION,
+                "Failed to collect registry footprints",
+                e
+            );
+            return mods;
+        }
+    }
+    
+    /**
+     * Count registry entries for every namespace
+     * @param server The MinecraftServer instance, used for the data-driven worldgen registries
+     * @return map of namespace to footprint
+     */
+    public Map<String, RegistryFootprint> collect(MinecraftServer server) {
+        Map<String, RegistryFootprint> footprints = new TreeMap<>();
+        Map<String, Long> blockStates = new HashMap<>();
+        
+        for (Map.Entry<ResourceKey<Block>, Block> entry : ForgeRegistries.BLOCKS.getEntries()) {
+            StateDefinition<Block, BlockState> definition = entry.getValue().getStateDefinition();
+            Collection<Property<?>> properties = definition.getProperties();
+            int totalValues = 0;
+            for (Property<?> property : properties) {
+                totalValues += property.getPossibleValues().size();
+            }
+            
+            int states = definition.getPossibleStates().size();
+            String namespace = entry.getKey().location().getNamespace();
+            footprint(footprints, namespace).addBlock(states,
+                estimateBlockStateBytes(states, properties.size(), totalValues));
+            blockStates.merge(namespace, (long) states, Long::sum);
+        }
+        
+        for (ResourceLocation key : ForgeRegistries.ITEMS.getKeys()) {
+            footprint(footprints, key.getNamespace()).addItem();
+        }
+        for (ResourceLocation key : ForgeRegistries.ENTITY_TYPES.getKeys()) {
+            footprint(footprints, key.getNamespace()).addEntityType();
+        }
+        for (ResourceLocation key : ForgeRegistries.BLOCK_ENTITY_TYPES.getKeys()) {
+            footprint(footprints, key.getNamespace()).addBlockEntityType();
+        }
+        
+        // Biomes and placed features are data-driven and only live in the server's registry access
+        RegistryAccess registryAccess = server.registryAccess();
+        for (ResourceLocation key : registryAccess.registryOrThrow(Registries.BIOME).keySet()) {
+            footprint(footprints, key.getNamespace()).addBiome();
+        }
+        for (ResourceLocation key : registryAccess.registryOrThrow(Registries.PLACED_FEATURE).keySet()) {
+            footprint(footprints, key.getNamespace()).addFeature();
+        }
+        
+        if (registrationTimer != null) {
+            attributeRegistrationTime(footprints, blockStates);
+        }
+        return footprints;
+    }
+    
+    private void attributeRegistrationTime(Map<String, RegistryFootprint> footprints, Map<String, Long> blockStates) {
+        long totalNanos = registrationTimer.getTotalNanos();
+        if (totalNanos <= 0) {
+            return;
+        }
+        
+        Map<String, Long> nanosByMod = new HashMap<>();
+        for (Map.Entry<ResourceLocation, Long> window : registrationTimer.getWindowNanos().entrySet()) {
+            // Block registration time is dominated by building state tables, so weight it by state count
+            Map<String, Long> weights = window.getKey().equals(Registries.BLOCK.location())
+                ? blockStates
+                : countEntries(window.getKey());
+            distribute(window.getValue(), weights).forEach((mod, nanos) -> nanosByMod.merge(mod, nanos, Long::sum));
+        }
+        
+        nanosByMod.forEach((mod, nanos) ->
+            footprint(footprints, mod).setRegistrationTime(nanos / 1_000_000L, nanos / (double) totalNanos));
+    }
+    
+    private static Map<String, Long> countEntries(ResourceLocation registryName) {
+        Map<String, Long> counts = new HashMap<>();
+        Registry<?> registry = BuiltInRegistries.REGISTRY.get(registryName);
+        if (registry != null) {
+            for (ResourceLocation key : registry.keySet()) {
+                counts.merge(key.getNamespace(), 1L, Long::sum);
+            }
+        }
+        return counts;
+    }
+    
+    private static RegistryFootprint footprint(Map<String, RegistryFootprint> footprints, String namespace) {
+        return footprints.computeIfAbsent(namespace, key -> new RegistryFootprint());
+    }
+    
+    /**
+     * Estimate the heap used by the state table of one block
+     * Every state holds a property value map and a neighbour table with one cell per
+     * property and property value, which is what makes many-property blocks expensive.
+     * @param states Number of possible states
+     * @param properties Number of state properties
+     * @param totalValues Sum of possible values over all properties
+     * @return estimated size in bytes
+     */
+    static long estimateBlockStateBytes(int states, int properties, int totalValues) {
+        long perState = STATE_BASE_BYTES
+            + properties * PROPERTY_ENTRY_BYTES
+            + (long) properties * totalValues * REFERENCE_BYTES;
+        return states * perState;
+    }
+    
+    /**
+     * Split a measured time window between mods in proportion to their weights
+     * @param windowNanos Time to distribute
+     * @param weights Weight per mod, e.g. entry count
+     * @return time per mod in nanoseconds; empty if there is no weight
+     */
+    static Map<String, Long> distribute(long windowNanos, Map<String, Long> weights) {
+        Map<String, Long> result = new HashMap<>();
+        long totalWeight = 0;
+        for (long weight : weights.values()) {
+            totalWeight += weight;
+        }
+        if (totalWeight <= 0) {
+            return result;
+        }
+        
+        for (Map.Entry<String, Long> entry : weights.entrySet()) {
+            result.put(entry.getKey(), Math.round(windowNanos * (entry.getValue() / (double) totalWeight)));
+        }
+        return result;
+    }
+}
\ No newline at end of file
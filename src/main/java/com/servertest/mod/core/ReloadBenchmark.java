@@ -0,0 +1,146 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.ServerTestMod;
+import com.servertest.mod.model.NamespaceDataStats;
+import com.servertest.mod.model.ReloadBenchmarkReport;
+import com.servertest.mod.model.ReloadTiming;
+import net.minecraft.Util;
+import net.minecraft.server.MinecraftServer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Benchmarks datapack reloads by triggering a server reload K times
+ * Each reload is timed, and content counts and data file load time are reported per namespace
+ */
+public class ReloadBenchmark implements TickTask {
+    
+    private enum Stage {
+        RELOAD,
+        WAITING,
+        SETTLE,
+        PROFILE,
+        PROFILING
+    }
+        
+    private final ReportWriter reportWriter;
+    private final ReloadTracker reloadTracker;
+    private final int reloadCount;
+    private final int settleTicks;
+    
+    private final List<ReloadTiming> reloads = new ArrayList<>();
+    private Stage stage = Stage.RELOAD;
+    private int stageTicks;
+    private long reloadStartNanos;
+    private int trackedLoadsBefore;
+    private CompletableFuture<Void> reloadFuture;
+    private Map<String, NamespaceDataStats> namespaceStats;
+    private CompletableFuture<Void> profilingFuture;
+    
+    public ReloadBenchmark(ServerTestConfig config, ReportWriter reportWriter, ReloadTracker reloadTracker) {
+        this.reportWriter = reportWriter;
+        this.reloadTracker = reloadTracker;
+        this.reloadCount = Math.max(1, config.getInt("reload.count", 5));
+        this.settleTicks = Math.max(1, config.getInt("reload.settle.ticks", 20));
+    }
+    
+    @Override
+    public String getName() {
+        return "reload-benchmark";
+    }
+    
+    @Override
+    public boolean tick(MinecraftServer server) {
+        stageTicks++;
+        
+        switch (stage) {
+            case RELOAD:
+                trackedLoadsBefore = reloadTracker.getLoadCount();
+                reloadStartNanos = System.nanoTime();
+                reloadFuture = server.reloadResources(server.getPackRepository().getSelectedIds());
+                enterStage(Stage.WAITING);
+                return false;
+                
+            case WAITING:
+                if (reloadFuture.isDone()) {
+                    reloadFuture.join();
+                    reloadFuture = null;
+                    recordReload(System.nanoTime());
+                    enterStage(reloads.size() >= reloadCount ? Stage.PROFILE : Stage.SETTLE);
+                }
+                return false;
+                
+            case SETTLE:
+                if (stageTicks >= settleTicks) {
+                    enterStage(Stage.RELOAD);
+                }
+                return false;
+                
+            case PROFILE:
+                // Counting reads server state, so it stays on the server thread; file timing does not
+                namespaceStats = DataNamespaceProfiler.countContent(server);
+                profilingFuture = CompletableFuture.runAsync(
+                    () -> DataNamespaceProfiler.timeFileParses(server.getResourceManager(), namespaceStats),
+                    Util.backgroundExecutor());
+                enterStage(Stage.PROFILING);
+                return false;
+                
+            case PROFILING:
+            default:
+                if (!profilingFuture.isDone()) {
+                    return false;
+                }
+                profilingFuture.join();
+                finish();
+                return true;
+        }
+    }
+    
+    private void enterStage(Stage next) {
+        stage = next;
+        stageTicks = 0;
+    }
+    
+    private void recordReload(long endNanos) {
+        ReloadTiming timing;
+        if (reloadTracker.getLoadCount() > trackedLoadsBefore) {
+            timing = reloadTracker.getLatest();
+        } else {
+            // The tracker did not see this reload, fall back to the wall time of the reload future
+            timing = new ReloadTiming("reload-" + (reloads.size() + 1), (endNanos - reloadStartNanos) / 1_000_000L, -1L, -1L);
+        }
+        reloads.add(timing);
+        ServerTestMod.LOGGER.info("[SERVER-TEST] Reload {}/{}: {}ms", reloads.size(), reloadCount, timing.getTotalMillis());
+    }
+    
+    private void finish() {
+        long total = 0L;
+        long max = 0L;
+        for (ReloadTiming timing : reloads) {
+            total += timing.getTotalMillis();
+            max = Math.max(max, timing.getTotalMillis());
+        }
+        
+        List<NamespaceDataStats> namespaces = new ArrayList<>(namespaceStats.values());
+        namespaces.sort(Comparator.comparingLong(NamespaceDataStats::getParseMillis).reversed());
+        
+        ReloadBenchmarkReport report = new ReloadBenchmarkReport(
+            reloadTracker.getInitialLoad(),
+            reloads,
+            reloads.isEmpty() ? 0.0 : (double) total / reloads.size(),
+            max,
+            namespaces
+        );
+        reportWriter.addSection("reloadBenchmark", report);
+        
+        ServerTestMod.LOGGER.info("[SERVER-TEST] Reload benchmark: mean {}ms, max {}ms over {} reloads",
+            String.format("%.1f", report.getMeanReloadMillis()), max, reloads.size());
+        for (int i = 0; i < Math.min(10, namespaces.size()); i++) {
+            ServerTestMod.LOGGER.info("[SERVER-TEST] - {}", namespaces.get(i));
+        }
+    }
+}
\ No newline at end of file
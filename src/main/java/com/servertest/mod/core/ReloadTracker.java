@@ -0,0 +1,106 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.ServerTestMod;
+import com.servertest.mod.model.ReloadTiming;
+import net.minecraft.server.packs.resources.PreparableReloadListener;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.util.Unit;
+import net.minecraft.util.profiling.ProfilerFiller;
+import net.minecraftforge.event.AddReloadListenerEvent;
+import net.minecraftforge.event.TagsUpdatedEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Times every server datapack load, both during startup and on /reload
+ * A load starts when Forge collects reload listeners, the preparation phase ends when the
+ * reload barrier is reached by every listener, and the load ends once tags are bound.
+ */
+public class ReloadTracker implements PreparableReloadListener {
+    
+    private final List<ReloadTiming> timings = new ArrayList<>();
+    private volatile long startNanos = -1L;
+    private volatile long barrierNanos = -1L;
+    
+    /**
+     * Mark the start of a datapack load and hook into its reload barrier
+     * @param event The AddReloadListenerEvent fired for the load
+     */
+    public void onAddReloadListeners(AddReloadListenerEvent event) {
+        startNanos = System.nanoTime();
+        barrierNanos = -1L;
+        event.addListener(this);
+    }
+    
+    /**
+     * Mark the end of a datapack load
+     * @param event The TagsUpdatedEvent fired once the loaded tags are bound
+     */
+    public void onTagsUpdated(TagsUpdatedEvent event) {
+        long start = startNanos;
+        if (event.getUpdateCause() != TagsUpdatedEvent.UpdateCause.SERVER_DATA_LOAD || start < 0) {
+            return;
+        }
+        
+        long end = System.nanoTime();
+        long barrier = barrierNanos;
+        startNanos = -1L;
+        
+        ReloadTiming timing;
+        synchronized (this) {
+            String label = timings.isEmpty() ? "startup" : "reload-" + timings.size();
+            timing = new ReloadTiming(
+                label,
+                (end - start) / 1_000_000L,
+                barrier > 0 ? (barrier - start) / 1_000_000L : -1L,
+                barrier > 0 ? (end - barrier) / 1_000_000L : -1L
+            );
+            timings.add(timing);
+        }
+        
+        ServerTestMod.LOGGER.info("[SERVER-TEST] Datapack load {} took {}ms (prepare {}ms, apply {}ms)",
+            timing.getLabel(), timing.getTotalMillis(), timing.getPrepareMillis(), timing.getApplyMillis());
+    }
+    
+    @Override
+    public CompletableFuture<Void> reload(PreparableReloadListener.PreparationBarrier barrier,
+                                          ResourceManager resourceManager,
+                                          ProfilerFiller preparationsProfiler,
+                                          ProfilerFiller reloadProfiler,
+                                          Executor backgroundExecutor,
+                                          Executor gameExecutor) {
+        // Nothing to prepare; the barrier only completes once every other listener has prepared its data
+        return barrier.wait(Unit.INSTANCE).thenRunAsync(() -> barrierNanos = System.nanoTime(), gameExecutor);
+    }
+    
+    @Override
+    public String getName() {
+        return ServerTestMod.MODID + ":reload_tracker";
+    }
+    
+    /**
+     * Get the timing of the datapack load during server startup
+     * @return timing or null if it was not observed
+     */
+    public synchronized ReloadTiming getInitialLoad() {
+        return timings.isEmpty() ? null : timings.get(0);
+    }
+    
+    /**
+     * Get the number of loads observed so far, including the startup load
+     */
+    public synchronized int getLoadCount() {
+        return timings.size();
+    }
+    
+    /**
+     * Get the most recently observed load
+     * @return timing or null if no load was observed
+     */
+    public synchronized ReloadTiming getLatest() {
+        return timings.isEmpty() ? null : timings.get(timings.size() - 1);
+    }
+}
\ No newline at end of file
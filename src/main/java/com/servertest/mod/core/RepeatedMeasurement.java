@@ -0,0 +1,362 @@
+package com.servertest.mod.core;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.servertest.mod.ServerTestMod;
+import com.servertest.mod.analysis.BootstrapInterval;
+import com.servertest.mod.analysis.MannWhitneyU;
+import com.servertest.mod.model.ComparisonReport;
+import com.servertest.mod.model.CpuContention;
+import com.servertest.mod.model.EnvironmentFingerprint;
+import net.minecraft.server.MinecraftServer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures mean tick time in K separate windows and compares them with a baseline run
+ * Each window mean is one sample, so the comparison sees the run-to-run noise of a shared
+ * runner instead of trusting a single number. A regression is only flagged when the one-sided
+ * Mann-Whitney U test is significant and the bootstrap interval of the slowdown lies above
+ * the minimum effect; it then fails the run with PERFORMANCE_REGRESSION.
+ * Windows during which the runner throttled or stole CPU are discarded and measured again; if
+ * too many are, the run is marked noisy and never fails. When the machine calibration has a
+ * score the windows are compared normalized to the reference machine, so a baseline recorded on
+ * other hardware still applies; raw windows are only compared with baselines of the same
+ * hardware class.
+ */
+public class RepeatedMeasurement implements TickTask {
+    
+    /** Report section holding the window samples; later runs read it back as their baseline */
+    public static final String SECTION = "comparison";
+    
+    private static final long BOOTSTRAP_SEED = 1L;
+    private static final String RAW_KEY = "windowMsptMillis";
+    private static final String NORMALIZED_KEY = "normalizedWindowMsptMillis";
+    
+    /**
+     * Supplies the value a window averages, one sample per tick
+     */
+    public interface TickSampler {
+        /**
+         * @param server The MinecraftServer instance
+         * @return nanoseconds attributed to this tick
+         */
+        long sample(MinecraftServer server);
+    }
+    
+    private final ReportWriter reportWriter;
+    private final String section;
+    private final String subject;
+    private final TickSampler sampler;
+    private final int windows;
+    private final int windowTicks;
+    private final int gapTicks;
+    private final List<Path> baselinePaths = new ArrayList<>();
+    private final double alpha;
+    private final double minEffect;
+    private final int resamples;
+    private final double confidence;
+    private final CpuContentionProbe contentionProbe;
+    private final int maxRetries;
+    private final MachineCalibration calibration;
+    private final boolean normalize;
+    
+    private final List<Double> samples = new ArrayList<>();
+    private final List<Double> discarded = new ArrayList<>();
+    private final List<CpuContention> contention = new ArrayList<>();
+    private boolean measuring;
+    private int stageTicks;
+    private long windowTickNanos;
+    private CpuContentionProbe.Sample windowStart;
+    private double calibrationScore = Double.NaN;
+    private boolean normalizedComparison;
+    
+    public RepeatedMeasurement(ServerTestConfig config, ReportWriter reportWriter) {
+        this(config, reportWriter, MachineCalibration.fromConfig(config));
+    }
+    
+    public RepeatedMeasurement(ServerTestConfig config, ReportWriter reportWriter, MachineCalibration calibration) {
+        this(config, reportWriter, CpuContentionProbe.fromConfig(config), calibration);
+    }
+    
+    public RepeatedMeasurement(ServerTestConfig config, ReportWriter reportWriter,
+                               CpuContentionProbe contentionProbe, MachineCalibration calibration) {
+        this(config, reportWriter, contentionProbe, calibration, SECTION, "MSPT", RepeatedMeasurement::lastTickNanos);
+    }
+    
+    /**
+     * Measure something other than the server tick time with the same windows and comparison
+     * @param section Report section for the results; baselines are read from the same section
+     * @param subject What is measured, used in log and failure messages
+     * @param sampler Called once per tick while a window is open
+     */
+    public RepeatedMeasurement(ServerTestConfig config, ReportWriter reportWriter,
+                               CpuContentionProbe contentionProbe, MachineCalibration calibration,
+                               String section, String subject, TickSampler sampler) {
+        this.reportWriter = reportWriter;
+        this.section = section;
+        this.subject = subject;
+        this.sampler = sampler;
+        this.contentionProbe = contentionProbe;
+        this.calibration = calibration;
+        this.normalize = config.getBoolean("compare.normalize", true);
+        this.windows = Math.max(2, config.getInt("measure.windows", 5));
+        this.windowTicks = Math.max(20, config.getInt("measure.window.ticks", 600));
+        this.gapTicks = Math.max(0, config.getInt("measure.gap.ticks", 100));
+        this.alpha = config.getDouble("compare.alpha", 0.05);
+        this.minEffect = config.getDouble("compare.min.effect", 0.0);
+        this.resamples = Math.max(100, config.getInt("compare.resamples", 2000));
+        this.confidence = config.getDouble("compare.confidence", 0.95);
+        this.maxRetries = Math.max(0, config.getInt("noise.retries", windows));
+        
+        String baseline = config.getString("compare.baseline", null);
+        if (baseline != null) {
+            for (String path : baseline.split(",")) {
+                if (!path.isBlank()) {
+                    baselinePaths.add(Paths.get(path.trim()));
+                }
+            }
+        }
+    }
+    
+    @Override
+    public String getName() {
+        return "repeated-measurement";
+    }
+    
+    @Override
+    public boolean tick(MinecraftServer server) {
+        stageTicks++;
+        if (!measuring) {
+            // Let the previous window's work (and any GC it triggered) drain before measuring again
+            if (stageTicks > gapTicks && !calibration.isRunning()) {
+                measuring = true;
+                stageTicks = 0;
+                windowTickNanos = 0;
+                windowStart = contentionProbe.sample();
+            }
+            return false;
+        }
+        
+        windowTickNanos += sampler.sample(server);
+        if (stageTicks < windowTicks) {
+            return false;
+        }
+        
+        double mspt = windowTickNanos / 1_000_000.0 / windowTicks;
+        CpuContention windowContention = contentionProbe.measure(windowStart, contentionProbe.sample());
+        contention.add(windowContention);
+        measuring = false;
+        stageTicks = 0;
+        
+        if (windowContention.isNoisy()) {
+            discarded.add(mspt);
+            ServerTestMod.LOGGER.warn("[SERVER-TEST] Measurement window discarded, {} {}ms under {}",
+                subject, String.format("%.3f", mspt), windowContention);
+        } else {
+            samples.add(mspt);
+            ServerTestMod.LOGGER.info("[SERVER-TEST] Measurement window {}/{}: {} {}ms",
+                samples.size(), windows, subject, String.format("%.3f", mspt));
+        }
+        
+        if (samples.size() < windows && discarded.size() <= maxRetries) {
+            return false;
+        }
+        finish();
+        return true;
+    }
+    
+    private void finish() {
+        double[] candidate = toArray(samples);
+        double[] baseline = new double[0];
+        calibrationScore = calibration.getScore();
+        normalizedComparison = normalize && !Double.isNaN(calibrationScore);
+        if (normalizedComparison) {
+            baseline = readBaseline(baselinePaths, section, NORMALIZED_KEY, null);
+            if (baseline.length == 0 && !baselinePaths.isEmpty()) {
+                ServerTestMod.LOGGER.warn("[SERVER-TEST] Baseline reports have no normalized windows, comparing raw MSPT");
+                normalizedComparison = false;
+            }
+        }
+        if (!normalizedComparison) {
+            baseline = readBaseline(baselinePaths, section, RAW_KEY, currentHardwareClass());
+        }
+        ComparisonReport report = compare(candidate, baseline, samples.size() >= windows);
+        reportWriter.addSection(section, report);
+        ServerTestMod.LOGGER.info("[SERVER-TEST] {}", report);
+        
+        if (!"regression".equals(report.getVerdict())) {
+            return;
+        }
+        
+        // Keep the evidence on disk before the failure exits the JVM
+        reportWriter.write();
+        ErrorHandler.handleCriticalError(
+            ErrorHandler.ErrorType.PERFORMANCE_REGRESSION,
+            String.format("%s regressed by %.1f%% (%.0f%% CI %.1f%% to %.1f%%, p=%.4f) over %d windows",
+                subject, report.getRelativeChange() * 100.0, confidence * 100.0, report.getChangeLower() * 100.0,
+                report.getChangeUpper() * 100.0, report.getPValue(), candidate.length),
+            null
+        );
+    }
+    
+    /**
+     * Compare window samples with baseline samples
+     * @param candidate Clean window means of this run, as measured
+     * @param baseline Window means of the baseline, possibly empty; normalized if the comparison is
+     * @param valid false if contention left too few clean windows to judge the run
+     * @return comparison with its verdict
+     */
+    ComparisonReport compare(double[] candidate, double[] baseline, boolean valid) {
+        if (!valid) {
+            ServerTestMod.LOGGER.warn("[SERVER-TEST] Only {} of {} measurement windows were clean, run marked noisy",
+                candidate.length, windows);
+            return report(candidate, baseline, false, Double.NaN, Double.NaN, Double.NaN, Double.NaN, false, "noisy");
+        }
+        if (baseline.length == 0) {
+            return report(candidate, baseline, true, Double.NaN, Double.NaN, Double.NaN, Double.NaN, false,
+                "no-baseline");
+        }
+        
+        double[] compared = normalizedComparison ? normalize(candidate, calibrationScore) : candidate;
+        MannWhitneyU slower = MannWhitneyU.test(baseline, compared);
+        MannWhitneyU faster = MannWhitneyU.test(compared, baseline);
+        BootstrapInterval change = BootstrapInterval.relativeMeanChange(baseline, compared, resamples, confidence,
+            BOOTSTRAP_SEED);
+        
+        String verdict = "unchanged";
+        if (slower.getPValue() < alpha && change.getLower() > minEffect) {
+            verdict = "regression";
+        } else if (faster.getPValue() < alpha && change.getUpper() < -minEffect) {
+            verdict = "improvement";
+        }
+        
+        return report(candidate, baseline, true, change.getEstimate(), change.getLower(), change.getUpper(),
+            slower.getPValue(), slower.isExact(), verdict);
+    }
+    
+    private ComparisonReport report(double[] candidate, double[] baseline, boolean valid, double change,
+                                    double lower, double upper, double pValue, boolean exact, String verdict) {
+        return new ComparisonReport(toList(candidate), toList(normalize(candidate, calibrationScore)),
+            calibrationScore, normalizedComparison, toList(baseline), new ArrayList<>(discarded),
+            new ArrayList<>(contention), valid, change, lower, upper, confidence, pValue, exact, verdict);
+    }
+    
+    private String currentHardwareClass() {
+        Object environment = reportWriter.getSection(ServerMonitor.ENVIRONMENT_SECTION);
+        return environment instanceof EnvironmentFingerprint
+            ? ((EnvironmentFingerprint) environment).getHardwareClass() : null;
+    }
+    
+    private static double[] normalize(double[] values, double score) {
+        if (Double.isNaN(score)) {
+            return new double[0];
+        }
+        double[] normalized = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            normalized[i] = MachineCalibration.normalize(values[i], score);
+        }
+        return normalized;
+    }
+    
+    /**
+     * Get the duration of the tick that just ended
+     */
+    static long lastTickNanos(MinecraftServer server) {
+        // Vanilla stores the previous tick's duration in a 100 entry ring, one read per tick covers every tick
+        return server.tickTimes[server.getTickCount() % server.tickTimes.length];
+    }
+    
+    static double[] readBaseline(List<Path> paths, String key, String hardwareClass) {
+        return readBaseline(paths, SECTION, key, hardwareClass);
+    }
+    
+    /**
+     * Pool the window samples of one or more baseline reports, e.g. from several earlier boots
+     * @param paths JSON reports written by earlier runs
+     * @param section Section of the reports holding the windows
+     * @param key Field of the section to read, raw or normalized window means
+     * @param hardwareClass Hardware class the baselines must match, or null to accept any
+     * @return pooled samples; reports that cannot be read or do not match are skipped with a warning
+     */
+    static double[] readBaseline(List<Path> paths, String section, String key, String hardwareClass) {
+        List<Double> pooled = new ArrayList<>();
+        for (Path path : paths) {
+            try {
+                JsonObject report = JsonParser.parseString(Files.readString(path, StandardCharsets.UTF_8))
+                    .getAsJsonObject();
+                JsonElement windows = report.get(section);
+                if (windows == null || !windows.isJsonObject()) {
+                    ErrorHandler.handleNonCriticalError(
+                        ErrorHandler.ErrorType.INFO_COLLECTION,
+                        "Baseline report has no " + section + " section: " + path,
+                        null
+                    );
+                    continue;
+                }
+                String baselineClass = hardwareClass(report);
+                if (hardwareClass != null && baselineClass != null && !hardwareClass.equals(baselineClass)) {
+                    ErrorHandler.handleNonCriticalError(
+                        ErrorHandler.ErrorType.INFO_COLLECTION,
+                        "Baseline report was measured on hardware class " + baselineClass + ", not "
+                            + hardwareClass + ": " + path,
+                        null
+                    );
+                    continue;
+                }
+                JsonArray windowMeans = windows.getAsJsonObject().getAsJsonArray(key);
+                if (windowMeans == null) {
+                    ErrorHandler.handleNonCriticalError(
+                        ErrorHandler.ErrorType.INFO_COLLECTION,
+                        "Baseline report has no " + key + ": " + path,
+                        null
+                    );
+                    continue;
+                }
+                for (JsonElement value : windowMeans) {
+                    pooled.add(value.getAsDouble());
+                }
+            } catch (IOException | RuntimeException e) {
+                ErrorHandler.handleNonCriticalError(
+                    ErrorHandler.ErrorType.INFO_COLLECTION,
+                    "Failed to read baseline report " + path,
+                    e
+                );
+            }
+        }
+        return toArray(pooled);
+    }
+    
+    private static String hardwareClass(JsonObject report) {
+        JsonElement environment = report.get(ServerMonitor.ENVIRONMENT_SECTION);
+        if (environment == null || !environment.isJsonObject()) {
+            return null;
+        }
+        JsonElement hardwareClass = environment.getAsJsonObject().get("hardwareClass");
+        return hardwareClass != null && hardwareClass.isJsonPrimitive() ? hardwareClass.getAsString() : null;
+    }
+    
+    private static double[] toArray(List<Double> values) {
+        double[] array = new double[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+    
+    private static List<Double> toList(double[] values) {
+        List<Double> list = new ArrayList<>(values.length);
+        for (double value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,132 @@
+package com.servertest.mod.core;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.servertest.mod.ServerTestMod;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Collects report sections from the test components and writes them as a JSON report
+ * The report is only written when the "report.path" setting is provided
+ */
+public class ReportWriter {
+    
+    private static final Gson GSON = new GsonBuilder()
+        .setPrettyPrinting()
+        .serializeSpecialFloatingPointValues()
+        .create();
+    
+    private final Map<String, Object> sections = new LinkedHashMap<>();
+    private final Map<String, Supplier<?>> sectionProviders = new LinkedHashMap<>();
+    private final String reportPath;
+    
+    public ReportWriter(ServerTestConfig config) {
+        this.reportPath = config.getString("report.path", null);
+    }
+    
+    /**
+     * Add a section that is refreshed from its provider every time the report is written
+     * @param name Section name
+     * @param provider Supplies the section data; null results leave the section out
+     */
+    public synchronized void addSectionProvider(String name, Supplier<?> provider) {
+        sectionProviders.put(name, provider);
+    }
+    
+    /**
+     * Add or replace a named report section
+     * @param name Section name
+     * @param data Section data, serialized with Gson
+     */
+    public synchronized void addSection(String name, Object data) {
+        if (data != null) {
+            sections.put(name, data);
+        }
+    }
+    
+    /**
+     * Get a previously added section
+     * @param name Section name
+     * @return section data or null if absent
+     */
+    public synchronized Object getSection(String name) {
+        return sections.get(name);
+    }
+    
+    /**
+     * Get the collected sections as a JSON tree, with the provided sections refreshed
+     * @return report object keyed by section name
+     */
+    public synchronized JsonObject toJsonTree() {
+        refreshProviders();
+        return GSON.toJsonTree(sections).getAsJsonObject();
+    }
+    
+    /**
+     * Check if a report file will be written
+     * @return true if a report path is configured
+     */
+    public boolean isEnabled() {
+        return reportPath != null;
+    }
+    
+    /**
+     * Write all collected sections to the configured report file
+     * The report is written to a temporary file next to it and moved into place, so a reader polling
+     * the file sees either the previous or the new report, never a partly written one.
+     */
+    public synchronized void write() {
+        if (!isEnabled()) {
+            ServerTestMod.LOGGER.debug("[SERVER-TEST] No report path configured, skipping report file");
+            return;
+        }
+        
+        refreshProviders();
+        
+        try {
+            Path path = Paths.get(reportPath).toAbsolutePath();
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            Files.writeString(temp, GSON.toJson(sections), StandardCharsets.UTF_8);
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            ServerTestMod.LOGGER.info("[SERVER-TEST] Report written to {}", path.toAbsolutePath());
+        } catch (IOException | RuntimeException e) {
+            ErrorHandler.handleNonCriticalError(
+                ErrorHandler.ErrorType.INFO_COLLECTION,
+                "Failed to write report to " + reportPath,
+                e
+            );
+        }
+    }
+    
+    /**
+     * Replace every provided section with its provider's current value
+     */
+    private synchronized void refreshProviders() {
+        sectionProviders.forEach((name, provider) -> {
+            try {
+                addSection(name, provider.get());
+            } catch (RuntimeException e) {
+                ErrorHandler.handleNonCriticalError(
+                    ErrorHandler.ErrorType.INFO_COLLECTION,
+                    "Failed to refresh report section " + name,
+                    e
+                );
+            }
+        });
+    }
+}
\ No newline at end of file
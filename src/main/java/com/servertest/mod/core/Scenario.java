@@ -0,0 +1,160 @@
+package com.servertest.mod.core;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An ordered list of test phases read from a scenario file
+ * Every phase names one of ServerMonitor.SCENARIOS as its type. Its other keys are settings of
+ * that type ("count" in a spawn phase becomes spawn.count), "settings" holds settings under their
+ * full key, and "thresholds" holds the limits the phase must stay within to pass.
+ */
+public class Scenario {
+    
+    /** Limits a phase can be checked against, see ScenarioRunner */
+    public static final Set<String> THRESHOLDS = Set.of(
+        "maxMeanMspt", "maxP95Mspt", "maxMspt", "minTps", "maxSeconds", "maxHeapMb");
+    
+    private static final Set<String> RESERVED_KEYS = Set.of("type", "name", "settings", "thresholds");
+    
+    private final String name;
+    private final List<Phase> phases;
+    
+    public Scenario(String name, List<Phase> phases) {
+        this.name = name;
+        this.phases = phases;
+    }
+    
+    /**
+     * Read a scenario file
+     * @throws IllegalArgumentException if the file does not describe a valid scenario
+     */
+    public static Scenario load(Path path) throws IOException {
+        String fileName = path.getFileName().toString();
+        String defaultName = fileName.endsWith(".json") ? fileName.substring(0, fileName.length() - 5) : fileName;
+        return parse(Files.readString(path, StandardCharsets.UTF_8), defaultName);
+    }
+    
+    /**
+     * Parse a scenario
+     * @param json Object with an optional "name" and a "phases" array
+     * @param defaultName Name to use when the scenario does not have one
+     * @throws IllegalArgumentException if the text does not describe a valid scenario
+     */
+    public static Scenario parse(String json, String defaultName) {
+        JsonObject root;
+        try {
+            root = JsonParser.parseString(json).getAsJsonObject();
+        } catch (JsonParseException | IllegalStateException e) {
+            throw new IllegalArgumentException("Scenario is not a JSON object: " + e.getMessage(), e);
+        }
+        if (!root.has("phases") || !root.get("phases").isJsonArray() || root.getAsJsonArray("phases").size() == 0) {
+            throw new IllegalArgumentException("Scenario has no phases");
+        }
+        
+        List<Phase> phases = new ArrayList<>();
+        for (JsonElement element : root.getAsJsonArray("phases")) {
+            phases.add(parsePhase(element.getAsJsonObject(), phases.size() + 1));
+        }
+        String name = root.has("name") ? root.get("name").getAsString() : defaultName;
+        return new Scenario(name, Collections.unmodifiableList(phases));
+    }
+    
+    private static Phase parsePhase(JsonObject json, int number) {
+        String type = json.has("type") ? json.get("type").getAsString().toLowerCase(Locale.ROOT) : "";
+        if (!ServerMonitor.SCENARIOS.contains(type)) {
+            throw new IllegalArgumentException("Phase " + number + " has unknown type '" + type + "', expected one of "
+                + ServerMonitor.SCENARIOS);
+        }
+        
+        Map<String, String> settings = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
+            if (!RESERVED_KEYS.contains(entry.getKey())) {
+                settings.put(type + "." + entry.getKey(), entry.getValue().getAsString());
+            }
+        }
+        if (json.has("settings")) {
+            for (Map.Entry<String, JsonElement> entry : json.getAsJsonObject("settings").entrySet()) {
+                settings.put(entry.getKey(), entry.getValue().getAsString());
+            }
+        }
+        
+        Map<String, Double> thresholds = new LinkedHashMap<>();
+        if (json.has("thresholds")) {
+            for (Map.Entry<String, JsonElement> entry : json.getAsJsonObject("thresholds").entrySet()) {
+                if (!THRESHOLDS.contains(entry.getKey())) {
+                    throw new IllegalArgumentException("Phase " + number + " has unknown threshold '" + entry.getKey()
+                        + "', expected one of " + THRESHOLDS);
+                }
+                thresholds.put(entry.getKey(), entry.getValue().getAsDouble());
+            }
+        }
+        
+        String name = json.has("name") ? json.get("name").getAsString() : type + "-" + number;
+        return new Phase(type, name, Collections.unmodifiableMap(settings), Collections.unmodifiableMap(thresholds));
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public List<Phase> getPhases() {
+        return phases;
+    }
+    
+    /**
+     * One step of a scenario
+     */
+    public static class Phase {
+        private final String type;
+        private final String name;
+        private final Map<String, String> settings;
+        private final Map<String, Double> thresholds;
+        
+        public Phase(String type, String name, Map<String, String> settings, Map<String, Double> thresholds) {
+            this.type = type;
+            this.name = name;
+            this.settings = settings;
+            this.thresholds = thresholds;
+        }
+        
+        /**
+         * Get the scenario name the phase runs, one of ServerMonitor.SCENARIOS
+         */
+        public String getType() {
+            return type;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        /**
+         * Get the settings layered over the server configuration while the phase runs
+         */
+        public Map<String, String> getSettings() {
+            return settings;
+        }
+        
+        /**
+         * Get the limits of the phase by threshold name
+         */
+        public Map<String, Double> getThresholds() {
+            return thresholds;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,192 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.ServerTestMod;
+import com.servertest.mod.model.ScenarioReport;
+import net.minecraft.server.MinecraftServer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Runs the phases of a scenario one after another from the server tick loop
+ * Each phase runs the task of its type with the phase settings layered over the configuration.
+ * Tick times are recorded while the phase runs and checked against the phase thresholds once it
+ * finishes; the run fails with PERFORMANCE_REGRESSION after the last phase if any phase broke one.
+ */
+public class ScenarioRunner implements TickTask {
+    
+    private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+    
+    /**
+     * Creates the task a phase runs
+     */
+    public interface TaskFactory {
+        /**
+         * @param type One of ServerMonitor.SCENARIOS
+         * @param config Configuration with the phase settings applied
+         */
+        TickTask create(String type, ServerTestConfig config);
+    }
+    
+    private final Scenario scenario;
+    private final TaskFactory taskFactory;
+    private final ServerTestConfig config;
+    private final ReportWriter reportWriter;
+    
+    private final List<ScenarioReport.PhaseResult> results = new ArrayList<>();
+    private int nextPhase;
+    private Scenario.Phase phase;
+    private TickTask task;
+    private long phaseStartNanos;
+    private double[] tickMillis = new double[1024];
+    private int ticks;
+    
+    public ScenarioRunner(Scenario scenario, TaskFactory taskFactory, ServerTestConfig config,
+                          ReportWriter reportWriter) {
+        this.scenario = scenario;
+        this.taskFactory = taskFactory;
+        this.config = config;
+        this.reportWriter = reportWriter;
+    }
+    
+    @Override
+    public String getName() {
+        return "scenario";
+    }
+    
+    @Override
+    public boolean tick(MinecraftServer server) throws Exception {
+        if (task == null) {
+            phase = scenario.getPhases().get(nextPhase++);
+            task = taskFactory.create(phase.getType(), config.withOverrides(phase.getSettings()));
+            phaseStartNanos = System.nanoTime();
+            ticks = 0;
+            ServerTestMod.LOGGER.info("[SERVER-TEST] Scenario {} phase {}/{}: {} ({})", scenario.getName(), nextPhase,
+                scenario.getPhases().size(), phase.getName(), task.getName());
+        } else {
+            // The tick a phase starts in ran under the previous phase, so sampling begins with the next one
+            recordTick(server.tickTimes[server.getTickCount() % server.tickTimes.length] / 1_000_000.0);
+        }
+        
+        if (!task.tick(server)) {
+            return false;
+        }
+        ScenarioReport.PhaseResult result = evaluate(phase, Arrays.copyOf(tickMillis, ticks),
+            System.nanoTime() - phaseStartNanos, JvmStats.postGcHeapUsed() / BYTES_PER_MB);
+        results.add(result);
+        ServerTestMod.LOGGER.info("[SERVER-TEST] Scenario phase {} finished in {} ms: mean {} ms, p95 {} ms, TPS {}{}",
+            result.getName(), result.getDurationMillis(), format(result.getMeanMsptMillis()),
+            format(result.getP95MsptMillis()), format(result.getTps()),
+            result.isPassed() ? "" : ", failed " + result.getFailures());
+        task = null;
+        
+        if (nextPhase < scenario.getPhases().size()) {
+            return false;
+        }
+        finish();
+        return true;
+    }
+    
+    private void recordTick(double millis) {
+        if (ticks == tickMillis.length) {
+            tickMillis = Arrays.copyOf(tickMillis, ticks * 2);
+        }
+        tickMillis[ticks++] = millis;
+    }
+    
+    /**
+     * Summarize the ticks of a phase and check them against its thresholds
+     * @param tickMillis Duration of every tick measured during the phase
+     * @param durationNanos Wall time of the phase
+     * @param heapUsedMb Heap in use after the last collection
+     */
+    static ScenarioReport.PhaseResult evaluate(Scenario.Phase phase, double[] tickMillis, long durationNanos,
+                                               double heapUsedMb) {
+        double mean = Double.NaN;
+        double p95 = Double.NaN;
+        double max = Double.NaN;
+        double tps = Double.NaN;
+        if (tickMillis.length > 0) {
+            double[] sorted = tickMillis.clone();
+            Arrays.sort(sorted);
+            mean = Arrays.stream(sorted).sum() / sorted.length;
+            p95 = sorted[(int) Math.ceil(0.95 * sorted.length) - 1];
+            max = sorted[sorted.length - 1];
+            if (durationNanos > 0) {
+                tps = tickMillis.length * 1_000_000_000.0 / durationNanos;
+            }
+        }
+        
+        List<String> failures = new ArrayList<>();
+        for (Map.Entry<String, Double> threshold : phase.getThresholds().entrySet()) {
+            double limit = threshold.getValue();
+            double value;
+            boolean minimum = false;
+            switch (threshold.getKey()) {
+                case "maxMeanMspt":
+                    value = mean;
+                    break;
+                case "maxP95Mspt":
+                    value = p95;
+                    break;
+                case "maxMspt":
+                    value = max;
+                    break;
+                case "minTps":
+                    value = tps;
+                    minimum = true;
+                    break;
+                case "maxSeconds":
+                    value = durationNanos / 1_000_000_000.0;
+                    break;
+                case "maxHeapMb":
+                default:
+                    value = heapUsedMb;
+                    break;
+            }
+            
+            if (Double.isNaN(value)) {
+                failures.add(threshold.getKey() + ": not measured");
+            } else if (minimum ? value < limit : value > limit) {
+                failures.add(String.format(Locale.ROOT, "%s: %.2f %s %.2f", threshold.getKey(), value,
+                    minimum ? "<" : ">", limit));
+            }
+        }
+        
+        return new ScenarioReport.PhaseResult(phase.getName(), phase.getType(), tickMillis.length,
+            durationNanos / 1_000_000L, mean, p95, max, tps, heapUsedMb, phase.getThresholds(), failures);
+    }
+    
+    private void finish() {
+        List<String> failures = new ArrayList<>();
+        for (ScenarioReport.PhaseResult result : results) {
+            for (String failure : result.getFailures()) {
+                failures.add(result.getName() + " " + failure);
+            }
+        }
+        reportWriter.addSection("scenario", new ScenarioReport(scenario.getName(), new ArrayList<>(results),
+            failures.isEmpty()));
+        
+        if (failures.isEmpty()) {
+            ServerTestMod.LOGGER.info("[SERVER-TEST] Scenario {} passed all {} phase(s)", scenario.getName(),
+                results.size());
+            return;
+        }
+        
+        // Keep the evidence on disk before the failure exits the JVM
+        reportWriter.write();
+        ErrorHandler.handleCriticalError(
+            ErrorHandler.ErrorType.PERFORMANCE_REGRESSION,
+            "Scenario " + scenario.getName() + " broke " + failures.size() + " threshold(s): "
+                + String.join("; ", failures),
+            null
+        );
+    }
+    
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+}
\ No newline at end of file
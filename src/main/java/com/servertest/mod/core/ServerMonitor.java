@@ -1,26 +1,105 @@
 package com.servertest.mod.core;
 
 import com.servertest.mod.ServerTestMod;
+import com.servertest.mod.history.ResultHistory;
+import com.servertest.mod.model.CalibrationReport;
+import com.servertest.mod.model.DeterministicReport;
+import com.servertest.mod.model.EnvironmentFingerprint;
+import com.servertest.mod.model.JvmPhaseSample;
+import com.servertest.mod.model.NativeMemorySnapshot;
+import com.servertest.mod.model.TestResult;
 import net.minecraft.server.MinecraftServer;
+import net.minecraftforge.event.AddReloadListenerEvent;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.server.ServerStartedEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * Monitors server startup and coordinates the testing sequence
  * Listens for ServerStartedEvent and ensures server is fully ready before testing
  */
 public class ServerMonitor {
+    
+    /** Names accepted by startScenario, and the phase types of a scenario file */
+    public static final List<String> SCENARIOS = List.of(
+        "benchmark", "gametest", "idle", "info", "leak", "measure", "players", "reload", "save", "soak", "spawn",
+        "warmup");
+    
+    /** Report section holding the EnvironmentFingerprint; baselines are matched on its hardware class */
+    public static final String ENVIRONMENT_SECTION = "environment";
+    
     private final EnvironmentDetector environmentDetector;
     private final InfoCollector infoCollector;
     private final ShutdownManager shutdownManager;
+    private final ServerTestConfig config;
+    private final ReportWriter reportWriter;
+    private final NativeMemorySampler nativeMemorySampler;
+    private final JvmPhaseSampler jvmPhaseSampler;
+    private final MachineCalibration calibration;
+    private final BackgroundExecutor backgroundExecutor;
+    private final ReloadTracker reloadTracker = new ReloadTracker();
+    private final BenchmarkRegistry benchmarkRegistry = new BenchmarkRegistry();
+    private final Deque<TickTask> pendingTasks = new ArrayDeque<>();
+    private final AtomicBoolean historyAppended = new AtomicBoolean();
+    private final boolean awaitShutdownCommand;
+    private TickTask activeTask;
+    private DeterministicMode spawnAreaPending;
+    private int spawnAreaWaitTicks;
+    private volatile boolean shutdownRequested = false;
     private volatile boolean testSequenceExecuted = false;
     
     public ServerMonitor(EnvironmentDetector environmentDetector, 
                         InfoCollector infoCollector, 
                         ShutdownManager shutdownManager) {
+        this(environmentDetector, infoCollector, shutdownManager, new ServerTestConfig());
+    }
+    
+    public ServerMonitor(EnvironmentDetector environmentDetector,
+                        InfoCollector infoCollector,
+                        ShutdownManager shutdownManager,
+                        ServerTestConfig config) {
+        this(environmentDetector, infoCollector, shutdownManager, config, new JvmPhaseSampler());
+    }
+    
+    public ServerMonitor(EnvironmentDetector environmentDetector,
+                        InfoCollector infoCollector,
+                        ShutdownManager shutdownManager,
+                        ServerTestConfig config,
+                        JvmPhaseSampler jvmPhaseSampler) {
+        this(environmentDetector, infoCollector, shutdownManager, config, jvmPhaseSampler, BackgroundExecutor.direct());
+    }
+    
+    /**
+     * @param backgroundExecutor Executor for report serialization and file IO; the info collector should share it
+     *                           so the report is written after the collected information has been processed
+     */
+    public ServerMonitor(EnvironmentDetector environmentDetector,
+                        InfoCollector infoCollector,
+                        ShutdownManager shutdownManager,
+                        ServerTestConfig config,
+                        JvmPhaseSampler jvmPhaseSampler,
+                        BackgroundExecutor backgroundExecutor) {
         this.environmentDetector = environmentDetector;
         this.infoCollector = infoCollector;
         this.shutdownManager = shutdownManager;
+        this.config = config;
+        this.reportWriter = new ReportWriter(config);
+        this.nativeMemorySampler = new NativeMemorySampler();
+        this.jvmPhaseSampler = jvmPhaseSampler;
+        this.calibration = MachineCalibration.fromConfig(config);
+        this.backgroundExecutor = backgroundExecutor;
+        // With a control socket the orchestrator decides when the server shuts down
+        this.awaitShutdownCommand = config.isSet("control.socket");
         
         ServerTestMod.LOGGER.info("[SERVER-TEST] ServerMonitor initialized");
     }
@@ -40,11 +119,26 @@ public class ServerMonitor {
         try {
             ServerTestMod.LOGGER.info("[SERVER-TEST] ServerStartedEvent received - server startup completed");
             ServerTestMod.LOGGER.info("[SERVER-TEST] Environment: {}", environmentDetector.getEnvironmentInfo());
+            EnvironmentFingerprint fingerprint = environmentDetector.getFingerprint();
+            if (fingerprint != null) {
+                ServerTestMod.LOGGER.info("[SERVER-TEST] {}", fingerprint);
+                reportWriter.addSection(ENVIRONMENT_SECTION, fingerprint);
+            }
             
             // Verify server is actually ready
             if (isServerReady(event.getServer())) {
                 testSequenceExecuted = true;
                 ServerTestMod.LOGGER.info("[SERVER-TEST] Server readiness confirmed, beginning test sequence");
+                jvmPhaseSampler.recordPhase("serverStartup", backgroundExecutor);
+                nativeMemorySampler.sample("startup");
+                if (config.getBoolean("deterministic.enabled", false)) {
+                    spawnAreaPending = applyDeterministicMode(event.getServer());
+                    if (spawnAreaPending != null) {
+                        // The test sequence starts from the tick loop once the moved spawn area is generated
+                        ServerTestMod.LOGGER.info("[SERVER-TEST] Waiting for the spawn area to load...");
+                    }
+                    return;
+                }
                 
                 // Execute the test sequence
                 executeTestSequence(event.getServer());
@@ -94,21 +188,84 @@ public class ServerMonitor {
         }
     }
     
+    /**
+     * Pin seed, spawn, time, weather and gamerules before anything is measured
+     * @param server The MinecraftServer instance
+     * @return the applied mode, or null if the world does not match the configured seed
+     */
+    private DeterministicMode applyDeterministicMode(MinecraftServer server) {
+        DeterministicMode mode = new DeterministicMode(config);
+        DeterministicReport report;
+        try {
+            report = mode.apply(server);
+        } catch (IllegalStateException e) {
+            ErrorHandler.handleCriticalError(ErrorHandler.ErrorType.ENVIRONMENT, e.getMessage(), null);
+            return null;
+        }
+        
+        reportWriter.addSection("deterministic", report);
+        ServerTestMod.LOGGER.info("[SERVER-TEST] Deterministic mode: {}", report);
+        return mode;
+    }
+    
+    /**
+     * Start the test sequence once the spawn area moved by deterministic mode is loaded
+     * Generating it takes the first ticks after the move, which would otherwise count towards the measured MSPT.
+     * @param server The MinecraftServer instance
+     */
+    private void awaitSpawnArea(MinecraftServer server) {
+        boolean loaded = spawnAreaPending.isSpawnAreaLoaded(server);
+        int maxTicks = config.getInt("deterministic.spawn.timeout.seconds", 120) * 20;
+        if (!loaded && ++spawnAreaWaitTicks < maxTicks) {
+            return;
+        }
+        
+        if (loaded) {
+            ServerTestMod.LOGGER.info("[SERVER-TEST] Spawn area loaded after {} ticks", spawnAreaWaitTicks);
+        } else {
+            ServerTestMod.LOGGER.warn("[SERVER-TEST] Spawn area still loading after {} ticks, starting the test sequence anyway",
+                spawnAreaWaitTicks);
+        }
+        spawnAreaPending = null;
+        executeTestSequence(server);
+    }
+    
     /**
      * Execute the complete test sequence
      * @param server The MinecraftServer instance
      */
     private void executeTestSequence(MinecraftServer server) {
+        String scenarioFile = config.getString("scenario.file", null);
+        if (scenarioFile != null) {
+            queueScenario(Paths.get(scenarioFile));
+            return;
+        }
+        
+        if (config.getBoolean("warmup.enabled", true)) {
+            // Keep the measurement window closed until the JIT settles, otherwise TPS mostly measures the interpreter;
+            // warmup.enabled=false collects right after startup instead
+            ServerTestMod.LOGGER.info("[SERVER-TEST] Waiting for JIT warm-up before information collection...");
+            pendingTasks.add(new WarmupGate(config, reportWriter, "warmup", calibration));
+            pendingTasks.add(new InformationCollectionTask());
+            queueConfiguredTasks();
+            return;
+        }
+        
         ServerTestMod.LOGGER.info("[SERVER-TEST] Starting information collection...");
         
         try {
-            // Collect and output server information
-            infoCollector.collectAndOutputServerInfo(server);
+            collectInformation(server);
+            // Same phase name as the collection task of the warm-up path
+            nativeMemorySampler.sample("load:information-collection");
             
-            ServerTestMod.LOGGER.info("[SERVER-TEST] Information collection completed successfully");
+            // Queue any configured test tasks; they run from the server tick loop
+            queueConfiguredTasks();
             
-            // Schedule server shutdown
-            shutdownManager.scheduleShutdown(server);
+            if (pendingTasks.isEmpty()) {
+                finishTestSequence(server);
+            } else {
+                ServerTestMod.LOGGER.info("[SERVER-TEST] {} test task(s) queued", pendingTasks.size());
+            }
             
         } catch (Exception e) {
             ErrorHandler.handleCriticalError(
@@ -119,6 +276,314 @@ public class ServerMonitor {
         }
     }
     
+    /**
+     * Collect and output server information, then add it to the report
+     * @param server The MinecraftServer instance
+     */
+    private void collectInformation(MinecraftServer server) {
+        // Collect and output server information
+        infoCollector.collectAndOutputServerInfo(server);
+        
+        jvmPhaseSampler.recordPhase("measurement");
+        // Queued behind the collector's own processing, which sets the result
+        backgroundExecutor.submit("result", () -> {
+            TestResult result = infoCollector.getLastResult();
+            reportWriter.addSection("result", result);
+            if (result != null && !result.isSuccess()) {
+                ErrorHandler.handleCriticalError(
+                    ErrorHandler.ErrorType.INFO_COLLECTION,
+                    "Failed to collect server information: " + result.getErrorMessage(),
+                    null
+                );
+                return;
+            }
+            ServerTestMod.LOGGER.info("[SERVER-TEST] Information collection completed successfully");
+        });
+    }
+    
+    /**
+     * Replace the configured test sequence with the phases of a scenario file
+     * @param path Scenario file
+     */
+    private void queueScenario(Path path) {
+        Scenario scenario;
+        try {
+            scenario = Scenario.load(path);
+        } catch (IOException | RuntimeException e) {
+            ErrorHandler.handleCriticalError(
+                ErrorHandler.ErrorType.ENVIRONMENT,
+                "Failed to read scenario file " + path,
+                e
+            );
+            return;
+        }
+        
+        ServerTestMod.LOGGER.info("[SERVER-TEST] Running scenario {} with {} phase(s) from {}",
+            scenario.getName(), scenario.getPhases().size(), path);
+        pendingTasks.add(new ScenarioRunner(scenario, this::createTask, config, reportWriter));
+    }
+    
+    /**
+     * Queue the test tasks enabled through configuration
+     */
+    private void queueConfiguredTasks() {
+        if (config.getInt("measure.windows", 0) > 0) {
+            // First, before leak cycles and reloads disturb the heap and the JIT
+            pendingTasks.add(new RepeatedMeasurement(config, reportWriter, startCalibration()));
+        }
+        if (!benchmarkRegistry.isEmpty() && config.getBoolean("benchmark.enabled", true)) {
+            pendingTasks.add(createTask("benchmark", config));
+        }
+        if (config.getBoolean("gametest.enabled", false)) {
+            pendingTasks.add(new GameTestHarness(config, reportWriter));
+        }
+        if (config.getInt("leak.cycles", 0) > 0) {
+            pendingTasks.add(new LeakDetector(config, reportWriter));
+        }
+        if (config.getInt("reload.count", 0) > 0) {
+            pendingTasks.add(new ReloadBenchmark(config, reportWriter, reloadTracker));
+        }
+        if (config.getDouble("soak.hours", 0.0) > 0.0) {
+            // Last, so the shorter tasks report even if the soak run is cut short
+            pendingTasks.add(new SoakRunner(config, reportWriter));
+        }
+    }
+    
+    /**
+     * Start timing a datapack load (startup or /reload)
+     */
+    @SubscribeEvent
+    public void onAddReloadListeners(AddReloadListenerEvent event) {
+        reloadTracker.onAddReloadListeners(event);
+    }
+    
+    /**
+     * Finish timing a datapack load once its tags are bound
+     */
+    @SubscribeEvent
+    public void onTagsUpdated(TagsUpdatedEvent event) {
+        reloadTracker.onTagsUpdated(event);
+    }
+    
+    /**
+     * Drive queued test tasks from the server tick loop
+     */
+    @SubscribeEvent
+    public void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.END && spawnAreaPending != null) {
+            awaitSpawnArea(event.getServer());
+            return;
+        }
+        if (event.phase != TickEvent.Phase.END || (activeTask == null && pendingTasks.isEmpty())) {
+            return;
+        }
+        
+        MinecraftServer server = event.getServer();
+        try {
+            if (activeTask == null) {
+                activeTask = pendingTasks.poll();
+                ServerTestMod.LOGGER.info("[SERVER-TEST] Starting test task: {}", activeTask.getName());
+            }
+            
+            if (activeTask.tick(server)) {
+                ServerTestMod.LOGGER.info("[SERVER-TEST] Test task completed: {}", activeTask.getName());
+                jvmPhaseSampler.recordPhase(activeTask.getName());
+                nativeMemorySampler.sample("load:" + activeTask.getName());
+                activeTask = null;
+                
+                if (pendingTasks.isEmpty()) {
+                    finishTestSequence(server);
+                }
+            }
+        } catch (Exception e) {
+            String taskName = activeTask != null ? activeTask.getName() : "unknown";
+            activeTask = null;
+            pendingTasks.clear();
+            ErrorHandler.handleCriticalError(
+                ErrorHandler.ErrorType.INFO_COLLECTION,
+                "Test task failed: " + taskName,
+                e
+            );
+        }
+    }
+    
+    /**
+     * Write the report once the queue is empty, and shut the server down unless the orchestrator decides when
+     * @param server The MinecraftServer instance
+     */
+    private void finishTestSequence(MinecraftServer server) {
+        if (awaitShutdownCommand && !shutdownRequested) {
+            // More scenarios may follow, so the shutdown sample waits for SHUTDOWN; only the report is refreshed
+            submitReport("report", () -> ServerTestMod.LOGGER.info(
+                "[SERVER-TEST] Test sequence finished, waiting for SHUTDOWN on the control socket"));
+            return;
+        }
+        shutDown(server);
+    }
+    
+    /**
+     * Record the shutdown phase, write the final report and the history row, then shut the server down
+     * @param server The MinecraftServer instance
+     */
+    private void shutDown(MinecraftServer server) {
+        nativeMemorySampler.sample("shutdown");
+        jvmPhaseSampler.recordPhase("shutdown", backgroundExecutor);
+        
+        // The server is only asked to stop once the report is on disk
+        submitReport("final report", () -> {
+            appendToHistory();
+            shutdownManager.scheduleShutdown(server);
+        });
+    }
+    
+    /**
+     * Write the report with the samples taken so far on the worker
+     * The samples are read there, after the class attribution jobs queued before this one have filled them in.
+     * @param name Job name, used in error messages
+     * @param then Work to run on the worker after the report is written
+     */
+    private void submitReport(String name, Runnable then) {
+        CalibrationReport calibrationReport = calibration.getReport();
+        
+        // Serialization and file IO run on the worker
+        backgroundExecutor.submit(name, () -> {
+            List<NativeMemorySnapshot> nativeMemory = nativeMemorySampler.getSnapshots();
+            List<JvmPhaseSample> jvmPhases = jvmPhaseSampler.getSamples();
+            reportWriter.addSection("nativeMemory", nativeMemory);
+            reportWriter.addSection("jvmPhases", jvmPhases);
+            if (calibrationReport != null) {
+                reportWriter.addSection("calibration", calibrationReport);
+            }
+            reportWriter.write();
+            then.run();
+        });
+    }
+    
+    /**
+     * Append this run's report to the result history, if one is configured
+     * A boot is one row: a repeated SHUTDOWN does not add a partial duplicate that would skew the trends.
+     */
+    private void appendToHistory() {
+        String directory = config.getString("history.dir", null);
+        if (directory == null || !historyAppended.compareAndSet(false, true)) {
+            return;
+        }
+        
+        ErrorHandler.executeWithErrorHandling(() -> {
+            new ResultHistory(Paths.get(directory)).append(
+                config.getString("history.commit", System.getenv("GITHUB_SHA")),
+                reportWriter.toJsonTree()
+            );
+            ServerTestMod.LOGGER.info("[SERVER-TEST] Run appended to result history in {}", directory);
+        }, ErrorHandler.ErrorType.INFO_COLLECTION, "Failed to append run to result history");
+    }
+    
+    /**
+     * Queue a named scenario of test tasks; must be called on the server thread
+     * @param name One of SCENARIOS
+     * @return false if the scenario is unknown
+     */
+    public boolean startScenario(String name) {
+        TickTask task = createTask(name.toLowerCase(Locale.ROOT), config);
+        if (task == null) {
+            return false;
+        }
+        
+        pendingTasks.add(task);
+        ServerTestMod.LOGGER.info("[SERVER-TEST] Scenario {} queued", task.getName());
+        return true;
+    }
+    
+    /**
+     * Start the machine calibration for a task that normalizes MSPT with it
+     * Runs only for such tasks; their measurement windows and any warm-up gate wait until it is done,
+     * so it never shares the CPU or the JIT with what they measure.
+     * @return the calibration to hand to the task
+     */
+    private MachineCalibration startCalibration() {
+        if (config.getBoolean("calibration.enabled", true)) {
+            calibration.start();
+        }
+        return calibration;
+    }
+    
+    /**
+     * Create the task behind a scenario name
+     * @param name One of SCENARIOS
+     * @param taskConfig Configuration the task reads its settings from
+     * @return the task, or null if the name is unknown
+     */
+    private TickTask createTask(String name, ServerTestConfig taskConfig) {
+        switch (name) {
+            case "benchmark":
+                return new ModBenchmarkRunner(benchmarkRegistry.getRegistrations(), taskConfig, reportWriter,
+                    startCalibration());
+            case "gametest":
+                return new GameTestHarness(taskConfig, reportWriter);
+            case "idle":
+                return new IdleTask(taskConfig);
+            case "info":
+                return new InformationCollectionTask();
+            case "leak":
+                return new LeakDetector(taskConfig, reportWriter);
+            case "measure":
+                return new RepeatedMeasurement(taskConfig, reportWriter, startCalibration());
+            case "players":
+                return new PlayerLoadSimulator(taskConfig);
+            case "reload":
+                return new ReloadBenchmark(taskConfig, reportWriter, reloadTracker);
+            case "save":
+                return new WorldSaveTask();
+            case "soak":
+                return new SoakRunner(taskConfig, reportWriter);
+            case "spawn":
+                return new EntitySpawner(taskConfig);
+            case "warmup":
+                return new WarmupGate(taskConfig, reportWriter, "warmup", calibration);
+            default:
+                return null;
+        }
+    }
+    
+    /**
+     * Abandon queued tasks, write the report and shut the server down; must be called on the server thread
+     * @param server The MinecraftServer instance
+     */
+    public void requestShutdown(MinecraftServer server) {
+        if (shutdownRequested) {
+            ServerTestMod.LOGGER.warn("[SERVER-TEST] Shutdown already requested, ignoring");
+            return;
+        }
+        shutdownRequested = true;
+        spawnAreaPending = null;
+        pendingTasks.clear();
+        activeTask = null;
+        shutDown(server);
+    }
+    
+    /**
+     * Get the report writer shared by the test components
+     * @return report writer
+     */
+    public ReportWriter getReportWriter() {
+        return reportWriter;
+    }
+    
+    /**
+     * Get the worker that writes the report and runs the other deferred work of the test sequence
+     */
+    public BackgroundExecutor getBackgroundExecutor() {
+        return backgroundExecutor;
+    }
+    
+    /**
+     * Get the benchmarks other mods registered through InterModComms
+     * @return benchmark registry
+     */
+    public BenchmarkRegistry getBenchmarkRegistry() {
+        return benchmarkRegistry;
+    }
+    
     /**
      * Check if the test sequence has been executed
      * @return true if executed, false otherwise
@@ -133,4 +598,20 @@ public class ServerMonitor {
     public void resetTestSequenceFlag() {
         testSequenceExecuted = false;
     }
+    
+    /**
+     * Runs information collection as a queued task once the warm-up gate has opened
+     */
+    private class InformationCollectionTask implements TickTask {
+        @Override
+        public String getName() {
+            return "information-collection";
+        }
+        
+        @Override
+        public boolean tick(MinecraftServer server) {
+            collectInformation(server);
+            return true;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,173 @@
+package com.servertest.mod.core;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads Server Test Mod settings from system properties and environment variables
+ * A setting such as "leak.cycles" is looked up as -Dservertest.leak.cycles first,
+ * then as the SERVERTEST_LEAK_CYCLES environment variable
+ */
+public class ServerTestConfig {
+    
+    private static final String PROPERTY_PREFIX = "servertest.";
+    private static final String ENV_PREFIX = "SERVERTEST_";
+    
+    private final EnvironmentProvider environmentProvider;
+    
+    /**
+     * Create a new ServerTestConfig with the default environment provider
+     */
+    public ServerTestConfig() {
+        this(new EnvironmentProvider.DefaultEnvironmentProvider());
+    }
+    
+    /**
+     * Create a new ServerTestConfig with a custom environment provider
+     * @param environmentProvider The environment provider to use
+     */
+    public ServerTestConfig(EnvironmentProvider environmentProvider) {
+        this.environmentProvider = environmentProvider;
+    }
+    
+    /**
+     * Layer settings over this configuration, e.g. the settings of one scenario phase
+     * @param overrides Values by setting key; they win over system properties and environment variables
+     * @return a configuration that reads the overrides first and this configuration for everything else
+     */
+    public ServerTestConfig withOverrides(Map<String, String> overrides) {
+        EnvironmentProvider base = environmentProvider;
+        return new ServerTestConfig(new EnvironmentProvider() {
+            @Override
+            public String getenv(String name) {
+                return base.getenv(name);
+            }
+            
+            @Override
+            public String getProperty(String name) {
+                if (name.startsWith(PROPERTY_PREFIX) && overrides.containsKey(name.substring(PROPERTY_PREFIX.length()))) {
+                    return overrides.get(name.substring(PROPERTY_PREFIX.length()));
+                }
+                return base.getProperty(name);
+            }
+            
+            @Override
+            public String readFile(String path) {
+                return base.readFile(path);
+            }
+        });
+    }
+    
+    /**
+     * Get the environment provider settings are read from
+     * Components that read cgroup or /proc files use it too, so tests can substitute them.
+     */
+    public EnvironmentProvider getEnvironmentProvider() {
+        return environmentProvider;
+    }
+    
+    /**
+     * Check whether a setting has been provided
+     * @param key The setting key, e.g. "leak.cycles"
+     * @return true if the setting is present
+     */
+    public boolean isSet(String key) {
+        return getRaw(key) != null;
+    }
+    
+    /**
+     * Get a string setting
+     * @param key The setting key
+     * @param defaultValue Value to use when the setting is absent
+     * @return The configured value or the default
+     */
+    public String getString(String key, String defaultValue) {
+        String value = getRaw(key);
+        return value != null ? value : defaultValue;
+    }
+    
+    /**
+     * Get an integer setting, falling back to the default if it is absent or malformed
+     */
+    public int getInt(String key, int defaultValue) {
+        String value = getRaw(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            reportInvalid(key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+    
+    /**
+     * Get a long setting, falling back to the default if it is absent or malformed
+     */
+    public long getLong(String key, long defaultValue) {
+        String value = getRaw(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            reportInvalid(key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+    
+    /**
+     * Get a floating point setting, falling back to the default if it is absent or malformed
+     */
+    public double getDouble(String key, double defaultValue) {
+        String value = getRaw(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            reportInvalid(key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+    
+    /**
+     * Get a boolean setting ("true"/"false", case-insensitive)
+     */
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = getRaw(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        return "true".equalsIgnoreCase(value.trim());
+    }
+    
+    private String getRaw(String key) {
+        String value = environmentProvider.getProperty(PROPERTY_PREFIX + key);
+        if (value == null || value.isEmpty()) {
+            value = environmentProvider.getenv(toEnvName(key));
+        }
+        return value == null || value.isEmpty() ? null : value;
+    }
+    
+    /**
+     * Get the environment variable a setting is read from, e.g. SERVERTEST_MEASURE_WINDOWS for measure.windows
+     */
+    public static String toEnvName(String key) {
+        return ENV_PREFIX + key.toUpperCase(Locale.ROOT).replace('.', '_').replace('-', '_');
+    }
+    
+    private static void reportInvalid(String key, String value, Object defaultValue) {
+        ErrorHandler.handleNonCriticalError(
+            ErrorHandler.ErrorType.ENVIRONMENT,
+            "Invalid value '" + value + "' for setting " + key + ", using default " + defaultValue,
+            null
+        );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,200 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.ServerTestMod;
+import com.servertest.mod.analysis.TrendLine;
+import com.servertest.mod.model.SoakReport;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the server running for hours and watches for gradual degradation
+ * Every interval the mean tick time, post-GC heap, entity count and loaded chunk count are
+ * recorded. At the end trend lines are fitted over the snapshots taken after the warm-up and
+ * the run fails with PERFORMANCE_REGRESSION when MSPT or heap grow faster than their limits.
+ */
+public class SoakRunner implements TickTask {
+    
+    private static final double NANOS_PER_HOUR = 3_600_000_000_000.0;
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+    private static final long BYTES_PER_MB = 1024L * 1024L;
+    
+    /** Fewer fitted snapshots than this never fail the run */
+    static final int MIN_FITTED_SNAPSHOTS = 3;
+    
+    private final ReportWriter reportWriter;
+    private final long durationNanos;
+    private final long intervalNanos;
+    private final long warmupNanos;
+    private final double msptSlopeLimit;
+    private final double heapSlopeLimitBytes;
+    private final boolean forceGc;
+    
+    private final List<SoakReport.Snapshot> snapshots = new ArrayList<>();
+    private long startNanos = -1;
+    private long nextSnapshotNanos;
+    private long intervalTickNanos;
+    private long intervalTicks;
+    
+    public SoakRunner(ServerTestConfig config, ReportWriter reportWriter) {
+        this.reportWriter = reportWriter;
+        this.durationNanos = (long) (Math.max(0.0, config.getDouble("soak.hours", 1.0)) * NANOS_PER_HOUR);
+        this.intervalNanos = Math.max(1L, config.getLong("soak.interval.minutes", 5L)) * NANOS_PER_MINUTE;
+        this.warmupNanos = Math.max(0L, config.getLong("soak.warmup.minutes", 10L)) * NANOS_PER_MINUTE;
+        this.msptSlopeLimit = config.getDouble("soak.mspt.slope.limit", 0.5);
+        this.heapSlopeLimitBytes = config.getDouble("soak.heap.slope.limit.mb", 64.0) * BYTES_PER_MB;
+        this.forceGc = config.getBoolean("soak.force.gc", true);
+    }
+    
+    @Override
+    public String getName() {
+        return "soak";
+    }
+    
+    @Override
+    public boolean tick(MinecraftServer server) {
+        long now = System.nanoTime();
+        if (startNanos < 0) {
+            startNanos = now;
+            nextSnapshotNanos = now + intervalNanos;
+            ServerTestMod.LOGGER.info("[SERVER-TEST] Soak run started for {} hours, snapshot every {} minutes",
+                String.format("%.2f", durationNanos / NANOS_PER_HOUR), intervalNanos / NANOS_PER_MINUTE);
+            return false;
+        }
+        
+        // Vanilla stores the previous tick's duration in a 100 entry ring, one read per tick covers every tick
+        intervalTickNanos += server.tickTimes[server.getTickCount() % server.tickTimes.length];
+        intervalTicks++;
+        
+        boolean done = now - startNanos >= durationNanos;
+        if (done || now >= nextSnapshotNanos) {
+            takeSnapshot(server, now);
+            nextSnapshotNanos += intervalNanos;
+        }
+        if (done) {
+            finish();
+        }
+        return done;
+    }
+    
+    private void takeSnapshot(MinecraftServer server, long now) {
+        double mspt = intervalTicks > 0 ? intervalTickNanos / 1_000_000.0 / intervalTicks : 0.0;
+        intervalTickNanos = 0;
+        intervalTicks = 0;
+        
+        if (forceGc) {
+            JvmStats.forceGc();
+        }
+        long heap = JvmStats.postGcHeapUsed();
+        
+        long entities = 0;
+        long chunks = 0;
+        for (ServerLevel level : server.getAllLevels()) {
+            for (Entity ignored : level.getAllEntities()) {
+                entities++;
+            }
+            chunks += level.getChunkSource().getLoadedChunksCount();
+        }
+        
+        SoakReport.Snapshot snapshot = new SoakReport.Snapshot(
+            (now - startNanos) / NANOS_PER_HOUR, mspt, heap, entities, chunks);
+        snapshots.add(snapshot);
+        
+        ServerTestMod.LOGGER.info("[SERVER-TEST] Soak snapshot at {}h: MSPT {}ms, post-GC heap {} MB, {} entities, {} chunks",
+            String.format("%.2f", snapshot.getElapsedHours()), String.format("%.2f", mspt),
+            String.format("%.1f", heap / (double) BYTES_PER_MB), entities, chunks);
+    }
+    
+    /**
+     * Add a snapshot without sampling a server (used by tests)
+     */
+    void addSnapshot(SoakReport.Snapshot snapshot) {
+        snapshots.add(snapshot);
+    }
+    
+    /**
+     * Fit trend lines over the snapshots taken after the warm-up
+     * @return report with slopes and the metrics that grew past their limits
+     */
+    SoakReport evaluate() {
+        double warmupHours = warmupNanos / NANOS_PER_HOUR;
+        List<SoakReport.Snapshot> fitted = new ArrayList<>();
+        for (SoakReport.Snapshot snapshot : snapshots) {
+            if (snapshot.getElapsedHours() >= warmupHours) {
+                fitted.add(snapshot);
+            }
+        }
+        
+        int n = fitted.size();
+        double[] hours = new double[n];
+        double[] mspt = new double[n];
+        double[] heap = new double[n];
+        double[] entities = new double[n];
+        double[] chunks = new double[n];
+        for (int i = 0; i < n; i++) {
+            SoakReport.Snapshot snapshot = fitted.get(i);
+            hours[i] = snapshot.getElapsedHours();
+            mspt[i] = snapshot.getMsptMillis();
+            heap[i] = snapshot.getPostGcHeapBytes();
+            entities[i] = snapshot.getEntities();
+            chunks[i] = snapshot.getLoadedChunks();
+        }
+        
+        TrendLine msptTrend = TrendLine.fit(hours, mspt);
+        TrendLine heapTrend = TrendLine.fit(hours, heap);
+        
+        List<String> regressions = new ArrayList<>();
+        if (n >= MIN_FITTED_SNAPSHOTS) {
+            if (msptTrend.getSlope() > msptSlopeLimit) {
+                regressions.add("mspt");
+            }
+            if (heapTrend.getSlope() > heapSlopeLimitBytes) {
+                regressions.add("heap");
+            }
+        }
+        
+        double duration = snapshots.isEmpty() ? 0.0 : snapshots.get(snapshots.size() - 1).getElapsedHours();
+        return new SoakReport(
+            duration,
+            new ArrayList<>(snapshots),
+            n,
+            msptTrend.getSlope(),
+            msptTrend.getRSquared(),
+            heapTrend.getSlope(),
+            heapTrend.getRSquared(),
+            TrendLine.fit(hours, entities).getSlope(),
+            TrendLine.fit(hours, chunks).getSlope(),
+            regressions
+        );
+    }
+    
+    private void finish() {
+        SoakReport report = evaluate();
+        reportWriter.addSection("soak", report);
+        
+        if (report.getFittedSnapshots() < MIN_FITTED_SNAPSHOTS) {
+            ServerTestMod.LOGGER.warn("[SERVER-TEST] Soak run too short for trend detection: {} snapshot(s) after warm-up",
+                report.getFittedSnapshots());
+        }
+        
+        if (report.isPassed()) {
+            ServerTestMod.LOGGER.info("[SERVER-TEST] Soak run passed: MSPT {} ms/h, post-GC heap {} MB/h",
+                String.format("%.3f", report.getMsptSlopePerHour()),
+                String.format("%.1f", report.getHeapSlopeBytesPerHour() / BYTES_PER_MB));
+            return;
+        }
+        
+        // Keep the evidence on disk before the failure exits the JVM
+        reportWriter.write();
+        ErrorHandler.handleCriticalError(
+            ErrorHandler.ErrorType.PERFORMANCE_REGRESSION,
+            String.format("Soak run degraded over %.2f hours: MSPT %.3f ms/h (limit %.3f), post-GC heap %.1f MB/h (limit %.1f)",
+                report.getDurationHours(), report.getMsptSlopePerHour(), msptSlopeLimit,
+                report.getHeapSlopeBytesPerHour() / BYTES_PER_MB, heapSlopeLimitBytes / BYTES_PER_MB),
+            null
+        );
+    }
+}
\ No newline at end of file
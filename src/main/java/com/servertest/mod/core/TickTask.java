@@ -0,0 +1,23 @@
+package com.servertest.mod.core;
+
+import net.minecraft.server.MinecraftServer;
+
+/**
+ * A unit of test work that is driven from the server tick loop
+ * Tasks are queued by ServerMonitor and run one after another on the server thread
+ */
+public interface TickTask {
+    /**
+     * Get a short name for this task, used in log output
+     * @return task name
+     */
+    String getName();
+    
+    /**
+     * Advance the task by one server tick
+     * @param server The MinecraftServer instance
+     * @return true once the task has finished
+     * @throws Exception if the task failed
+     */
+    boolean tick(MinecraftServer server) throws Exception;
+}
\ No newline at end of file
@@ -0,0 +1,125 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.ServerTestMod;
+import com.servertest.mod.model.WarmupReport;
+import net.minecraft.server.MinecraftServer;
+
+/**
+ * Keeps the measurement window closed until the JIT has settled
+ * The JIT compile rate (compilation time per wall time) is sampled periodically and the gate
+ * opens once it stays below the threshold for a number of consecutive samples. Sampling only starts
+ * once the machine calibration is done, since its kernels are compiled by the same JIT.
+ */
+public class WarmupGate implements TickTask {
+    
+    private final ReportWriter reportWriter;
+    private final String section;
+    private final MachineCalibration calibration;
+    private final int sampleTicks;
+    private final double rateThreshold;
+    private final int stableSamplesRequired;
+    private final long maxMillis;
+    
+    private long startNanos;
+    private long startCompilationMillis;
+    private long windowStartNanos;
+    private long windowStartCompilationMillis;
+    private int ticks;
+    private int calibrationTicks;
+    private int stableSamples;
+    private double lastRate = Double.NaN;
+    
+    public WarmupGate(ServerTestConfig config, ReportWriter reportWriter) {
+        this(config, reportWriter, "warmup");
+    }
+    
+    /**
+     * @param section Report section for the warm-up report, for gates that warm up something other than the server
+     */
+    public WarmupGate(ServerTestConfig config, ReportWriter reportWriter, String section) {
+        this(config, reportWriter, section, null);
+    }
+    
+    /**
+     * @param section Report section for the warm-up report
+     * @param calibration Calibration to wait for before sampling the compile rate, or null
+     */
+    public WarmupGate(ServerTestConfig config, ReportWriter reportWriter, String section,
+                      MachineCalibration calibration) {
+        this.reportWriter = reportWriter;
+        this.section = section;
+        this.calibration = calibration;
+        this.sampleTicks = Math.max(1, config.getInt("warmup.sample.ticks", 20));
+        this.rateThreshold = config.getDouble("warmup.jit.threshold", 0.02);
+        this.stableSamplesRequired = Math.max(1, config.getInt("warmup.stable.samples", 3));
+        this.maxMillis = config.getLong("warmup.max.seconds", 300L) * 1000L;
+    }
+    
+    @Override
+    public String getName() {
+        return "warmup";
+    }
+    
+    @Override
+    public boolean tick(MinecraftServer server) {
+        if (calibration != null && calibration.isRunning()) {
+            calibrationTicks++;
+            return false;
+        }
+        
+        long now = System.nanoTime();
+        long compilation = JvmPhaseSampler.compilationMillis();
+        
+        if (ticks++ == 0) {
+            startNanos = now;
+            windowStartNanos = now;
+            startCompilationMillis = compilation;
+            windowStartCompilationMillis = compilation;
+            
+            if (compilation < 0) {
+                ServerTestMod.LOGGER.warn("[SERVER-TEST] JIT compilation time is not available, skipping warm-up");
+                finish(now, compilation, true);
+                return true;
+            }
+            return false;
+        }
+        
+        if (ticks % sampleTicks != 0) {
+            return false;
+        }
+        
+        double windowMillis = (now - windowStartNanos) / 1_000_000.0;
+        lastRate = windowMillis > 0 ? (compilation - windowStartCompilationMillis) / windowMillis : 0.0;
+        windowStartNanos = now;
+        windowStartCompilationMillis = compilation;
+        
+        stableSamples = lastRate < rateThreshold ? stableSamples + 1 : 0;
+        ServerTestMod.LOGGER.debug("[SERVER-TEST] Warm-up JIT compile rate: {}", String.format("%.4f", lastRate));
+        
+        if (stableSamples >= stableSamplesRequired) {
+            finish(now, compilation, false);
+            return true;
+        }
+        
+        if ((now - startNanos) / 1_000_000L >= maxMillis) {
+            ServerTestMod.LOGGER.warn("[SERVER-TEST] Warm-up time limit reached with JIT compile rate {}",
+                String.format("%.4f", lastRate));
+            finish(now, compilation, true);
+            return true;
+        }
+        return false;
+    }
+    
+    private void finish(long now, long compilation, boolean timedOut) {
+        WarmupReport report = new WarmupReport(
+            calibrationTicks + ticks,
+            (now - startNanos) / 1_000_000L,
+            compilation >= 0 ? compilation - startCompilationMillis : -1L,
+            lastRate,
+            timedOut
+        );
+        reportWriter.addSection(section, report);
+        ServerTestMod.LOGGER.info("[SERVER-TEST] Warm-up finished after {} ticks ({}ms), measurement window open",
+            report.getTicksWaited(), report.getWallMillis());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.ServerTestMod;
+import net.minecraft.server.MinecraftServer;
+
+/**
+ * Saves every level, flushing chunks to disk like /save-all flush
+ */
+public class WorldSaveTask implements TickTask {
+    
+    @Override
+    public String getName() {
+        return "save";
+    }
+    
+    @Override
+    public boolean tick(MinecraftServer server) {
+        long start = System.nanoTime();
+        boolean saved = server.saveEverything(true, true, true);
+        ServerTestMod.LOGGER.info("[SERVER-TEST] World save {} in {} ms", saved ? "completed" : "failed",
+            (System.nanoTime() - start) / 1_000_000L);
+        return true;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,277 @@
+package com.servertest.mod.history;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.servertest.mod.model.EnvironmentFingerprint;
+import com.servertest.mod.model.HistoryRun;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Append-only columnar store of run results, kept in a directory in the repository or CI cache
+ *
+ * <pre>
+ * runs.tsv      one line per run: timestamp, commit, mod set hash, environment fingerprint
+ * columns.tsv   one line per metric: column file, metric name
+ * cNNNNN.f64    one big-endian double per run, NaN where the run did not report the metric
+ * </pre>
+ *
+ * A trend query over one metric reads only the tail of its column file. The runs.tsv line is
+ * written last, so a run interrupted half way is ignored and its partial values are cut off
+ * by the next append.
+ */
+public class ResultHistory {
+    
+    static final String RUNS_FILE = "runs.tsv";
+    static final String COLUMNS_FILE = "columns.tsv";
+    
+    private static final int VALUE_BYTES = Double.BYTES;
+    
+    private final Path directory;
+    
+    public ResultHistory(Path directory) {
+        this.directory = directory;
+    }
+    
+    /**
+     * Append a run, taking its metrics from a JSON report
+     * @param commit Commit id the run was built from, or null if unknown
+     * @param report Report sections as written by ReportWriter
+     * @throws IOException if the store cannot be written
+     */
+    public void append(String commit, JsonObject report) throws IOException {
+        HistoryRun run = new HistoryRun(
+            System.currentTimeMillis(),
+            commit != null && !commit.isBlank() ? commit.trim() : "unknown",
+            modSetHash(report),
+            environmentFingerprint(report)
+        );
+        append(run, flatten(report));
+    }
+    
+    /**
+     * Append a run with its metrics
+     * @param run Run identification
+     * @param metrics Metric values by name
+     * @throws IOException if the store cannot be written
+     */
+    public synchronized void append(HistoryRun run, Map<String, Double> metrics) throws IOException {
+        Files.createDirectories(directory);
+        int rows = readRuns().size();
+        Map<String, String> columns = readColumnIndex();
+        
+        StringBuilder newColumns = new StringBuilder();
+        for (String name : metrics.keySet()) {
+            if (!columns.containsKey(name)) {
+                String file = String.format(Locale.ROOT, "c%05d.f64", columns.size());
+                columns.put(name, file);
+                newColumns.append(file).append('\t').append(sanitize(name)).append('\n');
+            }
+        }
+        if (newColumns.length() > 0) {
+            Files.writeString(directory.resolve(COLUMNS_FILE), newColumns, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        
+        // Every column gets a value for this row so row i always lives at offset i * 8
+        for (Map.Entry<String, String> column : columns.entrySet()) {
+            Double value = metrics.get(column.getKey());
+            writeValue(directory.resolve(column.getValue()), rows, value != null ? value : Double.NaN);
+        }
+        
+        String line = run.getTimestampMillis() + "\t" + sanitize(run.getCommit()) + "\t"
+            + sanitize(run.getModSetHash()) + "\t" + sanitize(run.getEnvironment()) + "\n";
+        Files.writeString(directory.resolve(RUNS_FILE), line, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+    
+    private static void writeValue(Path file, int row, double value) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            long offset = (long) row * VALUE_BYTES;
+            if (channel.size() > offset) {
+                // Left over from an interrupted append
+                channel.truncate(offset);
+            }
+            
+            int padding = (int) ((offset - channel.size()) / VALUE_BYTES);
+            ByteBuffer buffer = ByteBuffer.allocate((padding + 1) * VALUE_BYTES);
+            for (int i = 0; i < padding; i++) {
+                buffer.putDouble(Double.NaN);
+            }
+            buffer.putDouble(value);
+            buffer.flip();
+            
+            long position = channel.size();
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+        }
+    }
+    
+    /**
+     * Read the identification of every complete run, oldest first
+     * @return list of runs, empty if the store does not exist yet
+     * @throws IOException if the store cannot be read
+     */
+    public List<HistoryRun> readRuns() throws IOException {
+        Path file = directory.resolve(RUNS_FILE);
+        if (!Files.exists(file)) {
+            return new ArrayList<>();
+        }
+        
+        List<HistoryRun> runs = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String[] fields = line.split("\t", -1);
+            if (fields.length >= 4) {
+                runs.add(new HistoryRun(Long.parseLong(fields[0]), fields[1], fields[2], fields[3]));
+            }
+        }
+        return runs;
+    }
+    
+    /**
+     * Get the names of all metrics that were ever recorded
+     * @return metric names in the order they first appeared
+     * @throws IOException if the store cannot be read
+     */
+    public List<String> getMetricNames() throws IOException {
+        return new ArrayList<>(readColumnIndex().keySet());
+    }
+    
+    /**
+     * Read the values of one metric for the most recent runs
+     * @param name Metric name
+     * @param lastRuns Maximum number of runs to read
+     * @return values oldest first, NaN where a run did not report the metric; empty if the metric is unknown
+     * @throws IOException if the store cannot be read
+     */
+    public double[] readMetric(String name, int lastRuns) throws IOException {
+        String file = readColumnIndex().get(name);
+        if (file == null) {
+            return new double[0];
+        }
+        
+        int rows = readRuns().size();
+        int count = Math.max(0, Math.min(lastRuns, rows));
+        double[] values = new double[count];
+        Arrays.fill(values, Double.NaN);
+        Path path = directory.resolve(file);
+        if (!Files.exists(path)) {
+            return values;
+        }
+        
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long first = (long) (rows - count) * VALUE_BYTES;
+            long available = Math.min((long) rows * VALUE_BYTES, channel.size()) - first;
+            if (available > 0) {
+                ByteBuffer buffer = ByteBuffer.allocate((int) available);
+                while (buffer.hasRemaining() && channel.read(buffer, first + buffer.position()) > 0) {
+                    // Keep reading until the tail is complete
+                }
+                buffer.flip();
+                for (int i = 0; buffer.remaining() >= VALUE_BYTES; i++) {
+                    values[i] = buffer.getDouble();
+                }
+            }
+        }
+        return values;
+    }
+    
+    private Map<String, String> readColumnIndex() throws IOException {
+        Map<String, String> columns = new LinkedHashMap<>();
+        Path file = directory.resolve(COLUMNS_FILE);
+        if (Files.exists(file)) {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                int tab = line.indexOf('\t');
+                if (tab > 0) {
+                    columns.put(line.substring(tab + 1), line.substring(0, tab));
+                }
+            }
+        }
+        return columns;
+    }
+    
+    private static String sanitize(String value) {
+        return value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+    
+    /**
+     * Flatten the numeric and boolean values of a report into dotted metric names
+     * Arrays are skipped: their positions carry no stable meaning from one run to the next.
+     * @param element Report or report section
+     * @return metric values by name, sorted by name
+     */
+    public static Map<String, Double> flatten(JsonElement element) {
+        Map<String, Double> metrics = new TreeMap<>();
+        flatten("", element, metrics);
+        return metrics;
+    }
+    
+    private static void flatten(String prefix, JsonElement element, Map<String, Double> metrics) {
+        if (element.isJsonObject()) {
+            for (Map.Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+                flatten(prefix.isEmpty() ? entry.getKey() : prefix + "." + entry.getKey(), entry.getValue(), metrics);
+            }
+        } else if (element.isJsonPrimitive() && !prefix.isEmpty()) {
+            JsonPrimitive primitive = element.getAsJsonPrimitive();
+            if (primitive.isNumber()) {
+                metrics.put(sanitize(prefix), primitive.getAsDouble());
+            } else if (primitive.isBoolean()) {
+                metrics.put(sanitize(prefix), primitive.getAsBoolean() ? 1.0 : 0.0);
+            }
+        }
+    }
+    
+    /**
+     * Hash the ids and versions of the loaded mods listed in a report
+     * @param report Report sections as written by ReportWriter
+     * @return short hex hash, or "unknown" if the report has no mod list
+     */
+    public static String modSetHash(JsonObject report) {
+        JsonElement result = report.get("result");
+        if (result == null || !result.isJsonObject() || !result.getAsJsonObject().has("loadedMods")) {
+            return "unknown";
+        }
+        
+        List<String> mods = new ArrayList<>();
+        JsonArray loadedMods = result.getAsJsonObject().getAsJsonArray("loadedMods");
+        for (JsonElement mod : loadedMods) {
+            JsonObject info = mod.getAsJsonObject();
+            mods.add(info.get("modId").getAsString() + "@" + info.get("version").getAsString());
+        }
+        Collections.sort(mods);
+        return EnvironmentFingerprint.shortHash(String.join("\n", mods));
+    }
+    
+    /**
+     * Get the environment fingerprint the report was measured with, so runs on different hardware are not
+     * compared blindly
+     * @param report Report sections as written by ReportWriter
+     * @return short hex hash from the environment section, or "unknown" if the report has none
+     */
+    public static String environmentFingerprint(JsonObject report) {
+        JsonElement environment = report.get("environment");
+        if (environment == null || !environment.isJsonObject()) {
+            return "unknown";
+        }
+        JsonElement fingerprint = environment.getAsJsonObject().get("fingerprint");
+        return fingerprint != null && fingerprint.isJsonPrimitive() ? fingerprint.getAsString() : "unknown";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,137 @@
+package com.servertest.mod.history;
+
+import com.servertest.mod.analysis.TrendLine;
+import com.servertest.mod.model.HistoryRun;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Renders metric trends over the most recent runs of a result history
+ * Run through the resultTrends Gradle task; it only needs the JDK and Gson on the class path.
+ */
+public class ResultTrends {
+    
+    private static final char[] SPARKS = {'\u2581', '\u2582', '\u2583', '\u2584', '\u2585', '\u2586', '\u2587', '\u2588'};
+    
+    private final ResultHistory history;
+    private final int lastRuns;
+    private final Pattern metricFilter;
+    
+    public ResultTrends(ResultHistory history, int lastRuns, Pattern metricFilter) {
+        this.history = history;
+        this.lastRuns = lastRuns;
+        this.metricFilter = metricFilter;
+    }
+    
+    /**
+     * Entry point for the resultTrends Gradle task
+     * @param args History directory, number of runs, metric name regex
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = Paths.get(args.length > 0 ? args[0] : "servertest-history");
+        int lastRuns = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        Pattern filter = Pattern.compile(args.length > 2 ? args[2] : ".*");
+        System.out.print(new ResultTrends(new ResultHistory(directory), lastRuns, filter).render());
+    }
+    
+    /**
+     * Render the run list and one trend line per matching metric
+     * @return text table
+     * @throws IOException if the history cannot be read
+     */
+    public String render() throws IOException {
+        List<HistoryRun> runs = history.readRuns();
+        if (runs.isEmpty()) {
+            return "No runs recorded\n";
+        }
+        
+        int count = Math.min(lastRuns, runs.size());
+        int first = runs.size() - count;
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "Last %d of %d runs%n", count, runs.size()));
+        out.append(String.format(Locale.ROOT, "%5s  %-12s  %-12s  %-12s%n", "run", "commit", "mods", "environment"));
+        for (int i = first; i < runs.size(); i++) {
+            HistoryRun run = runs.get(i);
+            // Flag where the mod set or machine changed, those explain most steps in a trend
+            boolean modsChanged = i > 0 && !run.getModSetHash().equals(runs.get(i - 1).getModSetHash());
+            boolean environmentChanged = i > 0 && !run.getEnvironment().equals(runs.get(i - 1).getEnvironment());
+            out.append(String.format(Locale.ROOT, "%5d  %-12s  %-12s  %-12s%n", i,
+                abbreviate(run.getCommit()),
+                run.getModSetHash() + (modsChanged ? "*" : ""),
+                run.getEnvironment() + (environmentChanged ? "*" : "")));
+        }
+        
+        out.append(String.format(Locale.ROOT, "%n%-60s %5s %12s %12s %9s %9s  %s%n",
+            "metric", "runs", "first", "last", "change", "slope/run", "trend"));
+        for (String name : history.getMetricNames()) {
+            if (!metricFilter.matcher(name).find()) {
+                continue;
+            }
+            double[] values = history.readMetric(name, count);
+            String line = renderMetric(name, values);
+            if (line != null) {
+                out.append(line);
+            }
+        }
+        return out.toString();
+    }
+    
+    /**
+     * Render one metric as a table row with a sparkline
+     * @return row, or null if the metric was reported by fewer than two of the runs
+     */
+    static String renderMetric(String name, double[] values) {
+        double[] x = new double[values.length];
+        double[] y = new double[values.length];
+        int n = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < values.length; i++) {
+            if (Double.isFinite(values[i])) {
+                x[n] = i;
+                y[n] = values[i];
+                n++;
+                min = Math.min(min, values[i]);
+                max = Math.max(max, values[i]);
+            }
+        }
+        if (n < 2) {
+            return null;
+        }
+        
+        double firstValue = y[0];
+        double lastValue = y[n - 1];
+        String change = firstValue != 0.0
+            ? String.format(Locale.ROOT, "%+.1f%%", (lastValue - firstValue) / Math.abs(firstValue) * 100.0)
+            : "n/a";
+        double slope = TrendLine.fit(Arrays.copyOf(x, n), Arrays.copyOf(y, n)).getSlope();
+        
+        StringBuilder spark = new StringBuilder();
+        for (double value : values) {
+            if (!Double.isFinite(value)) {
+                spark.append(' ');
+            } else if (max == min) {
+                spark.append(SPARKS[SPARKS.length / 2]);
+            } else {
+                spark.append(SPARKS[(int) Math.round((value - min) / (max - min) * (SPARKS.length - 1))]);
+            }
+        }
+        
+        return String.format(Locale.ROOT, "%-60s %5d %12.4g %12.4g %9s %9.3g  %s%n",
+            abbreviateMetric(name), n, firstValue, lastValue, change, slope, spark);
+    }
+    
+    private static String abbreviate(String commit) {
+        return commit.length() > 12 ? commit.substring(0, 12) : commit;
+    }
+    
+    private static String abbreviateMetric(String name) {
+        return name.length() > 60 ? "..." + name.substring(name.length() - 57) : name;
+    }
+}
\ No newline at end of file
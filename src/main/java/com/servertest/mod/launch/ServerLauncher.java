@@ -0,0 +1,372 @@
+package com.servertest.mod.launch;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Starts real server processes in per-slot copies of a server directory
+ * The slot directory is rebuilt for every launch: small files and the config folders are copied,
+ * everything else (libraries, the server jar) is linked, the mods folder holds exactly the jars of
+ * that launch and the world is either copied from the original server or generated fresh. Slots
+ * use consecutive server ports and, when CPU pinning is enabled, disjoint CPU ranges so that
+ * several servers can run side by side on one machine.
+ */
+public class ServerLauncher {
+    
+    public static final String REPORT_FILE = "servertest-report.json";
+    public static final String LOG_FILE = "servertest-launch.log";
+    public static final int BASE_PORT = 25565;
+    
+    /** Not carried into a slot; the mods folder is rebuilt, the rest belongs to the original server */
+    private static final Set<String> SKIPPED = Set.of("mods", "logs", "crash-reports", "bisect", "matrix");
+    /** Mods write to these while running, so parallel slots must not share them */
+    private static final Set<String> COPIED_DIRECTORIES = Set.of("config", "defaultconfigs");
+    private static final List<Path> TASKSET = List.of(Paths.get("/usr/bin/taskset"), Paths.get("/bin/taskset"));
+    /** Settings of the orchestrating process that must not reach a trial server */
+    private static final Set<String> STRIPPED_ENVIRONMENT = Set.of("SERVERTEST_CONTROL_SOCKET", "SERVERTEST_HISTORY_DIR");
+    /** Files every server writes on its own; a slot gets a file of the same name in its directory */
+    private static final Set<String> PER_SLOT_FILES = Set.of("SERVERTEST_METRICS_FILE", "SERVERTEST_SAMPLES_FILE");
+    
+    private final Path serverDir;
+    private final Path workDir;
+    private final List<String> command;
+    private final long timeoutSeconds;
+    private final int cpusPerSlot;
+    private final boolean copyWorld;
+    
+    /**
+     * @param serverDir Server installation to run
+     * @param workDir Directory for the slot copies
+     * @param command Server start command, run inside the slot directory
+     * @param timeoutSeconds Time after which a server is killed
+     * @param cpusPerSlot CPUs to pin each slot to with taskset, 0 to leave scheduling to the OS
+     * @param copyWorld Copy the world of the original server instead of generating a new one
+     */
+    public ServerLauncher(Path serverDir, Path workDir, List<String> command, long timeoutSeconds, int cpusPerSlot,
+                          boolean copyWorld) {
+        this.serverDir = serverDir;
+        this.workDir = workDir;
+        this.command = command;
+        this.timeoutSeconds = timeoutSeconds;
+        this.cpusPerSlot = cpusPerSlot;
+        this.copyWorld = copyWorld;
+    }
+    
+    /**
+     * Run the server once in a slot and wait for it to exit
+     * @param slot Slot index; launches in different slots may run concurrently, launches in the same slot may not
+     * @param modJars Jars to install into the mods folder
+     * @param environment Extra environment variables for the server process
+     * @param files Files or folders copied over the slot directory before the launch, keyed by their
+     *              path relative to the server directory
+     * @return the outcome of the run; the slot directory, log included, is only valid until the next launch in the slot
+     */
+    public Result launch(int slot, List<Path> modJars, Map<String, String> environment, Map<String, Path> files)
+            throws IOException, InterruptedException {
+        Path slotDir = prepareSlot(slot, modJars, files);
+        
+        List<String> processCommand = new ArrayList<>();
+        String cpus = cpuList(slot, cpusPerSlot, Runtime.getRuntime().availableProcessors());
+        Path taskset = cpus == null ? null : TASKSET.stream().filter(Files::isExecutable).findFirst().orElse(null);
+        if (taskset != null) {
+            processCommand.add(taskset.toString());
+            processCommand.add("-c");
+            processCommand.add(cpus);
+        } else {
+            cpus = null;
+        }
+        processCommand.addAll(command);
+        
+        Path log = slotDir.resolve(LOG_FILE);
+        ProcessBuilder builder = new ProcessBuilder(processCommand)
+            .directory(slotDir.toFile())
+            .redirectErrorStream(true)
+            .redirectOutput(log.toFile());
+        builder.environment().putAll(environment);
+        builder.environment().put("CI", "true");
+        isolateSlot(builder.environment(), slot, slotDir);
+        
+        long start = System.nanoTime();
+        Process process = builder.start();
+        boolean finished = process.waitFor(timeoutSeconds, TimeUnit.SECONDS);
+        if (!finished) {
+            process.descendants().forEach(ProcessHandle::destroyForcibly);
+            process.destroyForcibly();
+            System.out.printf(Locale.ROOT, "  slot %d timed out after %ds%n", slot, timeoutSeconds);
+        }
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        int exitCode = finished ? process.exitValue() : -1;
+        
+        JsonObject report = null;
+        Path reportFile = slotDir.resolve(REPORT_FILE);
+        if (finished && Files.exists(reportFile)) {
+            try {
+                report = JsonParser.parseString(Files.readString(reportFile, StandardCharsets.UTF_8)).getAsJsonObject();
+            } catch (JsonParseException | IllegalStateException e) {
+                System.out.printf(Locale.ROOT, "  slot %d wrote an unreadable report: %s%n", slot, e.getMessage());
+            }
+        } else if (finished) {
+            System.out.printf(Locale.ROOT, "  slot %d exited with %d and no report, see %s%n", slot, exitCode, log);
+        }
+        return new Result(slot, BASE_PORT + slot, cpus, exitCode, !finished, durationMillis, report, log);
+    }
+    
+    /**
+     * Give a slot its own report, metrics port and metrics files, whether inherited or set by the caller
+     * Slots run side by side, so shared ports and memory-mapped files would collide; trials never
+     * append to the result history or listen on the orchestrator's control socket.
+     * @param environment Environment of the server process, modified in place
+     */
+    static void isolateSlot(Map<String, String> environment, int slot, Path slotDir) {
+        environment.put("SERVERTEST_REPORT_PATH", slotDir.resolve(REPORT_FILE).toString());
+        environment.keySet().removeAll(STRIPPED_ENVIRONMENT);
+        for (String name : PER_SLOT_FILES) {
+            String value = environment.get(name);
+            if (value != null && !value.isBlank()) {
+                Path file = Paths.get(value.trim()).getFileName();
+                environment.put(name, slotDir.resolve(file != null ? file.toString() : name.toLowerCase(Locale.ROOT))
+                    .toString());
+            }
+        }
+        String port = environment.get("SERVERTEST_METRICS_PORT");
+        if (port != null) {
+            try {
+                int base = Integer.parseInt(port.trim());
+                if (base > 0) {
+                    environment.put("SERVERTEST_METRICS_PORT", Integer.toString(base + slot));
+                }
+            } catch (NumberFormatException e) {
+                environment.remove("SERVERTEST_METRICS_PORT");
+            }
+        }
+    }
+    
+    /**
+     * Get the CPU range a slot is pinned to
+     * @return taskset CPU list such as "4-7", or null if pinning is off or the slot does not fit on the machine
+     */
+    static String cpuList(int slot, int cpusPerSlot, int availableProcessors) {
+        if (cpusPerSlot <= 0) {
+            return null;
+        }
+        int first = slot * cpusPerSlot;
+        int last = first + cpusPerSlot - 1;
+        if (last >= availableProcessors) {
+            return null;
+        }
+        return first == last ? Integer.toString(first) : first + "-" + last;
+    }
+    
+    Path prepareSlot(int slot, List<Path> modJars, Map<String, Path> files) throws IOException {
+        Path slotDir = workDir.resolve("slot-" + slot).toAbsolutePath();
+        deleteRecursively(slotDir);
+        Files.createDirectories(slotDir);
+        
+        Path properties = serverDir.resolve("server.properties");
+        String levelName = Files.exists(properties) ? levelName(properties) : "world";
+        List<Path> entries = new ArrayList<>();
+        try (Stream<Path> listing = Files.list(serverDir)) {
+            listing.forEach(entries::add);
+        }
+        for (Path entry : entries) {
+            String name = entry.getFileName().toString();
+            if (SKIPPED.contains(name) || entry.toAbsolutePath().equals(workDir.toAbsolutePath())) {
+                continue;
+            }
+            Path target = slotDir.resolve(name);
+            if (name.equals(levelName)) {
+                if (copyWorld) {
+                    copyRecursively(entry, target);
+                }
+            } else if (name.equals("server.properties")) {
+                writeProperties(entry, target, BASE_PORT + slot);
+            } else if (Files.isRegularFile(entry) || COPIED_DIRECTORIES.contains(name)) {
+                copyRecursively(entry, target);
+            } else {
+                try {
+                    Files.createSymbolicLink(target, entry.toAbsolutePath());
+                } catch (IOException | UnsupportedOperationException e) {
+                    // Windows without symlink rights
+                    copyRecursively(entry, target);
+                }
+            }
+        }
+        if (!Files.exists(slotDir.resolve("server.properties"))) {
+            Files.writeString(slotDir.resolve("server.properties"), "server-port=" + (BASE_PORT + slot) + "\n",
+                StandardCharsets.UTF_8);
+        }
+        
+        Path modsDir = slotDir.resolve("mods");
+        Files.createDirectories(modsDir);
+        for (Path jar : modJars) {
+            Path target = modsDir.resolve(jar.getFileName());
+            try {
+                Files.createLink(target, jar);
+            } catch (IOException | UnsupportedOperationException e) {
+                Files.copy(jar, target);
+            }
+        }
+        
+        for (Map.Entry<String, Path> file : files.entrySet()) {
+            Path target = slotDir.resolve(file.getKey()).normalize();
+            if (!target.startsWith(slotDir) || target.equals(slotDir)) {
+                throw new IOException("Cannot overlay " + file.getKey() + ": it is outside the server directory");
+            }
+            // Writing through a linked folder would change the original server
+            for (Path parent = target.getParent(); !parent.equals(slotDir); parent = parent.getParent()) {
+                if (Files.isSymbolicLink(parent)) {
+                    throw new IOException("Cannot overlay " + file.getKey() + ": " + slotDir.relativize(parent)
+                        + " is linked to the original server");
+                }
+            }
+            Files.createDirectories(target.getParent());
+            deleteRecursively(target);
+            copyRecursively(file.getValue(), target);
+        }
+        return slotDir;
+    }
+    
+    private static String levelName(Path properties) throws IOException {
+        for (String line : Files.readAllLines(properties, StandardCharsets.UTF_8)) {
+            if (line.startsWith("level-name=") && line.length() > "level-name=".length()) {
+                return line.substring("level-name=".length()).trim();
+            }
+        }
+        return "world";
+    }
+    
+    private static void writeProperties(Path source, Path target, int port) throws IOException {
+        StringBuilder properties = new StringBuilder();
+        for (String line : Files.readAllLines(source, StandardCharsets.UTF_8)) {
+            if (line.startsWith("server-port=")) {
+                line = "server-port=" + port;
+            } else if (line.startsWith("enable-query=") || line.startsWith("enable-rcon=")) {
+                line = line.substring(0, line.indexOf('=') + 1) + "false";
+            }
+            properties.append(line).append('\n');
+        }
+        Files.writeString(target, properties, StandardCharsets.UTF_8);
+    }
+    
+    private static void copyRecursively(Path source, Path target) throws IOException {
+        Files.walkFileTree(source, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+            
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.copy(file, target.resolve(source.relativize(file).toString()), StandardCopyOption.REPLACE_EXISTING);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+    
+    /** Links are removed, never followed, so the linked parts of the original server stay untouched */
+    private static void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path, LinkOption.NOFOLLOW_LINKS)) {
+            return;
+        }
+        Files.walkFileTree(path, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+            
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+    
+    /**
+     * Outcome of one server launch
+     */
+    public static class Result {
+        private final int slot;
+        private final int port;
+        private final String cpus;
+        private final int exitCode;
+        private final boolean timedOut;
+        private final long durationMillis;
+        private final JsonObject report;
+        private final Path log;
+        
+        public Result(int slot, int port, String cpus, int exitCode, boolean timedOut, long durationMillis,
+                      JsonObject report, Path log) {
+            this.slot = slot;
+            this.port = port;
+            this.cpus = cpus;
+            this.exitCode = exitCode;
+            this.timedOut = timedOut;
+            this.durationMillis = durationMillis;
+            this.report = report;
+            this.log = log;
+        }
+        
+        public int getSlot() {
+            return slot;
+        }
+        
+        public int getPort() {
+            return port;
+        }
+        
+        /**
+         * Get the CPUs the server was pinned to, null if it was not pinned
+         */
+        public String getCpus() {
+            return cpus;
+        }
+        
+        /**
+         * Get the process exit code, -1 if the server was killed after the timeout
+         */
+        public int getExitCode() {
+            return exitCode;
+        }
+        
+        public boolean isTimedOut() {
+            return timedOut;
+        }
+        
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+        
+        /**
+         * Get the report sections the server wrote, null if it did not write a readable report
+         */
+        public JsonObject getReport() {
+            return report;
+        }
+        
+        public Path getLog() {
+            return log;
+        }
+    }
+}
\ No newline at end of file
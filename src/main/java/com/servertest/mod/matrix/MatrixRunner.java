@@ -0,0 +1,217 @@
+package com.servertest.mod.matrix;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.servertest.mod.bisect.ModJar;
+import com.servertest.mod.bisect.ServerTrialRunner;
+import com.servertest.mod.launch.ServerLauncher;
+import com.servertest.mod.model.MatrixEntry;
+import com.servertest.mod.model.MatrixReport;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs the variants of a matrix file as servers side by side and merges their reports
+ * Every running server has its own slot directory, port and CPU range; the report and log of each
+ * variant are kept under the results directory and the reports are merged into one matrix report.
+ * Run through the serverMatrix Gradle task.
+ */
+public class MatrixRunner {
+    
+    private static final Gson GSON = new GsonBuilder()
+        .setPrettyPrinting()
+        .serializeSpecialFloatingPointValues()
+        .create();
+    
+    private final List<MatrixVariant> variants;
+    private final List<ModJar> serverMods;
+    private final ServerLauncher launcher;
+    private final int parallel;
+    private final int cpusPerServer;
+    private final Path resultsDir;
+    
+    public MatrixRunner(List<MatrixVariant> variants, List<ModJar> serverMods, ServerLauncher launcher, int parallel,
+                        int cpusPerServer, Path resultsDir) {
+        this.variants = variants;
+        this.serverMods = serverMods;
+        this.launcher = launcher;
+        this.parallel = Math.max(1, parallel);
+        this.cpusPerServer = cpusPerServer;
+        this.resultsDir = resultsDir;
+    }
+    
+    /**
+     * Entry point for the serverMatrix Gradle task
+     * @param args Matrix file, then optionally the path of the merged report
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: MatrixRunner <matrixFile> [reportFile]");
+            System.exit(2);
+        }
+        Path matrixFile = Paths.get(args[0]).toAbsolutePath();
+        Path baseDir = matrixFile.getParent();
+        JsonObject spec = JsonParser.parseString(Files.readString(matrixFile, StandardCharsets.UTF_8)).getAsJsonObject();
+        
+        Path serverDir = baseDir.resolve(spec.has("serverDir") ? spec.get("serverDir").getAsString() : "server");
+        List<MatrixVariant> variants = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (JsonElement variant : spec.getAsJsonArray("variants")) {
+            MatrixVariant parsed = MatrixVariant.parse(variant.getAsJsonObject(), baseDir);
+            if (!names.add(fileName(parsed.getName()))) {
+                throw new IllegalArgumentException("Duplicate matrix variant name: " + parsed.getName());
+            }
+            variants.add(parsed);
+        }
+        
+        int processors = Runtime.getRuntime().availableProcessors();
+        int parallel = spec.has("parallel") ? spec.get("parallel").getAsInt()
+            : Math.min(variants.size(), Math.max(1, processors / 2));
+        boolean pinCpus = !spec.has("pinCpus") || spec.get("pinCpus").getAsBoolean();
+        int cpusPerServer = !pinCpus ? 0
+            : spec.has("cpusPerServer") ? spec.get("cpusPerServer").getAsInt() : processors / Math.max(1, parallel);
+        long timeoutSeconds = spec.has("timeoutSeconds") ? spec.get("timeoutSeconds").getAsLong() : 900;
+        String defaultCommand = System.getProperty("os.name").toLowerCase(Locale.ROOT).contains("windows")
+            ? "run.bat --nogui" : "./run.sh --nogui";
+        List<String> command = Arrays.asList(
+            (spec.has("command") ? spec.get("command").getAsString() : defaultCommand).trim().split("\\s+"));
+        
+        List<ModJar> serverMods = new ArrayList<>();
+        if (Files.isDirectory(serverDir.resolve("mods"))) {
+            try (Stream<Path> files = Files.list(serverDir.resolve("mods"))) {
+                for (Path file : files.filter(f -> f.toString().endsWith(".jar")).sorted().collect(Collectors.toList())) {
+                    serverMods.add(ModJar.read(file));
+                }
+            }
+        }
+        
+        Path workDir = serverDir.resolve("matrix");
+        Path reportFile = args.length > 1 ? Paths.get(args[1]).toAbsolutePath() : workDir.resolve("matrix-report.json");
+        System.out.printf(Locale.ROOT, "Running %d variant(s) of %s, %d at a time, %s%n", variants.size(), serverDir,
+            parallel, cpusPerServer > 0 ? cpusPerServer + " CPU(s) each" : "CPUs shared");
+        
+        ServerLauncher launcher = new ServerLauncher(serverDir, workDir, command, timeoutSeconds, cpusPerServer, true);
+        MatrixReport report = new MatrixRunner(variants, serverMods, launcher, parallel, cpusPerServer,
+            workDir.resolve("results")).run();
+        Files.createDirectories(reportFile.getParent());
+        Files.writeString(reportFile, GSON.toJson(report), StandardCharsets.UTF_8);
+        
+        System.out.println(describe(report));
+        System.out.println("Matrix report: " + reportFile);
+        if (report.getVariants().stream().anyMatch(entry -> !entry.isSuccess())) {
+            System.exit(1);
+        }
+    }
+    
+    /**
+     * Run every variant, at most parallel of them at a time
+     * @return the merged report, variants in matrix file order
+     */
+    public MatrixReport run() throws Exception {
+        long start = System.currentTimeMillis();
+        Files.createDirectories(resultsDir);
+        int threads = Math.min(parallel, variants.size());
+        BlockingQueue<Integer> slots = new ArrayBlockingQueue<>(Math.max(1, threads));
+        for (int slot = 0; slot < threads; slot++) {
+            slots.add(slot);
+        }
+        
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "ServerTest-Matrix");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<MatrixEntry>> futures = new ArrayList<>();
+            for (MatrixVariant variant : variants) {
+                futures.add(executor.submit(() -> {
+                    int slot = slots.take();
+                    try {
+                        return runVariant(variant, slot);
+                    } finally {
+                        slots.add(slot);
+                    }
+                }));
+            }
+            
+            List<MatrixEntry> entries = new ArrayList<>();
+            for (Future<MatrixEntry> future : futures) {
+                try {
+                    entries.add(future.get());
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                }
+            }
+            return new MatrixReport(threads, cpusPerServer, System.currentTimeMillis() - start, entries);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    /**
+     * Render the matrix report as a table, one line per variant
+     */
+    static String describe(MatrixReport report) {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%-24s %-8s %10s %9s  %s%n",
+            "Variant", "CPUs", "Startup s", "MSPT", "Status"));
+        for (MatrixEntry entry : report.getVariants()) {
+            String status = entry.isTimedOut() ? "timed out"
+                : entry.getReport() == null ? "no report, exit " + entry.getExitCode()
+                : entry.getExitCode() != 0 ? "exit " + entry.getExitCode()
+                : "ok";
+            table.append(String.format(Locale.ROOT, "%-24s %-8s %10.1f %9.2f  %s%n", entry.getName(),
+                entry.getCpus() == null ? "all" : entry.getCpus(), entry.getStartupMillis() / 1000.0,
+                entry.getMsptMillis(), status));
+        }
+        return table.toString().trim();
+    }
+    
+    private MatrixEntry runVariant(MatrixVariant variant, int slot) throws IOException, InterruptedException {
+        System.out.printf(Locale.ROOT, "  %s: starting in slot %d%n", variant.getName(), slot);
+        ServerLauncher.Result result = launcher.launch(slot, variant.resolveMods(serverMods),
+            variant.getEnvironment(), variant.getFiles());
+        
+        // The slot directory is rebuilt by the next launch, keep what this one left behind
+        String name = fileName(variant.getName());
+        if (result.getLog() != null && Files.exists(result.getLog())) {
+            Files.copy(result.getLog(), resultsDir.resolve(name + ".log"), StandardCopyOption.REPLACE_EXISTING);
+        }
+        JsonObject report = result.getReport();
+        double startup = Double.NaN;
+        double mspt = Double.NaN;
+        if (report != null) {
+            Files.writeString(resultsDir.resolve(name + ".json"), GSON.toJson(report), StandardCharsets.UTF_8);
+            startup = ServerTrialRunner.readMetric(report, "startup");
+            mspt = ServerTrialRunner.readMetric(report, "mspt");
+        }
+        System.out.printf(Locale.ROOT, "  %s: finished in %ds%n", variant.getName(), result.getDurationMillis() / 1000);
+        return new MatrixEntry(variant.getName(), result.getPort(), result.getCpus(), result.getExitCode(),
+            result.isTimedOut(), result.getDurationMillis(), startup, mspt, report);
+    }
+    
+    private static String fileName(String variantName) {
+        return variantName.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,139 @@
+package com.servertest.mod.matrix;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.servertest.mod.bisect.ModJar;
+import com.servertest.mod.core.ServerTestConfig;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * One server configuration of a matrix run
+ * A variant starts from the mods folder of the server, or from its own mods folder, removes mods by
+ * id or jar name, adds extra jars, sets ServerTest settings and overlays files such as
+ * user_jvm_args.txt or a mod config onto its copy of the server directory.
+ */
+public class MatrixVariant {
+    
+    private final String name;
+    private final Path modsDir;
+    private final List<String> removeMods;
+    private final List<Path> addMods;
+    private final Map<String, String> environment;
+    private final Map<String, Path> files;
+    
+    public MatrixVariant(String name, Path modsDir, List<String> removeMods, List<Path> addMods,
+                         Map<String, String> environment, Map<String, Path> files) {
+        this.name = name;
+        this.modsDir = modsDir;
+        this.removeMods = removeMods;
+        this.addMods = addMods;
+        this.environment = environment;
+        this.files = files;
+    }
+    
+    /**
+     * Read a variant from the matrix file
+     * @param json Variant object with "name" and the optional "modsDir", "removeMods", "addMods",
+     *             "config" (ServerTest settings), "env" (raw environment variables) and "files"
+     * @param baseDir Directory relative paths are resolved against
+     */
+    public static MatrixVariant parse(JsonObject json, Path baseDir) {
+        if (!json.has("name")) {
+            throw new IllegalArgumentException("Matrix variant without a name: " + json);
+        }
+        Path modsDir = json.has("modsDir") ? baseDir.resolve(json.get("modsDir").getAsString()) : null;
+        List<String> removeMods = strings(json.getAsJsonArray("removeMods"));
+        List<Path> addMods = strings(json.getAsJsonArray("addMods")).stream()
+            .map(baseDir::resolve)
+            .collect(Collectors.toList());
+        
+        Map<String, String> environment = new LinkedHashMap<>();
+        for (Map.Entry<String, String> setting : map(json.getAsJsonObject("config")).entrySet()) {
+            environment.put(ServerTestConfig.toEnvName(setting.getKey()), setting.getValue());
+        }
+        environment.putAll(map(json.getAsJsonObject("env")));
+        
+        Map<String, Path> files = new LinkedHashMap<>();
+        for (Map.Entry<String, String> file : map(json.getAsJsonObject("files")).entrySet()) {
+            files.put(file.getKey(), baseDir.resolve(file.getValue()));
+        }
+        return new MatrixVariant(json.get("name").getAsString(), modsDir, removeMods, addMods, environment, files);
+    }
+    
+    /**
+     * Work out the jars this variant runs with
+     * @param serverMods Jars in the mods folder of the server
+     */
+    public List<Path> resolveMods(List<ModJar> serverMods) throws IOException {
+        List<ModJar> base = serverMods;
+        if (modsDir != null) {
+            base = new ArrayList<>();
+            try (Stream<Path> jars = Files.list(modsDir)) {
+                for (Path jar : jars.filter(f -> f.toString().endsWith(".jar")).sorted().collect(Collectors.toList())) {
+                    base.add(ModJar.read(jar));
+                }
+            }
+        }
+        
+        List<Path> mods = new ArrayList<>();
+        for (ModJar jar : base) {
+            boolean removed = removeMods.contains(jar.getPath().getFileName().toString())
+                || jar.getModIds().stream().anyMatch(removeMods::contains);
+            if (!removed) {
+                mods.add(jar.getPath());
+            }
+        }
+        mods.addAll(addMods);
+        return mods;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * Get the environment variables for the server process, ServerTest settings already translated
+     */
+    public Map<String, String> getEnvironment() {
+        return environment;
+    }
+    
+    /**
+     * Get the files copied over the server directory, keyed by path relative to it
+     */
+    public Map<String, Path> getFiles() {
+        return files;
+    }
+    
+    private static List<String> strings(JsonArray array) {
+        if (array == null) {
+            return Collections.emptyList();
+        }
+        List<String> values = new ArrayList<>();
+        for (JsonElement element : array) {
+            values.add(element.getAsString());
+        }
+        return values;
+    }
+    
+    private static Map<String, String> map(JsonObject object) {
+        Map<String, String> values = new LinkedHashMap<>();
+        if (object != null) {
+            for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+                values.put(entry.getKey(), entry.getValue().getAsString());
+            }
+        }
+        return values;
+    }
+}
\ No newline at end of file
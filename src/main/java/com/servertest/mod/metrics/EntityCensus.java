@@ -0,0 +1,147 @@
+package com.servertest.mod.metrics;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraftforge.event.entity.EntityEvent;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts server-side entities by type and by chunk as they join, leave and move between chunks
+ * The counts are maintained from events, so ranking the busiest types, mods or chunks only
+ * sorts the current counters instead of iterating every loaded entity.
+ */
+public class EntityCensus {
+    
+    private final Map<String, AtomicLong> byType = new ConcurrentHashMap<>();
+    private final Map<String, Map<Long, AtomicLong>> byChunk = new ConcurrentHashMap<>();
+    
+    // Lowest priority so entities whose join was cancelled by another mod are not counted
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public void onEntityJoin(EntityJoinLevelEvent event) {
+        if (!event.getLevel().isClientSide()) {
+            Entity entity = event.getEntity();
+            add(typeId(entity.getType()), dimensionId(event.getLevel()), entity.chunkPosition().toLong(), 1);
+        }
+    }
+    
+    @SubscribeEvent
+    public void onEntityLeave(EntityLeaveLevelEvent event) {
+        if (!event.getLevel().isClientSide()) {
+            Entity entity = event.getEntity();
+            add(typeId(entity.getType()), dimensionId(event.getLevel()), entity.chunkPosition().toLong(), -1);
+        }
+    }
+    
+    @SubscribeEvent
+    public void onEnteringSection(EntityEvent.EnteringSection event) {
+        Level level = event.getEntity().level();
+        if (!level.isClientSide() && event.didChunkChange()) {
+            move(dimensionId(level), event.getOldPos().chunk().toLong(), event.getNewPos().chunk().toLong());
+        }
+    }
+    
+    /**
+     * Apply a join (+1) or leave (-1) to the type and chunk counters
+     */
+    void add(String type, String dimension, long chunk, int delta) {
+        byType.computeIfAbsent(type, key -> new AtomicLong()).addAndGet(delta);
+        adjustChunk(dimension, chunk, delta);
+    }
+    
+    /**
+     * Move one entity from one chunk to another within a dimension
+     */
+    void move(String dimension, long fromChunk, long toChunk) {
+        adjustChunk(dimension, fromChunk, -1);
+        adjustChunk(dimension, toChunk, 1);
+    }
+    
+    private void adjustChunk(String dimension, long chunk, int delta) {
+        Map<Long, AtomicLong> chunks = byChunk.computeIfAbsent(dimension, key -> new ConcurrentHashMap<>());
+        // Drop empty chunks so the map only holds chunks that currently contain entities
+        chunks.compute(chunk, (key, count) -> {
+            long updated = (count != null ? count.get() : 0) + delta;
+            if (updated <= 0) {
+                return null;
+            }
+            if (count == null) {
+                return new AtomicLong(updated);
+            }
+            count.set(updated);
+            return count;
+        });
+    }
+    
+    /**
+     * Get the entity types with the most loaded entities
+     * @param limit Maximum number of entries
+     * @return type id and count, largest first
+     */
+    public List<Map.Entry<String, Long>> topTypes(int limit) {
+        Map<String, Long> counts = new HashMap<>();
+        byType.forEach((type, count) -> counts.put(type, count.get()));
+        return top(counts, limit);
+    }
+    
+    /**
+     * Get the mods that own the most loaded entities, by entity type namespace
+     * @param limit Maximum number of entries
+     * @return mod id and count, largest first
+     */
+    public List<Map.Entry<String, Long>> topMods(int limit) {
+        Map<String, Long> counts = new HashMap<>();
+        byType.forEach((type, count) -> {
+            int separator = type.indexOf(':');
+            String modId = separator > 0 ? type.substring(0, separator) : "minecraft";
+            counts.merge(modId, count.get(), Long::sum);
+        });
+        return top(counts, limit);
+    }
+    
+    /**
+     * Get the chunks that currently hold the most entities
+     * @param limit Maximum number of entries
+     * @return "dimension x,z" in chunk coordinates and count, largest first
+     */
+    public List<Map.Entry<String, Long>> topChunks(int limit) {
+        Map<String, Long> counts = new HashMap<>();
+        byChunk.forEach((dimension, chunks) -> chunks.forEach((chunk, count) -> counts.put(
+            dimension + " " + ChunkPos.getX(chunk) + "," + ChunkPos.getZ(chunk), count.get())));
+        return top(counts, limit);
+    }
+    
+    private static List<Map.Entry<String, Long>> top(Map<String, Long> counts, int limit) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>();
+        counts.forEach((key, count) -> {
+            if (count > 0) {
+                entries.add(Map.entry(key, count));
+            }
+        });
+        entries.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+            .thenComparing(Map.Entry.comparingByKey()));
+        return entries.size() > limit ? new ArrayList<>(entries.subList(0, limit)) : entries;
+    }
+    
+    private static String typeId(EntityType<?> type) {
+        ResourceLocation key = EntityType.getKey(type);
+        return key != null ? key.toString() : "unknown";
+    }
+    
+    private static String dimensionId(Level level) {
+        return level.dimension().location().toString();
+    }
+}
\ No newline at end of file
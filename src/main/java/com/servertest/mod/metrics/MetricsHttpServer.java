@@ -0,0 +1,145 @@
+package com.servertest.mod.metrics;
+
+import com.servertest.mod.ServerTestMod;
+import com.servertest.mod.core.ErrorHandler;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import net.minecraftforge.event.server.ServerStartedEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves live metrics in OpenMetrics text format on http://127.0.0.1:&lt;port&gt;/metrics
+ * The endpoint only binds to the loopback interface and is meant for a local scrape agent.
+ * Requests are handled on a dedicated daemon thread and only read incrementally kept counters.
+ */
+public class MetricsHttpServer {
+    
+    private final int port;
+    private final TickMetrics tickMetrics;
+    private HttpServer httpServer;
+    private ExecutorService executor;
+    
+    public MetricsHttpServer(int port, TickMetrics tickMetrics) {
+        this.port = port;
+        this.tickMetrics = tickMetrics;
+    }
+    
+    @SubscribeEvent
+    public void onServerStarted(ServerStartedEvent event) {
+        start();
+    }
+    
+    @SubscribeEvent
+    public void onServerStopping(ServerStoppingEvent event) {
+        stop();
+    }
+    
+    /**
+     * Start serving metrics, does nothing if already running
+     */
+    public synchronized void start() {
+        if (httpServer != null) {
+            return;
+        }
+        
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            server.createContext("/metrics", this::handle);
+            executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ServerTest-Metrics");
+                thread.setDaemon(true);
+                return thread;
+            });
+            server.setExecutor(executor);
+            server.start();
+            httpServer = server;
+            ServerTestMod.LOGGER.info("[SERVER-TEST] Metrics endpoint listening on http://{}:{}/metrics",
+                InetAddress.getLoopbackAddress().getHostAddress(), port);
+        } catch (IOException e) {
+            ErrorHandler.handleNonCriticalError(
+                ErrorHandler.ErrorType.ENVIRONMENT,
+                "Failed to start metrics endpoint on port " + port,
+                e
+            );
+        }
+    }
+    
+    /**
+     * Stop serving metrics
+     */
+    public synchronized void stop() {
+        if (httpServer != null) {
+            httpServer.stop(0);
+            executor.shutdownNow();
+            httpServer = null;
+            executor = null;
+            ServerTestMod.LOGGER.debug("[SERVER-TEST] Metrics endpoint stopped");
+        }
+    }
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            
+            byte[] body = render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", OpenMetricsWriter.CONTENT_TYPE);
+            if ("HEAD".equals(method)) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    /**
+     * Render the current metrics
+     * @return OpenMetrics text exposition
+     */
+    public String render() {
+        OpenMetricsWriter writer = new OpenMetricsWriter();
+        tickMetrics.writeTo(writer);
+        tickMetrics.getRegistry().writeTo(writer);
+        writeJvmMetrics(writer);
+        return writer.finish();
+    }
+    
+    private static void writeJvmMetrics(OpenMetricsWriter writer) {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        writer.family("servertest_jvm_heap_used_bytes", "gauge", "bytes", "Used heap memory")
+            .sample("servertest_jvm_heap_used_bytes", heap.getUsed());
+        writer.family("servertest_jvm_heap_committed_bytes", "gauge", "bytes", "Committed heap memory")
+            .sample("servertest_jvm_heap_committed_bytes", heap.getCommitted());
+        writer.family("servertest_jvm_heap_max_bytes", "gauge", "bytes", "Maximum heap memory, -1 if undefined")
+            .sample("servertest_jvm_heap_max_bytes", heap.getMax());
+        
+        writer.family("servertest_jvm_gc_collections", "counter", null, "Completed garbage collections");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            writer.sample("servertest_jvm_gc_collections_total", Math.max(0, gc.getCollectionCount()), "gc", gc.getName());
+        }
+        writer.family("servertest_jvm_gc_collection_seconds", "counter", "seconds", "Accumulated garbage collection time");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            writer.sample("servertest_jvm_gc_collection_seconds_total", Math.max(0, gc.getCollectionTime()) / 1000.0, "gc", gc.getName());
+        }
+    }
+}
\ No newline at end of file
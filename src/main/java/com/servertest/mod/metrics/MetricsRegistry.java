@@ -0,0 +1,449 @@
+package com.servertest.mod.metrics;
+
+import com.servertest.mod.analysis.Histograms;
+import com.servertest.mod.model.MetricsSnapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Holds the counters, gauges and histograms shared by all collectors
+ * Metrics are created once and then recorded into from any thread (server thread, chunk
+ * workers, Netty I/O) without taking a lock or allocating: counters are striped over padded
+ * cells, gauges are a single CAS-updated word and histograms are fixed arrays of log-scaled
+ * buckets. Reading sums the cells, so exporters and the report writer never block recorders.
+ *
+ * Values are recorded in a base unit (usually nanoseconds) and multiplied by the metric's scale
+ * when they are exported, so the record path stays integer arithmetic.
+ */
+public class MetricsRegistry {
+    
+    private static final int STRIPES = stripeCount();
+    /** Cells are 8 longs apart so two stripes never share a 64 byte cache line */
+    private static final int PADDING = 8;
+    
+    private final Map<String, Family> families = new ConcurrentHashMap<>();
+    private long lastResetMillis = System.currentTimeMillis();
+    
+    /**
+     * Get or create a counter
+     * @param name Family name; samples are exported with a "_total" suffix
+     * @param help Help text
+     * @param labels Alternating label names and values
+     */
+    public Counter counter(String name, String help, String... labels) {
+        return counter(name, help, 1.0, labels);
+    }
+    
+    /**
+     * Get or create a counter whose recorded values are multiplied by scale when read
+     * @param scale Factor from the recorded unit to the exported unit, e.g. 1e-9 for nanoseconds to seconds
+     */
+    public Counter counter(String name, String help, double scale, String... labels) {
+        return (Counter) family(name, Type.COUNTER, help, scale).metric(labels);
+    }
+    
+    /**
+     * Get or create a gauge
+     */
+    public Gauge gauge(String name, String help, String... labels) {
+        return gauge(name, help, 1.0, labels);
+    }
+    
+    /**
+     * Get or create a gauge whose value is multiplied by scale when read
+     */
+    public Gauge gauge(String name, String help, double scale, String... labels) {
+        return (Gauge) family(name, Type.GAUGE, help, scale).metric(labels);
+    }
+    
+    /**
+     * Get or create a log-bucket histogram whose recorded values are multiplied by scale when read
+     */
+    public LogHistogram histogram(String name, String help, double scale, String... labels) {
+        return histogram(name, help, scale, null, labels);
+    }
+    
+    /**
+     * Get or create a log-bucket histogram that is exported as an OpenMetrics histogram
+     * @param exportBounds Upper bounds of the exported buckets in the exported unit, ascending; null to
+     *                     export a summary
+     */
+    public LogHistogram histogram(String name, String help, double scale, double[] exportBounds, String... labels) {
+        return (LogHistogram) family(name, Type.HISTOGRAM, help, scale, exportBounds).metric(labels);
+    }
+    
+    private Family family(String name, Type type, String help, double scale) {
+        return family(name, type, help, scale, null);
+    }
+    
+    private Family family(String name, Type type, String help, double scale, double[] exportBounds) {
+        Family family = families.computeIfAbsent(name, key -> new Family(name, type, help, scale, exportBounds));
+        if (family.type != type) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as a " + family.type);
+        }
+        return family;
+    }
+    
+    /**
+     * Copy the cumulative value of every metric
+     * Reads only; recorders are never blocked.
+     */
+    public MetricsSnapshot snapshot() {
+        return collect(false);
+    }
+    
+    /**
+     * Copy every metric as the change since the previous call of this method
+     * Counters and histograms report what was recorded in the interval; gauges report their
+     * current value. The live values are left untouched so exporters keep seeing monotonic
+     * counters; only the reporting baseline moves.
+     */
+    public synchronized MetricsSnapshot snapshotAndReset() {
+        return collect(true);
+    }
+    
+    private MetricsSnapshot collect(boolean reset) {
+        long now = System.currentTimeMillis();
+        Map<String, Double> counters = new LinkedHashMap<>();
+        Map<String, Double> gauges = new LinkedHashMap<>();
+        Map<String, MetricsSnapshot.HistogramSummary> histograms = new LinkedHashMap<>();
+        
+        for (Family family : sortedFamilies()) {
+            family.series.forEach((labels, metric) -> {
+                String key = seriesKey(family.name, labels);
+                if (metric instanceof Counter counter) {
+                    counters.put(key, counter.read(reset) * family.scale);
+                } else if (metric instanceof Gauge gauge) {
+                    gauges.put(key, gauge.get() * family.scale);
+                } else if (metric instanceof LogHistogram histogram) {
+                    histograms.put(key, histogram.summarize(reset, family.scale));
+                }
+            });
+        }
+        
+        long intervalMillis = reset ? now - lastResetMillis : 0L;
+        if (reset) {
+            lastResetMillis = now;
+        }
+        return new MetricsSnapshot(now, intervalMillis, counters, gauges, histograms);
+    }
+    
+    /**
+     * Write every metric as OpenMetrics families
+     * Histograms created with export bounds are exposed as histograms, the others as summaries.
+     */
+    public void writeTo(OpenMetricsWriter writer) {
+        for (Family family : sortedFamilies()) {
+            String exportedType = family.type != Type.HISTOGRAM ? family.type.name().toLowerCase(Locale.ROOT)
+                : family.exportBounds != null ? "histogram" : "summary";
+            writer.family(family.name, exportedType, unitOf(family.name), family.help);
+            family.series.forEach((labels, metric) -> {
+                if (metric instanceof Counter counter) {
+                    writer.sample(family.name + "_total", counter.sum() * family.scale, labels.toArray(new String[0]));
+                } else if (metric instanceof Gauge gauge) {
+                    writer.sample(family.name, gauge.get() * family.scale, labels.toArray(new String[0]));
+                } else if (metric instanceof LogHistogram histogram && family.exportBounds != null) {
+                    writer.histogram(family.name, family.exportBounds,
+                        LogHistogram.rebucket(histogram.counts(), family.exportBounds, family.scale),
+                        histogram.sum() * family.scale, labels.toArray(new String[0]));
+                } else if (metric instanceof LogHistogram histogram) {
+                    long[] counts = histogram.counts();
+                    for (double quantile : new double[] {0.5, 0.95, 0.99}) {
+                        List<String> quantileLabels = new ArrayList<>(labels);
+                        quantileLabels.add("quantile");
+                        quantileLabels.add(OpenMetricsWriter.formatLabelFloat(quantile));
+                        writer.sample(family.name, LogHistogram.quantile(counts, quantile) * family.scale,
+                            quantileLabels.toArray(new String[0]));
+                    }
+                    writer.sample(family.name + "_sum", histogram.sum() * family.scale, labels.toArray(new String[0]));
+                    writer.sample(family.name + "_count", Arrays.stream(counts).sum(), labels.toArray(new String[0]));
+                }
+            });
+        }
+    }
+    
+    private List<Family> sortedFamilies() {
+        List<Family> sorted = new ArrayList<>(families.values());
+        sorted.sort((a, b) -> a.name.compareTo(b.name));
+        return sorted;
+    }
+    
+    private static String seriesKey(String name, List<String> labels) {
+        if (labels.isEmpty()) {
+            return name;
+        }
+        StringBuilder key = new StringBuilder(name).append('{');
+        for (int i = 0; i + 1 < labels.size(); i += 2) {
+            if (i > 0) {
+                key.append(',');
+            }
+            key.append(labels.get(i)).append("=\"").append(labels.get(i + 1)).append('"');
+        }
+        return key.append('}').toString();
+    }
+    
+    private static String unitOf(String name) {
+        if (name.endsWith("_seconds")) {
+            return "seconds";
+        }
+        if (name.endsWith("_bytes")) {
+            return "bytes";
+        }
+        return null;
+    }
+    
+    private static int stripeCount() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        return Math.min(64, Integer.highestOneBit(Math.max(1, processors - 1)) << 1);
+    }
+    
+    /**
+     * Pick the cell for the calling thread
+     * Thread ids are handed out sequentially, so they are spread with a multiplicative hash.
+     */
+    @SuppressWarnings("deprecation")
+    private static int stripe() {
+        return (int) ((Thread.currentThread().getId() * 0x9E3779B97F4A7C15L) >>> 58) & (STRIPES - 1);
+    }
+    
+    private enum Type {
+        COUNTER, GAUGE, HISTOGRAM
+    }
+        
+    private static class Family {
+        private final String name;
+        private final Type type;
+        private final String help;
+        private final double scale;
+        private final double[] exportBounds;
+        private final Map<List<String>, Object> series = new ConcurrentHashMap<>();
+        
+        private Family(String name, Type type, String help, double scale, double[] exportBounds) {
+            this.name = name;
+            this.type = type;
+            this.help = help;
+            this.scale = scale;
+            this.exportBounds = exportBounds;
+        }
+        
+        private Object metric(String... labels) {
+            if (labels.length % 2 != 0) {
+                throw new IllegalArgumentException("Labels must be name/value pairs: " + Arrays.toString(labels));
+            }
+            return series.computeIfAbsent(List.of(labels), key -> switch (type) {
+                case COUNTER -> new Counter();
+                case GAUGE -> new Gauge();
+                case HISTOGRAM -> new LogHistogram();
+            });
+        }
+    }
+    
+    /**
+     * Monotonic counter striped over padded cells
+     * Concurrent recorders on different threads usually hit different cache lines.
+     */
+    public static final class Counter {
+        private final AtomicLongArray cells = new AtomicLongArray(STRIPES * PADDING);
+        private long reportedSum;
+        
+        private Counter() {
+        }
+        
+        public void increment() {
+            add(1L);
+        }
+        
+        public void add(long delta) {
+            cells.getAndAdd(stripe() * PADDING, delta);
+        }
+        
+        /**
+         * Get the total of all cells in the recorded unit
+         */
+        public long sum() {
+            long sum = 0;
+            for (int i = 0; i < STRIPES; i++) {
+                sum += cells.get(i * PADDING);
+            }
+            return sum;
+        }
+        
+        private long read(boolean reset) {
+            long sum = sum();
+            if (!reset) {
+                return sum;
+            }
+            long delta = sum - reportedSum;
+            reportedSum = sum;
+            return delta;
+        }
+    }
+    
+    /**
+     * Gauge holding a double in a single atomically updated word
+     */
+    public static final class Gauge {
+        private final AtomicLong bits = new AtomicLong(Double.doubleToRawLongBits(0.0));
+        
+        private Gauge() {
+        }
+        
+        public void set(double value) {
+            bits.set(Double.doubleToRawLongBits(value));
+        }
+        
+        public void add(double delta) {
+            long current;
+            do {
+                current = bits.get();
+            } while (!bits.compareAndSet(current, Double.doubleToRawLongBits(Double.longBitsToDouble(current) + delta)));
+        }
+        
+        public double get() {
+            return Double.longBitsToDouble(bits.get());
+        }
+    }
+    
+    /**
+     * Histogram over non-negative longs with log-scaled buckets
+     * Every power of two is split into 8 linear sub-buckets, which bounds the relative error of
+     * a quantile estimate to 12.5% over the whole long range with a fixed 488 bucket array.
+     */
+    public static final class LogHistogram {
+        static final int SUB_BUCKET_BITS = 3;
+        static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+        /** Exclusive upper bound of every bucket but the last, which acts as overflow bucket */
+        static final double[] UPPER_BOUNDS = upperBounds();
+        
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final Counter sum = new Counter();
+        private long[] reportedCounts = new long[BUCKETS];
+        private long reportedSum;
+        
+        private LogHistogram() {
+        }
+        
+        /**
+         * Record one observation; negative values are recorded as 0
+         */
+        public void record(long value) {
+            long clamped = Math.max(0L, value);
+            buckets.getAndIncrement(bucketIndex(clamped));
+            sum.add(clamped);
+        }
+        
+        static int bucketIndex(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+        }
+        
+        private static double[] upperBounds() {
+            double[] bounds = new double[BUCKETS - 1];
+            for (int i = 0; i < bounds.length; i++) {
+                if (i < SUB_BUCKETS) {
+                    bounds[i] = i + 1;
+                } else {
+                    int exponent = i / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+                    bounds[i] = Math.scalb((double) (SUB_BUCKETS + i % SUB_BUCKETS + 1), exponent - SUB_BUCKET_BITS);
+                }
+            }
+            return bounds;
+        }
+        
+        /**
+         * Copy the bucket counts
+         * @return non-cumulative counts in the layout of UPPER_BOUNDS plus the overflow bucket
+         */
+        public long[] counts() {
+            long[] counts = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets.get(i);
+            }
+            return counts;
+        }
+        
+        /**
+         * Get the sum of all observations in the recorded unit
+         */
+        public long sum() {
+            return sum.sum();
+        }
+        
+        /**
+         * Estimate a quantile of bucket counts taken from counts()
+         * @return estimated value in the recorded unit, NaN if there are no observations
+         */
+        public static double quantile(long[] counts, double quantile) {
+            return Histograms.quantile(counts, UPPER_BOUNDS, quantile);
+        }
+        
+        /**
+         * Merge bucket counts taken from counts() into coarser buckets
+         * A log bucket is counted in the first coarse bucket whose bound is not below the log bucket's
+         * upper bound, so a log bucket that straddles a coarse bound counts as above it.
+         * @param bounds Coarse upper bounds in the exported unit, ascending
+         * @param scale Factor from the recorded unit to the exported unit
+         * @return non-cumulative counts, with one extra bucket for +Inf
+         */
+        static long[] rebucket(long[] counts, double[] bounds, double scale) {
+            long[] merged = new long[bounds.length + 1];
+            int target = 0;
+            for (int i = 0; i < counts.length; i++) {
+                double upper = i < UPPER_BOUNDS.length ? UPPER_BOUNDS[i] * scale : Double.POSITIVE_INFINITY;
+                while (target < bounds.length && upper > bounds[target]) {
+                    target++;
+                }
+                merged[target] += counts[i];
+            }
+            return merged;
+        }
+        
+        private MetricsSnapshot.HistogramSummary summarize(boolean reset, double scale) {
+            long[] counts = counts();
+            long total = sum();
+            if (reset) {
+                long[] current = counts.clone();
+                for (int i = 0; i < BUCKETS; i++) {
+                    counts[i] -= reportedCounts[i];
+                }
+                long delta = total - reportedSum;
+                reportedCounts = current;
+                reportedSum = total;
+                total = delta;
+            }
+            
+            long count = 0;
+            int highest = -1;
+            for (int i = 0; i < BUCKETS; i++) {
+                count += counts[i];
+                if (counts[i] > 0) {
+                    highest = i;
+                }
+            }
+            double max = highest < 0 ? Double.NaN
+                : highest < UPPER_BOUNDS.length ? UPPER_BOUNDS[highest] : Double.POSITIVE_INFINITY;
+            return new MetricsSnapshot.HistogramSummary(
+                count,
+                total * scale,
+                count > 0 ? total * scale / count : Double.NaN,
+                quantile(counts, 0.50) * scale,
+                quantile(counts, 0.95) * scale,
+                quantile(counts, 0.99) * scale,
+                max * scale
+            );
+        }
+    }
+}
\ No newline at end of file
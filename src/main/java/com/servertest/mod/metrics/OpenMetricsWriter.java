@@ -0,0 +1,125 @@
+package com.servertest.mod.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Builds a metrics exposition in the OpenMetrics text format
+ * Families are written in the order they are added; finish() appends the mandatory EOF marker.
+ */
+public class OpenMetricsWriter {
+    
+    public static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+    
+    private final StringBuilder out = new StringBuilder();
+    
+    /**
+     * Start a metric family
+     * @param name Family name, ending in the unit if one is given
+     * @param type OpenMetrics type, e.g. "gauge", "counter" or "histogram"
+     * @param unit Unit suffix such as "seconds" or "bytes", or null
+     * @param help Help text
+     */
+    public OpenMetricsWriter family(String name, String type, String unit, String help) {
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        if (unit != null) {
+            out.append("# UNIT ").append(name).append(' ').append(unit).append('\n');
+        }
+        out.append("# HELP ").append(name).append(' ').append(escapeHelp(help)).append('\n');
+        return this;
+    }
+    
+    /**
+     * Write a single sample
+     * @param name Sample name, including any "_total" or "_bucket" suffix
+     * @param value Sample value
+     * @param labels Alternating label names and values
+     */
+    public OpenMetricsWriter sample(String name, double value, String... labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be given as name/value pairs");
+        }
+        
+        out.append(name);
+        if (labels.length > 0) {
+            out.append('{');
+            for (int i = 0; i < labels.length; i += 2) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                out.append(labels[i]).append("=\"").append(escapeLabelValue(labels[i + 1])).append('"');
+            }
+            out.append('}');
+        }
+        out.append(' ').append(formatValue(value)).append('\n');
+        return this;
+    }
+    
+    /**
+     * Write the samples of a histogram family
+     * @param name Family name
+     * @param upperBounds Bucket upper bounds in ascending order, without +Inf
+     * @param bucketCounts Observations per bucket (not cumulative), with one extra bucket for +Inf
+     * @param sum Sum of all observations
+     * @param labels Alternating label names and values shared by every sample
+     */
+    public OpenMetricsWriter histogram(String name, double[] upperBounds, long[] bucketCounts, double sum, String... labels) {
+        if (bucketCounts.length != upperBounds.length + 1) {
+            throw new IllegalArgumentException("Expected " + (upperBounds.length + 1) + " buckets, got " + bucketCounts.length);
+        }
+        
+        String[] bucketLabels = Arrays.copyOf(labels, labels.length + 2);
+        bucketLabels[labels.length] = "le";
+        long cumulative = 0;
+        for (int i = 0; i <= upperBounds.length; i++) {
+            cumulative += bucketCounts[i];
+            bucketLabels[labels.length + 1] = i < upperBounds.length ? formatLabelFloat(upperBounds[i]) : "+Inf";
+            sample(name + "_bucket", cumulative, bucketLabels);
+        }
+        sample(name + "_count", cumulative, labels);
+        sample(name + "_sum", sum, labels);
+        return this;
+    }
+    
+    /**
+     * Finish the exposition
+     * @return the complete OpenMetrics text
+     */
+    public String finish() {
+        return out + "# EOF\n";
+    }
+    
+    static String formatValue(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+    
+    /**
+     * Format a float label value such as le or quantile in canonical form
+     * Parsers compare these labels as strings, so 1 must be written as "1.0" to match other exporters.
+     */
+    static String formatLabelFloat(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        return Double.toString(value);
+    }
+    
+    static String escapeLabelValue(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+    
+    private static String escapeHelp(String help) {
+        return help.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+}
\ No newline at end of file
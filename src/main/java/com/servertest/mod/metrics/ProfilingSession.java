@@ -0,0 +1,131 @@
+package com.servertest.mod.metrics;
+
+import com.servertest.mod.core.CpuContentionProbe;
+import com.servertest.mod.core.ServerTestConfig;
+import com.servertest.mod.model.ProfileReport;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * A start/stop measurement window over the incremental tick metrics
+ * Starting copies the current counters; stopping reports the difference, so a window costs
+ * nothing while it runs and several windows can be measured in one server boot.
+ */
+public class ProfilingSession {
+    
+    private final TickMetrics tickMetrics;
+    private final CpuContentionProbe contentionProbe;
+    private Baseline baseline;
+    private int completedWindows;
+    
+    public ProfilingSession(TickMetrics tickMetrics) {
+        this(tickMetrics, CpuContentionProbe.fromConfig(new ServerTestConfig()));
+    }
+    
+    public ProfilingSession(TickMetrics tickMetrics, CpuContentionProbe contentionProbe) {
+        this.tickMetrics = tickMetrics;
+        this.contentionProbe = contentionProbe;
+    }
+    
+    /**
+     * Start a profiling window
+     * @param label Label for the window, or null to number it
+     * @return false if a window is already running
+     */
+    public synchronized boolean start(String label) {
+        if (baseline != null) {
+            return false;
+        }
+        baseline = new Baseline(label != null ? label : "window-" + (completedWindows + 1), tickMetrics,
+            contentionProbe.sample());
+        return true;
+    }
+    
+    /**
+     * Stop the running profiling window
+     * @return report for the window, or null if none was running
+     */
+    public synchronized ProfileReport stop() {
+        if (baseline == null) {
+            return null;
+        }
+        ProfileReport report = measure(baseline);
+        baseline = null;
+        completedWindows++;
+        return report;
+    }
+    
+    /**
+     * Report on the running window without stopping it
+     * @return report so far, or null if no window is running
+     */
+    public synchronized ProfileReport peek() {
+        return baseline != null ? measure(baseline) : null;
+    }
+    
+    public synchronized boolean isRunning() {
+        return baseline != null;
+    }
+    
+    private ProfileReport measure(Baseline start) {
+        long ticks = tickMetrics.getTickCount() - start.tickCount;
+        long tickNanos = tickMetrics.getTickNanosTotal() - start.tickNanosTotal;
+        long elapsedNanos = System.nanoTime() - start.startNanos;
+        
+        long[] buckets = tickMetrics.getTickTime().counts();
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] -= start.buckets[i];
+        }
+        
+        double tps = elapsedNanos > 0 ? Math.min(20.0, ticks * 1e9 / elapsedNanos) : 0.0;
+        return new ProfileReport(
+            start.label,
+            elapsedNanos / 1_000_000L,
+            ticks,
+            tps,
+            ticks > 0 ? tickNanos / 1e6 / ticks : 0.0,
+            MetricsRegistry.LogHistogram.quantile(buckets, 0.50) / 1e6,
+            MetricsRegistry.LogHistogram.quantile(buckets, 0.95) / 1e6,
+            MetricsRegistry.LogHistogram.quantile(buckets, 0.99) / 1e6,
+            gcCount() - start.gcCount,
+            gcMillis() - start.gcMillis,
+            contentionProbe.measure(start.contention, contentionProbe.sample())
+        );
+    }
+    
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+    
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+    
+    private static class Baseline {
+        private final String label;
+        private final long startNanos = System.nanoTime();
+        private final long tickCount;
+        private final long tickNanosTotal;
+        private final long[] buckets;
+        private final long gcCount = ProfilingSession.gcCount();
+        private final long gcMillis = ProfilingSession.gcMillis();
+        private final CpuContentionProbe.Sample contention;
+        
+        private Baseline(String label, TickMetrics tickMetrics, CpuContentionProbe.Sample contention) {
+            this.label = label;
+            this.contention = contention;
+            this.tickCount = tickMetrics.getTickCount();
+            this.tickNanosTotal = tickMetrics.getTickNanosTotal();
+            this.buckets = tickMetrics.getTickTime().counts();
+        }
+    }
+}
\ No newline at end of file
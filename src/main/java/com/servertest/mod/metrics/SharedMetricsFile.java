@@ -0,0 +1,296 @@
+package com.servertest.mod.metrics;
+
+import com.servertest.mod.ServerTestMod;
+import com.servertest.mod.core.ErrorHandler;
+import com.servertest.mod.core.OverheadBudget;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStartedEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Publishes live metrics into a fixed-layout memory-mapped file once per tick
+ * External processes map the same file and read it without JMX, HTTP or any call into the
+ * server. The file is little-endian and guarded by a seqlock: the sequence number is odd while
+ * a snapshot is being written, so a reader retries until it sees the same even value before
+ * and after copying the fields.
+ *
+ * <pre>
+ * offset size  field
+ *      0    4  magic "STMF" (0x464D5453 read as little-endian int)
+ *      4    4  layout version (1)
+ *      8    8  sequence number
+ *     16    8  last update, epoch milliseconds
+ *     24    4  status (1 running, 2 stopped)
+ *     28    4  histogram bucket count (12)
+ *     32    4  dimension count (at most 16)
+ *     36    4  reserved
+ *     40    8  tick count
+ *     48    8  TPS (double)
+ *     56    8  last tick duration, nanoseconds
+ *     64    8  mean tick duration, nanoseconds (double)
+ *     72    8  heap used, bytes
+ *     80    8  heap committed, bytes
+ *     88    8  mod overhead, total nanoseconds
+ *     96   96  tick duration histogram, 12 non-cumulative long counts (bounds in TickMetrics)
+ *    192 1024  dimension table, 16 slots of 64 bytes:
+ *              40 bytes zero-padded UTF-8 name, last tick nanoseconds, entities, loaded chunks
+ * </pre>
+ */
+public class SharedMetricsFile {
+    
+    public static final int MAGIC = 0x464D5453;
+    public static final int LAYOUT_VERSION = 1;
+    public static final int STATUS_RUNNING = 1;
+    public static final int STATUS_STOPPED = 2;
+    public static final int BUCKET_COUNT = TickMetrics.TICK_BUCKETS_MS.length + 1;
+    public static final int MAX_DIMENSIONS = 16;
+    public static final int DIMENSION_NAME_BYTES = 40;
+    public static final int DIMENSION_SLOT_BYTES = 64;
+    public static final int FILE_SIZE = 4096;
+    
+    static final int OFFSET_SEQUENCE = 8;
+    static final int OFFSET_UPDATE_MILLIS = 16;
+    static final int OFFSET_STATUS = 24;
+    static final int OFFSET_BUCKET_COUNT = 28;
+    static final int OFFSET_DIMENSION_COUNT = 32;
+    static final int OFFSET_TICK_COUNT = 40;
+    static final int OFFSET_TPS = 48;
+    static final int OFFSET_LAST_TICK = 56;
+    static final int OFFSET_MEAN_TICK = 64;
+    static final int OFFSET_HEAP_USED = 72;
+    static final int OFFSET_HEAP_COMMITTED = 80;
+    static final int OFFSET_OVERHEAD = 88;
+    static final int OFFSET_BUCKETS = 96;
+    static final int OFFSET_DIMENSIONS = OFFSET_BUCKETS + BUCKET_COUNT * Long.BYTES;
+    
+    private static final VarHandle LONG_VIEW =
+        MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    
+    private final Path path;
+    private final TickMetrics tickMetrics;
+    private final OverheadBudget overheadBudget;
+    private final byte[] nameScratch = new byte[DIMENSION_NAME_BYTES];
+    private MappedByteBuffer buffer;
+    private long sequence;
+    
+    /**
+     * Create a new SharedMetricsFile
+     * @param path File to map; created if missing
+     * @param tickMetrics Source of the published metrics
+     * @param overheadBudget Budget charged with the publishing time and checked before publishing, or null
+     */
+    public SharedMetricsFile(Path path, TickMetrics tickMetrics, OverheadBudget overheadBudget) {
+        this.path = path;
+        this.tickMetrics = tickMetrics;
+        this.overheadBudget = overheadBudget;
+    }
+    
+    @SubscribeEvent
+    public void onServerStarted(ServerStartedEvent event) {
+        open();
+    }
+    
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.END && buffer != null) {
+            if (overheadBudget != null && overheadBudget.remainingNanos() <= 0) {
+                // The published values are cumulative, so the next tick with budget left catches up
+                overheadBudget.recordDeferral();
+                return;
+            }
+            long start = System.nanoTime();
+            publish(STATUS_RUNNING);
+            if (overheadBudget != null) {
+                overheadBudget.charge(System.nanoTime() - start);
+            }
+        }
+    }
+    
+    @SubscribeEvent
+    public void onServerStopping(ServerStoppingEvent event) {
+        if (buffer != null) {
+            publish(STATUS_STOPPED);
+            buffer.force();
+            buffer = null;
+        }
+    }
+    
+    /**
+     * Create and map the metrics file, writing the fixed header
+     */
+    public void open() {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            sequence = (long) LONG_VIEW.getVolatile(mapped, OFFSET_SEQUENCE) & ~1L;
+            mapped.putInt(0, MAGIC);
+            mapped.putInt(4, LAYOUT_VERSION);
+            mapped.putInt(OFFSET_BUCKET_COUNT, BUCKET_COUNT);
+            buffer = mapped;
+            ServerTestMod.LOGGER.info("[SERVER-TEST] Publishing metrics to memory-mapped file {}", path.toAbsolutePath());
+        } catch (IOException | RuntimeException e) {
+            ErrorHandler.handleNonCriticalError(
+                ErrorHandler.ErrorType.ENVIRONMENT,
+                "Failed to map metrics file " + path,
+                e
+            );
+        }
+    }
+    
+    /**
+     * Write one consistent snapshot under the seqlock
+     * @param status STATUS_RUNNING or STATUS_STOPPED
+     */
+    public void publish(int status) {
+        ByteBuffer out = buffer;
+        if (out == null) {
+            return;
+        }
+        
+        // Odd sequence marks the snapshot as being written. A volatile store does not keep later plain
+        // stores behind it, so the fence is what stops readers seeing new fields under the old sequence
+        LONG_VIEW.setVolatile(out, OFFSET_SEQUENCE, ++sequence);
+        VarHandle.storeStoreFence();
+        
+        Runtime runtime = Runtime.getRuntime();
+        out.putLong(OFFSET_UPDATE_MILLIS, System.currentTimeMillis());
+        out.putInt(OFFSET_STATUS, status);
+        out.putLong(OFFSET_TICK_COUNT, tickMetrics.getTickCount());
+        out.putDouble(OFFSET_TPS, tickMetrics.getTps());
+        out.putLong(OFFSET_LAST_TICK, tickMetrics.getLastTickNanos());
+        out.putDouble(OFFSET_MEAN_TICK, tickMetrics.getMeanTickNanos());
+        out.putLong(OFFSET_HEAP_USED, runtime.totalMemory() - runtime.freeMemory());
+        out.putLong(OFFSET_HEAP_COMMITTED, runtime.totalMemory());
+        out.putLong(OFFSET_OVERHEAD, overheadBudget != null ? overheadBudget.getTotalNanos() : 0L);
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            out.putLong(OFFSET_BUCKETS + i * Long.BYTES, tickMetrics.getTickBucket(i));
+        }
+        
+        int slot = 0;
+        for (Map.Entry<String, TickMetrics.DimensionMetrics> entry : tickMetrics.getDimensions().entrySet()) {
+            if (slot == MAX_DIMENSIONS) {
+                break;
+            }
+            int base = OFFSET_DIMENSIONS + slot * DIMENSION_SLOT_BYTES;
+            writeName(out, base, entry.getKey());
+            TickMetrics.DimensionMetrics metrics = entry.getValue();
+            out.putLong(base + DIMENSION_NAME_BYTES, metrics.getLastTickNanos());
+            out.putLong(base + DIMENSION_NAME_BYTES + 8, metrics.getEntities());
+            out.putLong(base + DIMENSION_NAME_BYTES + 16, metrics.getChunks());
+            slot++;
+        }
+        out.putInt(OFFSET_DIMENSION_COUNT, slot);
+        
+        // Even sequence publishes the snapshot; the release store orders the fields before it
+        LONG_VIEW.setRelease(out, OFFSET_SEQUENCE, ++sequence);
+    }
+    
+    private void writeName(ByteBuffer out, int base, String name) {
+        byte[] encoded = name.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(encoded.length, DIMENSION_NAME_BYTES);
+        System.arraycopy(encoded, 0, nameScratch, 0, length);
+        Arrays.fill(nameScratch, length, DIMENSION_NAME_BYTES, (byte) 0);
+        out.put(base, nameScratch, 0, DIMENSION_NAME_BYTES);
+    }
+    
+    /**
+     * Read the sequence number of a mapped metrics file with acquire semantics
+     * Readers call this before and after copying fields and retry if the values differ or are odd.
+     * @param mapped Little-endian buffer over the metrics file
+     * @return current sequence number
+     */
+    public static long readSequence(ByteBuffer mapped) {
+        return (long) LONG_VIEW.getAcquire(mapped, OFFSET_SEQUENCE);
+    }
+    
+    /**
+     * Copy a consistent snapshot of the tick fields from a mapped metrics file
+     * @param mapped Little-endian buffer over the metrics file
+     * @param maxAttempts Retries before giving up on a writer that keeps the lock
+     * @return snapshot, or null if no consistent snapshot was seen
+     */
+    public static Snapshot read(ByteBuffer mapped, int maxAttempts) {
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            long before = readSequence(mapped);
+            if ((before & 1L) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            Snapshot snapshot = new Snapshot(
+                before,
+                mapped.getInt(OFFSET_STATUS),
+                mapped.getLong(OFFSET_TICK_COUNT),
+                mapped.getDouble(OFFSET_TPS),
+                mapped.getLong(OFFSET_LAST_TICK),
+                mapped.getInt(OFFSET_DIMENSION_COUNT)
+            );
+            VarHandle.loadLoadFence();
+            if (readSequence(mapped) == before) {
+                return snapshot;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Consistent copy of the tick fields of a metrics file
+     */
+    public static class Snapshot {
+        private final long sequence;
+        private final int status;
+        private final long tickCount;
+        private final double tps;
+        private final long lastTickNanos;
+        private final int dimensionCount;
+        
+        Snapshot(long sequence, int status, long tickCount, double tps, long lastTickNanos, int dimensionCount) {
+            this.sequence = sequence;
+            this.status = status;
+            this.tickCount = tickCount;
+            this.tps = tps;
+            this.lastTickNanos = lastTickNanos;
+            this.dimensionCount = dimensionCount;
+        }
+        
+        public long getSequence() {
+            return sequence;
+        }
+        
+        public int getStatus() {
+            return status;
+        }
+        
+        public long getTickCount() {
+            return tickCount;
+        }
+        
+        public double getTps() {
+            return tps;
+        }
+        
+        public long getLastTickNanos() {
+            return lastTickNanos;
+        }
+        
+        public int getDimensionCount() {
+            return dimensionCount;
+        }
+    }
+}
\ No newline at end of file
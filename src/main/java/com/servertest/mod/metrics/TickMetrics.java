@@ -0,0 +1,397 @@
+package com.servertest.mod.metrics;
+
+import com.servertest.mod.core.OverheadBudget;
+import com.servertest.mod.model.TickSnapshot;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
+import net.minecraftforge.event.level.ChunkEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.LogicalSide;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps tick, dimension, entity and chunk metrics up to date from server events
+ * Every value is updated incrementally as events arrive, so readers on other threads
+ * only copy counters and never walk the world. Counters, gauges and the tick duration
+ * histogram live in a MetricsRegistry, which exports the histogram with the TICK_BUCKETS_MS
+ * bounds; the fixed-bound bucket counts kept here only back the shared metrics file layout.
+ */
+public class TickMetrics {
+    
+    /** Upper bounds of the tick duration histogram buckets, in milliseconds */
+    static final double[] TICK_BUCKETS_MS = {5, 10, 20, 30, 40, 50, 75, 100, 200, 500, 1000};
+    
+    /** Registry names of the server-wide tick metrics */
+    public static final String TICKS = "servertest_ticks";
+    public static final String TICK_SECONDS = "servertest_tick_seconds";
+    public static final String TICK_TIME = "servertest_tick_time_seconds";
+    public static final String LAST_TICK = "servertest_last_tick_duration_seconds";
+    public static final String TPS = "servertest_tps";
+    
+    private static final int TPS_WINDOW = 100;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final double SECONDS_PER_NANO = 1e-9;
+    private static final double[] TICK_BUCKETS_SECONDS = Arrays.stream(TICK_BUCKETS_MS).map(ms -> ms / 1000.0).toArray();
+    
+    private final MetricsRegistry registry;
+    private final OverheadBudget overheadBudget;
+    private final AtomicLongArray tickBuckets = new AtomicLongArray(TICK_BUCKETS_MS.length + 1);
+    private final MetricsRegistry.Counter tickCount;
+    private final MetricsRegistry.Counter tickNanosTotal;
+    private final MetricsRegistry.LogHistogram tickTime;
+    private final MetricsRegistry.Gauge lastTickNanos;
+    private final MetricsRegistry.Gauge tps;
+    private final Map<String, DimensionMetrics> dimensions = new ConcurrentHashMap<>();
+    private volatile TickListener[] tickListeners = new TickListener[0];
+    
+    // Only touched on the server thread
+    private final long[] tickStarts = new long[TPS_WINDOW];
+    private long tickIndex;
+    private long tickStartNanos;
+    
+    /**
+     * Create TickMetrics with their own registry that do not account for their own overhead
+     */
+    public TickMetrics() {
+        this(new MetricsRegistry(), null);
+    }
+    
+    /**
+     * Create TickMetrics
+     * @param registry Registry that holds the metrics
+     * @param overheadBudget Budget charged with the time spent in these handlers, or null
+     */
+    public TickMetrics(MetricsRegistry registry, OverheadBudget overheadBudget) {
+        this.registry = registry;
+        this.overheadBudget = overheadBudget;
+        this.tickCount = registry.counter(TICKS, "Completed server ticks");
+        this.tickNanosTotal = registry.counter(TICK_SECONDS, "Total time spent in server ticks", SECONDS_PER_NANO);
+        this.tickTime = registry.histogram(TICK_TIME, "Server tick duration (MSPT)", SECONDS_PER_NANO,
+            TICK_BUCKETS_SECONDS);
+        this.lastTickNanos = registry.gauge(LAST_TICK, "Duration of the last server tick", SECONDS_PER_NANO);
+        this.tps = registry.gauge(TPS, "Ticks per second over the last 100 ticks");
+        tps.set(Double.NaN);
+    }
+    
+    @SubscribeEvent(priority = EventPriority.HIGHEST)
+    public void onServerTickStart(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.START) {
+            tickStartNanos = System.nanoTime();
+            recordTickStart(tickStartNanos);
+            charge(tickStartNanos);
+        }
+    }
+    
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public void onServerTickEnd(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.END && tickStartNanos != 0) {
+            long now = System.nanoTime();
+            long nanos = now - tickStartNanos;
+            recordTick(nanos);
+            for (TickListener listener : tickListeners) {
+                listener.onTick(nanos);
+            }
+            charge(now);
+        }
+    }
+    
+    @SubscribeEvent(priority = EventPriority.HIGHEST)
+    public void onLevelTickStart(TickEvent.LevelTickEvent event) {
+        if (event.side == LogicalSide.SERVER && event.phase == TickEvent.Phase.START) {
+            long now = System.nanoTime();
+            dimension(event.level).tickStartNanos = now;
+            charge(now);
+        }
+    }
+    
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public void onLevelTickEnd(TickEvent.LevelTickEvent event) {
+        if (event.side == LogicalSide.SERVER && event.phase == TickEvent.Phase.END) {
+            long now = System.nanoTime();
+            DimensionMetrics metrics = dimension(event.level);
+            if (metrics.tickStartNanos != 0) {
+                metrics.recordTick(now - metrics.tickStartNanos);
+            }
+            charge(now);
+        }
+    }
+    
+    // Lowest priority so entities whose join was cancelled by another mod are not counted
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public void onEntityJoin(EntityJoinLevelEvent event) {
+        if (!event.getLevel().isClientSide()) {
+            long now = System.nanoTime();
+            dimension(event.getLevel()).entities.add(1);
+            charge(now);
+        }
+    }
+    
+    @SubscribeEvent
+    public void onEntityLeave(EntityLeaveLevelEvent event) {
+        if (!event.getLevel().isClientSide()) {
+            long now = System.nanoTime();
+            dimension(event.getLevel()).entities.add(-1);
+            charge(now);
+        }
+    }
+    
+    @SubscribeEvent
+    public void onChunkLoad(ChunkEvent.Load event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            long now = System.nanoTime();
+            dimension(level).chunks.add(1);
+            charge(now);
+        }
+    }
+    
+    @SubscribeEvent
+    public void onChunkUnload(ChunkEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            long now = System.nanoTime();
+            dimension(level).chunks.add(-1);
+            charge(now);
+        }
+    }
+    
+    private void charge(long handlerStartNanos) {
+        if (overheadBudget != null) {
+            overheadBudget.charge(System.nanoTime() - handlerStartNanos);
+        }
+    }
+    
+    /**
+     * Record the duration of one server tick
+     * @param nanos Tick duration in nanoseconds
+     */
+    public void recordTick(long nanos) {
+        tickBuckets.incrementAndGet(bucketIndex(nanos / 1_000_000.0));
+        tickTime.record(nanos);
+        tickCount.increment();
+        tickNanosTotal.add(nanos);
+        lastTickNanos.set(nanos);
+    }
+    
+    private void recordTickStart(long now) {
+        int slot = (int) (tickIndex % TPS_WINDOW);
+        tickStarts[slot] = now;
+        tickIndex++;
+        
+        int samples = (int) Math.min(tickIndex, TPS_WINDOW);
+        if (samples >= 2) {
+            // Until the ring is full the oldest start is in slot 0, afterwards in the slot written next
+            long oldest = tickIndex <= TPS_WINDOW ? tickStarts[0] : tickStarts[(int) (tickIndex % TPS_WINDOW)];
+            double measured = (samples - 1) * NANOS_PER_SECOND / (now - oldest);
+            // Match the vanilla convention of not reporting more than 20 TPS
+            tps.set(Math.min(measured, 20.0));
+        }
+    }
+    
+    static int bucketIndex(double millis) {
+        for (int i = 0; i < TICK_BUCKETS_MS.length; i++) {
+            if (millis <= TICK_BUCKETS_MS[i]) {
+                return i;
+            }
+        }
+        return TICK_BUCKETS_MS.length;
+    }
+    
+    private DimensionMetrics dimension(Level level) {
+        return dimensions.computeIfAbsent(level.dimension().location().toString(),
+            key -> new DimensionMetrics(registry, key));
+    }
+    
+    /**
+     * Add a listener that is called on the server thread after every recorded server tick
+     * Listeners run inside the tick handler and are charged to the overhead budget.
+     */
+    public synchronized void addTickListener(TickListener listener) {
+        TickListener[] updated = Arrays.copyOf(tickListeners, tickListeners.length + 1);
+        updated[updated.length - 1] = listener;
+        tickListeners = updated;
+    }
+    
+    /**
+     * Get the registry that holds these metrics
+     */
+    public MetricsRegistry getRegistry() {
+        return registry;
+    }
+    
+    /**
+     * Get the TPS measured over the last 100 tick starts
+     * @return TPS or NaN before the second tick
+     */
+    public double getTps() {
+        return tps.get();
+    }
+    
+    /**
+     * Get the duration of the most recent tick
+     * @return tick duration in nanoseconds
+     */
+    public long getLastTickNanos() {
+        return (long) lastTickNanos.get();
+    }
+    
+    public long getTickCount() {
+        return tickCount.sum();
+    }
+    
+    /**
+     * Get the total time spent in recorded ticks
+     * @return total tick duration in nanoseconds
+     */
+    public long getTickNanosTotal() {
+        return tickNanosTotal.sum();
+    }
+    
+    /**
+     * Get the number of ticks recorded in one histogram bucket
+     * @param index Bucket index, TICK_BUCKETS_MS.length for the overflow bucket
+     */
+    public long getTickBucket(int index) {
+        return tickBuckets.get(index);
+    }
+    
+    /**
+     * Get the log-bucket tick duration histogram, recorded in nanoseconds
+     */
+    public MetricsRegistry.LogHistogram getTickTime() {
+        return tickTime;
+    }
+    
+    /**
+     * Get the mean tick duration since the first recorded tick
+     * @return mean tick duration in nanoseconds, 0 before the first tick
+     */
+    public double getMeanTickNanos() {
+        long count = tickCount.sum();
+        return count > 0 ? tickNanosTotal.sum() / (double) count : 0.0;
+    }
+    
+    /**
+     * Get the number of entities in all dimensions
+     */
+    public long getEntityCount() {
+        long total = 0;
+        for (DimensionMetrics metrics : dimensions.values()) {
+            total += metrics.getEntities();
+        }
+        return total;
+    }
+    
+    /**
+     * Get the metrics of every dimension seen so far, sorted by dimension name
+     */
+    public Map<String, DimensionMetrics> getDimensions() {
+        return new TreeMap<>(dimensions);
+    }
+    
+    /**
+     * Copy the current metrics into a snapshot
+     * Only reads counters, so it is safe and cheap to call from any thread.
+     */
+    public TickSnapshot snapshot() {
+        long[] counts = tickTime.counts();
+        
+        List<TickSnapshot.DimensionSnapshot> dimensionSnapshots = new ArrayList<>();
+        getDimensions().forEach((name, metrics) -> dimensionSnapshots.add(new TickSnapshot.DimensionSnapshot(
+            name, metrics.getLastTickNanos() / 1_000_000.0, metrics.getEntities(), metrics.getChunks())));
+        
+        Runtime runtime = Runtime.getRuntime();
+        return new TickSnapshot(
+            tickCount.sum(),
+            tps.get(),
+            lastTickNanos.get() / 1_000_000.0,
+            getMeanTickNanos() / 1_000_000.0,
+            MetricsRegistry.LogHistogram.quantile(counts, 0.50) / 1_000_000.0,
+            MetricsRegistry.LogHistogram.quantile(counts, 0.95) / 1_000_000.0,
+            MetricsRegistry.LogHistogram.quantile(counts, 0.99) / 1_000_000.0,
+            runtime.totalMemory() - runtime.freeMemory(),
+            dimensionSnapshots
+        );
+    }
+    
+    /**
+     * Write the overhead counters as OpenMetrics families
+     * Everything else, the tick duration histogram included, is exported from the registry.
+     */
+    public void writeTo(OpenMetricsWriter writer) {
+        if (overheadBudget != null) {
+            writer.family("servertest_overhead_seconds", "counter", "seconds", "Server thread time spent by this mod")
+                .sample("servertest_overhead_seconds_total", overheadBudget.getTotalNanos() / NANOS_PER_SECOND);
+            writer.family("servertest_overhead_ticks_over_budget", "counter", null, "Ticks in which this mod exceeded its overhead budget")
+                .sample("servertest_overhead_ticks_over_budget_total", overheadBudget.getTicksOverBudget());
+        }
+    }
+    
+    /**
+     * Callback for completed server ticks
+     */
+    @FunctionalInterface
+    public interface TickListener {
+        /**
+         * @param tickNanos Duration of the tick that just ended
+         */
+        void onTick(long tickNanos);
+    }
+    
+    /**
+     * Incrementally maintained metrics of a single dimension
+     */
+    public static class DimensionMetrics {
+        private final MetricsRegistry.Counter tickNanosTotal;
+        private final MetricsRegistry.Counter ticks;
+        private final MetricsRegistry.Gauge lastTickNanos;
+        private final MetricsRegistry.Gauge entities;
+        private final MetricsRegistry.Gauge chunks;
+        private long tickStartNanos;
+        
+        private DimensionMetrics(MetricsRegistry registry, String dimension) {
+            tickNanosTotal = registry.counter("servertest_dimension_tick_seconds", "Total time spent ticking each dimension",
+                SECONDS_PER_NANO, "dimension", dimension);
+            ticks = registry.counter("servertest_dimension_ticks", "Ticks of each dimension", "dimension", dimension);
+            lastTickNanos = registry.gauge("servertest_dimension_tick_duration_seconds",
+                "Duration of the last tick of each dimension", SECONDS_PER_NANO, "dimension", dimension);
+            entities = registry.gauge("servertest_entities", "Entities in each dimension", "dimension", dimension);
+            chunks = registry.gauge("servertest_loaded_chunks", "Loaded chunks in each dimension", "dimension", dimension);
+        }
+        
+        private void recordTick(long nanos) {
+            tickNanosTotal.add(nanos);
+            ticks.increment();
+            lastTickNanos.set(nanos);
+        }
+        
+        public long getLastTickNanos() {
+            return (long) lastTickNanos.get();
+        }
+        
+        public long getTickNanosTotal() {
+            return tickNanosTotal.sum();
+        }
+        
+        public long getTicks() {
+            return ticks.sum();
+        }
+        
+        public long getEntities() {
+            return (long) entities.get();
+        }
+        
+        public long getChunks() {
+            return (long) chunks.get();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,193 @@
+package com.servertest.mod.metrics;
+
+import com.servertest.mod.model.TickSampleSummary;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Reads the rollups of a tick sample file into a summary
+ * The reader remembers how far it got, so repeated updates only parse the records appended
+ * since the previous one. It also reads files left behind by a crashed server, up to their
+ * committed length.
+ */
+public class TickSampleReader {
+    
+    /** Number of worst minutes kept in the summary */
+    static final int WORST_MINUTES = 5;
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private final Path path;
+    private long offset = -1;
+    private long startMillis;
+    private int segmentSize;
+    
+    private long ticks;
+    private long sumMicros;
+    private long maxMicros;
+    private long allocatedKiB;
+    private long gcTicks;
+    private long maxEntities;
+    private long coveredSeconds;
+    private final List<TickSampleSummary.Period> hours = new ArrayList<>();
+    private final List<TickSampleSummary.Period> worstMinutes = new ArrayList<>();
+    
+    public TickSampleReader(Path path) {
+        this.path = path;
+    }
+    
+    /**
+     * Read a complete tick sample file, e.g. one left behind by a crash
+     * @param path The file
+     * @return summary of all committed rollups
+     */
+    public static TickSampleSummary read(Path path) {
+        return new TickSampleReader(path).update(-1);
+    }
+    
+    /**
+     * Parse the records appended since the previous update
+     * @param committedLength Length written by the store, or -1 to use the length in the file header
+     * @return summary of all rollups read so far
+     */
+    public synchronized TickSampleSummary update(long committedLength) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            long limit = readHeader(channel, buffer, committedLength);
+            
+            while (offset < limit) {
+                buffer.clear();
+                buffer.limit((int) Math.min(BUFFER_SIZE, limit - offset));
+                while (buffer.hasRemaining() && channel.read(buffer, offset + buffer.position()) > 0) {
+                    // Keep reading until the window is full
+                }
+                buffer.flip();
+                offset += parse(buffer, offset + buffer.limit() >= limit);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read tick samples from " + path, e);
+        }
+        return summary();
+    }
+    
+    private long readHeader(FileChannel channel, ByteBuffer buffer, long committedLength) throws IOException {
+        buffer.clear();
+        buffer.limit(TickSampleStore.HEADER_SIZE);
+        channel.read(buffer, 0);
+        if (buffer.position() < TickSampleStore.HEADER_SIZE || buffer.getInt(0) != TickSampleStore.MAGIC) {
+            throw new IOException("Not a tick sample file");
+        }
+        if (buffer.getInt(4) != TickSampleStore.LAYOUT_VERSION) {
+            throw new IOException("Unsupported tick sample layout version " + buffer.getInt(4));
+        }
+        if (offset < 0) {
+            startMillis = buffer.getLong(TickSampleStore.OFFSET_START_MILLIS);
+            segmentSize = buffer.getInt(TickSampleStore.OFFSET_SEGMENT_SIZE);
+            offset = TickSampleStore.HEADER_SIZE;
+        }
+        return committedLength >= 0 ? committedLength : buffer.getLong(TickSampleStore.OFFSET_COMMITTED);
+    }
+    
+    /**
+     * Parse the complete records at the start of the buffer
+     * @param last true if the buffer ends at the committed length, so no record is cut off
+     * @return number of bytes consumed
+     */
+    private int parse(ByteBuffer buffer, boolean last) {
+        int position = 0;
+        while (position < buffer.limit()) {
+            if (!last && buffer.limit() - position < TickSampleStore.MAX_RECORD_BYTES) {
+                break;
+            }
+            
+            byte tag = buffer.get(position);
+            if (tag == TickSampleStore.TAG_PADDING) {
+                // Skip the unused tail of the segment
+                long absolute = offset + position - TickSampleStore.HEADER_SIZE;
+                long next = TickSampleStore.HEADER_SIZE + (absolute / segmentSize + 1) * segmentSize;
+                return (int) Math.min(next - offset, buffer.limit());
+            }
+            
+            position++;
+            if (tag == TickSampleStore.TAG_SAMPLE || tag == TickSampleStore.TAG_SAMPLE_GC) {
+                for (int i = 0; i < 3; i++) {
+                    position = skipVarLong(buffer, position);
+                }
+            } else if (tag == TickSampleStore.TAG_ROLLUP) {
+                int level = buffer.get(position++);
+                long[] fields = new long[7];
+                for (int i = 0; i < fields.length; i++) {
+                    long value = 0;
+                    int shift = 0;
+                    byte b;
+                    do {
+                        b = buffer.get(position++);
+                        value |= (long) (b & 0x7F) << shift;
+                        shift += 7;
+                    } while ((b & 0x80) != 0);
+                    fields[i] = value;
+                }
+                addRollup(level, fields);
+            } else {
+                throw new IllegalStateException("Corrupt tick sample file at offset " + (offset + position - 1));
+            }
+        }
+        return position;
+    }
+    
+    private static int skipVarLong(ByteBuffer buffer, int position) {
+        while ((buffer.get(position++) & 0x80) != 0) {
+            // Continuation bit set
+        }
+        return position;
+    }
+    
+    private void addRollup(int level, long[] fields) {
+        TickSampleSummary.Period period = new TickSampleSummary.Period(
+            fields[0], fields[1], fields[2], fields[3], fields[4], fields[5], fields[6]);
+        if (level == TickSampleStore.LEVEL_SECOND) {
+            // Totals come from the finest rollups so a run cut short still counts every second
+            ticks += fields[1];
+            sumMicros += fields[2];
+            maxMicros = Math.max(maxMicros, fields[3]);
+            allocatedKiB += fields[4];
+            gcTicks += fields[5];
+            maxEntities = Math.max(maxEntities, fields[6]);
+            coveredSeconds = Math.max(coveredSeconds, fields[0] + 1);
+        } else if (level == TickSampleStore.LEVEL_MINUTE) {
+            worstMinutes.add(period);
+            worstMinutes.sort(Comparator.comparingDouble(TickSampleSummary.Period::getMeanTickMillis).reversed());
+            if (worstMinutes.size() > WORST_MINUTES) {
+                worstMinutes.remove(WORST_MINUTES);
+            }
+        } else if (level == TickSampleStore.LEVEL_HOUR) {
+            hours.add(period);
+        }
+    }
+    
+    private TickSampleSummary summary() {
+        double allocatedMiB = allocatedKiB / 1024.0;
+        return new TickSampleSummary(
+            startMillis,
+            coveredSeconds,
+            ticks,
+            ticks > 0 ? sumMicros / 1000.0 / ticks : 0.0,
+            maxMicros / 1000.0,
+            gcTicks,
+            allocatedMiB,
+            coveredSeconds > 0 ? allocatedMiB / coveredSeconds : 0.0,
+            maxEntities,
+            new ArrayList<>(hours),
+            new ArrayList<>(worstMinutes)
+        );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,370 @@
+package com.servertest.mod.metrics;
+
+import com.servertest.mod.ServerTestMod;
+import com.servertest.mod.core.ErrorHandler;
+import com.servertest.mod.model.TickSampleSummary;
+import net.minecraftforge.event.server.ServerStartedEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends one compact sample per server tick to a memory-mapped file for long soak runs
+ * Samples are delta and varint encoded (usually 4 to 6 bytes per tick) and interleaved with
+ * 1 second, 1 minute and 1 hour rollups, so a multi-day run keeps almost nothing on the heap.
+ * The header holds the committed length, which is only advanced after a record is complete;
+ * the mapped pages belong to the OS, so everything up to it survives a crash of the server.
+ *
+ * <pre>
+ * header, 64 bytes, little-endian
+ *      0    4  magic "STTS"
+ *      4    4  layout version (1)
+ *      8    8  start, epoch milliseconds
+ *     16    8  committed length: every record before this offset is complete
+ *     24    4  segment size in bytes
+ *
+ * records follow in segments that are mapped one at a time; a record never crosses a
+ * segment boundary and a 0 tag means the rest of the segment is unused
+ *   tag 1|2  sample, 2 if a garbage collection completed during the tick
+ *            zigzag varint  tick duration in microseconds minus the previous sample's
+ *            varint         KiB allocated by the server thread during the tick
+ *            zigzag varint  entity count minus the previous sample's
+ *   tag 3    rollup
+ *            byte           level (0 = 1 second, 1 = 1 minute, 2 = 1 hour)
+ *            varint         start, seconds since the store was opened
+ *            varint         ticks, sum of tick microseconds, max tick microseconds,
+ *                           allocated KiB, ticks with a GC, max entity count
+ * </pre>
+ */
+public class TickSampleStore implements TickMetrics.TickListener {
+    
+    public static final int MAGIC = 0x53545453;
+    public static final int LAYOUT_VERSION = 1;
+    public static final int HEADER_SIZE = 64;
+    public static final int LEVEL_SECOND = 0;
+    public static final int LEVEL_MINUTE = 1;
+    public static final int LEVEL_HOUR = 2;
+    
+    static final int OFFSET_START_MILLIS = 8;
+    static final int OFFSET_COMMITTED = 16;
+    static final int OFFSET_SEGMENT_SIZE = 24;
+    static final int DEFAULT_SEGMENT_SIZE = 4 << 20;
+    static final int MAX_RECORD_BYTES = 2 + 7 * 10;
+    static final byte TAG_PADDING = 0;
+    static final byte TAG_SAMPLE = 1;
+    static final byte TAG_SAMPLE_GC = 2;
+    static final byte TAG_ROLLUP = 3;
+    static final int[] LEVEL_SECONDS = {1, 60, 3600};
+    
+    private static final VarHandle LONG_VIEW =
+        MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    
+    private final Path path;
+    private final TickMetrics tickMetrics;
+    private final int segmentSize;
+    private final TickSampleReader reader;
+    private final List<GarbageCollectorMXBean> gcBeans = ManagementFactory.getGarbageCollectorMXBeans();
+    private final com.sun.management.ThreadMXBean allocationBean = allocationBean();
+    private final Rollup[] rollups = {new Rollup(LEVEL_SECOND), new Rollup(LEVEL_MINUTE), new Rollup(LEVEL_HOUR)};
+    
+    // Only touched on the server thread
+    private FileChannel channel;
+    private MappedByteBuffer header;
+    private MappedByteBuffer segment;
+    private long segmentStart;
+    private int position;
+    private long openNanos;
+    private long previousMicros;
+    private long previousEntities;
+    private long previousGcCount;
+    private long previousAllocatedBytes;
+    private boolean listening;
+    private volatile long committed = -1;
+    
+    /**
+     * Create a new TickSampleStore
+     * @param path File to write; an existing file is kept as "&lt;name&gt;.prev"
+     * @param tickMetrics Source of tick durations and entity counts
+     */
+    public TickSampleStore(Path path, TickMetrics tickMetrics) {
+        this(path, tickMetrics, DEFAULT_SEGMENT_SIZE);
+    }
+    
+    TickSampleStore(Path path, TickMetrics tickMetrics, int segmentSize) {
+        this.path = path;
+        this.tickMetrics = tickMetrics;
+        this.segmentSize = segmentSize;
+        this.reader = new TickSampleReader(path);
+    }
+    
+    @SubscribeEvent
+    public void onServerStarted(ServerStartedEvent event) {
+        open();
+    }
+    
+    @SubscribeEvent
+    public void onServerStopping(ServerStoppingEvent event) {
+        close();
+    }
+    
+    /**
+     * Create the file, write the header and map the first segment
+     */
+    public void open() {
+        try {
+            if (Files.exists(path) && Files.size(path) > 0) {
+                // Keep the previous run, which may be the one that crashed
+                Files.move(path, path.resolveSibling(path.getFileName() + ".prev"), StandardCopyOption.REPLACE_EXISTING);
+            }
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(0, MAGIC);
+            header.putInt(4, LAYOUT_VERSION);
+            header.putLong(OFFSET_START_MILLIS, System.currentTimeMillis());
+            header.putInt(OFFSET_SEGMENT_SIZE, segmentSize);
+            mapSegment(HEADER_SIZE);
+            commit();
+            
+            openNanos = System.nanoTime();
+            previousGcCount = gcCount();
+            previousAllocatedBytes = allocatedBytes();
+            if (!listening) {
+                tickMetrics.addTickListener(this);
+                listening = true;
+            }
+            ServerTestMod.LOGGER.info("[SERVER-TEST] Recording tick samples to {}", path.toAbsolutePath());
+        } catch (IOException | RuntimeException e) {
+            segment = null;
+            ErrorHandler.handleNonCriticalError(
+                ErrorHandler.ErrorType.ENVIRONMENT,
+                "Failed to open tick sample file " + path,
+                e
+            );
+        }
+    }
+    
+    @Override
+    public void onTick(long tickNanos) {
+        record(tickNanos, System.nanoTime() - openNanos);
+    }
+    
+    /**
+     * Append one sample
+     * @param tickNanos Tick duration
+     * @param elapsedNanos Time since the store was opened, which selects the rollup periods
+     */
+    void record(long tickNanos, long elapsedNanos) {
+        if (segment == null) {
+            return;
+        }
+        
+        long micros = tickNanos / 1000L;
+        long entities = tickMetrics.getEntityCount();
+        long gcCount = gcCount();
+        boolean gc = gcCount != previousGcCount;
+        previousGcCount = gcCount;
+        // Whole KiB only; the remainder is carried into the next tick
+        long allocatedKiB = Math.max(0L, allocatedBytes() - previousAllocatedBytes) >>> 10;
+        previousAllocatedBytes += allocatedKiB << 10;
+        
+        try {
+            long second = elapsedNanos / 1_000_000_000L;
+            for (Rollup rollup : rollups) {
+                long index = second / LEVEL_SECONDS[rollup.level];
+                if (rollup.ticks > 0 && index != rollup.index) {
+                    writeRollup(rollup);
+                    rollup.reset();
+                }
+                rollup.index = index;
+                rollup.add(micros, allocatedKiB, gc, entities);
+            }
+            
+            ensureSpace();
+            segment.put(position++, gc ? TAG_SAMPLE_GC : TAG_SAMPLE);
+            position = putVarLong(segment, position, zigzag(micros - previousMicros));
+            position = putVarLong(segment, position, allocatedKiB);
+            position = putVarLong(segment, position, zigzag(entities - previousEntities));
+            previousMicros = micros;
+            previousEntities = entities;
+            commit();
+        } catch (IOException | RuntimeException e) {
+            segment = null;
+            ErrorHandler.handleNonCriticalError(
+                ErrorHandler.ErrorType.INFO_COLLECTION,
+                "Failed to append to tick sample file " + path + ", recording stopped",
+                e
+            );
+        }
+    }
+    
+    /**
+     * Write the open rollups and flush the file
+     */
+    public void close() {
+        if (segment == null) {
+            return;
+        }
+        
+        try {
+            for (Rollup rollup : rollups) {
+                if (rollup.ticks > 0) {
+                    writeRollup(rollup);
+                    rollup.reset();
+                }
+            }
+            commit();
+            segment.force();
+            header.force();
+            channel.close();
+            ServerTestMod.LOGGER.info("[SERVER-TEST] Tick samples closed ({} KB)", committed / 1024);
+        } catch (IOException | RuntimeException e) {
+            ErrorHandler.handleNonCriticalError(
+                ErrorHandler.ErrorType.INFO_COLLECTION,
+                "Failed to close tick sample file " + path,
+                e
+            );
+        } finally {
+            segment = null;
+        }
+    }
+    
+    /**
+     * Summarize the rollups written so far
+     * Reads the file incrementally from where the previous call stopped, so it is cheap to call
+     * on every report write.
+     * @return summary, or null if nothing has been recorded
+     */
+    public TickSampleSummary summarize() {
+        long length = committed;
+        return length > HEADER_SIZE ? reader.update(length) : null;
+    }
+    
+    private void writeRollup(Rollup rollup) throws IOException {
+        ensureSpace();
+        segment.put(position++, TAG_ROLLUP);
+        segment.put(position++, (byte) rollup.level);
+        position = putVarLong(segment, position, rollup.index * LEVEL_SECONDS[rollup.level]);
+        position = putVarLong(segment, position, rollup.ticks);
+        position = putVarLong(segment, position, rollup.sumMicros);
+        position = putVarLong(segment, position, rollup.maxMicros);
+        position = putVarLong(segment, position, rollup.allocatedKiB);
+        position = putVarLong(segment, position, rollup.gcTicks);
+        position = putVarLong(segment, position, rollup.maxEntities);
+    }
+    
+    private void ensureSpace() throws IOException {
+        if (position + MAX_RECORD_BYTES > segmentSize) {
+            // The unused tail is still zero, which readers treat as padding
+            mapSegment(segmentStart + segmentSize);
+        }
+    }
+    
+    private void mapSegment(long start) throws IOException {
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, start, segmentSize);
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+        segment = mapped;
+        segmentStart = start;
+        position = 0;
+    }
+    
+    private void commit() {
+        committed = segmentStart + position;
+        // Release store so a reader of the header never sees the length before the record bytes
+        LONG_VIEW.setRelease(header, OFFSET_COMMITTED, committed);
+    }
+    
+    private long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : gcBeans) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+    
+    private long allocatedBytes() {
+        return allocationBean != null ? allocationBean.getCurrentThreadAllocatedBytes() : 0L;
+    }
+    
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean allocation && allocation.isThreadAllocatedMemorySupported()) {
+            allocation.setThreadAllocatedMemoryEnabled(true);
+            return allocation;
+        }
+        return null;
+    }
+    
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+    
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+    
+    /**
+     * Write an unsigned LEB128 varint
+     * @return position after the last written byte
+     */
+    static int putVarLong(ByteBuffer buffer, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put(position++, (byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put(position++, (byte) value);
+        return position;
+    }
+    
+    /**
+     * Aggregate of the samples in one rollup period
+     */
+    private static class Rollup {
+        private final int level;
+        private long index;
+        private long ticks;
+        private long sumMicros;
+        private long maxMicros;
+        private long allocatedKiB;
+        private long gcTicks;
+        private long maxEntities;
+        
+        private Rollup(int level) {
+            this.level = level;
+        }
+        
+        private void add(long micros, long kib, boolean gc, long entities) {
+            ticks++;
+            sumMicros += micros;
+            maxMicros = Math.max(maxMicros, micros);
+            allocatedKiB += kib;
+            gcTicks += gc ? 1 : 0;
+            maxEntities = Math.max(maxEntities, entities);
+        }
+        
+        private void reset() {
+            ticks = 0;
+            sumMicros = 0;
+            maxMicros = 0;
+            allocatedKiB = 0;
+            gcTicks = 0;
+            maxEntities = 0;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.servertest.mod.model;
+
+import java.util.List;
+
+/**
+ * Data model representing the outcome of a mod bisection
+ */
+public class BisectionReport {
+    private final String metric;
+    private final double baselineValue;
+    private final double badValue;
+    private final double threshold;
+    private final List<String> suspects;
+    private final boolean isolated;
+    private final List<String> inconclusive;
+    private final int trials;
+    private final long durationMillis;
+    
+    public BisectionReport(String metric, double baselineValue, double badValue, double threshold, List<String> suspects,
+                           boolean isolated, List<String> inconclusive, int trials, long durationMillis) {
+        this.metric = metric;
+        this.baselineValue = baselineValue;
+        this.badValue = badValue;
+        this.threshold = threshold;
+        this.suspects = suspects;
+        this.isolated = isolated;
+        this.inconclusive = inconclusive;
+        this.trials = trials;
+        this.durationMillis = durationMillis;
+    }
+    
+    /**
+     * Get the metric that was bisected, "startup" or "mspt"
+     */
+    public String getMetric() {
+        return metric;
+    }
+    
+    /**
+     * Get the metric before the regression, read from baseline reports or the result history
+     */
+    public double getBaselineValue() {
+        return baselineValue;
+    }
+    
+    /**
+     * Get the metric with every mod installed
+     */
+    public double getBadValue() {
+        return badValue;
+    }
+    
+    /**
+     * Get the value a trial had to fall back under for its removed mods to count as the cause
+     */
+    public double getThreshold() {
+        return threshold;
+    }
+    
+    /**
+     * Get the mods the regression was narrowed down to
+     * @return one mod if isolated, otherwise the smallest set left when the search stopped; empty if
+     * the regression did not reproduce
+     */
+    public List<String> getSuspects() {
+        return suspects;
+    }
+    
+    /**
+     * Check if the regression was traced to a single jar
+     */
+    public boolean isIsolated() {
+        return isolated;
+    }
+    
+    /**
+     * Get the removed mod sets whose trials crashed or timed out twice, so they could neither be
+     * cleared nor blamed
+     */
+    public List<String> getInconclusive() {
+        return inconclusive;
+    }
+    
+    /**
+     * Get the number of server runs, the reference run and re-runs included
+     */
+    public int getTrials() {
+        return trials;
+    }
+    
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("BisectionReport{metric=%s, baseline=%.2f, bad=%.2f, threshold=%.2f, suspects=%s, isolated=%s, inconclusive=%s, trials=%d}",
+            metric, baselineValue, badValue, threshold, suspects, isolated, inconclusive, trials);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.servertest.mod.model;
+
+/**
+ * Data model representing the machine calibration microbenchmark of a run
+ */
+public class CalibrationReport {
+    private final double cpuMillis;
+    private final double memoryMillis;
+    private final double allocationMillis;
+    private final double cpuScore;
+    private final double memoryScore;
+    private final double allocationScore;
+    private final double score;
+    private final long durationMillis;
+    
+    public CalibrationReport(double cpuMillis, double memoryMillis, double allocationMillis, double cpuScore,
+                             double memoryScore, double allocationScore, double score, long durationMillis) {
+        this.cpuMillis = cpuMillis;
+        this.memoryMillis = memoryMillis;
+        this.allocationMillis = allocationMillis;
+        this.cpuScore = cpuScore;
+        this.memoryScore = memoryScore;
+        this.allocationScore = allocationScore;
+        this.score = score;
+        this.durationMillis = durationMillis;
+    }
+    
+    /**
+     * Get the best time of the integer and floating point kernel
+     */
+    public double getCpuMillis() {
+        return cpuMillis;
+    }
+    
+    /**
+     * Get the best time of the array copy kernel
+     */
+    public double getMemoryMillis() {
+        return memoryMillis;
+    }
+    
+    /**
+     * Get the best time of the short-lived allocation kernel
+     */
+    public double getAllocationMillis() {
+        return allocationMillis;
+    }
+    
+    /**
+     * Get the CPU kernel speed relative to the reference machine
+     */
+    public double getCpuScore() {
+        return cpuScore;
+    }
+    
+    /**
+     * Get the memory kernel speed relative to the reference machine
+     */
+    public double getMemoryScore() {
+        return memoryScore;
+    }
+    
+    /**
+     * Get the allocation kernel speed relative to the reference machine
+     */
+    public double getAllocationScore() {
+        return allocationScore;
+    }
+    
+    /**
+     * Get the geometric mean of the kernel scores
+     * @return speed relative to the reference machine, 2.0 means twice as fast
+     */
+    public double getScore() {
+        return score;
+    }
+    
+    /**
+     * Get the wall time of the whole calibration, all rounds included
+     */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("CalibrationReport{score=%.3f, cpu=%.3f, memory=%.3f, allocation=%.3f, duration=%dms}",
+            score, cpuScore, memoryScore, allocationScore, durationMillis);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,162 @@
+package com.servertest.mod.model;
+
+import java.util.List;
+
+/**
+ * Data model representing repeated measurement windows and their comparison with a baseline
+ */
+public class ComparisonReport {
+    private final List<Double> windowMsptMillis;
+    private final List<Double> normalizedWindowMsptMillis;
+    private final double calibrationScore;
+    private final boolean normalized;
+    private final List<Double> baselineMsptMillis;
+    private final List<Double> discardedMsptMillis;
+    private final List<CpuContention> windowContention;
+    private final boolean valid;
+    private final double relativeChange;
+    private final double changeLower;
+    private final double changeUpper;
+    private final double confidence;
+    private final double pValue;
+    private final boolean exactTest;
+    private final String verdict;
+    
+    public ComparisonReport(List<Double> windowMsptMillis, List<Double> normalizedWindowMsptMillis,
+                            double calibrationScore, boolean normalized, List<Double> baselineMsptMillis,
+                            List<Double> discardedMsptMillis, List<CpuContention> windowContention, boolean valid,
+                            double relativeChange, double changeLower, double changeUpper, double confidence,
+                            double pValue, boolean exactTest, String verdict) {
+        this.windowMsptMillis = windowMsptMillis;
+        this.normalizedWindowMsptMillis = normalizedWindowMsptMillis;
+        this.calibrationScore = calibrationScore;
+        this.normalized = normalized;
+        this.baselineMsptMillis = baselineMsptMillis;
+        this.discardedMsptMillis = discardedMsptMillis;
+        this.windowContention = windowContention;
+        this.valid = valid;
+        this.relativeChange = relativeChange;
+        this.changeLower = changeLower;
+        this.changeUpper = changeUpper;
+        this.confidence = confidence;
+        this.pValue = pValue;
+        this.exactTest = exactTest;
+        this.verdict = verdict;
+    }
+    
+    /**
+     * Get the mean tick time of each clean measurement window of this run
+     */
+    public List<Double> getWindowMsptMillis() {
+        return windowMsptMillis;
+    }
+    
+    /**
+     * Get the clean window means converted to the reference machine with the calibration score
+     * @return normalized samples, empty if the machine was not calibrated
+     */
+    public List<Double> getNormalizedWindowMsptMillis() {
+        return normalizedWindowMsptMillis;
+    }
+    
+    /**
+     * Get the calibration score of the machine this run was measured on
+     * @return speed relative to the reference machine, NaN if not calibrated
+     */
+    public double getCalibrationScore() {
+        return calibrationScore;
+    }
+    
+    /**
+     * Check if the normalized window means were compared instead of the raw ones
+     */
+    public boolean isNormalized() {
+        return normalized;
+    }
+    
+    /**
+     * Get the baseline window means the run was compared with
+     * @return baseline samples, normalized if isNormalized(); empty if no baseline was configured
+     */
+    public List<Double> getBaselineMsptMillis() {
+        return baselineMsptMillis;
+    }
+    
+    /**
+     * Get the mean tick time of the windows discarded because of CPU contention
+     */
+    public List<Double> getDiscardedMsptMillis() {
+        return discardedMsptMillis;
+    }
+    
+    /**
+     * Get the CPU contention of every window in measurement order, discarded ones included
+     */
+    public List<CpuContention> getWindowContention() {
+        return windowContention;
+    }
+    
+    /**
+     * Check if enough clean windows were measured for the comparison to count
+     * @return false if the run was too noisy to judge
+     */
+    public boolean isValid() {
+        return valid;
+    }
+    
+    /**
+     * Get the relative change of the mean MSPT against the baseline (0.05 means 5% slower)
+     */
+    public double getRelativeChange() {
+        return relativeChange;
+    }
+    
+    /**
+     * Get the lower bound of the bootstrap confidence interval of the relative change
+     */
+    public double getChangeLower() {
+        return changeLower;
+    }
+    
+    /**
+     * Get the upper bound of the bootstrap confidence interval of the relative change
+     */
+    public double getChangeUpper() {
+        return changeUpper;
+    }
+    
+    /**
+     * Get the confidence level of the interval
+     */
+    public double getConfidence() {
+        return confidence;
+    }
+    
+    /**
+     * Get the one-sided Mann-Whitney U p-value for this run being slower
+     */
+    public double getPValue() {
+        return pValue;
+    }
+    
+    /**
+     * Check if the p-value comes from the exact U distribution
+     */
+    public boolean isExactTest() {
+        return exactTest;
+    }
+    
+    /**
+     * Get the outcome: "regression", "improvement", "unchanged", "noisy" or "no-baseline"
+     */
+    public String getVerdict() {
+        return verdict;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("ComparisonReport{windows=%d, discarded=%d, baseline=%d, change=%+.2f%% [%+.2f%%, %+.2f%%], p=%.4f, normalized=%s, verdict=%s}",
+            windowMsptMillis.size(), discardedMsptMillis.size(), baselineMsptMillis.size(), relativeChange * 100.0,
+            changeLower * 100.0, changeUpper * 100.0, pValue, normalized, verdict);
+    }
+}
\ No newline at end of file
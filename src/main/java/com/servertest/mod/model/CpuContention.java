@@ -0,0 +1,102 @@
+package com.servertest.mod.model;
+
+/**
+ * Data model representing the CPU contention observed during one measurement window
+ * Throttling comes from the cgroup CPU quota, steal from the hypervisor; either means the
+ * server was waiting for a CPU it did not get, which shows up as tick time on noisy runners.
+ */
+public class CpuContention {
+    private final long durationMillis;
+    private final long periods;
+    private final long throttledPeriods;
+    private final double throttledMillis;
+    private final double throttledFraction;
+    private final double stealFraction;
+    private final boolean cgroupAvailable;
+    private final boolean stealAvailable;
+    private final boolean noisy;
+    
+    public CpuContention(long durationMillis, long periods, long throttledPeriods, double throttledMillis,
+                         double throttledFraction, double stealFraction, boolean cgroupAvailable,
+                         boolean stealAvailable, boolean noisy) {
+        this.durationMillis = durationMillis;
+        this.periods = periods;
+        this.throttledPeriods = throttledPeriods;
+        this.throttledMillis = throttledMillis;
+        this.throttledFraction = throttledFraction;
+        this.stealFraction = stealFraction;
+        this.cgroupAvailable = cgroupAvailable;
+        this.stealAvailable = stealAvailable;
+        this.noisy = noisy;
+    }
+    
+    /**
+     * Get the wall time covered by the measurement
+     */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+    
+    /**
+     * Get the number of elapsed cgroup enforcement periods
+     */
+    public long getPeriods() {
+        return periods;
+    }
+    
+    /**
+     * Get the number of enforcement periods in which the cgroup was throttled
+     */
+    public long getThrottledPeriods() {
+        return throttledPeriods;
+    }
+    
+    /**
+     * Get the total time the cgroup spent throttled
+     */
+    public double getThrottledMillis() {
+        return throttledMillis;
+    }
+    
+    /**
+     * Get the throttled time as a fraction of the wall time
+     */
+    public double getThrottledFraction() {
+        return throttledFraction;
+    }
+    
+    /**
+     * Get the fraction of host CPU time stolen by the hypervisor
+     */
+    public double getStealFraction() {
+        return stealFraction;
+    }
+    
+    /**
+     * Check if cgroup CPU statistics could be read
+     */
+    public boolean isCgroupAvailable() {
+        return cgroupAvailable;
+    }
+    
+    /**
+     * Check if /proc/stat steal time could be read
+     */
+    public boolean isStealAvailable() {
+        return stealAvailable;
+    }
+    
+    /**
+     * Check if the contention exceeded the configured limits
+     * @return true if measurements from this window should not be trusted
+     */
+    public boolean isNoisy() {
+        return noisy;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("CpuContention{throttled=%.1f%% (%d/%d periods), steal=%.1f%%, noisy=%s}",
+            throttledFraction * 100.0, throttledPeriods, periods, stealFraction * 100.0, noisy);
+    }
+}
\ No newline at end of file
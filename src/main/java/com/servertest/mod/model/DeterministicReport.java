@@ -0,0 +1,65 @@
+package com.servertest.mod.model;
+
+/**
+ * Data model representing the world state pinned by deterministic mode
+ */
+public class DeterministicReport {
+    private final long worldSeed;
+    private final long randomSeed;
+    private final int spawnX;
+    private final int spawnY;
+    private final int spawnZ;
+    private final long dayTime;
+    private final int randomTickSpeed;
+    
+    public DeterministicReport(long worldSeed, long randomSeed, int spawnX, int spawnY, int spawnZ, long dayTime,
+                               int randomTickSpeed) {
+        this.worldSeed = worldSeed;
+        this.randomSeed = randomSeed;
+        this.spawnX = spawnX;
+        this.spawnY = spawnY;
+        this.spawnZ = spawnZ;
+        this.dayTime = dayTime;
+        this.randomTickSpeed = randomTickSpeed;
+    }
+    
+    public long getWorldSeed() {
+        return worldSeed;
+    }
+    
+    /**
+     * Get the seed the level random sources were reset to
+     */
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+    
+    public int getSpawnX() {
+        return spawnX;
+    }
+    
+    public int getSpawnY() {
+        return spawnY;
+    }
+    
+    public int getSpawnZ() {
+        return spawnZ;
+    }
+    
+    /**
+     * Get the time of day the clock was stopped at
+     */
+    public long getDayTime() {
+        return dayTime;
+    }
+    
+    public int getRandomTickSpeed() {
+        return randomTickSpeed;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("DeterministicReport{seed=%d, randomSeed=%d, spawn=%d/%d/%d, time=%d, randomTickSpeed=%d}",
+            worldSeed, randomSeed, spawnX, spawnY, spawnZ, dayTime, randomTickSpeed);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.servertest.mod.model;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data model representing the busiest entity types, mods and chunks at one point in time
+ */
+public class EntityCensusReport {
+    private final long uptimeMillis;
+    private final Map<String, Long> topTypes;
+    private final Map<String, Long> topMods;
+    private final Map<String, Long> topChunks;
+    
+    public EntityCensusReport(long uptimeMillis, List<Map.Entry<String, Long>> topTypes,
+                              List<Map.Entry<String, Long>> topMods, List<Map.Entry<String, Long>> topChunks) {
+        this.uptimeMillis = uptimeMillis;
+        this.topTypes = ordered(topTypes);
+        this.topMods = ordered(topMods);
+        this.topChunks = ordered(topChunks);
+    }
+    
+    private static Map<String, Long> ordered(List<Map.Entry<String, Long>> entries) {
+        Map<String, Long> map = new LinkedHashMap<>();
+        entries.forEach(entry -> map.put(entry.getKey(), entry.getValue()));
+        return map;
+    }
+    
+    /**
+     * Get the JVM uptime when the census was read
+     */
+    public long getUptimeMillis() {
+        return uptimeMillis;
+    }
+    
+    /**
+     * Get the entity types with the most loaded entities
+     * @return count per type id, largest first
+     */
+    public Map<String, Long> getTopTypes() {
+        return topTypes;
+    }
+    
+    /**
+     * Get the mods that own the most loaded entities
+     * @return count per mod id, largest first
+     */
+    public Map<String, Long> getTopMods() {
+        return topMods;
+    }
+    
+    /**
+     * Get the chunks that hold the most entities
+     * @return count per "dimension x,z", largest first
+     */
+    public Map<String, Long> getTopChunks() {
+        return topChunks;
+    }
+}
\ No newline at end of file
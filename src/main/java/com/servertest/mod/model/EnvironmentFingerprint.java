@@ -0,0 +1,185 @@
+package com.servertest.mod.model;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Data model describing the hardware, container, JVM and game versions a run was measured on
+ */
+public class EnvironmentFingerprint {
+    private final String description;
+    private final String osName;
+    private final String osArch;
+    private final String cpuModel;
+    private final int availableProcessors;
+    private final double containerCpuLimit;
+    private final long totalMemoryBytes;
+    private final long containerMemoryLimitBytes;
+    private final String jvmVendor;
+    private final String jvmVersion;
+    private final List<String> garbageCollectors;
+    private final long maxHeapBytes;
+    private final List<String> heapFlags;
+    private final String minecraftVersion;
+    private final String forgeVersion;
+    private final String hardwareClass;
+    private final String fingerprint;
+    
+    public EnvironmentFingerprint(String description, String osName, String osArch, String cpuModel,
+                                  int availableProcessors, double containerCpuLimit, long totalMemoryBytes,
+                                  long containerMemoryLimitBytes, String jvmVendor, String jvmVersion,
+                                  List<String> garbageCollectors, long maxHeapBytes, List<String> heapFlags,
+                                  String minecraftVersion, String forgeVersion, String hardwareClass,
+                                  String fingerprint) {
+        this.description = description;
+        this.osName = osName;
+        this.osArch = osArch;
+        this.cpuModel = cpuModel;
+        this.availableProcessors = availableProcessors;
+        this.containerCpuLimit = containerCpuLimit;
+        this.totalMemoryBytes = totalMemoryBytes;
+        this.containerMemoryLimitBytes = containerMemoryLimitBytes;
+        this.jvmVendor = jvmVendor;
+        this.jvmVersion = jvmVersion;
+        this.garbageCollectors = garbageCollectors;
+        this.maxHeapBytes = maxHeapBytes;
+        this.heapFlags = heapFlags;
+        this.minecraftVersion = minecraftVersion;
+        this.forgeVersion = forgeVersion;
+        this.hardwareClass = hardwareClass;
+        this.fingerprint = fingerprint;
+    }
+    
+    /**
+     * Get the environment description, e.g. "CI Environment detected: GitHub Actions"
+     */
+    public String getDescription() {
+        return description;
+    }
+    
+    public String getOsName() {
+        return osName;
+    }
+    
+    public String getOsArch() {
+        return osArch;
+    }
+    
+    /**
+     * Get the CPU model name
+     * @return model name, or "unknown" if the platform does not expose it
+     */
+    public String getCpuModel() {
+        return cpuModel;
+    }
+    
+    /**
+     * Get the processors available to the JVM, already reduced by container limits
+     */
+    public int getAvailableProcessors() {
+        return availableProcessors;
+    }
+    
+    /**
+     * Get the cgroup CPU quota in cores
+     * @return cores, or -1 without a quota
+     */
+    public double getContainerCpuLimit() {
+        return containerCpuLimit;
+    }
+    
+    /**
+     * Get the physical memory of the machine
+     * @return bytes, or -1 if unknown
+     */
+    public long getTotalMemoryBytes() {
+        return totalMemoryBytes;
+    }
+    
+    /**
+     * Get the cgroup memory limit
+     * @return bytes, or -1 without a limit
+     */
+    public long getContainerMemoryLimitBytes() {
+        return containerMemoryLimitBytes;
+    }
+    
+    public String getJvmVendor() {
+        return jvmVendor;
+    }
+    
+    public String getJvmVersion() {
+        return jvmVersion;
+    }
+    
+    /**
+     * Get the names of the active garbage collectors, e.g. "G1 Young Generation"
+     */
+    public List<String> getGarbageCollectors() {
+        return garbageCollectors;
+    }
+    
+    public long getMaxHeapBytes() {
+        return maxHeapBytes;
+    }
+    
+    /**
+     * Get the -Xms/-Xmx/-Xmn/-Xss and -XX JVM arguments
+     */
+    public List<String> getHeapFlags() {
+        return heapFlags;
+    }
+    
+    public String getMinecraftVersion() {
+        return minecraftVersion;
+    }
+    
+    public String getForgeVersion() {
+        return forgeVersion;
+    }
+    
+    /**
+     * Get the hash of the hardware the run used: CPU model, effective cores and memory
+     * Results are only compared directly with baselines of the same hardware class.
+     * @return short hex hash
+     */
+    public String getHardwareClass() {
+        return hardwareClass;
+    }
+    
+    /**
+     * Get the hash of every field except the description
+     * @return short hex hash
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("EnvironmentFingerprint{cpu=%s x%d, jvm=%s %s, gc=%s, minecraft=%s, forge=%s, class=%s}",
+            cpuModel, availableProcessors, jvmVendor, jvmVersion, garbageCollectors, minecraftVersion, forgeVersion,
+            hardwareClass);
+    }
+    
+    /**
+     * Hash a description into the short hex form used for fingerprints and mod set hashes
+     * @param value Text to hash
+     * @return first 6 bytes of the SHA-256 digest as 12 hex digits
+     */
+    public static String shortHash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 6; i++) {
+                hex.append(String.format(Locale.ROOT, "%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,146 @@
+package com.servertest.mod.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data model representing a GameTest run with per-test cost and budget results
+ */
+public class GameTestReport {
+    private final double baselineMsptMillis;
+    private final List<TestEntry> tests;
+    private final int failedRequired;
+    private final int overBudget;
+    
+    public GameTestReport(double baselineMsptMillis, List<TestEntry> tests, int failedRequired, int overBudget) {
+        this.baselineMsptMillis = baselineMsptMillis;
+        this.tests = tests;
+        this.failedRequired = failedRequired;
+        this.overBudget = overBudget;
+    }
+    
+    /**
+     * Get the mean tick time measured before any test was placed
+     */
+    public double getBaselineMsptMillis() {
+        return baselineMsptMillis;
+    }
+    
+    /**
+     * Get the results of every test, in the order the tests finished
+     */
+    public List<TestEntry> getTests() {
+        return tests;
+    }
+    
+    /**
+     * Get the number of required tests whose assertions failed
+     */
+    public int getFailedRequired() {
+        return failedRequired;
+    }
+    
+    /**
+     * Get the number of tests that exceeded their performance budget
+     */
+    public int getOverBudget() {
+        return overBudget;
+    }
+    
+    /**
+     * Cost of one GameTest and the budget limits it broke
+     * Tests of one batch run side by side, so with parallel batches the tick time of a test
+     * includes its neighbours; run with gametest.parallel=false to measure tests in isolation.
+     */
+    public static class TestEntry {
+        private final String name;
+        private final String batch;
+        private final boolean passed;
+        private final boolean required;
+        private final String error;
+        private final long ticks;
+        private final long wallMillis;
+        private final double meanMsptMillis;
+        private final double msptImpactMillis;
+        private final Map<String, Double> budget;
+        private final List<String> failures;
+        
+        public TestEntry(String name, String batch, boolean passed, boolean required, String error, long ticks,
+                         long wallMillis, double meanMsptMillis, double msptImpactMillis, Map<String, Double> budget,
+                         List<String> failures) {
+            this.name = name;
+            this.batch = batch;
+            this.passed = passed;
+            this.required = required;
+            this.error = error;
+            this.ticks = ticks;
+            this.wallMillis = wallMillis;
+            this.meanMsptMillis = meanMsptMillis;
+            this.msptImpactMillis = msptImpactMillis;
+            this.budget = budget;
+            this.failures = failures;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public String getBatch() {
+            return batch;
+        }
+        
+        /**
+         * Check if the test's own assertions passed
+         */
+        public boolean isPassed() {
+            return passed;
+        }
+        
+        public boolean isRequired() {
+            return required;
+        }
+        
+        /**
+         * Get the failure message of the test, or null if it passed
+         */
+        public String getError() {
+            return error;
+        }
+        
+        /**
+         * Get the game ticks from the test's start until it succeeded or failed, setup ticks included
+         */
+        public long getTicks() {
+            return ticks;
+        }
+        
+        public long getWallMillis() {
+            return wallMillis;
+        }
+        
+        /**
+         * Get the mean server tick time while the test's structure was in the world
+         */
+        public double getMeanMsptMillis() {
+            return meanMsptMillis;
+        }
+        
+        /**
+         * Get the mean tick time above the baseline measured before the tests
+         */
+        public double getMsptImpactMillis() {
+            return msptImpactMillis;
+        }
+        
+        public Map<String, Double> getBudget() {
+            return budget;
+        }
+        
+        /**
+         * Get the budget limits the test exceeded
+         */
+        public List<String> getFailures() {
+            return failures;
+        }
+    }
+}
\ No newline at end of file
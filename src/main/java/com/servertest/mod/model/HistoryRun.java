@@ -0,0 +1,53 @@
+package com.servertest.mod.model;
+
+/**
+ * Data model identifying one run in the result history
+ */
+public class HistoryRun {
+    private final long timestampMillis;
+    private final String commit;
+    private final String modSetHash;
+    private final String environment;
+    
+    public HistoryRun(long timestampMillis, String commit, String modSetHash, String environment) {
+        this.timestampMillis = timestampMillis;
+        this.commit = commit;
+        this.modSetHash = modSetHash;
+        this.environment = environment;
+    }
+    
+    /**
+     * Get when the run finished
+     * @return epoch milliseconds
+     */
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+    
+    /**
+     * Get the commit the run was built from
+     * @return commit id or "unknown"
+     */
+    public String getCommit() {
+        return commit;
+    }
+    
+    /**
+     * Get the hash of the loaded mod ids and versions
+     */
+    public String getModSetHash() {
+        return modSetHash;
+    }
+    
+    /**
+     * Get the fingerprint of the machine and JVM the run used
+     */
+    public String getEnvironment() {
+        return environment;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("HistoryRun{commit=%s, mods=%s, environment=%s}", commit, modSetHash, environment);
+    }
+}
\ No newline at end of file
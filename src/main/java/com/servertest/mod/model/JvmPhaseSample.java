@@ -0,0 +1,114 @@
+package com.servertest.mod.model;
+
+import java.util.Map;
+
+/**
+ * Data model representing class loading and JIT compilation counters at the end of a phase
+ */
+public class JvmPhaseSample {
+    private final String phase;
+    private final long uptimeMillis;
+    private final int loadedClasses;
+    private final long totalLoadedClasses;
+    private final long unloadedClasses;
+    private final long compilationMillis;
+    private final long classesLoadedInPhase;
+    private final long compilationMillisInPhase;
+    private final Map<String, Integer> loadedClassesByMod;
+    
+    public JvmPhaseSample(String phase, long uptimeMillis, int loadedClasses, long totalLoadedClasses,
+                          long unloadedClasses, long compilationMillis, long classesLoadedInPhase,
+                          long compilationMillisInPhase, Map<String, Integer> loadedClassesByMod) {
+        this.phase = phase;
+        this.uptimeMillis = uptimeMillis;
+        this.loadedClasses = loadedClasses;
+        this.totalLoadedClasses = totalLoadedClasses;
+        this.unloadedClasses = unloadedClasses;
+        this.compilationMillis = compilationMillis;
+        this.classesLoadedInPhase = classesLoadedInPhase;
+        this.compilationMillisInPhase = compilationMillisInPhase;
+        this.loadedClassesByMod = loadedClassesByMod;
+    }
+    
+    /**
+     * Get the name of the phase that just ended
+     */
+    public String getPhase() {
+        return phase;
+    }
+    
+    /**
+     * Get the JVM uptime at the end of the phase
+     * @return uptime in milliseconds
+     */
+    public long getUptimeMillis() {
+        return uptimeMillis;
+    }
+    
+    /**
+     * Get the number of classes currently loaded
+     */
+    public int getLoadedClasses() {
+        return loadedClasses;
+    }
+    
+    /**
+     * Get the number of classes loaded since JVM start, including unloaded ones
+     */
+    public long getTotalLoadedClasses() {
+        return totalLoadedClasses;
+    }
+    
+    /**
+     * Get the number of classes unloaded since JVM start
+     */
+    public long getUnloadedClasses() {
+        return unloadedClasses;
+    }
+    
+    /**
+     * Get the accumulated JIT compilation time since JVM start
+     * @return compilation time in milliseconds, or -1 if the JVM does not report it
+     */
+    public long getCompilationMillis() {
+        return compilationMillis;
+    }
+    
+    /**
+     * Get the number of classes loaded during this phase
+     */
+    public long getClassesLoadedInPhase() {
+        return classesLoadedInPhase;
+    }
+    
+    /**
+     * Get the JIT compilation time spent during this phase
+     * @return compilation time in milliseconds, or -1 if the JVM does not report it
+     */
+    public long getCompilationMillisInPhase() {
+        return compilationMillisInPhase;
+    }
+    
+    /**
+     * Get the currently loaded classes attributed to mods by package
+     * @return class count per mod ID, or null if attribution was not done for this phase
+     */
+    public Map<String, Integer> getLoadedClassesByMod() {
+        return loadedClassesByMod;
+    }
+    
+    /**
+     * Copy this sample with the loaded classes attributed to mods
+     * @param byMod class count per mod ID
+     */
+    public JvmPhaseSample withLoadedClassesByMod(Map<String, Integer> byMod) {
+        return new JvmPhaseSample(phase, uptimeMillis, loadedClasses, totalLoadedClasses, unloadedClasses,
+            compilationMillis, classesLoadedInPhase, compilationMillisInPhase, byMod);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("JvmPhaseSample{phase=%s, classesLoaded=%d, jit=%dms}",
+            phase, classesLoadedInPhase, compilationMillisInPhase);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.servertest.mod.model;
+
+import java.util.List;
+
+/**
+ * Data model representing the outcome of a memory leak detection run
+ */
+public class LeakReport {
+    private final String mode;
+    private final int cycles;
+    private final List<Long> postGcHeapBytes;
+    private final double slopeBytesPerCycle;
+    private final double rSquared;
+    private final double monotonicRatio;
+    private final boolean leakDetected;
+    private final String heapDumpPath;
+    
+    public LeakReport(String mode, int cycles, List<Long> postGcHeapBytes, double slopeBytesPerCycle,
+                      double rSquared, double monotonicRatio, boolean leakDetected, String heapDumpPath) {
+        this.mode = mode;
+        this.cycles = cycles;
+        this.postGcHeapBytes = postGcHeapBytes;
+        this.slopeBytesPerCycle = slopeBytesPerCycle;
+        this.rSquared = rSquared;
+        this.monotonicRatio = monotonicRatio;
+        this.leakDetected = leakDetected;
+        this.heapDumpPath = heapDumpPath;
+    }
+    
+    /**
+     * Get the load/unload mode that was exercised ("chunks" or "datapacks")
+     */
+    public String getMode() {
+        return mode;
+    }
+    
+    /**
+     * Get the number of completed load/unload cycles
+     */
+    public int getCycles() {
+        return cycles;
+    }
+    
+    /**
+     * Get the post-GC heap usage recorded after each cycle
+     * @return list of heap sizes in bytes
+     */
+    public List<Long> getPostGcHeapBytes() {
+        return postGcHeapBytes;
+    }
+    
+    /**
+     * Get the fitted heap growth per cycle
+     * @return slope in bytes per cycle
+     */
+    public double getSlopeBytesPerCycle() {
+        return slopeBytesPerCycle;
+    }
+    
+    /**
+     * Get the coefficient of determination of the trend fit
+     */
+    public double getRSquared() {
+        return rSquared;
+    }
+    
+    /**
+     * Get the fraction of cycles after which heap usage did not go down
+     */
+    public double getMonotonicRatio() {
+        return monotonicRatio;
+    }
+    
+    /**
+     * Check if a leak was flagged
+     * @return true if heap growth exceeded the configured threshold
+     */
+    public boolean isLeakDetected() {
+        return leakDetected;
+    }
+    
+    /**
+     * Get the path of the heap dump taken when a leak was flagged
+     * @return heap dump path or null if no dump was written
+     */
+    public String getHeapDumpPath() {
+        return heapDumpPath;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("LeakReport{mode=%s, cycles=%d, slope=%.1fKB/cycle, monotonic=%.2f, leak=%s}",
+            mode, cycles, slopeBytesPerCycle / 1024.0, monotonicRatio, leakDetected);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.servertest.mod.model;
+
+import com.google.gson.JsonObject;
+
+/**
+ * Data model representing the run of one variant in a matrix report
+ */
+public class MatrixEntry {
+    private final String name;
+    private final int port;
+    private final String cpus;
+    private final int exitCode;
+    private final boolean timedOut;
+    private final long durationMillis;
+    private final double startupMillis;
+    private final double msptMillis;
+    private final JsonObject report;
+    
+    public MatrixEntry(String name, int port, String cpus, int exitCode, boolean timedOut, long durationMillis,
+                       double startupMillis, double msptMillis, JsonObject report) {
+        this.name = name;
+        this.port = port;
+        this.cpus = cpus;
+        this.exitCode = exitCode;
+        this.timedOut = timedOut;
+        this.durationMillis = durationMillis;
+        this.startupMillis = startupMillis;
+        this.msptMillis = msptMillis;
+        this.report = report;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public int getPort() {
+        return port;
+    }
+    
+    /**
+     * Get the CPUs the server was pinned to, null if it shared all of them
+     */
+    public String getCpus() {
+        return cpus;
+    }
+    
+    /**
+     * Get the server exit code, -1 if it was killed after the timeout
+     */
+    public int getExitCode() {
+        return exitCode;
+    }
+    
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+    
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+    
+    /**
+     * Get the JVM uptime when the server finished starting, NaN if unknown
+     */
+    public double getStartupMillis() {
+        return startupMillis;
+    }
+    
+    /**
+     * Get the mean measurement window MSPT, or the average tick time without windows; NaN if unknown
+     */
+    public double getMsptMillis() {
+        return msptMillis;
+    }
+    
+    /**
+     * Get the full report of the server, null if it did not write one
+     */
+    public JsonObject getReport() {
+        return report;
+    }
+    
+    /**
+     * Check if the server ran to completion and reported
+     */
+    public boolean isSuccess() {
+        return report != null && exitCode == 0;
+    }
+}
\ No newline at end of file
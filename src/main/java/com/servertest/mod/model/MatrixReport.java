@@ -0,0 +1,45 @@
+package com.servertest.mod.model;
+
+import java.util.List;
+
+/**
+ * Data model representing the merged reports of a matrix run
+ */
+public class MatrixReport {
+    private final int parallel;
+    private final int cpusPerServer;
+    private final long durationMillis;
+    private final List<MatrixEntry> variants;
+    
+    public MatrixReport(int parallel, int cpusPerServer, long durationMillis, List<MatrixEntry> variants) {
+        this.parallel = parallel;
+        this.cpusPerServer = cpusPerServer;
+        this.durationMillis = durationMillis;
+        this.variants = variants;
+    }
+    
+    /**
+     * Get the number of servers that ran at the same time
+     */
+    public int getParallel() {
+        return parallel;
+    }
+    
+    /**
+     * Get the CPUs each server was pinned to, 0 if pinning was off
+     */
+    public int getCpusPerServer() {
+        return cpusPerServer;
+    }
+    
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+    
+    /**
+     * Get one entry per variant, in the order of the matrix file
+     */
+    public List<MatrixEntry> getVariants() {
+        return variants;
+    }
+}
\ No newline at end of file
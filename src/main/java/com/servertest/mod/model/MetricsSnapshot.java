@@ -0,0 +1,103 @@
+package com.servertest.mod.model;
+
+import java.util.Map;
+
+/**
+ * Data model representing a copy of every metric in the metrics registry
+ * Series keys are the metric name followed by its labels, e.g. servertest_entities{dimension="minecraft:overworld"}.
+ * All values are in the exported unit (seconds rather than nanoseconds).
+ */
+public class MetricsSnapshot {
+    private final long timestampMillis;
+    private final long intervalMillis;
+    private final Map<String, Double> counters;
+    private final Map<String, Double> gauges;
+    private final Map<String, HistogramSummary> histograms;
+    
+    public MetricsSnapshot(long timestampMillis, long intervalMillis, Map<String, Double> counters,
+                           Map<String, Double> gauges, Map<String, HistogramSummary> histograms) {
+        this.timestampMillis = timestampMillis;
+        this.intervalMillis = intervalMillis;
+        this.counters = counters;
+        this.gauges = gauges;
+        this.histograms = histograms;
+    }
+    
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+    
+    /**
+     * Get the length of the interval covered by counters and histograms
+     * @return interval in milliseconds, 0 for a cumulative snapshot
+     */
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+    
+    public Map<String, Double> getCounters() {
+        return counters;
+    }
+    
+    public Map<String, Double> getGauges() {
+        return gauges;
+    }
+    
+    public Map<String, HistogramSummary> getHistograms() {
+        return histograms;
+    }
+    
+    /**
+     * Summary statistics of one histogram series
+     */
+    public static class HistogramSummary {
+        private final long count;
+        private final double sum;
+        private final double mean;
+        private final double p50;
+        private final double p95;
+        private final double p99;
+        private final double max;
+        
+        public HistogramSummary(long count, double sum, double mean, double p50, double p95, double p99, double max) {
+            this.count = count;
+            this.sum = sum;
+            this.mean = mean;
+            this.p50 = p50;
+            this.p95 = p95;
+            this.p99 = p99;
+            this.max = max;
+        }
+        
+        public long getCount() {
+            return count;
+        }
+        
+        public double getSum() {
+            return sum;
+        }
+        
+        public double getMean() {
+            return mean;
+        }
+        
+        public double getP50() {
+            return p50;
+        }
+        
+        public double getP95() {
+            return p95;
+        }
+        
+        public double getP99() {
+            return p99;
+        }
+        
+        /**
+         * Get the upper bound of the highest non-empty bucket
+         */
+        public double getMax() {
+            return max;
+        }
+    }
+}
\ No newline at end of file
@@ -7,11 +7,17 @@ public class ModInfo {
     private final String modId;
     private final String version;
     private final String displayName;
+    private final RegistryFootprint registryFootprint;
     
     public ModInfo(String modId, String version, String displayName) {
+        this(modId, version, displayName, null);
+    }
+    
+    public ModInfo(String modId, String version, String displayName, RegistryFootprint registryFootprint) {
         this.modId = modId;
         this.version = version;
         this.displayName = displayName;
+        this.registryFootprint = registryFootprint;
     }
     
     /**
@@ -38,6 +44,14 @@ public class ModInfo {
         return displayName;
     }
     
+    /**
+     * Get the registry entries this mod contributes
+     * @return registry footprint or null if it was not collected
+     */
+    public RegistryFootprint getRegistryFootprint() {
+        return registryFootprint;
+    }
+    
     @Override
     public String toString() {
         return String.format("%s (%s) - %s", displayName, version, modId);
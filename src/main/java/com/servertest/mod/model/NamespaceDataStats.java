@@ -0,0 +1,88 @@
+package com.servertest.mod.model;
+
+/**
+ * Data model representing the data-driven content a single namespace contributes
+ */
+public class NamespaceDataStats {
+    private final String namespace;
+    private int recipes;
+    private int tags;
+    private int lootTables;
+    private int advancements;
+    private int files;
+    private long parseMillis;
+    private transient long parseNanos;
+    
+    public NamespaceDataStats(String namespace) {
+        this.namespace = namespace;
+    }
+    
+    public String getNamespace() {
+        return namespace;
+    }
+    
+    public int getRecipes() {
+        return recipes;
+    }
+    
+    public int getTags() {
+        return tags;
+    }
+    
+    public int getLootTables() {
+        return lootTables;
+    }
+    
+    public int getAdvancements() {
+        return advancements;
+    }
+    
+    /**
+     * Get the number of data files parsed when timing this namespace
+     */
+    public int getFiles() {
+        return files;
+    }
+    
+    /**
+     * Get the time a plain JSON parse of this namespace's data files takes
+     * This is a proxy for the namespace's share of a reload: the recipe, tag and loot managers
+     * also decode and resolve what they parse, and that work is not included
+     * @return parse time in milliseconds
+     */
+    public long getParseMillis() {
+        return parseMillis;
+    }
+    
+    public void addRecipe() {
+        recipes++;
+    }
+    
+    public void addTag() {
+        tags++;
+    }
+    
+    public void addLootTable() {
+        lootTables++;
+    }
+    
+    public void addAdvancement() {
+        advancements++;
+    }
+    
+    /**
+     * Record one data file that was read and parsed
+     * @param nanos Time taken in nanoseconds
+     */
+    public void addFileParse(long nanos) {
+        files++;
+        parseNanos += nanos;
+        parseMillis = parseNanos / 1_000_000L;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%s: %d recipes, %d tags, %d loot tables, %d advancements, %dms parse",
+            namespace, recipes, tags, lootTables, advancements, parseMillis);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.servertest.mod.model;
+
+import java.util.Map;
+
+/**
+ * Data model representing off-heap memory usage at one point of the test run
+ */
+public class NativeMemorySnapshot {
+    private final String phase;
+    private final long uptimeMillis;
+    private final long heapUsedBytes;
+    private final Map<String, BufferPool> bufferPools;
+    private final Map<String, Long> nettyAllocator;
+    private final Map<String, Long> nmtCommittedKb;
+    
+    public NativeMemorySnapshot(String phase, long uptimeMillis, long heapUsedBytes,
+                                Map<String, BufferPool> bufferPools, Map<String, Long> nettyAllocator,
+                                Map<String, Long> nmtCommittedKb) {
+        this.phase = phase;
+        this.uptimeMillis = uptimeMillis;
+        this.heapUsedBytes = heapUsedBytes;
+        this.bufferPools = bufferPools;
+        this.nettyAllocator = nettyAllocator;
+        this.nmtCommittedKb = nmtCommittedKb;
+    }
+    
+    /**
+     * Get the test phase the snapshot was taken in
+     * @return "startup", "shutdown", or "load:" followed by the name of the test task that just finished
+     * ("load:information-collection" after information collection)
+     */
+    public String getPhase() {
+        return phase;
+    }
+    
+    /**
+     * Get the JVM uptime when the snapshot was taken
+     * @return uptime in milliseconds
+     */
+    public long getUptimeMillis() {
+        return uptimeMillis;
+    }
+    
+    /**
+     * Get heap usage at the time of the snapshot, for comparison with off-heap usage
+     * @return used heap in bytes
+     */
+    public long getHeapUsedBytes() {
+        return heapUsedBytes;
+    }
+    
+    /**
+     * Get NIO buffer pool usage keyed by pool name ("direct", "mapped", ...)
+     */
+    public Map<String, BufferPool> getBufferPools() {
+        return bufferPools;
+    }
+    
+    /**
+     * Get Netty allocator statistics keyed by metric name
+     * @return metrics map, empty if the allocator is not pooled
+     */
+    public Map<String, Long> getNettyAllocator() {
+        return nettyAllocator;
+    }
+    
+    /**
+     * Get the Native Memory Tracking summary as committed KB per category, including "Total"
+     * @return category map or null if NMT is not enabled
+     */
+    public Map<String, Long> getNmtCommittedKb() {
+        return nmtCommittedKb;
+    }
+    
+    /**
+     * Usage of a single NIO buffer pool
+     */
+    public static class BufferPool {
+        private final long count;
+        private final long usedBytes;
+        private final long capacityBytes;
+        
+        public BufferPool(long count, long usedBytes, long capacityBytes) {
+            this.count = count;
+            this.usedBytes = usedBytes;
+            this.capacityBytes = capacityBytes;
+        }
+        
+        public long getCount() {
+            return count;
+        }
+        
+        public long getUsedBytes() {
+            return usedBytes;
+        }
+        
+        public long getCapacityBytes() {
+            return capacityBytes;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.servertest.mod.model;
+
+/**
+ * Data model representing the server thread time spent by the mod itself
+ */
+public class OverheadReport {
+    private final double budgetMicros;
+    private final long ticks;
+    private final double meanMicrosPerTick;
+    private final double maxMicrosPerTick;
+    private final long ticksOverBudget;
+    private final long deferredRuns;
+    private final long forcedRuns;
+    
+    public OverheadReport(double budgetMicros, long ticks, double meanMicrosPerTick, double maxMicrosPerTick,
+                          long ticksOverBudget, long deferredRuns, long forcedRuns) {
+        this.budgetMicros = budgetMicros;
+        this.ticks = ticks;
+        this.meanMicrosPerTick = meanMicrosPerTick;
+        this.maxMicrosPerTick = maxMicrosPerTick;
+        this.ticksOverBudget = ticksOverBudget;
+        this.deferredRuns = deferredRuns;
+        this.forcedRuns = forcedRuns;
+    }
+    
+    /**
+     * Get the configured per-tick budget
+     * @return budget in microseconds
+     */
+    public double getBudgetMicros() {
+        return budgetMicros;
+    }
+    
+    public long getTicks() {
+        return ticks;
+    }
+    
+    /**
+     * Get the average time the mod spent on the server thread per tick
+     * @return mean overhead in microseconds
+     */
+    public double getMeanMicrosPerTick() {
+        return meanMicrosPerTick;
+    }
+    
+    /**
+     * Get the largest time the mod spent on the server thread in a single tick
+     * @return max overhead in microseconds
+     */
+    public double getMaxMicrosPerTick() {
+        return maxMicrosPerTick;
+    }
+    
+    /**
+     * Get the number of ticks in which the mod exceeded its budget
+     */
+    public long getTicksOverBudget() {
+        return ticksOverBudget;
+    }
+    
+    /**
+     * Get the number of collector runs and metrics file updates postponed to a later tick to stay within budget
+     */
+    public long getDeferredRuns() {
+        return deferredRuns;
+    }
+    
+    /**
+     * Get the number of collector runs that went over the budget after being postponed too many ticks in a row
+     */
+    public long getForcedRuns() {
+        return forcedRuns;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("OverheadReport{budget=%.0fus, mean=%.1fus, max=%.1fus, overBudget=%d/%d, deferred=%d, forced=%d}",
+            budgetMicros, meanMicrosPerTick, maxMicrosPerTick, ticksOverBudget, ticks, deferredRuns, forcedRuns);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.servertest.mod.model;
+
+/**
+ * Data model representing one periodic status sample taken in production mode
+ */
+public class ProductionStatus {
+    private final long uptimeMillis;
+    private final double tps;
+    private final double meanTickMillis;
+    private final int playerCount;
+    private final OverheadReport overhead;
+    
+    public ProductionStatus(long uptimeMillis, double tps, double meanTickMillis, int playerCount,
+                            OverheadReport overhead) {
+        this.uptimeMillis = uptimeMillis;
+        this.tps = tps;
+        this.meanTickMillis = meanTickMillis;
+        this.playerCount = playerCount;
+        this.overhead = overhead;
+    }
+    
+    /**
+     * Get the JVM uptime when the sample was taken
+     */
+    public long getUptimeMillis() {
+        return uptimeMillis;
+    }
+    
+    public double getTps() {
+        return tps;
+    }
+    
+    /**
+     * Get the mean tick duration since the server started
+     */
+    public double getMeanTickMillis() {
+        return meanTickMillis;
+    }
+    
+    public int getPlayerCount() {
+        return playerCount;
+    }
+    
+    /**
+     * Get the mod's own overhead up to this sample
+     */
+    public OverheadReport getOverhead() {
+        return overhead;
+    }
+}
\ No newline at end of file
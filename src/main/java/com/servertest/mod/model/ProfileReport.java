@@ -0,0 +1,107 @@
+package com.servertest.mod.model;
+
+/**
+ * Data model representing the tick statistics of one profiling window
+ */
+public class ProfileReport {
+    private final String label;
+    private final long durationMillis;
+    private final long ticks;
+    private final double tps;
+    private final double meanTickMillis;
+    private final double p50TickMillis;
+    private final double p95TickMillis;
+    private final double p99TickMillis;
+    private final long gcCount;
+    private final long gcMillis;
+    private final CpuContention cpuContention;
+    
+    public ProfileReport(String label, long durationMillis, long ticks, double tps, double meanTickMillis,
+                         double p50TickMillis, double p95TickMillis, double p99TickMillis,
+                         long gcCount, long gcMillis, CpuContention cpuContention) {
+        this.label = label;
+        this.durationMillis = durationMillis;
+        this.ticks = ticks;
+        this.tps = tps;
+        this.meanTickMillis = meanTickMillis;
+        this.p50TickMillis = p50TickMillis;
+        this.p95TickMillis = p95TickMillis;
+        this.p99TickMillis = p99TickMillis;
+        this.gcCount = gcCount;
+        this.gcMillis = gcMillis;
+        this.cpuContention = cpuContention;
+    }
+    
+    /**
+     * Get the label given when the window was started
+     */
+    public String getLabel() {
+        return label;
+    }
+    
+    /**
+     * Get the wall time covered by the window
+     */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+    
+    public long getTicks() {
+        return ticks;
+    }
+    
+    /**
+     * Get the ticks per second achieved during the window
+     */
+    public double getTps() {
+        return tps;
+    }
+    
+    public double getMeanTickMillis() {
+        return meanTickMillis;
+    }
+    
+    /**
+     * Get the median tick duration, interpolated from the tick histogram
+     */
+    public double getP50TickMillis() {
+        return p50TickMillis;
+    }
+    
+    public double getP95TickMillis() {
+        return p95TickMillis;
+    }
+    
+    public double getP99TickMillis() {
+        return p99TickMillis;
+    }
+    
+    /**
+     * Get the number of garbage collections during the window
+     */
+    public long getGcCount() {
+        return gcCount;
+    }
+    
+    /**
+     * Get the accumulated garbage collection time during the window
+     */
+    public long getGcMillis() {
+        return gcMillis;
+    }
+    
+    /**
+     * Get the cgroup throttling and steal time during the window
+     * @return contention; isNoisy() tells whether the numbers should be trusted
+     */
+    public CpuContention getCpuContention() {
+        return cpuContention;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("ProfileReport{label=%s, ticks=%d, tps=%.1f, mean=%.2fms, p50=%.2fms, p95=%.2fms, p99=%.2fms, gc=%d/%dms, noisy=%s}",
+            label, ticks, tps, meanTickMillis, p50TickMillis, p95TickMillis, p99TickMillis, gcCount, gcMillis,
+            cpuContention.isNoisy());
+    }
+}
\ No newline at end of file
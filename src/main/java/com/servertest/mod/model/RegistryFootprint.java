@@ -0,0 +1,116 @@
+package com.servertest.mod.model;
+
+/**
+ * Data model representing how much a single mod adds to the game registries
+ */
+public class RegistryFootprint {
+    private int blocks;
+    private int blockStates;
+    private int items;
+    private int entityTypes;
+    private int blockEntityTypes;
+    private int biomes;
+    private int features;
+    private long estimatedBlockStateBytes;
+    private long estimatedRegistrationMillis;
+    private double registrationShare;
+    
+    /**
+     * Get the number of registered blocks
+     */
+    public int getBlocks() {
+        return blocks;
+    }
+    
+    /**
+     * Get the number of block states generated for this mod's blocks
+     */
+    public int getBlockStates() {
+        return blockStates;
+    }
+    
+    public int getItems() {
+        return items;
+    }
+    
+    public int getEntityTypes() {
+        return entityTypes;
+    }
+    
+    public int getBlockEntityTypes() {
+        return blockEntityTypes;
+    }
+    
+    public int getBiomes() {
+        return biomes;
+    }
+    
+    /**
+     * Get the number of placed worldgen features
+     */
+    public int getFeatures() {
+        return features;
+    }
+    
+    /**
+     * Get the estimated heap cost of this mod's block state tables
+     * @return estimated size in bytes
+     */
+    public long getEstimatedBlockStateBytes() {
+        return estimatedBlockStateBytes;
+    }
+    
+    /**
+     * Get the part of startup registration time attributed to this mod by entry count
+     * @return estimated time in milliseconds
+     */
+    public long getEstimatedRegistrationMillis() {
+        return estimatedRegistrationMillis;
+    }
+    
+    /**
+     * Get this mod's share of startup registration time
+     * @return share between 0.0 and 1.0
+     */
+    public double getRegistrationShare() {
+        return registrationShare;
+    }
+    
+    public void addBlock(int states, long estimatedStateBytes) {
+        blocks++;
+        blockStates += states;
+        estimatedBlockStateBytes += estimatedStateBytes;
+    }
+    
+    public void addItem() {
+        items++;
+    }
+    
+    public void addEntityType() {
+        entityTypes++;
+    }
+    
+    public void addBlockEntityType() {
+        blockEntityTypes++;
+    }
+    
+    public void addBiome() {
+        biomes++;
+    }
+    
+    public void addFeature() {
+        features++;
+    }
+    
+    public void setRegistrationTime(long estimatedMillis, double share) {
+        this.estimatedRegistrationMillis = estimatedMillis;
+        this.registrationShare = share;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%d blocks (%d states, ~%dKB), %d items, %d entities, %d block entities, %d biomes, %d features, %.1f%% of registration",
+            blocks, blockStates, estimatedBlockStateBytes / 1024, items, entityTypes, blockEntityTypes,
+            biomes, features, registrationShare * 100.0);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.servertest.mod.model;
+
+import java.util.List;
+
+/**
+ * Data model representing the outcome of the datapack reload benchmark
+ */
+public class ReloadBenchmarkReport {
+    private final ReloadTiming initialLoad;
+    private final List<ReloadTiming> reloads;
+    private final double meanReloadMillis;
+    private final long maxReloadMillis;
+    private final List<NamespaceDataStats> namespaces;
+    
+    public ReloadBenchmarkReport(ReloadTiming initialLoad, List<ReloadTiming> reloads,
+                                 double meanReloadMillis, long maxReloadMillis,
+                                 List<NamespaceDataStats> namespaces) {
+        this.initialLoad = initialLoad;
+        this.reloads = reloads;
+        this.meanReloadMillis = meanReloadMillis;
+        this.maxReloadMillis = maxReloadMillis;
+        this.namespaces = namespaces;
+    }
+    
+    /**
+     * Get the timing of the datapack load during server startup
+     * @return timing or null if it was not observed
+     */
+    public ReloadTiming getInitialLoad() {
+        return initialLoad;
+    }
+    
+    /**
+     * Get the timings of the benchmark's /reload iterations
+     */
+    public List<ReloadTiming> getReloads() {
+        return reloads;
+    }
+    
+    public double getMeanReloadMillis() {
+        return meanReloadMillis;
+    }
+    
+    public long getMaxReloadMillis() {
+        return maxReloadMillis;
+    }
+    
+    /**
+     * Get content counts and load time per namespace, slowest first
+     */
+    public List<NamespaceDataStats> getNamespaces() {
+        return namespaces;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.servertest.mod.model;
+
+/**
+ * Data model representing the timing of one datapack load or reload
+ */
+public class ReloadTiming {
+    private final String label;
+    private final long totalMillis;
+    private final long prepareMillis;
+    private final long applyMillis;
+    
+    public ReloadTiming(String label, long totalMillis, long prepareMillis, long applyMillis) {
+        this.label = label;
+        this.totalMillis = totalMillis;
+        this.prepareMillis = prepareMillis;
+        this.applyMillis = applyMillis;
+    }
+    
+    /**
+     * Get the label of the load ("startup" or "reload-N")
+     */
+    public String getLabel() {
+        return label;
+    }
+    
+    /**
+     * Get the total duration from reload start until tags were bound
+     * @return duration in milliseconds
+     */
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+    
+    /**
+     * Get the duration of the background preparation phase (reading and parsing data)
+     * @return duration in milliseconds, or -1 if the phase boundary was not observed
+     */
+    public long getPrepareMillis() {
+        return prepareMillis;
+    }
+    
+    /**
+     * Get the duration of the apply phase on the server thread
+     * @return duration in milliseconds, or -1 if the phase boundary was not observed
+     */
+    public long getApplyMillis() {
+        return applyMillis;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("ReloadTiming{%s, total=%dms, prepare=%dms, apply=%dms}",
+            label, totalMillis, prepareMillis, applyMillis);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,132 @@
+package com.servertest.mod.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data model representing a scenario run, one result per phase
+ */
+public class ScenarioReport {
+    private final String name;
+    private final List<PhaseResult> phases;
+    private final boolean passed;
+    
+    public ScenarioReport(String name, List<PhaseResult> phases, boolean passed) {
+        this.name = name;
+        this.phases = phases;
+        this.passed = passed;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * Get the results of the phases that ran, in scenario order
+     */
+    public List<PhaseResult> getPhases() {
+        return phases;
+    }
+    
+    /**
+     * Check if every phase stayed within its thresholds
+     */
+    public boolean isPassed() {
+        return passed;
+    }
+    
+    /**
+     * Tick statistics of one phase and the thresholds it broke
+     * Tick times cover the ticks after the tick the phase started in, so a phase that finishes
+     * within one tick (info, save) has no tick statistics, only a duration.
+     */
+    public static class PhaseResult {
+        private final String name;
+        private final String type;
+        private final int ticks;
+        private final long durationMillis;
+        private final double meanMsptMillis;
+        private final double p95MsptMillis;
+        private final double maxMsptMillis;
+        private final double tps;
+        private final double heapUsedMb;
+        private final Map<String, Double> thresholds;
+        private final List<String> failures;
+        
+        public PhaseResult(String name, String type, int ticks, long durationMillis, double meanMsptMillis,
+                           double p95MsptMillis, double maxMsptMillis, double tps, double heapUsedMb,
+                           Map<String, Double> thresholds, List<String> failures) {
+            this.name = name;
+            this.type = type;
+            this.ticks = ticks;
+            this.durationMillis = durationMillis;
+            this.meanMsptMillis = meanMsptMillis;
+            this.p95MsptMillis = p95MsptMillis;
+            this.maxMsptMillis = maxMsptMillis;
+            this.tps = tps;
+            this.heapUsedMb = heapUsedMb;
+            this.thresholds = thresholds;
+            this.failures = failures;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public String getType() {
+            return type;
+        }
+        
+        public int getTicks() {
+            return ticks;
+        }
+        
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+        
+        /**
+         * Get the mean tick time, NaN if no tick was measured
+         */
+        public double getMeanMsptMillis() {
+            return meanMsptMillis;
+        }
+        
+        public double getP95MsptMillis() {
+            return p95MsptMillis;
+        }
+        
+        public double getMaxMsptMillis() {
+            return maxMsptMillis;
+        }
+        
+        /**
+         * Get the ticks per second of wall time while the phase ran
+         */
+        public double getTps() {
+            return tps;
+        }
+        
+        /**
+         * Get the heap in use after the last collection, at the end of the phase
+         */
+        public double getHeapUsedMb() {
+            return heapUsedMb;
+        }
+        
+        public Map<String, Double> getThresholds() {
+            return thresholds;
+        }
+        
+        /**
+         * Get one message per broken threshold, empty if the phase passed
+         */
+        public List<String> getFailures() {
+            return failures;
+        }
+        
+        public boolean isPassed() {
+            return failures.isEmpty();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,177 @@
+package com.servertest.mod.model;
+
+import java.util.List;
+
+/**
+ * Data model representing the outcome of a soak run
+ * Slopes are fitted over the snapshots taken after the warm-up and are expressed per hour of uptime.
+ */
+public class SoakReport {
+    private final double durationHours;
+    private final List<Snapshot> snapshots;
+    private final int fittedSnapshots;
+    private final double msptSlopePerHour;
+    private final double msptRSquared;
+    private final double heapSlopeBytesPerHour;
+    private final double heapRSquared;
+    private final double entitySlopePerHour;
+    private final double chunkSlopePerHour;
+    private final List<String> regressions;
+    
+    public SoakReport(double durationHours, List<Snapshot> snapshots, int fittedSnapshots,
+                      double msptSlopePerHour, double msptRSquared,
+                      double heapSlopeBytesPerHour, double heapRSquared,
+                      double entitySlopePerHour, double chunkSlopePerHour, List<String> regressions) {
+        this.durationHours = durationHours;
+        this.snapshots = snapshots;
+        this.fittedSnapshots = fittedSnapshots;
+        this.msptSlopePerHour = msptSlopePerHour;
+        this.msptRSquared = msptRSquared;
+        this.heapSlopeBytesPerHour = heapSlopeBytesPerHour;
+        this.heapRSquared = heapRSquared;
+        this.entitySlopePerHour = entitySlopePerHour;
+        this.chunkSlopePerHour = chunkSlopePerHour;
+        this.regressions = regressions;
+    }
+    
+    /**
+     * Get how long the soak run lasted
+     */
+    public double getDurationHours() {
+        return durationHours;
+    }
+    
+    /**
+     * Get the periodic snapshots, including those taken during the warm-up
+     */
+    public List<Snapshot> getSnapshots() {
+        return snapshots;
+    }
+    
+    /**
+     * Get the number of snapshots the trend lines were fitted over
+     */
+    public int getFittedSnapshots() {
+        return fittedSnapshots;
+    }
+    
+    /**
+     * Get the fitted MSPT growth
+     * @return slope in milliseconds per tick per hour
+     */
+    public double getMsptSlopePerHour() {
+        return msptSlopePerHour;
+    }
+    
+    /**
+     * Get the coefficient of determination of the MSPT fit
+     */
+    public double getMsptRSquared() {
+        return msptRSquared;
+    }
+    
+    /**
+     * Get the fitted post-GC heap growth
+     * @return slope in bytes per hour
+     */
+    public double getHeapSlopeBytesPerHour() {
+        return heapSlopeBytesPerHour;
+    }
+    
+    /**
+     * Get the coefficient of determination of the heap fit
+     */
+    public double getHeapRSquared() {
+        return heapRSquared;
+    }
+    
+    /**
+     * Get the fitted entity count growth per hour
+     */
+    public double getEntitySlopePerHour() {
+        return entitySlopePerHour;
+    }
+    
+    /**
+     * Get the fitted loaded chunk count growth per hour
+     */
+    public double getChunkSlopePerHour() {
+        return chunkSlopePerHour;
+    }
+    
+    /**
+     * Get the metrics whose growth exceeded their limit ("mspt", "heap")
+     * @return list of regressed metrics, empty if the run passed
+     */
+    public List<String> getRegressions() {
+        return regressions;
+    }
+    
+    /**
+     * Check if the run passed
+     * @return true if no metric grew past its limit
+     */
+    public boolean isPassed() {
+        return regressions.isEmpty();
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("SoakReport{hours=%.2f, snapshots=%d, mspt=%.3fms/h, heap=%.1fMB/h, regressions=%s}",
+            durationHours, snapshots.size(), msptSlopePerHour, heapSlopeBytesPerHour / (1024.0 * 1024.0), regressions);
+    }
+    
+    /**
+     * State of the server at one point of the soak run
+     */
+    public static class Snapshot {
+        private final double elapsedHours;
+        private final double msptMillis;
+        private final long postGcHeapBytes;
+        private final long entities;
+        private final long loadedChunks;
+        
+        public Snapshot(double elapsedHours, double msptMillis, long postGcHeapBytes, long entities, long loadedChunks) {
+            this.elapsedHours = elapsedHours;
+            this.msptMillis = msptMillis;
+            this.postGcHeapBytes = postGcHeapBytes;
+            this.entities = entities;
+            this.loadedChunks = loadedChunks;
+        }
+        
+        /**
+         * Get the uptime of the soak run when the snapshot was taken
+         */
+        public double getElapsedHours() {
+            return elapsedHours;
+        }
+        
+        /**
+         * Get the mean tick time since the previous snapshot
+         */
+        public double getMsptMillis() {
+            return msptMillis;
+        }
+        
+        /**
+         * Get the heap usage after a full collection
+         */
+        public long getPostGcHeapBytes() {
+            return postGcHeapBytes;
+        }
+        
+        /**
+         * Get the number of entities in all levels
+         */
+        public long getEntities() {
+            return entities;
+        }
+        
+        /**
+         * Get the number of loaded chunks in all levels
+         */
+        public long getLoadedChunks() {
+            return loadedChunks;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,156 @@
+package com.servertest.mod.model;
+
+import java.util.List;
+
+/**
+ * Data model representing the rollups of a tick sample file
+ */
+public class TickSampleSummary {
+    private final long startEpochMillis;
+    private final long coveredSeconds;
+    private final long ticks;
+    private final double meanTickMillis;
+    private final double maxTickMillis;
+    private final long gcTicks;
+    private final double allocatedMiB;
+    private final double allocationMiBPerSecond;
+    private final long maxEntities;
+    private final List<Period> hours;
+    private final List<Period> worstMinutes;
+    
+    public TickSampleSummary(long startEpochMillis, long coveredSeconds, long ticks, double meanTickMillis,
+                             double maxTickMillis, long gcTicks, double allocatedMiB, double allocationMiBPerSecond,
+                             long maxEntities, List<Period> hours, List<Period> worstMinutes) {
+        this.startEpochMillis = startEpochMillis;
+        this.coveredSeconds = coveredSeconds;
+        this.ticks = ticks;
+        this.meanTickMillis = meanTickMillis;
+        this.maxTickMillis = maxTickMillis;
+        this.gcTicks = gcTicks;
+        this.allocatedMiB = allocatedMiB;
+        this.allocationMiBPerSecond = allocationMiBPerSecond;
+        this.maxEntities = maxEntities;
+        this.hours = hours;
+        this.worstMinutes = worstMinutes;
+    }
+    
+    public long getStartEpochMillis() {
+        return startEpochMillis;
+    }
+    
+    /**
+     * Get the number of seconds covered by the 1 second rollups
+     */
+    public long getCoveredSeconds() {
+        return coveredSeconds;
+    }
+    
+    public long getTicks() {
+        return ticks;
+    }
+    
+    public double getMeanTickMillis() {
+        return meanTickMillis;
+    }
+    
+    public double getMaxTickMillis() {
+        return maxTickMillis;
+    }
+    
+    /**
+     * Get the number of ticks during which a garbage collection completed
+     */
+    public long getGcTicks() {
+        return gcTicks;
+    }
+    
+    /**
+     * Get the memory allocated by the server thread during ticks
+     */
+    public double getAllocatedMiB() {
+        return allocatedMiB;
+    }
+    
+    public double getAllocationMiBPerSecond() {
+        return allocationMiBPerSecond;
+    }
+    
+    public long getMaxEntities() {
+        return maxEntities;
+    }
+    
+    /**
+     * Get the hourly rollups in order; the last one may cover a partial hour
+     */
+    public List<Period> getHours() {
+        return hours;
+    }
+    
+    /**
+     * Get the minutes with the highest mean tick duration, worst first
+     */
+    public List<Period> getWorstMinutes() {
+        return worstMinutes;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("TickSampleSummary{seconds=%d, ticks=%d, meanTick=%.2fms, maxTick=%.1fms, gcTicks=%d, alloc=%.1fMiB/s}",
+            coveredSeconds, ticks, meanTickMillis, maxTickMillis, gcTicks, allocationMiBPerSecond);
+    }
+    
+    /**
+     * One rollup period of the tick sample file
+     */
+    public static class Period {
+        private final long startSecond;
+        private final long ticks;
+        private final double meanTickMillis;
+        private final double maxTickMillis;
+        private final double allocatedMiB;
+        private final long gcTicks;
+        private final long maxEntities;
+        
+        public Period(long startSecond, long ticks, long sumMicros, long maxMicros, long allocatedKiB,
+                      long gcTicks, long maxEntities) {
+            this.startSecond = startSecond;
+            this.ticks = ticks;
+            this.meanTickMillis = ticks > 0 ? sumMicros / 1000.0 / ticks : 0.0;
+            this.maxTickMillis = maxMicros / 1000.0;
+            this.allocatedMiB = allocatedKiB / 1024.0;
+            this.gcTicks = gcTicks;
+            this.maxEntities = maxEntities;
+        }
+        
+        /**
+         * Get the start of the period in seconds since recording started
+         */
+        public long getStartSecond() {
+            return startSecond;
+        }
+        
+        public long getTicks() {
+            return ticks;
+        }
+        
+        public double getMeanTickMillis() {
+            return meanTickMillis;
+        }
+        
+        public double getMaxTickMillis() {
+            return maxTickMillis;
+        }
+        
+        public double getAllocatedMiB() {
+            return allocatedMiB;
+        }
+        
+        public long getGcTicks() {
+            return gcTicks;
+        }
+        
+        public long getMaxEntities() {
+            return maxEntities;
+        }
+    }
+}
\ No newline at end of file
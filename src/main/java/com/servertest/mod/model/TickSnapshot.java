@@ -0,0 +1,110 @@
+package com.servertest.mod.model;
+
+import java.util.List;
+
+/**
+ * Data model representing a point-in-time copy of the incremental tick metrics
+ */
+public class TickSnapshot {
+    private final long tickCount;
+    private final double tps;
+    private final double lastTickMillis;
+    private final double meanTickMillis;
+    private final double p50TickMillis;
+    private final double p95TickMillis;
+    private final double p99TickMillis;
+    private final long heapUsedBytes;
+    private final List<DimensionSnapshot> dimensions;
+    
+    public TickSnapshot(long tickCount, double tps, double lastTickMillis, double meanTickMillis,
+                        double p50TickMillis, double p95TickMillis, double p99TickMillis,
+                        long heapUsedBytes, List<DimensionSnapshot> dimensions) {
+        this.tickCount = tickCount;
+        this.tps = tps;
+        this.lastTickMillis = lastTickMillis;
+        this.meanTickMillis = meanTickMillis;
+        this.p50TickMillis = p50TickMillis;
+        this.p95TickMillis = p95TickMillis;
+        this.p99TickMillis = p99TickMillis;
+        this.heapUsedBytes = heapUsedBytes;
+        this.dimensions = dimensions;
+    }
+    
+    public long getTickCount() {
+        return tickCount;
+    }
+    
+    public double getTps() {
+        return tps;
+    }
+    
+    public double getLastTickMillis() {
+        return lastTickMillis;
+    }
+    
+    /**
+     * Get the mean tick duration since the server started
+     */
+    public double getMeanTickMillis() {
+        return meanTickMillis;
+    }
+    
+    /**
+     * Get the median tick duration since the server started, interpolated from the tick histogram
+     */
+    public double getP50TickMillis() {
+        return p50TickMillis;
+    }
+    
+    public double getP95TickMillis() {
+        return p95TickMillis;
+    }
+    
+    public double getP99TickMillis() {
+        return p99TickMillis;
+    }
+    
+    public long getHeapUsedBytes() {
+        return heapUsedBytes;
+    }
+    
+    /**
+     * Get the per-dimension metrics, sorted by dimension name
+     */
+    public List<DimensionSnapshot> getDimensions() {
+        return dimensions;
+    }
+    
+    /**
+     * Point-in-time metrics of a single dimension
+     */
+    public static class DimensionSnapshot {
+        private final String dimension;
+        private final double lastTickMillis;
+        private final long entities;
+        private final long loadedChunks;
+        
+        public DimensionSnapshot(String dimension, double lastTickMillis, long entities, long loadedChunks) {
+            this.dimension = dimension;
+            this.lastTickMillis = lastTickMillis;
+            this.entities = entities;
+            this.loadedChunks = loadedChunks;
+        }
+        
+        public String getDimension() {
+            return dimension;
+        }
+        
+        public double getLastTickMillis() {
+            return lastTickMillis;
+        }
+        
+        public long getEntities() {
+            return entities;
+        }
+        
+        public long getLoadedChunks() {
+            return loadedChunks;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.servertest.mod.model;
+
+/**
+ * Data model representing how long the server took to warm up before measurement
+ */
+public class WarmupReport {
+    private final int ticksWaited;
+    private final long wallMillis;
+    private final long compilationMillis;
+    private final double finalCompileRate;
+    private final boolean timedOut;
+    
+    public WarmupReport(int ticksWaited, long wallMillis, long compilationMillis,
+                        double finalCompileRate, boolean timedOut) {
+        this.ticksWaited = ticksWaited;
+        this.wallMillis = wallMillis;
+        this.compilationMillis = compilationMillis;
+        this.finalCompileRate = finalCompileRate;
+        this.timedOut = timedOut;
+    }
+    
+    /**
+     * Get the number of server ticks spent warming up
+     */
+    public int getTicksWaited() {
+        return ticksWaited;
+    }
+    
+    /**
+     * Get the wall-clock duration of the warm-up
+     * @return duration in milliseconds
+     */
+    public long getWallMillis() {
+        return wallMillis;
+    }
+    
+    /**
+     * Get the JIT compilation time spent during the warm-up
+     * @return compilation time in milliseconds
+     */
+    public long getCompilationMillis() {
+        return compilationMillis;
+    }
+    
+    /**
+     * Get the JIT compile rate of the last sample window
+     * @return compilation time divided by wall time
+     */
+    public double getFinalCompileRate() {
+        return finalCompileRate;
+    }
+    
+    /**
+     * Check if the warm-up ended because the time limit was reached
+     * @return true if the compile rate never settled below the threshold
+     */
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("WarmupReport{ticks=%d, wall=%dms, jit=%dms, rate=%.3f, timedOut=%s}",
+            ticksWaited, wallMillis, compilationMillis, finalCompileRate, timedOut);
+    }
+}
\ No newline at end of file
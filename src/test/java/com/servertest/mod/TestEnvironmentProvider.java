@@ -11,6 +11,7 @@ public class TestEnvironmentProvider implements EnvironmentProvider {
     
     private final Map<String, String> envVars = new HashMap<>();
     private final Map<String, String> properties = new HashMap<>();
+    private final Map<String, String> files = new HashMap<>();
     
     public TestEnvironmentProvider setEnv(String name, String value) {
         envVars.put(name, value);
@@ -22,6 +23,11 @@ public class TestEnvironmentProvider implements EnvironmentProvider {
         return this;
     }
     
+    public TestEnvironmentProvider setFile(String path, String content) {
+        files.put(path, content);
+        return this;
+    }
+    
     @Override
     public String getenv(String name) {
         return envVars.get(name);
@@ -32,6 +38,11 @@ public class TestEnvironmentProvider implements EnvironmentProvider {
         return properties.get(name);
     }
     
+    @Override
+    public String readFile(String path) {
+        return files.get(path);
+    }
+    
     // Predefined providers for common test scenarios
     public static TestEnvironmentProvider githubActions() {
         return new TestEnvironmentProvider()
@@ -50,4 +61,9 @@ public class TestEnvironmentProvider implements EnvironmentProvider {
     public static TestEnvironmentProvider development() {
         return new TestEnvironmentProvider();
     }
+    
+    public static TestEnvironmentProvider production() {
+        return new TestEnvironmentProvider()
+            .setEnv("SERVERTEST_MODE", "production");
+    }
 }
\ No newline at end of file
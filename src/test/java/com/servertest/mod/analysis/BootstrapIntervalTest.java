@@ -0,0 +1,47 @@
+package com.servertest.mod.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BootstrapInterval class
+ */
+public class BootstrapIntervalTest {
+    
+    @Test
+    void testRelativeMeanChange_ClearSlowdown() {
+        BootstrapInterval interval = BootstrapInterval.relativeMeanChange(
+            new double[] {20.0, 20.2, 19.9, 20.1, 19.8}, new double[] {22.0, 22.1, 21.9, 22.2, 21.8}, 2000, 0.95, 1L);
+        
+        assertEquals(0.1, interval.getEstimate(), 0.001);
+        assertTrue(interval.getLower() > 0.08 && interval.getUpper() < 0.12, interval.toString());
+    }
+    
+    @Test
+    void testRelativeMeanChange_NoiseStraddlesZero() {
+        BootstrapInterval interval = BootstrapInterval.relativeMeanChange(
+            new double[] {20.1, 20.3, 19.8, 20.0, 20.2, 19.9}, new double[] {20.2, 19.9, 20.3, 20.0, 20.1, 19.8},
+            2000, 0.95, 1L);
+        
+        assertTrue(interval.getLower() < 0.0 && interval.getUpper() > 0.0, interval.toString());
+    }
+    
+    @Test
+    void testRelativeMeanChange_SameSeedSameInterval() {
+        double[] baseline = {1.0, 2.0, 3.0, 4.0};
+        double[] candidate = {2.0, 3.0, 4.0, 5.0};
+        
+        BootstrapInterval first = BootstrapInterval.relativeMeanChange(baseline, candidate, 500, 0.9, 7L);
+        BootstrapInterval second = BootstrapInterval.relativeMeanChange(baseline, candidate, 500, 0.9, 7L);
+        
+        assertEquals(first.getLower(), second.getLower());
+        assertEquals(first.getUpper(), second.getUpper());
+    }
+    
+    @Test
+    void testRelativeMeanChange_EmptySample() {
+        assertTrue(Double.isNaN(BootstrapInterval.relativeMeanChange(new double[0], new double[] {1.0}, 100, 0.95, 1L)
+            .getLower()));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.servertest.mod.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Histograms class
+ */
+class HistogramsTest {
+    
+    private static final double[] BOUNDS = {10, 20, 50};
+    
+    @Test
+    void testQuantileInterpolatesInsideBucket() {
+        // 10 observations in (10, 20]
+        long[] counts = {0, 10, 0, 0};
+        
+        assertEquals(15.0, Histograms.quantile(counts, BOUNDS, 0.5), 1e-9);
+        assertEquals(20.0, Histograms.quantile(counts, BOUNDS, 1.0), 1e-9);
+    }
+    
+    @Test
+    void testQuantileAcrossBuckets() {
+        long[] counts = {50, 40, 10, 0};
+        
+        assertEquals(10.0, Histograms.quantile(counts, BOUNDS, 0.5), 1e-9);
+        assertEquals(35.0, Histograms.quantile(counts, BOUNDS, 0.95), 1e-9);
+    }
+    
+    @Test
+    void testQuantileInOverflowBucket() {
+        long[] counts = {1, 0, 0, 9};
+        
+        assertEquals(50.0, Histograms.quantile(counts, BOUNDS, 0.99), 1e-9);
+    }
+    
+    @Test
+    void testQuantileEmpty() {
+        assertTrue(Double.isNaN(Histograms.quantile(new long[4], BOUNDS, 0.5)));
+    }
+    
+    @Test
+    void testQuantileRejectsMismatchedBuckets() {
+        assertThrows(IllegalArgumentException.class, () -> Histograms.quantile(new long[3], BOUNDS, 0.5));
+    }
+}
\ No newline at end of file
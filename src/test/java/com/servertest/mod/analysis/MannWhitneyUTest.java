@@ -0,0 +1,51 @@
+package com.servertest.mod.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MannWhitneyU class
+ */
+public class MannWhitneyUTest {
+    
+    @Test
+    void testExact_FullySeparatedSamples() {
+        MannWhitneyU result = MannWhitneyU.test(new double[] {10, 11, 12, 13, 14}, new double[] {15, 16, 17, 18, 19});
+        
+        assertTrue(result.isExact());
+        assertEquals(25.0, result.getU(), 1e-9);
+        assertEquals(1.0 / 252.0, result.getPValue(), 1e-12, "Only one of C(10,5) arrangements is this extreme");
+    }
+    
+    @Test
+    void testExact_CandidateSmaller() {
+        MannWhitneyU result = MannWhitneyU.test(new double[] {15, 16, 17}, new double[] {10, 11, 12});
+        
+        assertEquals(0.0, result.getU(), 1e-9);
+        assertEquals(1.0, result.getPValue(), 1e-12);
+    }
+    
+    @Test
+    void testNormalApproximation_WithTies() {
+        double[] baseline = {20.1, 20.3, 19.8, 20.0, 20.2, 19.9, 20.4, 20.1};
+        double[] candidate = {20.2, 19.9, 20.3, 20.0, 20.1, 20.5, 19.8, 20.2};
+        
+        MannWhitneyU result = MannWhitneyU.test(baseline, candidate);
+        
+        assertFalse(result.isExact(), "Ties rule out the exact distribution");
+        assertTrue(result.getPValue() > 0.3, "Interleaved samples should not be significant: " + result);
+    }
+    
+    @Test
+    void testNormalCdf() {
+        assertEquals(0.5, MannWhitneyU.normalCdf(0.0), 1e-7);
+        assertEquals(0.975, MannWhitneyU.normalCdf(1.959964), 1e-6);
+        assertEquals(0.158655, MannWhitneyU.normalCdf(-1.0), 1e-6);
+    }
+    
+    @Test
+    void testEmptySample() {
+        assertEquals(1.0, MannWhitneyU.test(new double[0], new double[] {1.0}).getPValue());
+    }
+}
\ No newline at end of file
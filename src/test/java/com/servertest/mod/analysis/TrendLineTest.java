@@ -0,0 +1,56 @@
+package com.servertest.mod.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TrendLine class
+ */
+public class TrendLineTest {
+    
+    @Test
+    void testFit_PerfectLine() {
+        TrendLine trend = TrendLine.fit(new double[] {10.0, 12.0, 14.0, 16.0, 18.0});
+        
+        assertEquals(2.0, trend.getSlope(), 1e-9, "Slope should match the per-sample increase");
+        assertEquals(10.0, trend.getIntercept(), 1e-9, "Intercept should match the first sample");
+        assertEquals(1.0, trend.getRSquared(), 1e-9, "A perfect line should have r2 of 1");
+        assertEquals(5, trend.getSampleCount());
+    }
+    
+    @Test
+    void testFit_FlatSeries() {
+        TrendLine trend = TrendLine.fit(new double[] {5.0, 5.0, 5.0});
+        
+        assertEquals(0.0, trend.getSlope(), 1e-9, "A flat series should have no slope");
+        assertEquals(5.0, trend.getIntercept(), 1e-9);
+    }
+    
+    @Test
+    void testFit_ExplicitPositions() {
+        TrendLine trend = TrendLine.fit(new double[] {0.0, 60.0, 120.0}, new double[] {1.0, 2.0, 3.0});
+        
+        assertEquals(1.0 / 60.0, trend.getSlope(), 1e-9, "Slope should be per unit of x");
+    }
+    
+    @Test
+    void testFit_TooFewSamples() {
+        assertEquals(0.0, TrendLine.fit(new double[0]).getSlope(), "Empty series should have no slope");
+        assertEquals(0.0, TrendLine.fit(new double[] {42.0}).getSlope(), "Single sample should have no slope");
+    }
+    
+    @Test
+    void testFit_MismatchedLengths() {
+        assertThrows(IllegalArgumentException.class, () -> TrendLine.fit(new double[2], new double[3]));
+    }
+    
+    @Test
+    void testMonotonicRatio() {
+        assertEquals(1.0, TrendLine.monotonicRatio(new double[] {1.0, 2.0, 2.0, 3.0}), 1e-9,
+            "Non-decreasing series should have ratio 1");
+        assertEquals(0.5, TrendLine.monotonicRatio(new double[] {1.0, 2.0, 1.0}), 1e-9);
+        assertEquals(0.0, TrendLine.monotonicRatio(new double[] {3.0, 2.0, 1.0}), 1e-9);
+        assertEquals(0.0, TrendLine.monotonicRatio(new double[] {1.0}), 1e-9);
+    }
+}
\ No newline at end of file
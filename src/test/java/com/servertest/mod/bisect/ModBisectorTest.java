@@ -0,0 +1,146 @@
+package com.servertest.mod.bisect;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.servertest.mod.model.BisectionReport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ModBisector class
+ */
+class ModBisectorTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    private static ModJar mod(String modId, String... dependencies) {
+        return new ModJar(Paths.get(modId + ".jar"), List.of(modId), Set.of(dependencies));
+    }
+    
+    private static List<ModJar> modPack(int count) {
+        List<ModJar> jars = new ArrayList<>();
+        jars.add(mod("servertest"));
+        jars.add(new ModJar(Paths.get("library.jar"), Collections.emptyList(), Collections.emptySet()));
+        for (int i = 0; i < count; i++) {
+            jars.add(mod("mod" + i));
+        }
+        return jars;
+    }
+    
+    /** 20 ms per tick, 30 with the slow mod installed */
+    private static TrialRunner slowWith(String slowModId) {
+        return (mods, slot) -> mods.stream().anyMatch(m -> m.getModIds().contains(slowModId)) ? 30.0 : 20.0;
+    }
+    
+    @Test
+    void testFindsTheOffendingMod() throws Exception {
+        BisectionReport report = new ModBisector(modPack(37), Set.of("servertest"), slowWith("mod23"), 4, "mspt", 20.0)
+            .bisect();
+        
+        assertTrue(report.isIsolated(), report.toString());
+        assertEquals(List.of("mod23"), report.getSuspects());
+        assertEquals(25.0, report.getThreshold(), 1e-9);
+    }
+    
+    @Test
+    void testSequentialBisection() throws Exception {
+        BisectionReport report = new ModBisector(modPack(16), Set.of("servertest"), slowWith("mod0"), 1, "mspt", 20.0)
+            .bisect();
+        
+        assertEquals(List.of("mod0"), report.getSuspects());
+        // One reference run, then halving 16 suspects takes four rounds of two
+        assertEquals(9, report.getTrials());
+    }
+    
+    @Test
+    void testDependentsAreRemovedWithTheirDependencies() throws Exception {
+        List<ModJar> jars = modPack(8);
+        jars.add(mod("addon", "lib"));
+        jars.add(mod("lib"));
+        List<List<ModJar>> trials = Collections.synchronizedList(new ArrayList<>());
+        TrialRunner runner = (mods, slot) -> {
+            trials.add(mods);
+            return slowWith("lib").run(mods, slot);
+        };
+        
+        BisectionReport report = new ModBisector(jars, Set.of("servertest"), runner, 2, "mspt", 20.0).bisect();
+        
+        assertEquals(List.of("lib"), report.getSuspects());
+        for (List<ModJar> mods : trials) {
+            boolean hasAddon = mods.stream().anyMatch(m -> m.getModIds().contains("addon"));
+            boolean hasLib = mods.stream().anyMatch(m -> m.getModIds().contains("lib"));
+            assertTrue(!hasAddon || hasLib, "addon installed without lib");
+        }
+    }
+    
+    @Test
+    void testNoRegression() throws Exception {
+        BisectionReport report = new ModBisector(modPack(5), Set.of("servertest"), (mods, slot) -> 20.0, 2, "mspt", 20.0)
+            .bisect();
+        
+        assertTrue(report.getSuspects().isEmpty());
+        assertEquals(1, report.getTrials());
+    }
+    
+    @Test
+    void testFailedTrialIsRunAgain() throws Exception {
+        AtomicInteger failures = new AtomicInteger();
+        TrialRunner runner = (mods, slot) -> {
+            boolean withoutMod2 = mods.stream().noneMatch(m -> m.getModIds().contains("mod2"));
+            if (withoutMod2 && failures.getAndIncrement() == 0) {
+                return Double.NaN;
+            }
+            return slowWith("mod5").run(mods, slot);
+        };
+        
+        BisectionReport report = new ModBisector(modPack(8), Set.of("servertest"), runner, 2, "mspt", 20.0).bisect();
+        
+        assertTrue(report.isIsolated(), report.toString());
+        assertEquals(List.of("mod5"), report.getSuspects());
+        assertTrue(report.getInconclusive().isEmpty());
+    }
+    
+    @Test
+    void testRepeatedlyFailingTrialIsInconclusive() throws Exception {
+        TrialRunner runner = (mods, slot) -> mods.stream().noneMatch(m -> m.getModIds().contains("mod1"))
+            ? Double.NaN : slowWith("mod6").run(mods, slot);
+        
+        BisectionReport report = new ModBisector(modPack(8), Set.of("servertest"), runner, 2, "mspt", 20.0).bisect();
+        
+        // The half whose trials crash is reported, not blamed
+        assertEquals(List.of("mod6"), report.getSuspects());
+        assertEquals(1, report.getInconclusive().size());
+        assertTrue(report.getInconclusive().get(0).contains("mod1"), report.getInconclusive().toString());
+    }
+    
+    @Test
+    void testReadBaselineFromReports() throws Exception {
+        Path first = tempDir.resolve("first.json");
+        Path second = tempDir.resolve("second.json");
+        Files.writeString(first, "{\"jvmPhases\": [{\"phase\": \"serverStartup\", \"uptimeMillis\": 40000}]}");
+        Files.writeString(second, "{\"jvmPhases\": [{\"phase\": \"serverStartup\", \"uptimeMillis\": 42000}]}");
+        
+        assertEquals(41000.0, ModBisector.readBaseline(first + "," + second, "startup"), 1e-9);
+    }
+    
+    @Test
+    void testReadStartupMetric() {
+        JsonObject report = JsonParser.parseString("{\"jvmPhases\": [{\"phase\": \"construct\", \"uptimeMillis\": 900},"
+            + " {\"phase\": \"serverStartup\", \"uptimeMillis\": 41000}]}").getAsJsonObject();
+        
+        assertEquals(41000.0, ServerTrialRunner.readMetric(report, "startup"));
+        assertTrue(Double.isNaN(ServerTrialRunner.readMetric(report, "mspt")));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.servertest.mod.bisect;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ModJar class
+ */
+class ModJarTest {
+    
+    private static final String TOML = String.join("\n",
+        "modLoader=\"javafml\" #mandatory",
+        "[[mods]] #mandatory",
+        "modId=\"create\" #mandatory",
+        "description='''",
+        "modId=\"notamod\"",
+        "'''",
+        "[[dependencies.create]]",
+        "    modId=\"forge\"",
+        "    mandatory=true",
+        "[[dependencies.create]]",
+        "    modId=\"flywheel\"",
+        "    mandatory=true #mandatory",
+        "    side=\"BOTH\"",
+        "[[dependencies.create]]",
+        "    modId=\"jei\"",
+        "    mandatory=false",
+        "[[dependencies.\"create\"]]",
+        "    modId=\"ponderlib\"",
+        "    type=\"required\"",
+        "[[dependencies.create]]",
+        "    modId=\"clientonly\"",
+        "    mandatory=true",
+        "    side=\"CLIENT\""
+    );
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    void testParseKeepsMandatoryServerDependencies() {
+        ModJar jar = ModJar.parse(tempDir.resolve("create.jar"), TOML);
+        
+        assertEquals(List.of("create"), jar.getModIds());
+        assertEquals(Set.of("flywheel", "ponderlib"), jar.getDependencies());
+        assertFalse(jar.isLibrary());
+    }
+    
+    @Test
+    void testReadFromJar() throws Exception {
+        Path path = tempDir.resolve("create.jar");
+        try (OutputStream out = Files.newOutputStream(path); ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry(ModJar.MODS_TOML));
+            zip.write(TOML.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        
+        assertEquals(List.of("create"), ModJar.read(path).getModIds());
+    }
+    
+    @Test
+    void testJarWithoutModsTomlIsALibrary() throws Exception {
+        Path path = tempDir.resolve("library.jar");
+        try (OutputStream out = Files.newOutputStream(path); ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+            zip.closeEntry();
+        }
+        
+        ModJar jar = ModJar.read(path);
+        
+        assertTrue(jar.isLibrary());
+        assertEquals("library.jar", jar.getName());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.servertest.mod.control;
+
+import com.servertest.mod.core.BackgroundExecutor;
+import com.servertest.mod.core.ReportWriter;
+import com.servertest.mod.core.ServerMonitor;
+import com.servertest.mod.metrics.ProfilingSession;
+import com.servertest.mod.metrics.TickMetrics;
+import net.minecraft.server.MinecraftServer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ControlCommands class
+ */
+@ExtendWith(MockitoExtension.class)
+class ControlCommandsTest {
+    
+    @Mock
+    private ServerMonitor mockServerMonitor;
+    
+    @Mock
+    private MinecraftServer mockServer;
+    
+    private TickMetrics tickMetrics;
+    private ControlCommands commands;
+    
+    @BeforeEach
+    void setUp() {
+        tickMetrics = new TickMetrics();
+        commands = new ControlCommands(tickMetrics, new ProfilingSession(tickMetrics), mockServerMonitor, null,
+            () -> null, () -> mockServer);
+    }
+    
+    @Test
+    void testPing() {
+        assertEquals("OK PONG", commands.handle("ping"));
+    }
+    
+    @Test
+    void testProfileStartStop() {
+        assertEquals("OK profiling started", commands.handle("PROFILE START baseline"));
+        assertEquals("ERR profiling already running", commands.handle("PROFILE START"));
+        
+        tickMetrics.recordTick(40_000_000L);
+        String response = commands.handle("PROFILE STOP");
+        
+        assertTrue(response.startsWith("OK {"), response);
+        assertTrue(response.contains("\"label\":\"baseline\""), response);
+        assertTrue(response.contains("\"ticks\":1"), response);
+        assertEquals("ERR profiling not running", commands.handle("PROFILE STOP"));
+    }
+    
+    @Test
+    void testScenarioIsRunOnServerThread() {
+        String response = commands.handle("SCENARIO leak");
+        
+        assertEquals("OK scenario leak queued", response);
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(mockServer).execute(task.capture());
+        verify(mockServerMonitor, never()).startScenario(anyString());
+        
+        task.getValue().run();
+        verify(mockServerMonitor).startScenario("leak");
+    }
+    
+    @Test
+    void testUnknownScenario() {
+        assertEquals("ERR unknown scenario explode", commands.handle("SCENARIO explode"));
+        verifyNoInteractions(mockServer);
+    }
+    
+    @Test
+    void testShutdownIsRunOnServerThread() {
+        assertEquals("OK shutting down", commands.handle("SHUTDOWN"));
+        
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(mockServer).execute(task.capture());
+        task.getValue().run();
+        verify(mockServerMonitor).requestShutdown(mockServer);
+    }
+    
+    @Test
+    void testShutdownRefusedWithoutTestSequence() {
+        ControlCommands productionCommands = new ControlCommands(tickMetrics, new ProfilingSession(tickMetrics),
+            null, null, () -> null, () -> mockServer);
+        
+        assertTrue(productionCommands.handle("SHUTDOWN").startsWith("ERR"));
+        verifyNoInteractions(mockServer);
+    }
+    
+    @Test
+    void testSnapshotIsWrittenOnTheReportWorker() {
+        ReportWriter reportWriter = mock(ReportWriter.class);
+        BackgroundExecutor executor = mock(BackgroundExecutor.class);
+        ControlCommands reportingCommands = new ControlCommands(tickMetrics, new ProfilingSession(tickMetrics),
+            mockServerMonitor, reportWriter, () -> executor, () -> mockServer);
+        
+        assertTrue(reportingCommands.handle("SNAPSHOT").startsWith("OK {"));
+        
+        ArgumentCaptor<Runnable> job = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).submit(eq("snapshot"), job.capture());
+        verify(reportWriter, never()).write();
+        job.getValue().run();
+        verify(reportWriter).write();
+    }
+    
+    @Test
+    void testSnapshotAndUnknownCommand() {
+        assertTrue(commands.handle("SNAPSHOT").startsWith("OK {"));
+        assertEquals("ERR unknown command FLY", commands.handle("FLY"));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,141 @@
+package com.servertest.mod.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BackgroundExecutor class
+ */
+class BackgroundExecutorTest {
+    
+    private BackgroundExecutor executor;
+    
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.shutdown(1000L);
+        }
+    }
+    
+    @Test
+    void testJobsRunInSubmissionOrderOffTheCallingThread() throws Exception {
+        executor = new BackgroundExecutor("test-worker", 4);
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        
+        CompletableFuture<Void> last = null;
+        for (int i = 0; i < 20; i++) {
+            int job = i;
+            last = executor.submit("job" + i, () -> {
+                order.add(job);
+                threads.add(Thread.currentThread().getName());
+            });
+        }
+        last.get(5, TimeUnit.SECONDS);
+        
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, order.get(i));
+        }
+        assertTrue(threads.stream().allMatch("test-worker"::equals));
+    }
+    
+    @Test
+    void testOfferDropsWhenTheQueueIsFull() throws Exception {
+        executor = new BackgroundExecutor("test-worker", 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit("blocker", () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await();
+        
+        assertTrue(executor.offer("queued", () -> { }));
+        assertFalse(executor.offer("dropped", () -> { }));
+        assertEquals(1, executor.getDropped());
+        release.countDown();
+    }
+    
+    @Test
+    void testFailedJobCompletesExceptionallyAndTheWorkerContinues() throws Exception {
+        executor = new BackgroundExecutor("test-worker", 4);
+        
+        CompletableFuture<Void> failed = executor.submit("broken", () -> {
+            throw new IllegalStateException("broken");
+        });
+        CompletableFuture<Void> next = executor.submit("next", () -> { });
+        
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        assertDoesNotThrow(() -> next.get(5, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    void testErrorInAJobDoesNotStopTheWorker() throws Exception {
+        executor = new BackgroundExecutor("test-worker", 4);
+        
+        CompletableFuture<Void> failed = executor.submit("broken", () -> {
+            throw new AssertionError("broken");
+        });
+        CompletableFuture<Void> next = executor.submit("next", () -> { });
+        
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(AssertionError.class, exception.getCause());
+        assertDoesNotThrow(() -> next.get(5, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    void testInterruptedSubmitDropsTheJob() throws Exception {
+        executor = new BackgroundExecutor("test-worker", 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit("blocker", () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await();
+        executor.submit("queued", () -> { });
+        List<String> threads = new ArrayList<>();
+        
+        Thread.currentThread().interrupt();
+        CompletableFuture<Void> dropped = executor.submit("dropped", () -> threads.add(Thread.currentThread().getName()));
+        
+        assertTrue(Thread.interrupted());
+        assertTrue(dropped.isCompletedExceptionally());
+        assertEquals(1, executor.getDropped());
+        release.countDown();
+        executor.submit("after", () -> { }).get(5, TimeUnit.SECONDS);
+        assertTrue(threads.isEmpty());
+    }
+    
+    @Test
+    void testDirectExecutorRunsInline() {
+        BackgroundExecutor direct = BackgroundExecutor.direct();
+        List<String> threads = new ArrayList<>();
+        
+        direct.submit("inline", () -> threads.add(Thread.currentThread().getName()));
+        
+        assertEquals(List.of(Thread.currentThread().getName()), threads);
+        assertThrows(IllegalStateException.class, () -> direct.submit("broken", () -> {
+            throw new IllegalStateException("broken");
+        }));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.servertest.mod.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ClassAttribution class
+ */
+public class ClassAttributionTest {
+    
+    private static final String HIERARCHY = String.join("\n",
+        "java.lang.Object/null",
+        "|--jdk.internal.reflect.MethodAccessor/null (intf)",
+        "|--net.minecraft.world.level.block.Block/MC-BOOTSTRAP",
+        "|  |--com.example.machines.block.PipeBlock/com.example.machines",
+        "|  |--com.example.machines.block.PumpBlock/com.example.machines",
+        "|--com.example.machines.ExampleMod$$Lambda$1234/0x0000000800c0b1f0/com.example.machines",
+        "|--net.minecraftforge.common.ForgeConfig/MC-BOOTSTRAP");
+    
+    @Test
+    void testParseClassNames() {
+        List<String> names = ClassAttribution.parseClassNames(HIERARCHY);
+        
+        assertEquals(7, names.size(), "Every hierarchy line should yield a class name");
+        assertEquals("java.lang.Object", names.get(0));
+        assertEquals("jdk.internal.reflect.MethodAccessor", names.get(1), "Interface markers should be stripped");
+        assertEquals("com.example.machines.block.PipeBlock", names.get(3), "Tree prefixes should be stripped");
+        assertEquals("com.example.machines.ExampleMod$$Lambda$1234", names.get(5));
+    }
+    
+    @Test
+    void testParseClassNames_Null() {
+        assertTrue(ClassAttribution.parseClassNames(null).isEmpty());
+    }
+    
+    @Test
+    void testCountByOwner() {
+        Map<String, String> owners = new HashMap<>();
+        owners.put("com.example.machines.block", "machines");
+        owners.put("com.example.machines", "machines");
+        
+        Map<String, Integer> counts = ClassAttribution.countByOwner(
+            ClassAttribution.parseClassNames(HIERARCHY), owners);
+        
+        assertEquals(3, counts.get("machines"), "Classes in packages declared by a mod should be attributed to it");
+        assertEquals(1, counts.get("minecraft"), "Game classes should fall back to minecraft");
+        assertEquals(1, counts.get("forge"));
+        assertEquals(2, counts.get(ClassAttribution.UNATTRIBUTED), "JDK classes should be unattributed");
+    }
+    
+    @Test
+    void testCountByOwner_Empty() {
+        assertTrue(ClassAttribution.countByOwner(Arrays.asList(), new HashMap<>()).isEmpty());
+    }
+}
\ No newline at end of file
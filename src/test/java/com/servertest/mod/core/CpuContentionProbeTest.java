@@ -0,0 +1,102 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.TestEnvironmentProvider;
+import com.servertest.mod.model.CpuContention;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CpuContentionProbe class
+ */
+class CpuContentionProbeTest {
+    
+    private static final String V2_PATH = "/sys/fs/cgroup/cpu.stat";
+    private static final String V1_PATH = "/sys/fs/cgroup/cpu,cpuacct/cpu.stat";
+    
+    private final TestEnvironmentProvider environment = new TestEnvironmentProvider();
+    private final CpuContentionProbe probe = new CpuContentionProbe(environment, 0.05, 0.05);
+    
+    private static String procStat(long user, long steal) {
+        return "cpu  " + user + " 0 100 5000 0 0 0 " + steal + " 0 0\n"
+            + "cpu0 " + user + " 0 100 5000 0 0 0 " + steal + " 0 0\n";
+    }
+    
+    @Test
+    void testFromConfigReadsThroughTheConfigEnvironment() {
+        ServerTestConfig config = new ServerTestConfig(environment).withOverrides(Map.of("noise.throttle.max", "0.5"));
+        CpuContentionProbe configured = CpuContentionProbe.fromConfig(config);
+        environment.setFile(V2_PATH, "nr_periods 100\nnr_throttled 2\nthrottled_usec 500\n");
+        CpuContentionProbe.Sample start = configured.sample();
+        environment.setFile(V2_PATH, "nr_periods 150\nnr_throttled 40\nthrottled_usec 2000500\n");
+        
+        CpuContention contention = configured.measure(start, configured.sample());
+        
+        assertTrue(contention.isCgroupAvailable());
+        assertEquals(38, contention.getThrottledPeriods());
+    }
+    
+    @Test
+    void testCgroupV2Throttling() {
+        environment.setFile(V2_PATH, "usage_usec 1000\nnr_periods 100\nnr_throttled 2\nthrottled_usec 500\n");
+        CpuContentionProbe.Sample start = probe.sample();
+        environment.setFile(V2_PATH, "usage_usec 9000\nnr_periods 150\nnr_throttled 40\nthrottled_usec 2000500\n");
+        
+        CpuContention contention = probe.measure(start, probe.sample());
+        
+        assertTrue(contention.isCgroupAvailable());
+        assertEquals(50, contention.getPeriods());
+        assertEquals(38, contention.getThrottledPeriods());
+        assertEquals(2000.0, contention.getThrottledMillis(), 1e-9);
+        assertTrue(contention.isNoisy());
+    }
+    
+    @Test
+    void testCgroupV1ThrottledTimeIsNanoseconds() {
+        environment.setFile(V1_PATH, "nr_periods 10\nnr_throttled 0\nthrottled_time 0\n");
+        CpuContentionProbe.Sample start = probe.sample();
+        environment.setFile(V1_PATH, "nr_periods 20\nnr_throttled 1\nthrottled_time 3000000\n");
+        
+        CpuContention contention = probe.measure(start, probe.sample());
+        
+        assertTrue(contention.isCgroupAvailable());
+        assertEquals(3.0, contention.getThrottledMillis(), 1e-9);
+    }
+    
+    @Test
+    void testStealFraction() {
+        environment.setFile(CpuContentionProbe.PROC_STAT_PATH, procStat(1000, 0));
+        CpuContentionProbe.Sample start = probe.sample();
+        environment.setFile(CpuContentionProbe.PROC_STAT_PATH, procStat(1800, 200));
+        
+        CpuContention contention = probe.measure(start, probe.sample());
+        
+        assertTrue(contention.isStealAvailable());
+        assertEquals(0.2, contention.getStealFraction(), 1e-9);
+        assertTrue(contention.isNoisy());
+    }
+    
+    @Test
+    void testQuietWindowIsClean() {
+        environment.setFile(V2_PATH, "nr_periods 100\nnr_throttled 2\nthrottled_usec 500\n");
+        environment.setFile(CpuContentionProbe.PROC_STAT_PATH, procStat(1000, 5));
+        CpuContentionProbe.Sample start = probe.sample();
+        environment.setFile(V2_PATH, "nr_periods 200\nnr_throttled 2\nthrottled_usec 500\n");
+        environment.setFile(CpuContentionProbe.PROC_STAT_PATH, procStat(2000, 5));
+        
+        assertFalse(probe.measure(start, probe.sample()).isNoisy());
+    }
+    
+    @Test
+    void testMissingSourcesAreNeverNoisy() {
+        CpuContentionProbe.Sample start = probe.sample();
+        
+        CpuContention contention = probe.measure(start, probe.sample());
+        
+        assertFalse(contention.isCgroupAvailable());
+        assertFalse(contention.isStealAvailable());
+        assertFalse(contention.isNoisy());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.TestEnvironmentProvider;
+import com.servertest.mod.model.DeterministicReport;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerChunkCache;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.GameRules;
+import net.minecraft.world.level.levelgen.Heightmap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DeterministicMode class
+ */
+class DeterministicModeTest {
+    
+    private MinecraftServer server;
+    private ServerLevel overworld;
+    private ServerLevel nether;
+    private RandomSource overworldRandom;
+    private RandomSource netherRandom;
+    private GameRules.BooleanValue daylight;
+    private GameRules.BooleanValue weatherCycle;
+    private GameRules.BooleanValue mobSpawning;
+    private GameRules.IntegerValue randomTicking;
+    
+    @BeforeEach
+    void setUp() {
+        server = mock(MinecraftServer.class);
+        overworld = mock(ServerLevel.class);
+        nether = mock(ServerLevel.class);
+        overworldRandom = mock(RandomSource.class);
+        netherRandom = mock(RandomSource.class);
+        daylight = mock(GameRules.BooleanValue.class);
+        weatherCycle = mock(GameRules.BooleanValue.class);
+        mobSpawning = mock(GameRules.BooleanValue.class);
+        randomTicking = mock(GameRules.IntegerValue.class);
+        
+        GameRules rules = mock(GameRules.class);
+        when(rules.getRule(GameRules.RULE_DAYLIGHT)).thenReturn(daylight);
+        when(rules.getRule(GameRules.RULE_WEATHER_CYCLE)).thenReturn(weatherCycle);
+        when(rules.getRule(GameRules.RULE_DOMOBSPAWNING)).thenReturn(mobSpawning);
+        when(rules.getRule(GameRules.RULE_RANDOMTICKING)).thenReturn(randomTicking);
+        
+        when(server.overworld()).thenReturn(overworld);
+        when(server.getAllLevels()).thenReturn(List.of(overworld, nether));
+        when(overworld.getSeed()).thenReturn(42L);
+        when(overworld.getGameRules()).thenReturn(rules);
+        when(overworld.getHeight(Heightmap.Types.MOTION_BLOCKING_NO_LEAVES, 16, -32)).thenReturn(70);
+        when(overworld.getRandom()).thenReturn(overworldRandom);
+        when(nether.getRandom()).thenReturn(netherRandom);
+    }
+    
+    private static ServerTestConfig config(String seed) {
+        TestEnvironmentProvider environment = new TestEnvironmentProvider()
+            .setProperty("servertest.deterministic.spawn.x", "16")
+            .setProperty("servertest.deterministic.spawn.z", "-32")
+            .setProperty("servertest.deterministic.random.seed", "100")
+            .setProperty("servertest.deterministic.random.tick.speed", "0");
+        if (seed != null) {
+            environment.setProperty("servertest.deterministic.seed", seed);
+        }
+        return new ServerTestConfig(environment);
+    }
+    
+    @Test
+    void testPinsWorldState() {
+        DeterministicReport report = new DeterministicMode(config("42")).apply(server);
+        
+        verify(daylight).set(false, server);
+        verify(weatherCycle).set(false, server);
+        verify(mobSpawning).set(false, server);
+        verify(randomTicking).set(0, server);
+        verify(overworld).setDayTime(6000L);
+        verify(overworld).setWeatherParameters(anyInt(), eq(0), eq(false), eq(false));
+        verify(overworld).setDefaultSpawnPos(new BlockPos(16, 70, -32), 0.0F);
+        verify(overworldRandom).setSeed(100L);
+        verify(netherRandom).setSeed(101L);
+        
+        assertEquals(42L, report.getWorldSeed());
+        assertEquals(70, report.getSpawnY());
+        assertEquals(0, report.getRandomTickSpeed());
+    }
+    
+    @Test
+    void testSeedIsOnlyCheckedWhenConfigured() {
+        assertEquals(42L, new DeterministicMode(config(null)).apply(server).getWorldSeed());
+    }
+    
+    @Test
+    void testSpawnAreaIsLoadedOnceEveryChunkAroundTheSpawnIs() {
+        ServerChunkCache chunks = mock(ServerChunkCache.class);
+        when(overworld.getChunkSource()).thenReturn(chunks);
+        when(chunks.hasChunk(anyInt(), anyInt())).thenReturn(true);
+        // Spawn 16,-32 is chunk 1,-2; this is the far corner of the area
+        when(chunks.hasChunk(12, -13)).thenReturn(false);
+        DeterministicMode mode = new DeterministicMode(config(null));
+        
+        assertFalse(mode.isSpawnAreaLoaded(server));
+        
+        when(chunks.hasChunk(12, -13)).thenReturn(true);
+        assertTrue(mode.isSpawnAreaLoaded(server));
+        verify(chunks, never()).hasChunk(13, -2);
+    }
+    
+    @Test
+    void testWrongWorldSeedIsRejected() {
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+            () -> new DeterministicMode(config("7")).apply(server));
+        
+        assertTrue(e.getMessage().contains("level-seed"));
+        verifyNoInteractions(daylight);
+        verify(overworld, never()).setDayTime(anyLong());
+    }
+}
\ No newline at end of file
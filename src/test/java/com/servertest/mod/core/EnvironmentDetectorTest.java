@@ -1,5 +1,7 @@
 package com.servertest.mod.core;
 
+import com.servertest.mod.TestEnvironmentProvider;
+import com.servertest.mod.model.EnvironmentFingerprint;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.AfterEach;
@@ -132,4 +134,83 @@ public class EnvironmentDetectorTest {
         assertDoesNotThrow(() -> detector.isInCIEnvironment(), 
             "Should not throw exception when headless is false");
     }
+    
+    @Test
+    void testIsProductionMode_FromEnvironment() {
+        EnvironmentDetector productionDetector = new EnvironmentDetector(TestEnvironmentProvider.production());
+        
+        assertTrue(productionDetector.isProductionMode());
+        assertTrue(productionDetector.getEnvironmentInfo().startsWith("Production"));
+    }
+    
+    @Test
+    void testIsProductionMode_PropertyOverridesEnvironment() {
+        EnvironmentDetector testDetector = new EnvironmentDetector(TestEnvironmentProvider.production()
+            .setProperty("servertest.mode", "test"));
+        
+        assertFalse(testDetector.isProductionMode());
+    }
+    
+    @Test
+    void testIsProductionMode_DisabledByDefault() {
+        EnvironmentDetector ciDetector = new EnvironmentDetector(TestEnvironmentProvider.githubActions());
+        
+        assertFalse(ciDetector.isProductionMode());
+    }
+    
+    private static TestEnvironmentProvider linuxRunner(String cpuModel) {
+        return TestEnvironmentProvider.githubActions()
+            .setProperty("os.arch", "amd64")
+            .setFile("/proc/cpuinfo", "processor\t: 0\nmodel name\t: " + cpuModel + "\nflags\t\t: fpu\n")
+            .setFile("/proc/meminfo", "MemTotal:       16384000 kB\nMemFree:         1024 kB\n");
+    }
+    
+    @Test
+    void testFingerprint_ReadsCgroupV2Limits() {
+        EnvironmentFingerprint fingerprint = new EnvironmentDetector(linuxRunner("AMD EPYC 7763 64-Core Processor")
+            .setFile("/sys/fs/cgroup/cpu.max", "200000 100000\n")
+            .setFile("/sys/fs/cgroup/memory.max", "8589934592\n"))
+            .getFingerprint();
+        
+        assertEquals("AMD EPYC 7763 64-Core Processor", fingerprint.getCpuModel());
+        assertEquals(16384000L * 1024L, fingerprint.getTotalMemoryBytes());
+        assertEquals(2.0, fingerprint.getContainerCpuLimit(), 1e-9);
+        assertEquals(8589934592L, fingerprint.getContainerMemoryLimitBytes());
+        assertTrue(fingerprint.getDescription().contains("GitHub Actions"));
+        assertFalse(fingerprint.getGarbageCollectors().isEmpty());
+    }
+    
+    @Test
+    void testFingerprint_UnlimitedCgroupV1() {
+        EnvironmentFingerprint fingerprint = new EnvironmentDetector(linuxRunner("Intel(R) Xeon(R) CPU")
+            .setFile("/sys/fs/cgroup/cpu/cpu.cfs_quota_us", "-1\n")
+            .setFile("/sys/fs/cgroup/cpu/cpu.cfs_period_us", "100000\n")
+            .setFile("/sys/fs/cgroup/memory/memory.limit_in_bytes", "9223372036854771712\n"))
+            .getFingerprint();
+        
+        assertEquals(-1.0, fingerprint.getContainerCpuLimit());
+        assertEquals(-1L, fingerprint.getContainerMemoryLimitBytes());
+    }
+    
+    @Test
+    void testFingerprint_HardwareClassFollowsHardware() {
+        String amd = new EnvironmentDetector(linuxRunner("AMD EPYC 7763")).getFingerprint().getHardwareClass();
+        String amdAgain = new EnvironmentDetector(linuxRunner("AMD EPYC 7763")
+            .setProperty("java.runtime.version", "21.0.2")).getFingerprint().getHardwareClass();
+        String intel = new EnvironmentDetector(linuxRunner("Intel(R) Xeon(R) Platinum 8370C")).getFingerprint()
+            .getHardwareClass();
+        
+        assertEquals(amd, amdAgain, "JVM changes must not change the hardware class");
+        assertNotEquals(amd, intel);
+    }
+    
+    @Test
+    void testFingerprint_WithoutSystemFiles() {
+        EnvironmentFingerprint fingerprint = new EnvironmentDetector(new TestEnvironmentProvider()).getFingerprint();
+        
+        assertEquals("unknown", fingerprint.getCpuModel());
+        assertEquals(-1L, fingerprint.getTotalMemoryBytes());
+        assertEquals("unknown", fingerprint.getMinecraftVersion());
+        assertNotNull(fingerprint.getFingerprint());
+    }
 }
\ No newline at end of file
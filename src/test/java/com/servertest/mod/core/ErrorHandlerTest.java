@@ -26,6 +26,7 @@ public class ErrorHandlerTest {
     @AfterEach
     void tearDown() {
         ErrorHandler.resetExitHandler();
+        ErrorHandler.setProductionMode(false);
     }
     
     @Test
@@ -55,6 +56,18 @@ public class ErrorHandlerTest {
         verify(mockExitHandler).exit(ErrorHandler.INFO_COLLECTION_ERROR);
     }
     
+    @Test
+    void testHandleCriticalError_ProductionModeDoesNotExit() {
+        // Given
+        ErrorHandler.setProductionMode(true);
+        
+        // When
+        ErrorHandler.handleCriticalError(ErrorHandler.ErrorType.GENERAL, "Test error message", null);
+        
+        // Then
+        verify(mockExitHandler, never()).exit(anyInt());
+    }
+    
     @Test
     void testHandleNonCriticalError_DoesNotExit() {
         // Given
@@ -177,6 +190,7 @@ public class ErrorHandlerTest {
         assertEquals(ErrorHandler.SERVER_STARTUP_ERROR, ErrorHandler.ErrorType.SERVER_STARTUP.getExitCode());
         assertEquals(ErrorHandler.INFO_COLLECTION_ERROR, ErrorHandler.ErrorType.INFO_COLLECTION.getExitCode());
         assertEquals(ErrorHandler.SHUTDOWN_ERROR, ErrorHandler.ErrorType.SHUTDOWN.getExitCode());
+        assertEquals(ErrorHandler.PERFORMANCE_REGRESSION_ERROR, ErrorHandler.ErrorType.PERFORMANCE_REGRESSION.getExitCode());
     }
     
     @Test
@@ -1,6 +1,7 @@
 package com.servertest.mod.core;
 
 import com.servertest.mod.ServerTestMod;
+import com.servertest.mod.TestEnvironmentProvider;
 import net.minecraft.server.MinecraftServer;
 import net.minecraftforge.event.server.ServerStartedEvent;
 import net.minecraftforge.fml.ModList;
@@ -63,7 +64,10 @@ public class ErrorHandlingIntegrationTest {
         environmentDetector = new EnvironmentDetector();
         infoCollector = new InfoCollector();
         shutdownManager = new ShutdownManager();
-        serverMonitor = new ServerMonitor(environmentDetector, infoCollector, shutdownManager);
+        // These tests cover collection right after startup, without the JIT warm-up gate
+        ServerTestConfig config = new ServerTestConfig(new TestEnvironmentProvider()
+            .setProperty("servertest.warmup.enabled", "false"));
+        serverMonitor = new ServerMonitor(environmentDetector, infoCollector, shutdownManager, config);
     }
     
     @AfterEach
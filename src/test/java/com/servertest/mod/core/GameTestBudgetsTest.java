@@ -0,0 +1,47 @@
+package com.servertest.mod.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GameTestBudgets class
+ */
+class GameTestBudgetsTest {
+    
+    private static final String BUDGETS = "{\"*\": {\"maxWallMillis\": 5000, \"maxMsptImpact\": 2.0},"
+        + " \"servertest.pipetests.throughput\": {\"maxTicks\": 200, \"maxMsptImpact\": 5.0}}";
+    
+    @Test
+    void testTestBudgetOverridesTheDefault() {
+        GameTestBudgets budgets = GameTestBudgets.parse(BUDGETS);
+        
+        assertEquals(Map.of("maxWallMillis", 5000.0, "maxMsptImpact", 5.0, "maxTicks", 200.0),
+            budgets.forTest("servertest.PipeTests.throughput"));
+        assertEquals(Map.of("maxWallMillis", 5000.0, "maxMsptImpact", 2.0), budgets.forTest("servertest.other"));
+        assertTrue(GameTestBudgets.none().forTest("servertest.other").isEmpty());
+    }
+    
+    @Test
+    void testUnknownLimitIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> GameTestBudgets.parse("{\"*\": {\"maxTps\": 20}}"));
+        assertThrows(IllegalArgumentException.class, () -> GameTestBudgets.parse("[]"));
+    }
+    
+    @Test
+    void testExceededLimitsAreReported() {
+        Map<String, Double> budget = GameTestBudgets.parse(BUDGETS).forTest("servertest.pipetests.throughput");
+        
+        List<String> failures = GameTestBudgets.check(budget, 240, 1200, 31.0, 6.5);
+        
+        assertEquals(List.of("maxMsptImpact: 6.50 > 5.00", "maxTicks: 240.00 > 200.00"),
+            failures.stream().sorted().collect(Collectors.toList()));
+        assertTrue(GameTestBudgets.check(budget, 150, 1200, 28.0, 3.0).isEmpty());
+        assertEquals(List.of("maxMsptImpact: not measured"),
+            GameTestBudgets.check(Map.of("maxMsptImpact", 1.0), 10, 100, Double.NaN, Double.NaN));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.model.CalibrationReport;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MachineCalibration class
+ */
+class MachineCalibrationTest {
+    
+    @Test
+    void testRunScoresEveryKernel() {
+        CalibrationReport report = MachineCalibration.run(1);
+        
+        assertTrue(report.getCpuMillis() > 0.0);
+        assertTrue(report.getMemoryMillis() > 0.0);
+        assertTrue(report.getAllocationMillis() > 0.0);
+        assertEquals(Math.cbrt(report.getCpuScore() * report.getMemoryScore() * report.getAllocationScore()),
+            report.getScore(), 1e-9);
+    }
+    
+    @Test
+    void testNormalizeScalesToReferenceMachine() {
+        // Twice as fast as the reference machine, so the reference would need twice as long per tick
+        assertEquals(20.0, MachineCalibration.normalize(10.0, 2.0), 1e-9);
+        assertTrue(Double.isNaN(MachineCalibration.normalize(10.0, Double.NaN)));
+    }
+    
+    @Test
+    void testBackgroundRunPublishesScore() throws Exception {
+        MachineCalibration calibration = new MachineCalibration(1);
+        assertFalse(calibration.isRunning());
+        assertTrue(Double.isNaN(calibration.getScore()));
+        
+        calibration.start();
+        long deadline = System.currentTimeMillis() + 60_000L;
+        while (calibration.isRunning() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        
+        assertFalse(calibration.isRunning());
+        assertNotNull(calibration.getReport());
+        assertTrue(calibration.getScore() > 0.0);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,117 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.TestEnvironmentProvider;
+import com.servertest.mod.api.ServerBenchmark;
+import com.servertest.mod.api.ServerTestApi;
+import com.servertest.mod.model.ComparisonReport;
+import net.minecraft.server.MinecraftServer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for ModBenchmarkRunner and BenchmarkRegistry classes
+ */
+class ModBenchmarkRunnerTest {
+    
+    /** Records its calls and takes no measurable time */
+    private static class RecordingBenchmark implements ServerBenchmark {
+        private final String name;
+        private final List<String> calls = new ArrayList<>();
+        
+        RecordingBenchmark(String name) {
+            this.name = name;
+        }
+        
+        @Override
+        public String getName() {
+            return name;
+        }
+        
+        @Override
+        public void setUp(MinecraftServer server) {
+            calls.add("setUp");
+        }
+        
+        @Override
+        public void run(MinecraftServer server) {
+            if (calls.isEmpty() || !calls.get(calls.size() - 1).equals("run")) {
+                calls.add("run");
+            }
+        }
+        
+        @Override
+        public void tearDown(MinecraftServer server) {
+            calls.add("tearDown");
+        }
+    }
+    
+    private static ServerTestConfig config() {
+        return new ServerTestConfig(new TestEnvironmentProvider()
+            .setProperty("servertest.warmup.sample.ticks", "1")
+            .setProperty("servertest.warmup.stable.samples", "1")
+            .setProperty("servertest.warmup.jit.threshold", "1000000")
+            .setProperty("servertest.benchmark.windows", "2")
+            .setProperty("servertest.benchmark.window.ticks", "20")
+            .setProperty("servertest.benchmark.gap.ticks", "0"));
+    }
+    
+    @Test
+    void testRegistryRejectsBrokenMessages() {
+        BenchmarkRegistry registry = new BenchmarkRegistry();
+        
+        assertTrue(registry.register("pipes", ServerTestApi.REGISTER_BENCHMARK, () -> new RecordingBenchmark("flow")));
+        assertFalse(registry.register("pipes", ServerTestApi.REGISTER_BENCHMARK, () -> new RecordingBenchmark("flow")));
+        assertFalse(registry.register("pipes", "registerSomething", () -> new RecordingBenchmark("other")));
+        assertFalse(registry.register("pipes", ServerTestApi.REGISTER_LOAD_GENERATOR, () -> "not a benchmark"));
+        
+        assertEquals(1, registry.getRegistrations().size());
+        assertEquals("pipes:flow", registry.getRegistrations().get(0).getId());
+    }
+    
+    @Test
+    void testEachBenchmarkIsWarmedUpMeasuredAndReported() throws Exception {
+        RecordingBenchmark flow = new RecordingBenchmark("flow");
+        RecordingBenchmark farm = new RecordingBenchmark("farm");
+        BenchmarkRegistry registry = new BenchmarkRegistry();
+        registry.register("pipes", ServerTestApi.REGISTER_BENCHMARK, () -> flow);
+        registry.register("farms", ServerTestApi.REGISTER_LOAD_GENERATOR, () -> farm);
+        ServerTestConfig config = config();
+        ReportWriter reportWriter = new ReportWriter(config);
+        ModBenchmarkRunner runner = new ModBenchmarkRunner(registry.getRegistrations(), config, reportWriter,
+            MachineCalibration.fromConfig(config));
+        MinecraftServer server = mock(MinecraftServer.class);
+        server.tickTimes = new long[100];
+        
+        int ticks = 0;
+        while (!runner.tick(server)) {
+            assertTrue(++ticks < 1000, "benchmarks did not finish");
+        }
+        
+        assertEquals(List.of("setUp", "run", "tearDown"), flow.calls);
+        // Load generators are timed by the server tick, their run() is never called
+        assertEquals(List.of("setUp", "tearDown"), farm.calls);
+        assertInstanceOf(ComparisonReport.class, reportWriter.getSection("benchmark:pipes:flow"));
+        assertInstanceOf(ComparisonReport.class, reportWriter.getSection("benchmark:farms:farm"));
+        assertNotNull(reportWriter.getSection("benchmark:pipes:flow:warmup"));
+    }
+    
+    @Test
+    void testOnlySelectsBenchmarks() throws Exception {
+        BenchmarkRegistry registry = new BenchmarkRegistry();
+        RecordingBenchmark flow = new RecordingBenchmark("flow");
+        registry.register("pipes", ServerTestApi.REGISTER_BENCHMARK, () -> flow);
+        ServerTestConfig config = new ServerTestConfig(new TestEnvironmentProvider()
+            .setProperty("servertest.benchmark.only", "pipes:other"));
+        
+        ModBenchmarkRunner runner = new ModBenchmarkRunner(registry.getRegistrations(), config,
+            mock(ReportWriter.class), MachineCalibration.fromConfig(config));
+        
+        assertTrue(runner.tick(mock(MinecraftServer.class)));
+        assertTrue(flow.calls.isEmpty());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.model.NativeMemorySnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NativeMemorySampler class
+ */
+public class NativeMemorySamplerTest {
+    
+    private static final String NMT_OUTPUT = String.join("\n",
+        "",
+        "Native Memory Tracking:",
+        "",
+        "Total: reserved=2941267KB, committed=124647KB",
+        "       malloc: 4611KB #18533",
+        "",
+        "-                 Java Heap (reserved=1540096KB, committed=96256KB)",
+        "                            (mmap: reserved=1540096KB, committed=96256KB) ",
+        " ",
+        "-                     Class (reserved=1048720KB, committed=528KB)",
+        "                            (classes #1530)",
+        "-                    Thread (reserved=13348KB, committed=708KB)",
+        "                            (thread #13)");
+    
+    @Test
+    void testParseNmtSummary() {
+        Map<String, Long> committed = NativeMemorySampler.parseNmtSummary(NMT_OUTPUT);
+        
+        assertEquals(124647L, committed.get("Total"), "Total committed KB should be parsed");
+        assertEquals(96256L, committed.get("Java Heap"), "Category names may contain spaces");
+        assertEquals(528L, committed.get("Class"));
+        assertEquals(708L, committed.get("Thread"));
+        assertEquals(4, committed.size(), "Detail lines should not be parsed as categories");
+    }
+    
+    @Test
+    void testParseNmtSummary_NotEnabled() {
+        assertTrue(NativeMemorySampler.parseNmtSummary("Native memory tracking is not enabled").isEmpty());
+        assertTrue(NativeMemorySampler.parseNmtSummary(null).isEmpty());
+    }
+    
+    @Test
+    void testIsNmtEnabled() {
+        assertTrue(NativeMemorySampler.isNmtEnabled(Arrays.asList("-Xmx4G", "-XX:NativeMemoryTracking=summary")));
+        assertTrue(NativeMemorySampler.isNmtEnabled(Collections.singletonList("-XX:NativeMemoryTracking=detail")));
+        assertFalse(NativeMemorySampler.isNmtEnabled(Collections.singletonList("-XX:NativeMemoryTracking=off")));
+        assertFalse(NativeMemorySampler.isNmtEnabled(Collections.singletonList("-Xmx4G")));
+    }
+    
+    @Test
+    void testSample_RecordsBufferPools() {
+        NativeMemorySampler sampler = new NativeMemorySampler();
+        
+        NativeMemorySnapshot snapshot = sampler.sample("startup");
+        
+        assertEquals("startup", snapshot.getPhase());
+        assertTrue(snapshot.getBufferPools().containsKey("direct"), "The direct buffer pool should always be reported");
+        assertTrue(snapshot.getHeapUsedBytes() > 0, "Heap usage should be recorded alongside native memory");
+        assertEquals(1, sampler.getSnapshots().size());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.model.OverheadReport;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OverheadBudget class
+ */
+class OverheadBudgetTest {
+    
+    @Test
+    void testRemainingBudgetWithinTick() {
+        OverheadBudget budget = new OverheadBudget(100_000L);
+        
+        budget.charge(30_000L);
+        budget.charge(20_000L);
+        
+        assertEquals(50_000L, budget.remainingNanos());
+    }
+    
+    @Test
+    void testEndTickResetsAndAccumulates() {
+        OverheadBudget budget = new OverheadBudget(100_000L);
+        
+        budget.charge(40_000L);
+        budget.endTick();
+        budget.charge(160_000L);
+        budget.endTick();
+        
+        assertEquals(100_000L, budget.remainingNanos());
+        assertEquals(2, budget.getTicks());
+        assertEquals(200_000L, budget.getTotalNanos());
+        assertEquals(1, budget.getTicksOverBudget());
+    }
+    
+    @Test
+    void testSnapshot() {
+        OverheadBudget budget = new OverheadBudget(100_000L);
+        budget.charge(40_000L);
+        budget.endTick();
+        budget.charge(160_000L);
+        budget.endTick();
+        budget.recordDeferral();
+        budget.recordForcedRun();
+        
+        OverheadReport report = budget.snapshot();
+        
+        assertEquals(100.0, report.getBudgetMicros(), 1e-9);
+        assertEquals(100.0, report.getMeanMicrosPerTick(), 1e-9);
+        assertEquals(160.0, report.getMaxMicrosPerTick(), 1e-9);
+        assertEquals(1, report.getDeferredRuns());
+        assertEquals(1, report.getForcedRuns());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.servertest.mod.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RegistryFootprintCollector class
+ */
+class RegistryFootprintCollectorTest {
+    
+    @Test
+    void testEstimateBlockStateBytes_NoProperties() {
+        long bytes = RegistryFootprintCollector.estimateBlockStateBytes(1, 0, 0);
+        
+        assertEquals(RegistryFootprintCollector.STATE_BASE_BYTES, bytes);
+    }
+    
+    @Test
+    void testEstimateBlockStateBytes_GrowsWithPropertyLayout() {
+        // Two boolean properties: 4 states, 4 values in total
+        long small = RegistryFootprintCollector.estimateBlockStateBytes(4, 2, 4);
+        // Five properties with 3 values each: 243 states, 15 values in total
+        long large = RegistryFootprintCollector.estimateBlockStateBytes(243, 5, 15);
+        
+        long expectedSmall = 4 * (RegistryFootprintCollector.STATE_BASE_BYTES
+            + 2 * RegistryFootprintCollector.PROPERTY_ENTRY_BYTES
+            + 2 * 4 * RegistryFootprintCollector.REFERENCE_BYTES);
+        assertEquals(expectedSmall, small);
+        assertTrue(large > small * 60, "Per-state cost should grow with the property layout");
+    }
+    
+    @Test
+    void testDistribute_ProportionalToWeights() {
+        Map<String, Long> weights = new HashMap<>();
+        weights.put("minecraft", 3L);
+        weights.put("examplemod", 1L);
+        
+        Map<String, Long> result = RegistryFootprintCollector.distribute(1000L, weights);
+        
+        assertEquals(750L, result.get("minecraft"));
+        assertEquals(250L, result.get("examplemod"));
+    }
+    
+    @Test
+    void testDistribute_NoWeight() {
+        Map<String, Long> result = RegistryFootprintCollector.distribute(1000L, new HashMap<>());
+        
+        assertTrue(result.isEmpty());
+    }
+}
\ No newline at end of file
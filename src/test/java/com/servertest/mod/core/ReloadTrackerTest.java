@@ -0,0 +1,87 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.model.ReloadTiming;
+import net.minecraftforge.event.AddReloadListenerEvent;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReloadTracker class
+ */
+@ExtendWith(MockitoExtension.class)
+class ReloadTrackerTest {
+    
+    @Mock
+    private AddReloadListenerEvent mockAddReloadListenerEvent;
+    
+    @Mock
+    private TagsUpdatedEvent mockTagsUpdatedEvent;
+    
+    private ReloadTracker reloadTracker;
+    
+    @BeforeEach
+    void setUp() {
+        reloadTracker = new ReloadTracker();
+    }
+    
+    @Test
+    void testRegistersItselfAsReloadListener() {
+        reloadTracker.onAddReloadListeners(mockAddReloadListenerEvent);
+        
+        verify(mockAddReloadListenerEvent).addListener(reloadTracker);
+    }
+    
+    @Test
+    void testFirstLoadIsLabelledStartup() {
+        when(mockTagsUpdatedEvent.getUpdateCause()).thenReturn(TagsUpdatedEvent.UpdateCause.SERVER_DATA_LOAD);
+        
+        reloadTracker.onAddReloadListeners(mockAddReloadListenerEvent);
+        reloadTracker.onTagsUpdated(mockTagsUpdatedEvent);
+        reloadTracker.onAddReloadListeners(mockAddReloadListenerEvent);
+        reloadTracker.onTagsUpdated(mockTagsUpdatedEvent);
+        
+        assertEquals(2, reloadTracker.getLoadCount());
+        assertEquals("startup", reloadTracker.getInitialLoad().getLabel());
+        assertEquals("reload-1", reloadTracker.getLatest().getLabel());
+    }
+    
+    @Test
+    void testPhasesUnknownWithoutBarrier() {
+        when(mockTagsUpdatedEvent.getUpdateCause()).thenReturn(TagsUpdatedEvent.UpdateCause.SERVER_DATA_LOAD);
+        
+        reloadTracker.onAddReloadListeners(mockAddReloadListenerEvent);
+        reloadTracker.onTagsUpdated(mockTagsUpdatedEvent);
+        
+        ReloadTiming timing = reloadTracker.getLatest();
+        assertTrue(timing.getTotalMillis() >= 0);
+        assertEquals(-1L, timing.getPrepareMillis(), "Prepare time is unknown if the barrier was never reached");
+        assertEquals(-1L, timing.getApplyMillis());
+    }
+    
+    @Test
+    void testIgnoresClientTagUpdates() {
+        when(mockTagsUpdatedEvent.getUpdateCause()).thenReturn(TagsUpdatedEvent.UpdateCause.CLIENT_PACKET_RECEIVED);
+        
+        reloadTracker.onAddReloadListeners(mockAddReloadListenerEvent);
+        reloadTracker.onTagsUpdated(mockTagsUpdatedEvent);
+        
+        assertEquals(0, reloadTracker.getLoadCount());
+        assertNull(reloadTracker.getInitialLoad());
+    }
+    
+    @Test
+    void testIgnoresTagUpdatesWithoutLoadStart() {
+        when(mockTagsUpdatedEvent.getUpdateCause()).thenReturn(TagsUpdatedEvent.UpdateCause.SERVER_DATA_LOAD);
+        
+        reloadTracker.onTagsUpdated(mockTagsUpdatedEvent);
+        
+        assertEquals(0, reloadTracker.getLoadCount());
+    }
+}
\ No newline at end of file
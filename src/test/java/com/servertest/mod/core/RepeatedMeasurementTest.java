@@ -0,0 +1,110 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.TestEnvironmentProvider;
+import com.servertest.mod.model.ComparisonReport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for RepeatedMeasurement class
+ */
+class RepeatedMeasurementTest {
+    
+    private static final double[] BASELINE = {20.1, 20.3, 19.8, 20.0, 20.2, 19.9, 20.4, 20.1};
+    
+    @TempDir
+    Path tempDir;
+    
+    private RepeatedMeasurement createMeasurement(String minEffect) {
+        ServerTestConfig config = new ServerTestConfig(new TestEnvironmentProvider()
+            .setProperty("servertest.compare.min.effect", minEffect));
+        return new RepeatedMeasurement(config, mock(ReportWriter.class));
+    }
+    
+    @Test
+    void testNoiseIsNotARegression() {
+        double[] candidate = {20.2, 19.9, 20.3, 20.0, 20.1, 20.5, 19.8, 20.2};
+        
+        ComparisonReport report = createMeasurement("0.0").compare(candidate, BASELINE, true);
+        
+        assertEquals("unchanged", report.getVerdict(), report.toString());
+    }
+    
+    @Test
+    void testConsistentSlowdownIsARegression() {
+        double[] candidate = {21.1, 21.3, 20.9, 21.0, 21.2, 20.9, 21.4, 21.1};
+        
+        ComparisonReport report = createMeasurement("0.0").compare(candidate, BASELINE, true);
+        
+        assertEquals("regression", report.getVerdict(), report.toString());
+        assertEquals(0.05, report.getRelativeChange(), 0.005);
+        assertTrue(report.getPValue() < 0.01);
+    }
+    
+    @Test
+    void testSlowdownBelowMinimumEffectIsIgnored() {
+        double[] candidate = {21.1, 21.3, 20.9, 21.0, 21.2, 20.9, 21.4, 21.1};
+        
+        assertEquals("unchanged", createMeasurement("0.1").compare(candidate, BASELINE, true).getVerdict());
+    }
+    
+    @Test
+    void testSpeedupIsAnImprovement() {
+        double[] candidate = {18.1, 18.3, 17.9, 18.0, 18.2, 17.9, 18.4, 18.1};
+        
+        assertEquals("improvement", createMeasurement("0.0").compare(candidate, BASELINE, true).getVerdict());
+    }
+    
+    @Test
+    void testBaselineReportsArePooled() throws Exception {
+        Path first = tempDir.resolve("first.json");
+        Path second = tempDir.resolve("second.json");
+        Files.writeString(first, "{\"comparison\": {\"windowMsptMillis\": [20.0, 21.0]}}");
+        Files.writeString(second, "{\"comparison\": {\"windowMsptMillis\": [22.0]}}");
+        
+        double[] pooled = RepeatedMeasurement.readBaseline(
+            List.of(first, second, tempDir.resolve("missing.json")), "windowMsptMillis", null);
+        
+        assertArrayEquals(new double[] {20.0, 21.0, 22.0}, pooled);
+    }
+    
+    @Test
+    void testBaselinesOfOtherHardwareAreSkipped() throws Exception {
+        Path same = tempDir.resolve("same.json");
+        Path other = tempDir.resolve("other.json");
+        Files.writeString(same, "{\"environment\": {\"hardwareClass\": \"abc\"},"
+            + " \"comparison\": {\"windowMsptMillis\": [20.0]}}");
+        Files.writeString(other, "{\"environment\": {\"hardwareClass\": \"def\"},"
+            + " \"comparison\": {\"windowMsptMillis\": [30.0]}}");
+        
+        assertArrayEquals(new double[] {20.0},
+            RepeatedMeasurement.readBaseline(List.of(same, other), "windowMsptMillis", "abc"));
+        assertArrayEquals(new double[] {20.0, 30.0},
+            RepeatedMeasurement.readBaseline(List.of(same, other), "windowMsptMillis", null));
+    }
+    
+    @Test
+    void testWithoutBaseline() {
+        ComparisonReport report = createMeasurement("0.0").compare(new double[] {20.0, 21.0}, new double[0], true);
+        
+        assertEquals("no-baseline", report.getVerdict());
+        assertEquals(List.of(20.0, 21.0), report.getWindowMsptMillis());
+    }
+    
+    @Test
+    void testNoisyRunNeverRegresses() {
+        double[] candidate = {21.1, 21.3, 20.9, 21.0, 21.2, 20.9, 21.4, 21.1};
+        
+        ComparisonReport report = createMeasurement("0.0").compare(candidate, BASELINE, false);
+        
+        assertEquals("noisy", report.getVerdict());
+        assertFalse(report.isValid());
+    }
+}
\ No newline at end of file
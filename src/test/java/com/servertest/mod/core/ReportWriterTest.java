@@ -0,0 +1,54 @@
+package com.servertest.mod.core;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.servertest.mod.TestEnvironmentProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ReportWriter class
+ */
+class ReportWriterTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    void testJsonTreeRefreshesProvidersWithoutReportPath() {
+        ReportWriter reportWriter = new ReportWriter(new ServerTestConfig(new TestEnvironmentProvider()));
+        AtomicInteger calls = new AtomicInteger();
+        reportWriter.addSectionProvider("metrics", calls::incrementAndGet);
+        
+        reportWriter.write();
+        JsonObject report = reportWriter.toJsonTree();
+        
+        assertFalse(reportWriter.isEnabled());
+        assertEquals(1, report.get("metrics").getAsInt());
+    }
+    
+    @Test
+    void testWriteReplacesTheReport() throws Exception {
+        Path path = tempDir.resolve("report.json");
+        ReportWriter reportWriter = new ReportWriter(new ServerTestConfig(new TestEnvironmentProvider()
+            .setProperty("servertest.report.path", path.toString())));
+        
+        reportWriter.addSection("first", 1);
+        reportWriter.write();
+        reportWriter.addSection("second", 2);
+        reportWriter.write();
+        
+        JsonObject report = JsonParser.parseString(Files.readString(path, StandardCharsets.UTF_8)).getAsJsonObject();
+        assertEquals(2, report.get("second").getAsInt());
+        try (var files = Files.list(tempDir)) {
+            assertEquals(1, files.count(), "No temporary file is left behind");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.TestEnvironmentProvider;
+import com.servertest.mod.model.ScenarioReport;
+import net.minecraft.server.MinecraftServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ScenarioRunner and Scenario classes
+ */
+class ScenarioRunnerTest {
+    
+    private static final String SCENARIO = "{\"name\": \"farm\", \"phases\": ["
+        + "{\"type\": \"spawn\", \"entity\": \"minecraft:cow\", \"count\": 500},"
+        + "{\"type\": \"idle\", \"name\": \"hold\", \"seconds\": 0,"
+        + " \"settings\": {\"noise.retries\": \"2\"}, \"thresholds\": {\"maxMeanMspt\": 30, \"maxSeconds\": 60}}]}";
+    
+    private SystemExitHandler exitHandler;
+    private MinecraftServer server;
+    
+    @BeforeEach
+    void setUp() {
+        exitHandler = mock(SystemExitHandler.class);
+        ErrorHandler.setExitHandler(exitHandler);
+        server = mock(MinecraftServer.class);
+        server.tickTimes = new long[100];
+    }
+    
+    @AfterEach
+    void tearDown() {
+        ErrorHandler.resetExitHandler();
+    }
+    
+    /** A task that finishes after the given number of ticks */
+    private static TickTask ticks(String name, int count) {
+        int[] ticked = {0};
+        return new TickTask() {
+            @Override
+            public String getName() {
+                return name;
+            }
+            
+            @Override
+            public boolean tick(MinecraftServer server) {
+                return ++ticked[0] >= count;
+            }
+        };
+    }
+    
+    private ReportWriter run(Scenario scenario, long tickNanos, List<ServerTestConfig> configs) throws Exception {
+        ServerTestConfig config = new ServerTestConfig(TestEnvironmentProvider.development());
+        ReportWriter reportWriter = new ReportWriter(config);
+        ScenarioRunner runner = new ScenarioRunner(scenario, (type, phaseConfig) -> {
+            configs.add(phaseConfig);
+            return ticks(type, 5);
+        }, config, reportWriter);
+        
+        Arrays.fill(server.tickTimes, tickNanos);
+        int ticks = 0;
+        while (!runner.tick(server)) {
+            assertTrue(++ticks < 100, "scenario did not finish");
+        }
+        return reportWriter;
+    }
+    
+    @Test
+    void testPhaseKeysBecomeSettingsOfTheirType() {
+        Scenario scenario = Scenario.parse(SCENARIO, "default");
+        
+        assertEquals("farm", scenario.getName());
+        Scenario.Phase spawn = scenario.getPhases().get(0);
+        assertEquals("spawn-1", spawn.getName());
+        assertEquals(Map.of("spawn.entity", "minecraft:cow", "spawn.count", "500"), spawn.getSettings());
+        Scenario.Phase hold = scenario.getPhases().get(1);
+        assertEquals(Map.of("idle.seconds", "0", "noise.retries", "2"), hold.getSettings());
+        assertEquals(30.0, hold.getThresholds().get("maxMeanMspt"));
+    }
+    
+    @Test
+    void testInvalidScenariosAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Scenario.parse("{\"phases\": []}", "empty"));
+        assertThrows(IllegalArgumentException.class,
+            () -> Scenario.parse("{\"phases\": [{\"type\": \"explode\"}]}", "unknown"));
+        assertThrows(IllegalArgumentException.class,
+            () -> Scenario.parse("{\"phases\": [{\"type\": \"idle\", \"thresholds\": {\"maxFun\": 1}}]}", "threshold"));
+    }
+    
+    @Test
+    void testPhasesRunInOrderWithTheirSettings() throws Exception {
+        List<ServerTestConfig> configs = new ArrayList<>();
+        
+        ReportWriter reportWriter = run(Scenario.parse(SCENARIO, "default"), 20_000_000L, configs);
+        
+        assertEquals(500, configs.get(0).getInt("spawn.count", 0));
+        assertEquals(2, configs.get(1).getInt("noise.retries", 0));
+        assertFalse(configs.get(0).isSet("noise.retries"), "settings must not leak into other phases");
+        ScenarioReport report = (ScenarioReport) reportWriter.getSection("scenario");
+        assertTrue(report.isPassed());
+        ScenarioReport.PhaseResult hold = report.getPhases().get(1);
+        assertEquals("hold", hold.getName());
+        assertEquals(4, hold.getTicks(), "the tick a phase starts in is not measured");
+        assertEquals(20.0, hold.getMeanMsptMillis(), 1e-9);
+        verify(exitHandler, never()).exit(anyInt());
+    }
+    
+    @Test
+    void testBrokenThresholdFailsTheRun() throws Exception {
+        ReportWriter reportWriter = run(Scenario.parse(SCENARIO, "default"), 45_000_000L, new ArrayList<>());
+        
+        ScenarioReport report = (ScenarioReport) reportWriter.getSection("scenario");
+        assertFalse(report.isPassed());
+        assertEquals(List.of("maxMeanMspt: 45.00 > 30.00"), report.getPhases().get(1).getFailures());
+        verify(exitHandler).exit(ErrorHandler.PERFORMANCE_REGRESSION_ERROR);
+    }
+    
+    @Test
+    void testEvaluateSummarizesTicks() {
+        Scenario.Phase phase = new Scenario.Phase("idle", "idle-1", Map.of(),
+            Map.of("maxP95Mspt", 40.0, "maxSeconds", 1.0, "minTps", 19.0));
+        double[] ticks = new double[20];
+        Arrays.fill(ticks, 10.0);
+        ticks[19] = 90.0;
+        
+        ScenarioReport.PhaseResult result = ScenarioRunner.evaluate(phase, ticks, 2_000_000_000L, 512.0);
+        
+        assertEquals(14.0, result.getMeanMsptMillis(), 1e-9);
+        assertEquals(10.0, result.getP95MsptMillis(), 1e-9);
+        assertEquals(90.0, result.getMaxMsptMillis(), 1e-9);
+        assertEquals(10.0, result.getTps(), 1e-9);
+        assertEquals(2, result.getFailures().size(), result.getFailures().toString());
+    }
+}
\ No newline at end of file
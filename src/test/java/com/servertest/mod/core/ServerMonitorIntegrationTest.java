@@ -1,5 +1,6 @@
 package com.servertest.mod.core;
 
+import com.servertest.mod.TestEnvironmentProvider;
 import net.minecraft.server.MinecraftServer;
 import net.minecraftforge.event.server.ServerStartedEvent;
 import net.minecraftforge.eventbus.api.EventPriority;
@@ -43,7 +44,10 @@ class ServerMonitorIntegrationTest {
     
     @BeforeEach
     void setUp() {
-        serverMonitor = new ServerMonitor(mockEnvironmentDetector, mockInfoCollector, mockShutdownManager);
+        // These tests cover collection right after startup, without the JIT warm-up gate
+        ServerTestConfig config = new ServerTestConfig(new TestEnvironmentProvider()
+            .setProperty("servertest.warmup.enabled", "false"));
+        serverMonitor = new ServerMonitor(mockEnvironmentDetector, mockInfoCollector, mockShutdownManager, config);
     }
     
     @Test
@@ -1,16 +1,21 @@
 package com.servertest.mod.core;
 
 import com.servertest.mod.ServerTestMod;
+import com.servertest.mod.TestEnvironmentProvider;
+import com.servertest.mod.history.ResultHistory;
 import net.minecraft.server.MinecraftServer;
 import net.minecraftforge.event.server.ServerStartedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.file.Path;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -41,12 +46,18 @@ class ServerMonitorTest {
     @Mock
     private SystemExitHandler mockExitHandler;
     
+    @TempDir
+    Path tempDir;
+    
     private ServerMonitor serverMonitor;
     
     @BeforeEach
     void setUp() {
         ErrorHandler.setExitHandler(mockExitHandler);
-        serverMonitor = new ServerMonitor(mockEnvironmentDetector, mockInfoCollector, mockShutdownManager);
+        // These tests cover collection right after startup, without the JIT warm-up gate
+        ServerTestConfig config = new ServerTestConfig(new TestEnvironmentProvider()
+            .setProperty("servertest.warmup.enabled", "false"));
+        serverMonitor = new ServerMonitor(mockEnvironmentDetector, mockInfoCollector, mockShutdownManager, config);
     }
     
     @AfterEach
@@ -79,6 +90,23 @@ class ServerMonitorTest {
         verify(mockEnvironmentDetector).getEnvironmentInfo();
     }
     
+    @Test
+    void testOnServerStarted_WaitsForWarmupByDefault() {
+        when(mockServerStartedEvent.getServer()).thenReturn(mockServer);
+        when(mockEnvironmentDetector.getEnvironmentInfo()).thenReturn("Test Environment");
+        when(mockServer.isRunning()).thenReturn(true);
+        when(mockServer.getRunningThread()).thenReturn(mockServerThread);
+        when(mockServerThread.isAlive()).thenReturn(true);
+        ServerMonitor monitor = new ServerMonitor(mockEnvironmentDetector, mockInfoCollector, mockShutdownManager,
+            new ServerTestConfig(new TestEnvironmentProvider()));
+        
+        monitor.onServerStarted(mockServerStartedEvent);
+        
+        assertTrue(monitor.isTestSequenceExecuted());
+        verify(mockInfoCollector, never()).collectAndOutputServerInfo(any());
+        verify(mockShutdownManager, never()).scheduleShutdown(any());
+    }
+    
     @Test
     void testOnServerStarted_ServerNotRunning() {
         // Arrange
@@ -190,6 +218,20 @@ class ServerMonitorTest {
         verify(mockInfoCollector, never()).collectAndOutputServerInfo(any());
     }
     
+    @Test
+    void testRunIsAppendedToTheHistoryOnce() throws Exception {
+        ServerTestConfig config = new ServerTestConfig(new TestEnvironmentProvider()
+            .setProperty("servertest.control.socket", tempDir.resolve("control.sock").toString())
+            .setProperty("servertest.history.dir", tempDir.resolve("history").toString()));
+        ServerMonitor monitor = new ServerMonitor(mockEnvironmentDetector, mockInfoCollector, mockShutdownManager, config);
+        
+        monitor.requestShutdown(mockServer);
+        monitor.requestShutdown(mockServer);
+        
+        assertEquals(1, new ResultHistory(tempDir.resolve("history")).readRuns().size());
+        verify(mockShutdownManager, times(1)).scheduleShutdown(mockServer);
+    }
+    
     @Test
     void testResetTestSequenceFlag() {
         // Arrange - Execute test sequence first
@@ -0,0 +1,96 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.TestEnvironmentProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Unit tests for ServerTestConfig class
+ */
+public class ServerTestConfigTest {
+    
+    @Mock
+    private SystemExitHandler mockExitHandler;
+    
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ErrorHandler.setExitHandler(mockExitHandler);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        ErrorHandler.resetExitHandler();
+    }
+    
+    @Test
+    void testSystemPropertyTakesPrecedence() {
+        ServerTestConfig config = new ServerTestConfig(new TestEnvironmentProvider()
+            .setProperty("servertest.leak.cycles", "5")
+            .setEnv("SERVERTEST_LEAK_CYCLES", "9"));
+        
+        assertEquals(5, config.getInt("leak.cycles", 0), "System property should win over environment variable");
+    }
+    
+    @Test
+    void testEnvironmentVariableFallback() {
+        ServerTestConfig config = new ServerTestConfig(new TestEnvironmentProvider()
+            .setEnv("SERVERTEST_LEAK_THRESHOLD_MB", "2.5")
+            .setEnv("SERVERTEST_REPORT_PATH", "report.json"));
+        
+        assertEquals(2.5, config.getDouble("leak.threshold.mb", 1.0), 1e-9);
+        assertEquals("report.json", config.getString("report.path", null));
+        assertTrue(config.isSet("report.path"));
+    }
+    
+    @Test
+    void testDefaultsWhenAbsent() {
+        ServerTestConfig config = new ServerTestConfig(TestEnvironmentProvider.development());
+        
+        assertEquals(10, config.getInt("leak.cycles", 10));
+        assertEquals(7L, config.getLong("some.long", 7L));
+        assertTrue(config.getBoolean("leak.heap.dump", true));
+        assertNull(config.getString("report.path", null));
+        assertFalse(config.isSet("report.path"));
+    }
+    
+    @Test
+    void testMalformedValueFallsBackToDefault() {
+        ServerTestConfig config = new ServerTestConfig(new TestEnvironmentProvider()
+            .setProperty("servertest.leak.cycles", "many"));
+        
+        assertEquals(3, config.getInt("leak.cycles", 3), "Malformed numbers should fall back to the default");
+        verifyNoInteractions(mockExitHandler);
+    }
+    
+    @Test
+    void testOverridesWinAndLeaveTheBaseUntouched() {
+        ServerTestConfig config = new ServerTestConfig(new TestEnvironmentProvider()
+            .setProperty("servertest.spawn.count", "10")
+            .setEnv("SERVERTEST_REPORT_PATH", "report.json"));
+        
+        ServerTestConfig phase = config.withOverrides(Map.of("spawn.count", "500"));
+        
+        assertEquals(500, phase.getInt("spawn.count", 0));
+        assertEquals("report.json", phase.getString("report.path", null));
+        assertEquals(10, config.getInt("spawn.count", 0));
+    }
+    
+    @Test
+    void testBooleanParsing() {
+        ServerTestConfig config = new ServerTestConfig(new TestEnvironmentProvider()
+            .setProperty("servertest.a", "TRUE")
+            .setProperty("servertest.b", "no"));
+        
+        assertTrue(config.getBoolean("a", false));
+        assertFalse(config.getBoolean("b", true));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.TestEnvironmentProvider;
+import com.servertest.mod.model.SoakReport;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for SoakRunner class
+ */
+class SoakRunnerTest {
+    
+    private static final long MB = 1024L * 1024L;
+    
+    private SoakRunner createRunner() {
+        ServerTestConfig config = new ServerTestConfig(new TestEnvironmentProvider()
+            .setProperty("servertest.soak.warmup.minutes", "30")
+            .setProperty("servertest.soak.mspt.slope.limit", "0.5")
+            .setProperty("servertest.soak.heap.slope.limit.mb", "64"));
+        return new SoakRunner(config, mock(ReportWriter.class));
+    }
+    
+    @Test
+    void testStableRunPasses() {
+        SoakRunner runner = createRunner();
+        for (int i = 0; i <= 12; i++) {
+            double noise = i % 2 == 0 ? 0.3 : -0.3;
+            runner.addSnapshot(new SoakReport.Snapshot(i * 0.5, 20.0 + noise, 900 * MB + (i % 3) * MB, 500, 1200));
+        }
+        
+        SoakReport report = runner.evaluate();
+        
+        assertTrue(report.isPassed(), report.toString());
+        assertEquals(12, report.getFittedSnapshots(), "The snapshot at 0h is inside the warm-up");
+        assertEquals(6.0, report.getDurationHours(), 1e-9);
+    }
+    
+    @Test
+    void testGrowingMsptAndHeapFail() {
+        SoakRunner runner = createRunner();
+        for (int i = 0; i <= 12; i++) {
+            double hours = i * 0.5;
+            runner.addSnapshot(new SoakReport.Snapshot(hours, 20.0 + hours, (long) (900 * MB + hours * 100 * MB),
+                500 + i * 40, 1200));
+        }
+        
+        SoakReport report = runner.evaluate();
+        
+        assertEquals(List.of("mspt", "heap"), report.getRegressions());
+        assertEquals(1.0, report.getMsptSlopePerHour(), 1e-9);
+        assertEquals(100.0 * MB, report.getHeapSlopeBytesPerHour(), 1e-3);
+        assertEquals(80.0, report.getEntitySlopePerHour(), 1e-9);
+    }
+    
+    @Test
+    void testWarmupSpikeIsIgnored() {
+        SoakRunner runner = createRunner();
+        // Chunk generation around spawn makes the first snapshot slow
+        runner.addSnapshot(new SoakReport.Snapshot(0.1, 45.0, 2000 * MB, 500, 1200));
+        for (int i = 1; i <= 6; i++) {
+            runner.addSnapshot(new SoakReport.Snapshot(i, 20.0, 900 * MB, 500, 1200));
+        }
+        
+        assertTrue(runner.evaluate().isPassed());
+    }
+    
+    @Test
+    void testTooFewSnapshotsNeverFail() {
+        SoakRunner runner = createRunner();
+        runner.addSnapshot(new SoakReport.Snapshot(1.0, 20.0, 900 * MB, 500, 1200));
+        runner.addSnapshot(new SoakReport.Snapshot(2.0, 40.0, 1900 * MB, 500, 1200));
+        
+        SoakReport report = runner.evaluate();
+        
+        assertEquals(2, report.getFittedSnapshots());
+        assertTrue(report.isPassed());
+    }
+}
\ No newline at end of file
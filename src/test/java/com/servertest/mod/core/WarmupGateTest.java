@@ -0,0 +1,39 @@
+package com.servertest.mod.core;
+
+import com.servertest.mod.TestEnvironmentProvider;
+import com.servertest.mod.model.WarmupReport;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for WarmupGate class
+ */
+class WarmupGateTest {
+    
+    @Test
+    void testWaitsForTheCalibration() {
+        ServerTestConfig config = new ServerTestConfig(new TestEnvironmentProvider()
+            .setProperty("servertest.warmup.sample.ticks", "1")
+            .setProperty("servertest.warmup.stable.samples", "1")
+            .setProperty("servertest.warmup.jit.threshold", "1000000"));
+        ReportWriter reportWriter = new ReportWriter(config);
+        MachineCalibration calibration = mock(MachineCalibration.class);
+        when(calibration.isRunning()).thenReturn(true, true, false);
+        WarmupGate gate = new WarmupGate(config, reportWriter, "warmup", calibration);
+        
+        assertFalse(gate.tick(null));
+        assertFalse(gate.tick(null));
+        assertNull(reportWriter.getSection("warmup"), "The gate must not sample while the calibration runs");
+        
+        boolean open = false;
+        for (int i = 0; i < 10 && !open; i++) {
+            open = gate.tick(null);
+        }
+        
+        assertTrue(open);
+        WarmupReport report = (WarmupReport) reportWriter.getSection("warmup");
+        assertTrue(report.getTicksWaited() > 2, "Ticks spent waiting for the calibration are counted");
+    }
+}
\ No newline at end of file
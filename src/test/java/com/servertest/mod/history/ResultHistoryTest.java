@@ -0,0 +1,100 @@
+package com.servertest.mod.history;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.servertest.mod.model.HistoryRun;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ResultHistory and ResultTrends classes
+ */
+class ResultHistoryTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    private static HistoryRun run(String commit) {
+        return new HistoryRun(1_700_000_000_000L, commit, "mods", "env");
+    }
+    
+    @Test
+    void testFlattenSkipsArraysAndKeepsBooleans() {
+        JsonObject report = JsonParser.parseString(
+            "{\"result\": {\"tps\": 19.5, \"success\": true, \"loadedMods\": [{\"modId\": \"a\", \"version\": \"1\"}]},"
+                + " \"metrics\": {\"counters\": {\"servertest_ticks\": 1200}}}").getAsJsonObject();
+        
+        Map<String, Double> metrics = ResultHistory.flatten(report);
+        
+        assertEquals(Map.of("result.tps", 19.5, "result.success", 1.0, "metrics.counters.servertest_ticks", 1200.0),
+            metrics);
+    }
+    
+    @Test
+    void testModSetHashIgnoresOrder() {
+        JsonObject first = JsonParser.parseString("{\"result\": {\"loadedMods\": ["
+            + "{\"modId\": \"a\", \"version\": \"1\"}, {\"modId\": \"b\", \"version\": \"2\"}]}}").getAsJsonObject();
+        JsonObject second = JsonParser.parseString("{\"result\": {\"loadedMods\": ["
+            + "{\"modId\": \"b\", \"version\": \"2\"}, {\"modId\": \"a\", \"version\": \"1\"}]}}").getAsJsonObject();
+        JsonObject updated = JsonParser.parseString("{\"result\": {\"loadedMods\": ["
+            + "{\"modId\": \"b\", \"version\": \"3\"}, {\"modId\": \"a\", \"version\": \"1\"}]}}").getAsJsonObject();
+        
+        assertEquals(ResultHistory.modSetHash(first), ResultHistory.modSetHash(second));
+        assertNotEquals(ResultHistory.modSetHash(first), ResultHistory.modSetHash(updated));
+        assertEquals("unknown", ResultHistory.modSetHash(new JsonObject()));
+    }
+    
+    @Test
+    void testColumnsStayAlignedWhenMetricsComeAndGo() throws Exception {
+        ResultHistory history = new ResultHistory(tempDir);
+        history.append(run("c1"), Map.of("tps", 20.0));
+        history.append(run("c2"), Map.of("tps", 19.0, "heap", 512.0));
+        history.append(run("c3"), Map.of("heap", 520.0));
+        
+        assertEquals(3, history.readRuns().size());
+        assertEquals("c3", history.readRuns().get(2).getCommit());
+        assertArrayEquals(new double[] {20.0, 19.0, Double.NaN}, history.readMetric("tps", 10));
+        assertArrayEquals(new double[] {Double.NaN, 512.0, 520.0}, history.readMetric("heap", 10));
+        assertArrayEquals(new double[] {512.0, 520.0}, history.readMetric("heap", 2));
+        assertEquals(0, history.readMetric("missing", 10).length);
+    }
+    
+    @Test
+    void testInterruptedAppendIsDiscarded() throws Exception {
+        ResultHistory history = new ResultHistory(tempDir);
+        history.append(run("c1"), Map.of("tps", 20.0));
+        // Simulate a crash after the values but before the runs.tsv line
+        Files.write(tempDir.resolve("c00000.f64"), new byte[Double.BYTES], StandardOpenOption.APPEND);
+        
+        assertArrayEquals(new double[] {20.0}, history.readMetric("tps", 10));
+        
+        history.append(run("c2"), Map.of("tps", 18.0));
+        assertArrayEquals(new double[] {20.0, 18.0}, history.readMetric("tps", 10));
+        assertEquals(2 * Double.BYTES, Files.size(tempDir.resolve("c00000.f64")));
+    }
+    
+    @Test
+    void testTrendsRenderChangeAndModSetSteps() throws Exception {
+        ResultHistory history = new ResultHistory(tempDir);
+        for (int i = 0; i < 5; i++) {
+            history.append(new HistoryRun(i, "commit" + i, i < 3 ? "modsA" : "modsB", "env"),
+                Map.of("result.tps", 20.0 - i, "metrics.other", 1.0));
+        }
+        
+        String text = new ResultTrends(history, 4, Pattern.compile("^result\\.")).render();
+        
+        assertTrue(text.contains("Last 4 of 5 runs"), text);
+        assertTrue(text.contains("modsB*"), text);
+        assertTrue(text.contains("result.tps"), text);
+        assertTrue(text.contains("-15.8%"), text);
+        assertFalse(text.contains("metrics.other"), text);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.servertest.mod.launch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ServerLauncher class
+ */
+class ServerLauncherTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    private Path createServer() throws IOException {
+        Path server = tempDir.resolve("server");
+        Files.createDirectories(server.resolve("config"));
+        Files.createDirectories(server.resolve("libraries"));
+        Files.createDirectories(server.resolve("survival/region"));
+        Files.createDirectories(server.resolve("mods"));
+        Files.writeString(server.resolve("server.properties"), "level-name=survival\nserver-port=25565\nenable-rcon=true\n",
+            StandardCharsets.UTF_8);
+        Files.writeString(server.resolve("config/create-common.toml"), "original", StandardCharsets.UTF_8);
+        Files.writeString(server.resolve("survival/level.dat"), "level", StandardCharsets.UTF_8);
+        Files.writeString(server.resolve("mods/create.jar"), "jar", StandardCharsets.UTF_8);
+        return server;
+    }
+    
+    @Test
+    void testCpuListSplitsTheMachine() {
+        assertEquals("0-3", ServerLauncher.cpuList(0, 4, 8));
+        assertEquals("4-7", ServerLauncher.cpuList(1, 4, 8));
+        assertEquals("2", ServerLauncher.cpuList(2, 1, 8));
+        assertNull(ServerLauncher.cpuList(2, 4, 8), "slot does not fit on the machine");
+        assertNull(ServerLauncher.cpuList(0, 0, 8), "pinning disabled");
+    }
+    
+    @Test
+    void testSlotGetsItsOwnServerTestSettings() {
+        Path slot = tempDir.resolve("slot-3");
+        Map<String, String> environment = new HashMap<>(Map.of(
+            "SERVERTEST_METRICS_PORT", "9400",
+            "SERVERTEST_METRICS_FILE", "/dev/shm/servertest.metrics",
+            "SERVERTEST_SAMPLES_FILE", "samples.bin",
+            "SERVERTEST_HISTORY_DIR", "/ci/history",
+            "SERVERTEST_CONTROL_SOCKET", "/tmp/control.sock",
+            "SERVERTEST_MEASURE_WINDOWS", "5"));
+        
+        ServerLauncher.isolateSlot(environment, 3, slot);
+        
+        assertEquals("9403", environment.get("SERVERTEST_METRICS_PORT"));
+        assertEquals(slot.resolve("servertest.metrics").toString(), environment.get("SERVERTEST_METRICS_FILE"));
+        assertEquals(slot.resolve("samples.bin").toString(), environment.get("SERVERTEST_SAMPLES_FILE"));
+        assertEquals(slot.resolve(ServerLauncher.REPORT_FILE).toString(), environment.get("SERVERTEST_REPORT_PATH"));
+        assertFalse(environment.containsKey("SERVERTEST_HISTORY_DIR"));
+        assertFalse(environment.containsKey("SERVERTEST_CONTROL_SOCKET"));
+        assertEquals("5", environment.get("SERVERTEST_MEASURE_WINDOWS"));
+    }
+    
+    @Test
+    void testSlotGetsItsOwnPortWorldAndMods() throws IOException {
+        Path server = createServer();
+        ServerLauncher launcher = new ServerLauncher(server, server.resolve("matrix"), List.of("true"), 60, 0, true);
+        
+        Path slot = launcher.prepareSlot(2, List.of(server.resolve("mods/create.jar")),
+            Map.of("config/create-common.toml", writeOverlay("tuned")));
+        
+        String properties = Files.readString(slot.resolve("server.properties"), StandardCharsets.UTF_8);
+        assertTrue(properties.contains("server-port=25567"));
+        assertTrue(properties.contains("enable-rcon=false"));
+        assertFalse(Files.isSymbolicLink(slot.resolve("survival")), "world must be a copy");
+        assertEquals("level", Files.readString(slot.resolve("survival/level.dat"), StandardCharsets.UTF_8));
+        assertTrue(Files.exists(slot.resolve("mods/create.jar")));
+        assertEquals("tuned", Files.readString(slot.resolve("config/create-common.toml"), StandardCharsets.UTF_8));
+        assertEquals("original", Files.readString(server.resolve("config/create-common.toml"), StandardCharsets.UTF_8));
+    }
+    
+    @Test
+    void testSlotIsRebuiltForEveryLaunch() throws IOException {
+        Path server = createServer();
+        ServerLauncher launcher = new ServerLauncher(server, server.resolve("bisect"), List.of("true"), 60, 0, false);
+        
+        launcher.prepareSlot(0, List.of(server.resolve("mods/create.jar")),
+            Map.of("config/create-common.toml", writeOverlay("tuned")));
+        Path slot = launcher.prepareSlot(0, Collections.emptyList(), Collections.emptyMap());
+        
+        assertFalse(Files.exists(slot.resolve("survival")), "world is generated fresh without copyWorld");
+        assertFalse(Files.exists(slot.resolve("mods/create.jar")));
+        assertEquals("original", Files.readString(slot.resolve("config/create-common.toml"), StandardCharsets.UTF_8));
+        assertTrue(Files.isDirectory(server.resolve("libraries")), "linked folders of the server must survive");
+    }
+    
+    @Test
+    void testOverlayThroughLinkedFolderIsRejected() throws IOException {
+        Path server = createServer();
+        ServerLauncher launcher = new ServerLauncher(server, server.resolve("matrix"), List.of("true"), 60, 0, true);
+        
+        assertThrows(IOException.class, () -> launcher.prepareSlot(0, Collections.emptyList(),
+            Map.of("libraries/patched.jar", writeOverlay("jar"))));
+        assertThrows(IOException.class, () -> launcher.prepareSlot(0, Collections.emptyList(),
+            Map.of("../escape.txt", writeOverlay("text"))));
+        assertFalse(Files.exists(server.resolve("libraries/patched.jar")));
+    }
+    
+    private Path writeOverlay(String content) throws IOException {
+        Path overlay = Files.createTempFile(tempDir, "overlay", ".txt");
+        Files.writeString(overlay, content, StandardCharsets.UTF_8);
+        return overlay;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.servertest.mod.matrix;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.servertest.mod.bisect.ModJar;
+import com.servertest.mod.launch.ServerLauncher;
+import com.servertest.mod.model.MatrixEntry;
+import com.servertest.mod.model.MatrixReport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MatrixRunner and MatrixVariant classes
+ */
+class MatrixRunnerTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    private static final List<ModJar> SERVER_MODS = List.of(
+        new ModJar(Path.of("mods/servertest.jar"), List.of("servertest"), Set.of()),
+        new ModJar(Path.of("mods/create-1.20.1.jar"), List.of("create"), Set.of()),
+        new ModJar(Path.of("mods/ferritecore.jar"), List.of("ferritecore"), Set.of()));
+    
+    private static JsonObject json(String text) {
+        return JsonParser.parseString(text).getAsJsonObject();
+    }
+    
+    @Test
+    void testVariantResolvesModsAndSettings() throws Exception {
+        MatrixVariant variant = MatrixVariant.parse(json("{\"name\": \"lean\", \"removeMods\": [\"create\", \"ferritecore.jar\"],"
+            + " \"addMods\": [\"extra/modernfix.jar\"], \"config\": {\"measure.windows\": \"5\"},"
+            + " \"env\": {\"JAVA_TOOL_OPTIONS\": \"-Xmx4G\"}, \"files\": {\"user_jvm_args.txt\": \"jvm/g1.txt\"}}"), tempDir);
+        
+        assertEquals(List.of(Path.of("mods/servertest.jar"), tempDir.resolve("extra/modernfix.jar")),
+            variant.resolveMods(SERVER_MODS));
+        assertEquals(Map.of("SERVERTEST_MEASURE_WINDOWS", "5", "JAVA_TOOL_OPTIONS", "-Xmx4G"), variant.getEnvironment());
+        assertEquals(Map.of("user_jvm_args.txt", tempDir.resolve("jvm/g1.txt")), variant.getFiles());
+    }
+    
+    @Test
+    void testReportsAreMergedInMatrixOrder() throws Exception {
+        ServerLauncher launcher = mock(ServerLauncher.class);
+        when(launcher.launch(anyInt(), anyList(), anyMap(), anyMap())).thenAnswer(invocation -> {
+            List<Path> mods = invocation.getArgument(1);
+            int slot = invocation.getArgument(0);
+            double tickTime = mods.size() == 3 ? 30.0 : 20.0;
+            JsonObject report = json("{\"result\": {\"tickTime\": " + tickTime + "}}");
+            return new ServerLauncher.Result(slot, 25565 + slot, null, 0, false, 1000, report, null);
+        });
+        List<MatrixVariant> variants = List.of(
+            MatrixVariant.parse(json("{\"name\": \"full\"}"), tempDir),
+            MatrixVariant.parse(json("{\"name\": \"without create\", \"removeMods\": [\"create\"]}"), tempDir));
+        
+        MatrixReport report = new MatrixRunner(variants, SERVER_MODS, launcher, 2, 0, tempDir.resolve("results")).run();
+        
+        List<MatrixEntry> entries = report.getVariants();
+        assertEquals("full", entries.get(0).getName());
+        assertEquals(30.0, entries.get(0).getMsptMillis());
+        assertEquals(20.0, entries.get(1).getMsptMillis());
+        assertTrue(entries.get(1).isSuccess());
+        assertTrue(Files.exists(tempDir.resolve("results/without_create.json")));
+        assertTrue(MatrixRunner.describe(report).contains("without create"));
+    }
+    
+    @Test
+    void testMissingReportIsAFailedEntry() throws Exception {
+        ServerLauncher launcher = mock(ServerLauncher.class);
+        when(launcher.launch(anyInt(), anyList(), anyMap(), anyMap()))
+            .thenReturn(new ServerLauncher.Result(0, 25565, "0-3", -1, true, 900_000, null, null));
+        
+        MatrixReport report = new MatrixRunner(List.of(MatrixVariant.parse(json("{\"name\": \"slow\"}"), tempDir)),
+            SERVER_MODS, launcher, 1, 4, tempDir.resolve("results")).run();
+        
+        MatrixEntry entry = report.getVariants().get(0);
+        assertFalse(entry.isSuccess());
+        assertTrue(Double.isNaN(entry.getMsptMillis()));
+        assertTrue(MatrixRunner.describe(report).contains("timed out"));
+    }
+}
\ No newline at end of file
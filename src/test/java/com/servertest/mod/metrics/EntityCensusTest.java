@@ -0,0 +1,68 @@
+package com.servertest.mod.metrics;
+
+import net.minecraft.world.level.ChunkPos;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EntityCensus class
+ */
+class EntityCensusTest {
+    
+    private static final String OVERWORLD = "minecraft:overworld";
+    
+    @Test
+    void testTopTypesSortedByCount() {
+        EntityCensus census = new EntityCensus();
+        census.add("minecraft:zombie", OVERWORLD, ChunkPos.asLong(0, 0), 1);
+        census.add("minecraft:cow", OVERWORLD, ChunkPos.asLong(0, 0), 1);
+        census.add("minecraft:cow", OVERWORLD, ChunkPos.asLong(1, 0), 1);
+        census.add("minecraft:zombie", OVERWORLD, ChunkPos.asLong(0, 0), -1);
+        
+        List<Map.Entry<String, Long>> top = census.topTypes(10);
+        
+        assertEquals(List.of(Map.entry("minecraft:cow", 2L)), top);
+    }
+    
+    @Test
+    void testTopModsAggregatesNamespaces() {
+        EntityCensus census = new EntityCensus();
+        census.add("examplemod:drone", OVERWORLD, 0L, 1);
+        census.add("examplemod:turret", OVERWORLD, 0L, 1);
+        census.add("examplemod:turret", OVERWORLD, 0L, 1);
+        census.add("minecraft:pig", OVERWORLD, 0L, 1);
+        
+        List<Map.Entry<String, Long>> top = census.topMods(1);
+        
+        assertEquals(List.of(Map.entry("examplemod", 3L)), top);
+    }
+    
+    @Test
+    void testMoveBetweenChunks() {
+        EntityCensus census = new EntityCensus();
+        long from = ChunkPos.asLong(2, -3);
+        long to = ChunkPos.asLong(3, -3);
+        census.add("minecraft:pig", OVERWORLD, from, 1);
+        census.add("minecraft:pig", OVERWORLD, from, 1);
+        
+        census.move(OVERWORLD, from, to);
+        census.move(OVERWORLD, from, to);
+        
+        assertEquals(List.of(Map.entry(OVERWORLD + " 3,-3", 2L)), census.topChunks(10));
+    }
+    
+    @Test
+    void testEmptyChunksAreDropped() {
+        EntityCensus census = new EntityCensus();
+        census.add("minecraft:pig", OVERWORLD, ChunkPos.asLong(5, 5), 1);
+        census.add("minecraft:pig", OVERWORLD, ChunkPos.asLong(5, 5), -1);
+        // A leave without a matching join must not leave a negative count behind
+        census.add("minecraft:pig", OVERWORLD, ChunkPos.asLong(6, 6), -1);
+        
+        assertTrue(census.topChunks(10).isEmpty());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,145 @@
+package com.servertest.mod.metrics;
+
+import com.servertest.mod.model.MetricsSnapshot;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MetricsRegistry class
+ */
+class MetricsRegistryTest {
+    
+    @Test
+    void testStripedCounterFromManyThreads() throws InterruptedException {
+        MetricsRegistry registry = new MetricsRegistry();
+        MetricsRegistry.Counter counter = registry.counter("servertest_test", "Test counter");
+        
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    counter.increment();
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        assertEquals(80_000L, counter.sum());
+    }
+    
+    @Test
+    void testSameNameAndLabelsReturnSameMetric() {
+        MetricsRegistry registry = new MetricsRegistry();
+        
+        assertSame(registry.gauge("servertest_entities", "Entities", "dimension", "a"),
+            registry.gauge("servertest_entities", "Entities", "dimension", "a"));
+        assertNotSame(registry.gauge("servertest_entities", "Entities", "dimension", "a"),
+            registry.gauge("servertest_entities", "Entities", "dimension", "b"));
+        assertThrows(IllegalArgumentException.class, () -> registry.counter("servertest_entities", "Entities"));
+    }
+    
+    @Test
+    void testGaugeAddAndSet() {
+        MetricsRegistry.Gauge gauge = new MetricsRegistry().gauge("servertest_gauge", "Test gauge");
+        
+        gauge.add(3);
+        gauge.add(-1);
+        assertEquals(2.0, gauge.get());
+        
+        gauge.set(19.5);
+        assertEquals(19.5, gauge.get());
+    }
+    
+    @Test
+    void testLogBucketIndexIsMonotonic() {
+        int previous = -1;
+        for (long value : new long[] {0, 1, 7, 8, 9, 15, 16, 1_000, 50_000_000L, Long.MAX_VALUE}) {
+            int index = MetricsRegistry.LogHistogram.bucketIndex(value);
+            assertTrue(index >= previous, "Bucket index must not decrease at " + value);
+            previous = index;
+        }
+        assertEquals(MetricsRegistry.LogHistogram.BUCKETS - 1, previous);
+    }
+    
+    @Test
+    void testHistogramQuantilesWithinBucketError() {
+        MetricsRegistry registry = new MetricsRegistry();
+        MetricsRegistry.LogHistogram histogram = registry.histogram("servertest_time_seconds", "Test timing", 1e-9);
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000_000L);
+        }
+        
+        MetricsSnapshot.HistogramSummary summary = registry.snapshot().getHistograms().get("servertest_time_seconds");
+        
+        assertEquals(1000, summary.getCount());
+        assertEquals(0.5005, summary.getMean(), 1e-9);
+        assertEquals(0.5, summary.getP50(), 0.5 * 0.125);
+        assertEquals(0.99, summary.getP99(), 0.99 * 0.125);
+    }
+    
+    @Test
+    void testSnapshotAndResetReportsIntervalDeltas() {
+        MetricsRegistry registry = new MetricsRegistry();
+        MetricsRegistry.Counter counter = registry.counter("servertest_ticks", "Ticks");
+        MetricsRegistry.Gauge gauge = registry.gauge("servertest_tps", "TPS");
+        MetricsRegistry.LogHistogram histogram = registry.histogram("servertest_time_seconds", "Test timing", 1e-9);
+        
+        counter.add(5);
+        gauge.set(20);
+        histogram.record(1_000L);
+        registry.snapshotAndReset();
+        
+        counter.add(2);
+        MetricsSnapshot interval = registry.snapshotAndReset();
+        
+        assertEquals(2.0, interval.getCounters().get("servertest_ticks"));
+        assertEquals(20.0, interval.getGauges().get("servertest_tps"));
+        assertEquals(0, interval.getHistograms().get("servertest_time_seconds").getCount());
+        // The live values stay cumulative for exporters
+        assertEquals(7L, counter.sum());
+        assertEquals(7.0, registry.snapshot().getCounters().get("servertest_ticks"));
+    }
+    
+    @Test
+    void testWriteToOpenMetrics() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("servertest_dimension_tick_seconds", "Tick time", 1e-9, "dimension", "minecraft:overworld")
+            .add(2_000_000_000L);
+        registry.histogram("servertest_time_seconds", "Test timing", 1e-9).record(1_000_000L);
+        
+        OpenMetricsWriter writer = new OpenMetricsWriter();
+        registry.writeTo(writer);
+        String text = writer.finish();
+        
+        assertTrue(text.contains("# TYPE servertest_dimension_tick_seconds counter"), text);
+        assertTrue(text.contains("servertest_dimension_tick_seconds_total{dimension=\"minecraft:overworld\"} 2"), text);
+        assertTrue(text.contains("# TYPE servertest_time_seconds summary"), text);
+        assertTrue(text.contains("servertest_time_seconds_count 1"), text);
+    }
+    
+    @Test
+    void testHistogramWithExportBounds() {
+        MetricsRegistry registry = new MetricsRegistry();
+        MetricsRegistry.LogHistogram histogram = registry.histogram("servertest_tick_time_seconds", "Tick time", 1e-9,
+            new double[] {0.005, 0.01, 0.05, 0.1});
+        for (long nanos : new long[] {4_000_000L, 8_000_000L, 60_000_000L, 2_000_000_000L}) {
+            histogram.record(nanos);
+        }
+        
+        OpenMetricsWriter writer = new OpenMetricsWriter();
+        registry.writeTo(writer);
+        String text = writer.finish();
+        
+        assertTrue(text.contains("# TYPE servertest_tick_time_seconds histogram"), text);
+        assertTrue(text.contains("servertest_tick_time_seconds_bucket{le=\"0.005\"} 1\n"), text);
+        assertTrue(text.contains("servertest_tick_time_seconds_bucket{le=\"0.05\"} 2\n"), text);
+        // The log bucket of 60 ms ends above 0.05, so it is counted in the next coarse bucket
+        assertTrue(text.contains("servertest_tick_time_seconds_bucket{le=\"0.1\"} 3\n"), text);
+        assertTrue(text.contains("servertest_tick_time_seconds_bucket{le=\"+Inf\"} 4\n"), text);
+        assertTrue(text.contains("servertest_tick_time_seconds_count 4\n"), text);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.servertest.mod.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OpenMetricsWriter class
+ */
+class OpenMetricsWriterTest {
+    
+    @Test
+    void testGaugeFamilyWithLabels() {
+        String text = new OpenMetricsWriter()
+            .family("servertest_entities", "gauge", null, "Entities in each dimension")
+            .sample("servertest_entities", 42, "dimension", "minecraft:overworld")
+            .finish();
+        
+        assertEquals("# TYPE servertest_entities gauge\n"
+            + "# HELP servertest_entities Entities in each dimension\n"
+            + "servertest_entities{dimension=\"minecraft:overworld\"} 42\n"
+            + "# EOF\n", text);
+    }
+    
+    @Test
+    void testHistogramBucketsAreCumulative() {
+        String text = new OpenMetricsWriter()
+            .family("servertest_tick_duration_seconds", "histogram", "seconds", "Server tick duration")
+            .histogram("servertest_tick_duration_seconds", new double[] {0.05, 0.1}, new long[] {3, 1, 2}, 0.5)
+            .finish();
+        
+        assertTrue(text.contains("# UNIT servertest_tick_duration_seconds seconds\n"));
+        assertTrue(text.contains("servertest_tick_duration_seconds_bucket{le=\"0.05\"} 3\n"));
+        assertTrue(text.contains("servertest_tick_duration_seconds_bucket{le=\"0.1\"} 4\n"));
+        assertTrue(text.contains("servertest_tick_duration_seconds_bucket{le=\"+Inf\"} 6\n"));
+        assertTrue(text.contains("servertest_tick_duration_seconds_count 6\n"));
+        assertTrue(text.contains("servertest_tick_duration_seconds_sum 0.5\n"));
+        assertTrue(text.endsWith("# EOF\n"));
+    }
+    
+    @Test
+    void testHistogramRejectsMismatchedBuckets() {
+        OpenMetricsWriter writer = new OpenMetricsWriter();
+        
+        assertThrows(IllegalArgumentException.class,
+            () -> writer.histogram("servertest_tick_duration_seconds", new double[] {0.05}, new long[] {1}, 0.0));
+    }
+    
+    @Test
+    void testFormatValue() {
+        assertEquals("20", OpenMetricsWriter.formatValue(20.0));
+        assertEquals("19.5", OpenMetricsWriter.formatValue(19.5));
+        assertEquals("NaN", OpenMetricsWriter.formatValue(Double.NaN));
+        assertEquals("+Inf", OpenMetricsWriter.formatValue(Double.POSITIVE_INFINITY));
+    }
+    
+    @Test
+    void testBucketBoundsUseCanonicalFloats() {
+        String text = new OpenMetricsWriter()
+            .family("servertest_collection_duration_seconds", "histogram", "seconds", "Collector duration")
+            .histogram("servertest_collection_duration_seconds", new double[] {1, 2.5}, new long[] {1, 1, 0}, 2.0)
+            .finish();
+        
+        assertTrue(text.contains("servertest_collection_duration_seconds_bucket{le=\"1.0\"} 1\n"), text);
+        assertTrue(text.contains("servertest_collection_duration_seconds_bucket{le=\"2.5\"} 2\n"), text);
+        assertTrue(text.contains("servertest_collection_duration_seconds_bucket{le=\"+Inf\"} 2\n"), text);
+        assertEquals("1.0", OpenMetricsWriter.formatLabelFloat(1.0));
+        assertEquals("0.005", OpenMetricsWriter.formatLabelFloat(0.005));
+    }
+    
+    @Test
+    void testEscapeLabelValue() {
+        assertEquals("a\\\"b\\\\c\\nd", OpenMetricsWriter.escapeLabelValue("a\"b\\c\nd"));
+    }
+    
+    @Test
+    void testTickBucketIndex() {
+        assertEquals(0, TickMetrics.bucketIndex(1.0));
+        assertEquals(5, TickMetrics.bucketIndex(50.0));
+        assertEquals(TickMetrics.TICK_BUCKETS_MS.length, TickMetrics.bucketIndex(5000.0));
+    }
+}
\ No newline at end of file
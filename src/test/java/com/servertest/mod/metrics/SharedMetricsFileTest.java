@@ -0,0 +1,70 @@
+package com.servertest.mod.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SharedMetricsFile class
+ */
+class SharedMetricsFileTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    void testPublishedSnapshotIsReadable() throws Exception {
+        Path path = tempDir.resolve("metrics.bin");
+        TickMetrics tickMetrics = new TickMetrics();
+        tickMetrics.recordTick(30_000_000L);
+        tickMetrics.recordTick(45_000_000L);
+        
+        SharedMetricsFile file = new SharedMetricsFile(path, tickMetrics, null);
+        file.open();
+        file.publish(SharedMetricsFile.STATUS_RUNNING);
+        
+        assertEquals(SharedMetricsFile.FILE_SIZE, Files.size(path));
+        
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, SharedMetricsFile.FILE_SIZE);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            
+            assertEquals(SharedMetricsFile.MAGIC, mapped.getInt(0));
+            assertEquals(SharedMetricsFile.LAYOUT_VERSION, mapped.getInt(4));
+            
+            SharedMetricsFile.Snapshot snapshot = SharedMetricsFile.read(mapped, 10);
+            assertNotNull(snapshot);
+            assertEquals(0, snapshot.getSequence() % 2, "Published sequence must be even");
+            assertEquals(SharedMetricsFile.STATUS_RUNNING, snapshot.getStatus());
+            assertEquals(2, snapshot.getTickCount());
+            assertEquals(45_000_000L, snapshot.getLastTickNanos());
+        }
+    }
+    
+    @Test
+    void testSequenceAdvancesPerPublish() throws Exception {
+        Path path = tempDir.resolve("metrics.bin");
+        SharedMetricsFile file = new SharedMetricsFile(path, new TickMetrics(), null);
+        file.open();
+        
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, SharedMetricsFile.FILE_SIZE);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            
+            long before = SharedMetricsFile.readSequence(mapped);
+            file.publish(SharedMetricsFile.STATUS_RUNNING);
+            file.publish(SharedMetricsFile.STATUS_STOPPED);
+            
+            assertEquals(before + 4, SharedMetricsFile.readSequence(mapped));
+            assertEquals(SharedMetricsFile.STATUS_STOPPED, SharedMetricsFile.read(mapped, 10).getStatus());
+        }
+    }
+}
\ No newline at end of file
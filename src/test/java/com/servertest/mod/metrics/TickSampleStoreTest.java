@@ -0,0 +1,99 @@
+package com.servertest.mod.metrics;
+
+import com.servertest.mod.model.TickSampleSummary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TickSampleStore and TickSampleReader classes
+ */
+class TickSampleStoreTest {
+    
+    private static final long TICK_INTERVAL_NANOS = 50_000_000L;
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    void testVarintAndZigzagRoundTrip() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        for (long value : new long[] {0, 1, -1, 63, -64, 1_000_000, Long.MIN_VALUE, Long.MAX_VALUE}) {
+            int end = TickSampleStore.putVarLong(buffer, 0, TickSampleStore.zigzag(value));
+            long decoded = 0;
+            for (int i = 0, shift = 0; i < end; i++, shift += 7) {
+                decoded |= (long) (buffer.get(i) & 0x7F) << shift;
+            }
+            assertEquals(value, TickSampleStore.unzigzag(decoded));
+        }
+    }
+    
+    @Test
+    void testRollupsAcrossSegments() throws Exception {
+        Path path = tempDir.resolve("samples.bin");
+        // Small segments so the run crosses many segment boundaries
+        TickSampleStore store = new TickSampleStore(path, new TickMetrics(), 4096);
+        store.open();
+        
+        long elapsed = 0;
+        for (int i = 0; i < 20 * 125; i++) {
+            long millis = i % 100 == 0 ? 80 : 30;
+            store.record(millis * 1_000_000L, elapsed);
+            elapsed += TICK_INTERVAL_NANOS;
+        }
+        store.close();
+        
+        assertTrue(Files.size(path) > 4096 * 2, "Expected several segments");
+        TickSampleSummary summary = TickSampleReader.read(path);
+        assertEquals(2500, summary.getTicks());
+        assertEquals(125, summary.getCoveredSeconds());
+        assertEquals(30.5, summary.getMeanTickMillis(), 1e-9);
+        assertEquals(80.0, summary.getMaxTickMillis(), 1e-9);
+        assertEquals(3, summary.getWorstMinutes().size(), "Two complete minutes and the partial third");
+        assertEquals(1, summary.getHours().size());
+        assertEquals(2500, summary.getHours().get(0).getTicks());
+    }
+    
+    @Test
+    void testSummaryIsIncremental() {
+        Path path = tempDir.resolve("samples.bin");
+        TickSampleStore store = new TickSampleStore(path, new TickMetrics());
+        store.open();
+        assertNull(store.summarize());
+        
+        long elapsed = 0;
+        for (int i = 0; i < 40; i++) {
+            store.record(10_000_000L, elapsed);
+            elapsed += TICK_INTERVAL_NANOS;
+        }
+        // Only the first second has been rolled up so far
+        assertEquals(20, store.summarize().getTicks());
+        
+        for (int i = 0; i < 20; i++) {
+            store.record(20_000_000L, elapsed);
+            elapsed += TICK_INTERVAL_NANOS;
+        }
+        store.close();
+        
+        TickSampleSummary summary = store.summarize();
+        assertEquals(60, summary.getTicks());
+        assertEquals(40.0 / 3.0, summary.getMeanTickMillis(), 1e-9);
+    }
+    
+    @Test
+    void testPreviousRunIsKept() throws Exception {
+        Path path = tempDir.resolve("samples.bin");
+        Files.writeString(path, "previous run");
+        
+        TickSampleStore store = new TickSampleStore(path, new TickMetrics());
+        store.open();
+        store.close();
+        
+        assertEquals("previous run", Files.readString(tempDir.resolve("samples.bin.prev")));
+    }
+}
\ No newline at end of file